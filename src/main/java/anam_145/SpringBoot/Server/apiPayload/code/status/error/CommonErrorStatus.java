@@ -30,6 +30,17 @@ public enum CommonErrorStatus implements BaseErrorCode {
     // HTML 파싱 관련 에러
     HTML_PARSING_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "COMMON5003", "HTML 파일 파싱 중 오류가 발생했습니다."),
     INVALID_HTML_SYNTAX(HttpStatus.BAD_REQUEST, "COMMON4007", "올바르지 않은 HTML 형식입니다."),
+
+    // 비동기 인덱싱 작업 관련 에러
+    INDEXING_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "COMMON4041", "존재하지 않는 인덱싱 작업입니다."),
+    INDEXING_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "COMMON5031", "인덱싱 작업 큐가 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
+    INDEXING_JOB_STORAGE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "COMMON5004", "업로드된 ZIP 파일을 저장하는 중 오류가 발생했습니다."),
+
+    // 질문 기반 앱 라우팅 관련 에러
+    APP_ROUTE_NOT_FOUND(HttpStatus.NOT_FOUND, "COMMON4042", "질문에 해당하는 미니앱을 결정할 수 없습니다. appId를 지정해 주세요."),
+
+    // 가이드 요청 마감 시각 관련 에러
+    REQUEST_TIMEOUT_TOO_SHORT(HttpStatus.BAD_REQUEST, "COMMON4008", "X-Request-Timeout-Ms 값이 너무 짧아 가이드를 생성할 수 없습니다."),
     ;
 
     private final HttpStatus httpStatus;
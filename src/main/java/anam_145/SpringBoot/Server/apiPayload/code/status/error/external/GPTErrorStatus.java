@@ -11,6 +11,11 @@ import org.springframework.http.HttpStatus;
 @AllArgsConstructor
 public enum GPTErrorStatus implements BaseErrorCode {
     GPT_RESPONSE_EMPTY(HttpStatus.INTERNAL_SERVER_ERROR, "GPT_500_01", "GPT 응답이 비어있습니다. 다시 시도해 주세요."),
+    GPT_API_ERROR(HttpStatus.BAD_GATEWAY, "GPT_502_01", "AI 서비스 호출에 실패했습니다. 잠시 후 다시 시도해 주세요."),
+    GPT_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "GPT_429_01", "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+    GPT_CIRCUIT_OPEN(HttpStatus.SERVICE_UNAVAILABLE, "GPT_503_01", "AI 서비스가 일시적으로 불안정합니다. 잠시 후 다시 시도해 주세요."),
+    GPT_RESPONSE_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "GPT_504_01", "AI 응답 대기 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요."),
+    GPT_DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT, "GPT_504_02", "요청 처리 가능 시간이 지났습니다. 다시 시도해 주세요."),
     ;
 
     private final HttpStatus httpStatus;
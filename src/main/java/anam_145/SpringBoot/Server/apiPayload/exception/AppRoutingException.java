@@ -0,0 +1,20 @@
+package anam_145.SpringBoot.Server.apiPayload.exception;
+
+import anam_145.SpringBoot.Server.apiPayload.code.BaseErrorCode;
+
+/**
+ * 질문으로 대상 미니앱을 결정하는 과정에서 발생하는 예외
+ *
+ * 등록된 앱 라우팅 정보가 없어 appId를 정할 수 없는 경우 등을 나타낸다.
+ */
+public class AppRoutingException extends GeneralException {
+
+    /**
+     * 에러 코드를 받아 예외를 생성한다.
+     *
+     * @param errorCode 에러 코드 (CommonErrorStatus에 정의됨)
+     */
+    public AppRoutingException(BaseErrorCode errorCode) {
+        super(errorCode);
+    }
+}
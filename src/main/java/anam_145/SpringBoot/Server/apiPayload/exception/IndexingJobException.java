@@ -0,0 +1,20 @@
+package anam_145.SpringBoot.Server.apiPayload.exception;
+
+import anam_145.SpringBoot.Server.apiPayload.code.BaseErrorCode;
+
+/**
+ * 비동기 인덱싱 작업 처리 과정에서 발생하는 예외
+ *
+ * 존재하지 않는 작업 조회, 작업 큐 초과, 업로드 파일 저장 실패 등을 나타낸다.
+ */
+public class IndexingJobException extends GeneralException {
+
+    /**
+     * 에러 코드를 받아 예외를 생성한다.
+     *
+     * @param errorCode 에러 코드 (CommonErrorStatus에 정의됨)
+     */
+    public IndexingJobException(BaseErrorCode errorCode) {
+        super(errorCode);
+    }
+}
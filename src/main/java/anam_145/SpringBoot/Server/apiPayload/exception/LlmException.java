@@ -0,0 +1,42 @@
+package anam_145.SpringBoot.Server.apiPayload.exception;
+
+import anam_145.SpringBoot.Server.apiPayload.code.BaseErrorCode;
+import lombok.Getter;
+
+/**
+ * LLM 호출 과정에서 발생하는 예외
+ *
+ * 응답 대기 시간 초과, LLM API 오류 응답 등 외부 LLM 연동 실패를 나타낸다.
+ */
+@Getter
+public class LlmException extends GeneralException {
+
+    /**
+     * LLM API가 돌려준 HTTP 상태 코드 (응답을 받지 못했으면 0)
+     */
+    private final int statusCode;
+
+    /**
+     * 에러 코드를 받아 예외를 생성한다.
+     *
+     * @param errorCode 에러 코드 (GPTErrorStatus에 정의됨)
+     */
+    public LlmException(BaseErrorCode errorCode) {
+        this(errorCode, 0, null);
+    }
+
+    /**
+     * 에러 코드와 원인을 받아 예외를 생성한다.
+     *
+     * @param errorCode 에러 코드 (GPTErrorStatus에 정의됨)
+     * @param statusCode LLM API 응답 HTTP 상태 코드 (없으면 0)
+     * @param cause 원인 예외 (없으면 null)
+     */
+    public LlmException(BaseErrorCode errorCode, int statusCode, Throwable cause) {
+        super(errorCode);
+        this.statusCode = statusCode;
+        if (cause != null) {
+            initCause(cause);
+        }
+    }
+}
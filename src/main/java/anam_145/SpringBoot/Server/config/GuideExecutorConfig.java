@@ -0,0 +1,111 @@
+package anam_145.SpringBoot.Server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 가이드 생성 보조 작업에 사용하는 스레드 풀 설정
+ */
+@Slf4j
+@Configuration
+public class GuideExecutorConfig {
+
+    /**
+     * 의미 기반 캐시 적중 검증(audit)용 스레드 풀
+     * 검증은 응답 경로와 무관한 부가 작업이므로 큐가 가득 차면 조용히 버린다(DiscardPolicy).
+     */
+    @Bean(name = "guideAuditExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor guideAuditExecutor(
+            @Value("${ai.guide-cache.semantic.audit-workers:1}") int workers,
+            @Value("${ai.guide-cache.semantic.audit-queue-capacity:16}") int queueCapacity) {
+        log.info("가이드 캐시 검증 스레드 풀 초기화: workers={}, queueCapacity={}", workers, queueCapacity);
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("guide-audit-"),
+                new ThreadPoolExecutor.DiscardPolicy()
+        );
+    }
+
+    /**
+     * 생성된 가이드를 정확 일치/의미 기반 캐시에 저장하는 스레드 풀
+     * DB 저장이 LLM 응답 완료 스레드(HttpClient)를 붙잡지 않도록 응답과 분리한다.
+     * 저장은 없어도 되는 작업이므로 큐가 가득 차면 거절(AbortPolicy)하고 GuideCacheWriter가 건너뛴다.
+     */
+    @Bean(name = "guideCacheWriteExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor guideCacheWriteExecutor(
+            @Value("${ai.guide-cache.write-workers:2}") int workers,
+            @Value("${ai.guide-cache.write-queue-capacity:256}") int queueCapacity) {
+        log.info("가이드 캐시 저장 스레드 풀 초기화: workers={}, queueCapacity={}", workers, queueCapacity);
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("guide-cache-write-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 앱이 결정된 뒤의 가이드 준비(카탈로그 로딩, 캐시 조회, 임베딩, 후보 검색, 프롬프트 생성)용 스레드 풀
+     * 앱 결정 LLM 응답은 HttpClient 스레드에서 완료되므로, 이어지는 DB/CPU 작업을 이 풀로 넘겨 I/O 완료 스레드를 비워둔다.
+     * 응답 경로의 필수 작업이므로 버리지 않고, 큐가 가득 차면 호출 스레드에서 실행(CallerRunsPolicy)하여 유입 속도를 늦춘다.
+     */
+    @Bean(name = "guidePreparationExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor guidePreparationExecutor(
+            @Value("${ai.guide.preparation.workers:8}") int workers,
+            @Value("${ai.guide.preparation.queue-capacity:256}") int queueCapacity) {
+        log.info("가이드 준비 스레드 풀 초기화: workers={}, queueCapacity={}", workers, queueCapacity);
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("guide-preparation-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * 앱 결정(LLM) 중 후보 앱의 카탈로그 로딩/후보 검색/프롬프트 생성을 미리 수행하는 스레드 풀
+     * 추측 실행은 없어도 되는 작업이므로 큐가 가득 차면 거절(AbortPolicy)하고, 해당 앱은 앱 결정 후 평소대로 준비한다.
+     */
+    @Bean(name = "guideSpeculationExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor guideSpeculationExecutor(
+            @Value("${ai.guide.speculation.workers:4}") int workers,
+            @Value("${ai.guide.speculation.queue-capacity:32}") int queueCapacity) {
+        log.info("가이드 추측 실행 스레드 풀 초기화: workers={}, queueCapacity={}", workers, queueCapacity);
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("guide-speculation-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package anam_145.SpringBoot.Server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MiniApp 코드 인덱싱에 사용하는 스레드 풀 설정
+ */
+@Slf4j
+@Configuration
+public class IndexingExecutorConfig {
+
+    /**
+     * 소스 파일 파싱 전용 스레드 풀
+     * 파싱은 CPU 작업이므로 기본값은 CPU 코어 수이며, ai.indexing.parse-parallelism으로 조절한다.
+     */
+    @Bean(name = "indexingParseExecutor", destroyMethod = "shutdown")
+    public ExecutorService indexingParseExecutor(
+            @Value("${ai.indexing.parse-parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("인덱싱 파싱 스레드 풀 초기화: threads={}", threads);
+        return Executors.newFixedThreadPool(threads, namedThreadFactory("index-parse-"));
+    }
+
+    /**
+     * 비동기 인덱싱 작업 실행용 스레드 풀
+     * 대기 큐 크기를 제한하여, 큐가 가득 차면 새 작업을 거부한다(AbortPolicy).
+     * 큐 상태를 확인해야 하므로 ThreadPoolExecutor 타입으로 노출한다.
+     */
+    @Bean(name = "indexingJobExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor indexingJobExecutor(
+            @Value("${ai.indexing.job.workers:2}") int workers,
+            @Value("${ai.indexing.job.queue-capacity:20}") int queueCapacity) {
+        log.info("인덱싱 작업 스레드 풀 초기화: workers={}, queueCapacity={}", workers, queueCapacity);
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("index-job-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package anam_145.SpringBoot.Server.config;
+
+import anam_145.SpringBoot.Server.service.llm.CircuitBreaker;
+import anam_145.SpringBoot.Server.service.llm.HedgingLlmClient;
+import anam_145.SpringBoot.Server.service.llm.LlmCallOptions;
+import anam_145.SpringBoot.Server.service.llm.LlmClient;
+import anam_145.SpringBoot.Server.service.llm.OpenAiLlmClient;
+import anam_145.SpringBoot.Server.service.llm.RateLimitedLlmClient;
+import anam_145.SpringBoot.Server.service.llm.ResilientLlmClient;
+import anam_145.SpringBoot.Server.service.llm.RoutingLlmClient;
+import anam_145.SpringBoot.Server.service.llm.StubLlmClient;
+import anam_145.SpringBoot.Server.service.llm.TokenCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 서비스에서 사용할 LlmClient 구성
+ *
+ * 등록된 LLM 제공자들을 RoutingLlmClient로 묶어 기본 LlmClient로 등록한다.
+ * - openai: ai.openai.model (API 키가 있을 때만)
+ * - openai-fast: ai.openai.fast-model (지정했을 때만, 같은 연결과 동시 실행 한도 사용)
+ * - stub: 외부 호출 없는 로컬 스텁/재생 제공자 (ai.llm.stub.enabled일 때만, 부하 테스트/CI용)
+ * 호출 용도별 제공자 순서는 ai.llm.routing.*으로 정하며, 앞 제공자가 장애면 다음 제공자로 넘긴다.
+ *
+ * OpenAI 제공자는 재시도/회로 차단/마감 시각 처리(ResilientLlmClient)로 감싸며, 회로 차단기는 모델 엔드포인트(provider/model)마다 하나씩 둔다.
+ * 헤징(HedgingLlmClient)을 켜면 재시도 안쪽에 두어, 헤징한 호출 전체를 시도 한 번으로 다룬다.
+ * 호출 한도(RateLimitedLlmClient)는 가장 안쪽에 두어 재시도/헤징으로 보내는 요청까지 한도에 포함한다.
+ */
+@Slf4j
+@Configuration
+public class LlmClientConfig {
+
+    private static final String OPENAI = "openai";
+    private static final String OPENAI_FAST = "openai-fast";
+    private static final String STUB = "stub";
+
+    private final TokenCounter tokenCounter;
+    private final MeterRegistry meterRegistry;
+    private final ResilientLlmClient.RetryPolicy retryPolicy;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMillis;
+    private final HedgingLlmClient.HedgePolicy hedgePolicy;
+    private final RateLimitedLlmClient.RateLimitPolicy rateLimitPolicy;
+
+    public LlmClientConfig(
+            TokenCounter tokenCounter,
+            MeterRegistry meterRegistry,
+            @Value("${ai.openai.max-tokens:500}") int maxTokens,
+            @Value("${ai.openai.resilience.max-attempts:3}") int maxAttempts,
+            @Value("${ai.openai.resilience.initial-backoff-ms:200}") long initialBackoffMillis,
+            @Value("${ai.openai.resilience.max-backoff-ms:2000}") long maxBackoffMillis,
+            @Value("${ai.openai.resilience.min-attempt-ms:1000}") long minAttemptMillis,
+            @Value("${ai.openai.resilience.circuit.window-size:20}") int windowSize,
+            @Value("${ai.openai.resilience.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${ai.openai.resilience.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${ai.openai.resilience.circuit.open-duration-ms:30000}") long openDurationMillis,
+            @Value("${ai.openai.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${ai.openai.hedging.percentile:0.95}") double hedgePercentile,
+            @Value("${ai.openai.hedging.min-delay-ms:1000}") long hedgeMinDelayMillis,
+            @Value("${ai.openai.hedging.max-delay-ms:15000}") long hedgeMaxDelayMillis,
+            @Value("${ai.openai.hedging.min-samples:50}") int hedgeMinSamples,
+            @Value("${ai.openai.hedging.budget-ratio:0.05}") double hedgeBudgetRatio,
+            @Value("${ai.openai.rate-limit.enabled:true}") boolean rateLimitEnabled,
+            @Value("${ai.openai.rate-limit.requests-per-minute:500}") long requestsPerMinute,
+            @Value("${ai.openai.rate-limit.tokens-per-minute:300000}") long tokensPerMinute,
+            @Value("${ai.openai.rate-limit.burst-seconds:10}") double burstSeconds,
+            @Value("${ai.openai.rate-limit.queue-capacity:200}") int queueCapacity,
+            @Value("${ai.openai.rate-limit.max-queue-wait-ms:30000}") long maxQueueWaitMillis) {
+        this.tokenCounter = tokenCounter;
+        this.meterRegistry = meterRegistry;
+        this.retryPolicy = new ResilientLlmClient.RetryPolicy(Math.max(1, maxAttempts), initialBackoffMillis,
+                maxBackoffMillis, minAttemptMillis);
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.hedgePolicy = hedgingEnabled
+                ? new HedgingLlmClient.HedgePolicy(hedgePercentile, hedgeMinDelayMillis, hedgeMaxDelayMillis,
+                        hedgeMinSamples, hedgeBudgetRatio)
+                : null;
+        this.rateLimitPolicy = rateLimitEnabled
+                ? new RateLimitedLlmClient.RateLimitPolicy(requestsPerMinute, tokensPerMinute, burstSeconds,
+                        queueCapacity, maxQueueWaitMillis, maxTokens)
+                : null;
+    }
+
+    @Primary
+    @Bean
+    public LlmClient llmClient(
+            ObjectProvider<OpenAiLlmClient> openAiLlmClient,
+            @Value("${ai.openai.fast-model:}") String fastModel,
+            @Value("${ai.llm.stub.enabled:false}") boolean stubEnabled,
+            @Value("${ai.llm.stub.replay-file:}") String stubReplayFile,
+            @Value("${ai.llm.stub.app-id:}") String stubAppId,
+            @Value("${ai.llm.stub.latency-ms:0}") long stubLatencyMillis,
+            @Value("${ai.llm.stub.chunk-chars:16}") int stubChunkChars,
+            @Value("${ai.llm.routing.app-routing:openai-fast,openai}") List<String> appRoutingRoute,
+            @Value("${ai.llm.routing.step-sequence:openai,openai-fast}") List<String> stepSequenceRoute,
+            @Value("${ai.llm.routing.default:openai,openai-fast}") List<String> defaultRoute) {
+        List<RoutingLlmClient.Provider> providers = new ArrayList<>();
+
+        OpenAiLlmClient openAi = openAiLlmClient.getIfAvailable();
+        if (openAi != null) {
+            providers.add(decorate(OPENAI, openAi));
+            if (!fastModel.isBlank() && !fastModel.equals(openAi.getModel())) {
+                providers.add(decorate(OPENAI_FAST, openAi.forModel(fastModel)));
+            }
+        } else {
+            log.warn("OpenAI API 키가 설정되지 않아 OpenAI 제공자를 등록하지 않습니다.");
+        }
+
+        if (stubEnabled) {
+            List<StubLlmClient.ReplayEntry> replay = stubReplayFile.isBlank()
+                    ? List.of()
+                    : StubLlmClient.loadReplay(Path.of(stubReplayFile));
+            StubLlmClient stub = new StubLlmClient(replay, stubAppId, stubLatencyMillis, stubChunkChars);
+            providers.add(new RoutingLlmClient.Provider(STUB, stub, () -> true));
+        }
+
+        Map<LlmCallOptions.Task, List<String>> rules = new EnumMap<>(LlmCallOptions.Task.class);
+        rules.put(LlmCallOptions.Task.APP_ROUTING, appRoutingRoute);
+        rules.put(LlmCallOptions.Task.STEP_SEQUENCE, stepSequenceRoute);
+        rules.put(LlmCallOptions.Task.GENERAL, defaultRoute);
+        return new RoutingLlmClient(providers, rules, meterRegistry);
+    }
+
+    /**
+     * OpenAI 모델 하나를 호출 한도 → 헤징 → 재시도/회로 차단 순으로 감싼다.
+     */
+    private RoutingLlmClient.Provider decorate(String name, OpenAiLlmClient openAi) {
+        String endpoint = "openai/" + openAi.getModel();
+
+        LlmClient client = openAi;
+        if (rateLimitPolicy != null) {
+            log.info("LLM 호출 한도 설정: endpoint={}, rpm={}, tpm={}, burst={}s, queue={}, maxWait={}ms",
+                    endpoint, rateLimitPolicy.requestsPerMinute(), rateLimitPolicy.tokensPerMinute(),
+                    rateLimitPolicy.burstSeconds(), rateLimitPolicy.queueCapacity(),
+                    rateLimitPolicy.maxQueueWaitMillis());
+            client = new RateLimitedLlmClient(client, endpoint, rateLimitPolicy, tokenCounter, meterRegistry);
+        }
+        if (hedgePolicy != null) {
+            log.info("LLM 헤징 사용: endpoint={}, p{}, delay={}~{}ms, budget={}",
+                    endpoint, Math.round(hedgePolicy.percentile() * 100), hedgePolicy.minDelayMillis(),
+                    hedgePolicy.maxDelayMillis(), hedgePolicy.budgetRatio());
+            client = new HedgingLlmClient(client, endpoint, hedgePolicy, meterRegistry);
+        }
+
+        log.info("LLM 재시도/회로 차단 설정: endpoint={}, maxAttempts={}, backoff={}~{}ms, window={}, failureRate={}, open={}ms",
+                endpoint, retryPolicy.maxAttempts(), retryPolicy.initialBackoffMillis(),
+                retryPolicy.maxBackoffMillis(), windowSize, failureRateThreshold, openDurationMillis);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(endpoint, windowSize, minimumCalls, failureRateThreshold,
+                openDurationMillis);
+        ResilientLlmClient resilient = new ResilientLlmClient(client, endpoint, retryPolicy, circuitBreaker,
+                meterRegistry);
+        return new RoutingLlmClient.Provider(name, resilient,
+                () -> circuitBreaker.getState() != CircuitBreaker.State.OPEN);
+    }
+}
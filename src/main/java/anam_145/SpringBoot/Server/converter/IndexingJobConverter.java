@@ -0,0 +1,34 @@
+package anam_145.SpringBoot.Server.converter;
+
+import anam_145.SpringBoot.Server.domain.indexing.IndexingJob;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingJobResponseDTO;
+
+/**
+ * IndexingJob 엔티티 ↔ DTO 변환
+ */
+public class IndexingJobConverter {
+
+    private IndexingJobConverter() {
+    }
+
+    /**
+     * 작업 엔티티를 응답 DTO로 변환한다.
+     *
+     * @param job 인덱싱 작업 엔티티
+     * @param liveParsedFiles 메모리에 있는 실시간 파싱 진행 수 (진행 중이 아니면 null)
+     * @return 작업 상태 응답 DTO
+     */
+    public static IndexingJobResponseDTO toResponseDTO(IndexingJob job, Integer liveParsedFiles) {
+        return IndexingJobResponseDTO.builder()
+                .jobId(job.getJobId())
+                .appId(job.getAppId())
+                .stage(job.getStage())
+                .parsedFiles(liveParsedFiles != null ? liveParsedFiles : job.getParsedFiles())
+                .totalFiles(job.getTotalFiles())
+                .elementCount(job.getElementCount())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -26,7 +26,9 @@ import java.util.List;
  *   ]
  */
 @Entity
-@Table(name = "guide_entity")
+@Table(name = "guide_entity", indexes = {
+        @Index(name = "idx_guide_lookup", columnList = "app_id, normalized_query, index_version")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -63,6 +65,28 @@ public class GuideEntity {
     @Column(name = "user_query", length = 1000, nullable = false)
     private String userQuery;
 
+    /**
+     * 캐시 조회용으로 정규화한 질문
+     * 소문자 변환, 문장부호 제거, 공백 정리를 거친 값이다.
+     * 예: "비트코인 보내기?" → "비트코인 보내기"
+     */
+    @Column(name = "normalized_query", length = 500)
+    private String normalizedQuery;
+
+    /**
+     * 가이드를 생성할 때 사용한 앱 인덱스 버전 (MiniAppCodeIndex.indexVersion)
+     * 재인덱싱되면 버전이 바뀌므로 이전 버전의 가이드는 재사용하지 않는다.
+     */
+    @Column(name = "index_version")
+    private Long indexVersion;
+
+    /**
+     * 가이드 생성(LLM 호출)에 걸린 시간 (ms)
+     * 캐시 적중 시 절약된 시간 지표로 사용된다.
+     */
+    @Column(name = "generation_millis")
+    private Long generationMillis;
+
     /**
      * 가이드가 생성된 시간
      * 자동으로 현재 시간이 설정된다.
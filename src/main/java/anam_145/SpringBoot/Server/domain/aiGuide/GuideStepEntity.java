@@ -78,6 +78,13 @@ public class GuideStepEntity {
     @Column(name = "target_element", length = 200)
     private String targetElement;
 
+    /**
+     * 이 단계가 가리키는 UI 요소의 카탈로그 인덱스
+     * 같은 인덱스 버전의 카탈로그에서 UI 요소 정보를 다시 구성할 때 사용한다.
+     */
+    @Column(name = "element_index")
+    private Integer elementIndex;
+
     /**
      * UI 요소의 하이라이트 영역 좌표 (JSON 형식)
      * 클라이언트에서 말풍선이나 하이라이트를 표시할 위치 정보를 저장한다.
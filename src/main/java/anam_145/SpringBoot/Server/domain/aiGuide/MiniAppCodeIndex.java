@@ -40,6 +40,14 @@ public class MiniAppCodeIndex {
     @Column(name = "indexed_at", nullable = false, updatable = false)
     private LocalDateTime indexedAt;
 
+    /**
+     * 인덱스 버전
+     * 전체/증분 재인덱싱으로 인덱스 내용이 바뀔 때마다 더 큰 값(epoch millis 기반)으로 갱신된다.
+     * 메모리 카탈로그 등 인덱스 내용을 캐싱하는 쪽에서 최신 여부를 판단하는 기준으로 사용한다.
+     */
+    @Column(name = "index_version")
+    private Long indexVersion;
+
     /**
      * 이 MiniApp에 속한 모든 화면(Screen) 정보 목록
      *
@@ -68,4 +76,16 @@ public class MiniAppCodeIndex {
     public void clearScreens() {
         screens.clear();
     }
+
+    /**
+     * 인덱스 버전을 갱신한다.
+     * 같은 밀리초 안에 여러 번 갱신되어도 항상 이전 값보다 커지도록 보장한다.
+     *
+     * @return 갱신된 인덱스 버전
+     */
+    public long renewIndexVersion() {
+        long previous = indexVersion != null ? indexVersion : 0L;
+        this.indexVersion = Math.max(previous + 1, System.currentTimeMillis());
+        return this.indexVersion;
+    }
 }
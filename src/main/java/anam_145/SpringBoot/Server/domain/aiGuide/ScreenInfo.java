@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * MiniApp의 화면(Screen) 정보를 저장하는 엔티티
@@ -55,6 +57,24 @@ public class ScreenInfo {
     @Column(name = "source_file", length = 500)
     private String sourceFile;
 
+    /**
+     * 화면 소스 파일 내용의 해시 (SHA-256, 16진수 문자열)
+     * 같은 화면명으로 묶이는 파일이 여러 개면 파일 경로 순으로 이어서 계산한다.
+     * 재등록 시 해시가 같은 화면은 다시 파싱하지 않고 기존 데이터를 유지한다.
+     * null이면 다음 등록 때 항상 다시 파싱한다. (해시 도입 이전 데이터, 파싱 실패 등)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * 앱 진입 화면에서 이 화면까지의 최단 이동 경로
+     * 경로 위 네비게이션 UI 요소(ComposableInfo) ID를 이동 순서대로 쉼표로 이어 저장한다. 예: "12,57"
+     * 진입 화면이면 빈 문자열, 도달할 수 없거나 아직 계산되지 않았으면 null이다.
+     * 화면이 추가/변경/삭제되면 경로가 달라질 수 있으므로 인덱싱할 때마다 앱 전체 화면을 다시 계산한다.
+     */
+    @Column(name = "entry_path", length = 1000)
+    private String entryPath;
+
     /**
      * 이 화면이 속한 MiniApp 코드 인덱스
      *
@@ -84,6 +104,34 @@ public class ScreenInfo {
         this.miniAppCodeIndex = miniAppCodeIndex;
     }
 
+    /**
+     * 진입 화면에서 이 화면까지의 이동 경로를 갱신한다.
+     *
+     * @param elementIds 경로 위 네비게이션 UI 요소 ID (진입 화면이면 빈 목록, 도달할 수 없으면 null)
+     */
+    public void updateEntryPath(List<Long> elementIds) {
+        this.entryPath = elementIds == null ? null : elementIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * 저장된 이동 경로를 UI 요소 ID 목록으로 돌려준다.
+     *
+     * @return 경로 위 네비게이션 UI 요소 ID (진입 화면이면 빈 목록, 경로가 없으면 null)
+     */
+    public List<Long> getEntryPathElementIds() {
+        if (entryPath == null) {
+            return null;
+        }
+        if (entryPath.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(entryPath.split(","))
+                .map(Long::valueOf)
+                .toList();
+    }
+
     /**
      * UI 요소를 추가하고 양방향 관계를 설정한다.
      *
@@ -0,0 +1,52 @@
+package anam_145.SpringBoot.Server.domain.appRouting;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 질문 → 미니앱 결정 기록을 저장하는 엔티티
+ *
+ * LLM이 appId를 결정한 질문을 남겨 두고, 로컬 의도 분류기의 학습 데이터로 사용한다.
+ * 분류기가 결정한 질문은 자기 판단을 다시 학습하지 않도록 기록하지 않는다.
+ */
+@Entity
+@Table(name = "app_route_log")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AppRouteLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 사용자 질문 원문
+     */
+    @Column(name = "question", length = 1000, nullable = false)
+    private String question;
+
+    /**
+     * 결정된 MiniApp ID
+     */
+    @Column(name = "app_id", length = 100, nullable = false)
+    private String appId;
+
+    /**
+     * 결정 방식
+     * 예: "llm"
+     */
+    @Column(name = "source", length = 20, nullable = false)
+    private String source;
+
+    /**
+     * 기록 시간
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
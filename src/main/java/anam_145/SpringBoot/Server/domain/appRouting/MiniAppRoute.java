@@ -0,0 +1,58 @@
+package anam_145.SpringBoot.Server.domain.appRouting;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 질문으로 미니앱을 고를 때 사용하는 앱 라우팅 정보를 저장하는 엔티티
+ *
+ * 사용자가 appId 없이 질문만 보내면, 질문에 포함된 키워드로 대상 미니앱을 결정한다.
+ * 키워드로 결정되지 않으면 이름과 설명을 LLM 프롬프트의 앱 목록으로 사용한다.
+ * 앱을 추가하거나 키워드를 바꿀 때 코드 수정 없이 이 테이블만 갱신하면 된다.
+ */
+@Entity
+@Table(name = "mini_app_route")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class MiniAppRoute {
+
+    /**
+     * MiniApp 고유 식별자
+     */
+    @Id
+    @Column(name = "app_id", length = 100, nullable = false)
+    private String appId;
+
+    /**
+     * 앱 표시 이름
+     * 예: "Bitcoin Wallet"
+     */
+    @Column(name = "name", length = 100, nullable = false)
+    private String name;
+
+    /**
+     * 앱 설명 (LLM이 앱을 고를 때 참고)
+     * 예: "비트코인 블록체인 지갑"
+     */
+    @Column(name = "description", length = 500)
+    private String description;
+
+    /**
+     * 질문으로 앱을 결정할 수 없을 때 사용할 기본 앱 여부
+     */
+    @Column(name = "default_app", nullable = false)
+    private boolean defaultApp;
+
+    /**
+     * 이 앱으로 라우팅할 키워드/동의어 목록
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "mini_app_route_keyword", joinColumns = @JoinColumn(name = "app_id"))
+    @Builder.Default
+    private List<RouteKeyword> keywords = new ArrayList<>();
+}
@@ -0,0 +1,34 @@
+package anam_145.SpringBoot.Server.domain.appRouting;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 앱 라우팅 키워드 (MiniAppRoute에 포함되는 값 타입)
+ *
+ * 질문에 키워드가 나오면 해당 앱에 가중치만큼 점수를 더한다.
+ * 앱 이름처럼 확실한 키워드는 가중치를 높게, 여러 앱에 걸칠 수 있는 일반 단어는 낮게 둔다.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class RouteKeyword {
+
+    /**
+     * 키워드 (대소문자 구분 없이 비교)
+     * 예: "비트코인", "btc", "bitcoin"
+     */
+    @Column(name = "keyword", length = 100, nullable = false)
+    private String keyword;
+
+    /**
+     * 키워드 가중치
+     */
+    @Column(name = "weight", nullable = false)
+    private double weight;
+}
@@ -0,0 +1,152 @@
+package anam_145.SpringBoot.Server.domain.indexing;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 MiniApp 인덱싱 작업 정보를 저장하는 엔티티
+ *
+ * ZIP 업로드 요청은 작업 ID만 즉시 반환하고, 실제 인덱싱은 작업 큐에서 처리된다.
+ * 작업 상태를 DB에 저장하므로 서버가 재시작되어도 대기/진행 중이던 작업을 다시 실행할 수 있다.
+ */
+@Entity
+@Table(name = "indexing_job", indexes = {
+        @Index(name = "idx_indexing_job_app_id", columnList = "app_id"),
+        @Index(name = "idx_indexing_job_stage", columnList = "stage")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class IndexingJob {
+
+    /**
+     * 작업 고유 식별자 (UUID)
+     */
+    @Id
+    @Column(name = "job_id", length = 36, nullable = false)
+    private String jobId;
+
+    /**
+     * 인덱싱 대상 MiniApp ID
+     */
+    @Column(name = "app_id", length = 100, nullable = false)
+    private String appId;
+
+    /**
+     * 현재 진행 단계
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage", length = 20, nullable = false)
+    private IndexingJobStage stage;
+
+    /**
+     * 업로드된 ZIP 파일이 임시 저장된 로컬 경로
+     * 작업이 끝나면 파일은 삭제된다.
+     */
+    @Column(name = "zip_path", length = 1000, nullable = false)
+    private String zipPath;
+
+    /**
+     * 업로드된 원본 파일 이름
+     */
+    @Column(name = "original_filename", length = 500)
+    private String originalFilename;
+
+    /**
+     * 업로드 시 전달된 Content-Type (ZIP 유효성 검사에 그대로 사용)
+     */
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    /**
+     * 파싱 대상 소스 파일 총 개수 (추출 단계 이후 설정)
+     */
+    @Column(name = "total_files")
+    private Integer totalFiles;
+
+    /**
+     * 파싱이 끝난 소스 파일 개수
+     * 파싱 중에는 메모리의 실시간 진행률이 우선하며, 단계가 바뀔 때 DB에 반영된다.
+     */
+    @Column(name = "parsed_files")
+    private Integer parsedFiles;
+
+    /**
+     * 저장된 UI 요소 개수 (완료 시 설정)
+     */
+    @Column(name = "element_count")
+    private Integer elementCount;
+
+    /**
+     * 실패 사유
+     */
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    /**
+     * 작업이 등록된 시간
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 작업 상태가 마지막으로 변경된 시간
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 작업이 완료 또는 실패한 시간
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * 진행 단계를 변경한다.
+     *
+     * @param stage 새 진행 단계
+     */
+    public void changeStage(IndexingJobStage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * 파싱 진행률을 갱신한다.
+     *
+     * @param parsedFiles 파싱이 끝난 파일 개수
+     * @param totalFiles 전체 파일 개수
+     */
+    public void updateProgress(int parsedFiles, int totalFiles) {
+        this.parsedFiles = parsedFiles;
+        this.totalFiles = totalFiles;
+    }
+
+    /**
+     * 작업을 완료 처리한다.
+     *
+     * @param elementCount 저장된 UI 요소 개수
+     */
+    public void complete(int elementCount) {
+        this.stage = IndexingJobStage.COMPLETED;
+        this.elementCount = elementCount;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 작업을 실패 처리한다.
+     *
+     * @param errorMessage 실패 사유
+     */
+    public void fail(String errorMessage) {
+        this.stage = IndexingJobStage.FAILED;
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
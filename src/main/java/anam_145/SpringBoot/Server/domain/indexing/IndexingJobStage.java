@@ -0,0 +1,21 @@
+package anam_145.SpringBoot.Server.domain.indexing;
+
+/**
+ * MiniApp 인덱싱 작업의 진행 단계
+ */
+public enum IndexingJobStage {
+
+    QUEUED,     // 작업 큐에서 대기 중
+    EXTRACTING, // ZIP 파일에서 소스 파일 추출 중
+    PARSING,    // 소스 파일 파싱 중 (진행률: parsedFiles / totalFiles)
+    PERSISTING, // 파싱 결과를 DB에 저장 중
+    COMPLETED,  // 인덱싱 완료
+    FAILED;     // 인덱싱 실패 (errorMessage 참고)
+
+    /**
+     * 더 이상 진행되지 않는 최종 단계인지 확인한다.
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,25 @@
+package anam_145.SpringBoot.Server.repository;
+
+import anam_145.SpringBoot.Server.domain.appRouting.AppRouteLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * AppRouteLog 엔티티에 대한 데이터 접근 Repository
+ *
+ * 의도 분류기 학습에 사용할 과거 앱 결정 기록을 조회한다.
+ */
+@Repository
+public interface AppRouteLogRepository extends JpaRepository<AppRouteLog, Long> {
+
+    /**
+     * 최근 기록부터 조회한다.
+     *
+     * @param pageable 조회 개수 제한
+     * @return 최근 앱 결정 기록 (최신 순)
+     */
+    List<AppRouteLog> findByOrderByIdDesc(Pageable pageable);
+}
@@ -0,0 +1,78 @@
+package anam_145.SpringBoot.Server.repository;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * ComposableInfo 대량 저장 전용 JDBC Repository
+ *
+ * ComposableInfo는 IDENTITY 전략을 사용하므로 Hibernate가 INSERT 배치를 적용하지 못하고
+ * saveAll()이 UI 요소마다 한 번씩 INSERT를 보낸다.
+ * 인덱싱 시에는 저장 직후 엔티티의 ID를 사용하지 않으므로, JDBC 배치로 묶어서 한 번에 저장한다.
+ *
+ * 주의: JPA를 거치지 않으므로 @PrePersist(buildSearchableText)가 호출되지 않는다.
+ * 이 클래스에서 직접 호출한 뒤 저장한다.
+ */
+@Slf4j
+@Repository
+public class ComposableInfoJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO composable_info (
+                app_id, screen_id, type, composable_id, fallback_selector,
+                text, semantic_hint, onclick_code, modifier_code,
+                source_file, line_number, searchable_text
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ComposableInfoJdbcRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${ai.indexing.insert-batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * UI 요소 목록을 JDBC 배치 INSERT로 저장한다.
+     * 호출한 쪽의 트랜잭션(JPA 트랜잭션 포함)에 참여하며, screenInfo는 이미 저장되어 ID가 있어야 한다.
+     *
+     * @param composables 저장할 UI 요소 목록 (저장 후에도 엔티티의 id는 채워지지 않음)
+     * @return 저장된 UI 요소 개수
+     */
+    public int batchInsert(List<ComposableInfo> composables) {
+        if (composables.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, composables, batchSize, (ps, composable) -> {
+            // JPA를 거치지 않으므로 검색용 텍스트를 직접 생성
+            composable.buildSearchableText();
+
+            ps.setString(1, composable.getAppId());
+            ps.setObject(2, composable.getScreenId(), Types.BIGINT);
+            ps.setString(3, composable.getType());
+            ps.setString(4, composable.getComposableId());
+            ps.setString(5, composable.getFallbackSelector());
+            ps.setString(6, composable.getText());
+            ps.setString(7, composable.getSemanticHint());
+            ps.setString(8, composable.getOnClickCode());
+            ps.setString(9, composable.getModifierCode());
+            ps.setString(10, composable.getSourceFile());
+            ps.setObject(11, composable.getLineNumber(), Types.INTEGER);
+            ps.setString(12, composable.getSearchableText());
+        });
+
+        log.debug("UI 요소 배치 저장 완료: {}개 (batchSize={})", composables.size(), batchSize);
+        return composables.size();
+    }
+}
@@ -1,11 +1,15 @@
 package anam_145.SpringBoot.Server.repository;
 
 import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import anam_145.SpringBoot.Server.repository.projection.AppTextSample;
+import anam_145.SpringBoot.Server.repository.projection.NavigationSource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -106,6 +110,40 @@ public interface ComposableInfoRepository extends JpaRepository<ComposableInfo,
                                          @Param("limit") int limit);
     */
 
+    /**
+     * 특정 MiniApp의 모든 UI 요소를 화면 정보와 함께 조회한다.
+     * 화면 정보를 JOIN FETCH로 한 번에 가져오므로 요소별 지연 로딩(N+1)이 발생하지 않는다.
+     * 메모리 카탈로그를 만들 때 사용한다.
+     *
+     * @param appId MiniApp ID
+     * @return 해당 앱의 모든 UI 요소 목록 (ID 순)
+     */
+    @Query("SELECT c FROM ComposableInfo c LEFT JOIN FETCH c.screenInfo " +
+           "WHERE c.appId = :appId ORDER BY c.id")
+    List<ComposableInfo> findAllWithScreenByAppId(@Param("appId") String appId);
+
+    /**
+     * 특정 MiniApp에서 화면 이동 코드(navigateTo)를 가진 UI 요소만 조회한다.
+     * 화면 이동 그래프를 만들 때 사용하며, 엔티티 대신 필요한 값만 가져온다.
+     *
+     * @param appId MiniApp ID
+     * @return 이동 요소의 ID, 화면명, 클릭 코드 (ID 순)
+     */
+    @Query("SELECT new anam_145.SpringBoot.Server.repository.projection.NavigationSource(c.id, s.name, c.onClickCode) " +
+           "FROM ComposableInfo c JOIN c.screenInfo s " +
+           "WHERE c.appId = :appId AND c.onClickCode LIKE '%navigateTo%' ORDER BY c.id")
+    List<NavigationSource> findNavigationSourcesByAppId(@Param("appId") String appId);
+
+    /**
+     * 모든 MiniApp에서 텍스트 또는 의미 힌트가 있는 UI 요소의 텍스트만 조회한다.
+     * 질문 → 앱 의도 분류기를 학습할 때 사용하며, 엔티티 대신 필요한 값만 가져온다.
+     *
+     * @return 앱 ID, 표시 텍스트, 의미 힌트
+     */
+    @Query("SELECT new anam_145.SpringBoot.Server.repository.projection.AppTextSample(c.appId, c.text, c.semanticHint) " +
+           "FROM ComposableInfo c WHERE c.text IS NOT NULL OR c.semanticHint IS NOT NULL")
+    List<AppTextSample> findAllTextSamples();
+
     /**
      * 특정 화면에 속한 모든 UI 요소를 조회한다.
      *
@@ -121,10 +159,28 @@ public interface ComposableInfoRepository extends JpaRepository<ComposableInfo,
     /**
      * 특정 MiniApp의 모든 UI 요소를 삭제한다.
      * 주로 재인덱싱 시 기존 데이터를 정리하는데 사용된다.
+     * 엔티티를 로딩하지 않고 DELETE 문 하나로 처리한다.
+     *
+     * @param appId MiniApp ID
+     * @return 삭제된 UI 요소 개수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ComposableInfo c WHERE c.appId = :appId")
+    int deleteByAppId(@Param("appId") String appId);
+
+    /**
+     * 특정 MiniApp의 지정한 화면들에 속한 UI 요소를 삭제한다.
+     * 증분 재인덱싱 시 변경/삭제된 화면의 UI 요소를 정리하는데 사용된다.
      *
      * @param appId MiniApp ID
+     * @param screenNames 화면 이름 목록
+     * @return 삭제된 UI 요소 개수
      */
-    void deleteByAppId(String appId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ComposableInfo c WHERE c.appId = :appId AND c.screenId IN " +
+           "(SELECT s.id FROM ScreenInfo s WHERE s.appId = :appId AND s.name IN :screenNames)")
+    int deleteByAppIdAndScreenNames(@Param("appId") String appId,
+                                    @Param("screenNames") Collection<String> screenNames);
 
     /**
      * 특정 MiniApp의 UI 요소 개수를 조회한다.
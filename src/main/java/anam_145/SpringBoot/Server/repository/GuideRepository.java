@@ -2,6 +2,7 @@ package anam_145.SpringBoot.Server.repository;
 
 import anam_145.SpringBoot.Server.domain.aiGuide.GuideEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -58,6 +59,49 @@ public interface GuideRepository extends JpaRepository<GuideEntity, String> {
      */
     List<GuideEntity> findByAppIdAndIntent(String appId, String intent);
 
+    /**
+     * 캐시 조회: 같은 앱, 같은 인덱스 버전, 같은 정규화 질문으로 생성된 가이드를 단계와 함께 조회한다.
+     *
+     * @param appId MiniApp ID
+     * @param indexVersion 앱 인덱스 버전
+     * @param normalizedQuery 정규화된 질문
+     * @param createdAfter 이 시간 이후에 생성된 가이드만 (TTL)
+     * @return 최신순으로 정렬된 가이드 목록
+     */
+    @Query("SELECT DISTINCT g FROM GuideEntity g LEFT JOIN FETCH g.steps " +
+           "WHERE g.appId = :appId AND g.indexVersion = :indexVersion " +
+           "AND g.normalizedQuery = :normalizedQuery AND g.createdAt >= :createdAfter " +
+           "ORDER BY g.createdAt DESC")
+    List<GuideEntity> findCachedGuides(@Param("appId") String appId,
+                                       @Param("indexVersion") long indexVersion,
+                                       @Param("normalizedQuery") String normalizedQuery,
+                                       @Param("createdAfter") LocalDateTime createdAfter);
+
+    /**
+     * 특정 MiniApp에서 지정한 인덱스 버전이 아닌 가이드를 삭제한다.
+     * 단계(GuideStepEntity)는 GuideStepRepository로 먼저 삭제해야 한다.
+     *
+     * @param appId MiniApp ID
+     * @param indexVersion 유지할 인덱스 버전
+     * @return 삭제된 가이드 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GuideEntity g WHERE g.appId = :appId " +
+           "AND (g.indexVersion IS NULL OR g.indexVersion <> :indexVersion)")
+    int deleteByAppIdAndOtherIndexVersion(@Param("appId") String appId,
+                                          @Param("indexVersion") long indexVersion);
+
+    /**
+     * 지정한 시간 이전에 생성된 가이드를 삭제한다.
+     * 단계(GuideStepEntity)는 GuideStepRepository로 먼저 삭제해야 한다.
+     *
+     * @param createdBefore 기준 시간
+     * @return 삭제된 가이드 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GuideEntity g WHERE g.createdAt < :createdBefore")
+    int deleteByCreatedAtBefore(@Param("createdBefore") LocalDateTime createdBefore);
+
     /**
      * 특정 MiniApp의 모든 가이드를 삭제한다.
      * cascade 설정에 의해 관련된 GuideStepEntity도 함께 삭제된다.
@@ -0,0 +1,44 @@
+package anam_145.SpringBoot.Server.repository;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.GuideStepEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * GuideStepEntity 엔티티에 대한 데이터 접근 Repository
+ *
+ * 가이드 캐시 정리 시 GuideEntity보다 먼저 단계를 일괄 삭제하는 데 사용한다.
+ */
+@Repository
+public interface GuideStepRepository extends JpaRepository<GuideStepEntity, Long> {
+
+    /**
+     * 특정 MiniApp에서 지정한 인덱스 버전이 아닌 가이드의 단계를 삭제한다.
+     *
+     * @param appId MiniApp ID
+     * @param indexVersion 유지할 인덱스 버전
+     * @return 삭제된 단계 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GuideStepEntity s WHERE s.guideId IN " +
+           "(SELECT g.guideId FROM GuideEntity g WHERE g.appId = :appId " +
+           "AND (g.indexVersion IS NULL OR g.indexVersion <> :indexVersion))")
+    int deleteByAppIdAndOtherIndexVersion(@Param("appId") String appId,
+                                          @Param("indexVersion") long indexVersion);
+
+    /**
+     * 지정한 시간 이전에 생성된 가이드의 단계를 삭제한다.
+     *
+     * @param createdBefore 기준 시간
+     * @return 삭제된 단계 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GuideStepEntity s WHERE s.guideId IN " +
+           "(SELECT g.guideId FROM GuideEntity g WHERE g.createdAt < :createdBefore)")
+    int deleteByGuideCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
@@ -0,0 +1,27 @@
+package anam_145.SpringBoot.Server.repository;
+
+import anam_145.SpringBoot.Server.domain.indexing.IndexingJob;
+import anam_145.SpringBoot.Server.domain.indexing.IndexingJobStage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * IndexingJob 엔티티에 대한 데이터 접근 Repository
+ *
+ * 비동기 인덱싱 작업의 상태를 조회하고 관리한다.
+ */
+@Repository
+public interface IndexingJobRepository extends JpaRepository<IndexingJob, String> {
+
+    /**
+     * 특정 단계에 있는 작업들을 등록 순서대로 조회한다.
+     * 서버 재시작 시 끝나지 않은 작업을 다시 큐에 넣는데 사용된다.
+     *
+     * @param stages 조회할 진행 단계 목록
+     * @return 등록 시간 오름차순으로 정렬된 작업 목록
+     */
+    List<IndexingJob> findByStageInOrderByCreatedAtAsc(Collection<IndexingJobStage> stages);
+}
@@ -2,6 +2,9 @@ package anam_145.SpringBoot.Server.repository;
 
 import anam_145.SpringBoot.Server.domain.aiGuide.MiniAppCodeIndex;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -33,9 +36,13 @@ public interface MiniAppCodeIndexRepository extends JpaRepository<MiniAppCodeInd
 
     /**
      * 특정 MiniApp의 코드 인덱스를 삭제한다.
-     * cascade 설정에 의해 관련된 ScreenInfo와 ComposableInfo도 함께 삭제된다.
+     * 엔티티를 로딩하지 않는 DELETE 문이므로 cascade가 적용되지 않는다.
+     * ComposableInfo → ScreenInfo 순서로 먼저 삭제한 뒤 호출해야 한다.
      *
      * @param appId MiniApp ID
+     * @return 삭제된 인덱스 개수 (0 또는 1)
      */
-    void deleteByAppId(String appId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MiniAppCodeIndex m WHERE m.appId = :appId")
+    int deleteByAppId(@Param("appId") String appId);
 }
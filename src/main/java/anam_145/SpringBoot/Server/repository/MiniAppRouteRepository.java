@@ -0,0 +1,26 @@
+package anam_145.SpringBoot.Server.repository;
+
+import anam_145.SpringBoot.Server.domain.appRouting.MiniAppRoute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * MiniAppRoute 엔티티에 대한 데이터 접근 Repository
+ *
+ * 질문 기반 앱 라우팅에 사용할 앱 목록과 키워드를 조회한다.
+ */
+@Repository
+public interface MiniAppRouteRepository extends JpaRepository<MiniAppRoute, String> {
+
+    /**
+     * 모든 앱 라우팅 정보를 키워드와 함께 조회한다.
+     * 키워드를 JOIN FETCH로 한 번에 가져오므로 앱별 지연 로딩(N+1)이 발생하지 않는다.
+     *
+     * @return 모든 앱 라우팅 정보 (appId 순)
+     */
+    @Query("SELECT DISTINCT r FROM MiniAppRoute r LEFT JOIN FETCH r.keywords ORDER BY r.appId")
+    List<MiniAppRoute> findAllWithKeywords();
+}
@@ -2,10 +2,12 @@ package anam_145.SpringBoot.Server.repository;
 
 import anam_145.SpringBoot.Server.domain.aiGuide.ScreenInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,9 +47,25 @@ public interface ScreenInfoRepository extends JpaRepository<ScreenInfo, Long> {
 
     /**
      * 특정 MiniApp의 모든 화면을 삭제한다.
-     * cascade 설정에 의해 관련된 ComposableInfo도 함께 삭제된다.
+     * 엔티티를 로딩하지 않는 DELETE 문이므로 cascade가 적용되지 않는다.
+     * 관련된 ComposableInfo를 먼저 삭제한 뒤 호출해야 한다.
      *
      * @param appId MiniApp ID
+     * @return 삭제된 화면 개수
      */
-    void deleteByAppId(String appId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ScreenInfo s WHERE s.appId = :appId")
+    int deleteByAppId(@Param("appId") String appId);
+
+    /**
+     * 특정 MiniApp의 지정한 화면들을 삭제한다.
+     * cascade가 적용되지 않으므로 해당 화면의 ComposableInfo를 먼저 삭제한 뒤 호출해야 한다.
+     *
+     * @param appId MiniApp ID
+     * @param names 화면 이름 목록
+     * @return 삭제된 화면 개수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ScreenInfo s WHERE s.appId = :appId AND s.name IN :names")
+    int deleteByAppIdAndNameIn(@Param("appId") String appId, @Param("names") Collection<String> names);
 }
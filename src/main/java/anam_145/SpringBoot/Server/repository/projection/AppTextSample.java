@@ -0,0 +1,11 @@
+package anam_145.SpringBoot.Server.repository.projection;
+
+/**
+ * 의도 분류기 학습용 UI 요소 텍스트 (ComposableInfo 조회 결과)
+ *
+ * @param appId 요소가 속한 MiniApp ID
+ * @param text 표시 텍스트
+ * @param semanticHint 의미 힌트
+ */
+public record AppTextSample(String appId, String text, String semanticHint) {
+}
@@ -0,0 +1,12 @@
+package anam_145.SpringBoot.Server.repository.projection;
+
+/**
+ * 화면 이동 그래프의 간선 후보 (이동 코드를 가진 UI 요소)
+ * ComposableInfoRepository에서 엔티티 대신 필요한 값만 조회할 때 사용한다.
+ *
+ * @param elementId UI 요소(ComposableInfo) ID
+ * @param screenName UI 요소가 속한 화면명
+ * @param onClickCode 클릭 핸들러 코드 (navigateTo 포함)
+ */
+public record NavigationSource(Long elementId, String screenName, String onClickCode) {
+}
@@ -1,7 +1,12 @@
 package anam_145.SpringBoot.Server.service.aiGuideService;
 
+import anam_145.SpringBoot.Server.service.llm.Deadline;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideRequestDTO;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideResponseDTO;
+import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideStepDTO;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * AI 가이드 생성 서비스 인터페이스
@@ -18,8 +23,28 @@ public interface AiGuideService {
      * 3. 검색된 UI 요소 정보를 컨텍스트로 LLM에 전달
      * 4. LLM 응답을 바탕으로 GuideResponseDTO 생성
      *
+     * LLM 응답을 기다리는 동안 요청 스레드를 점유하지 않도록 future로 돌려준다.
+     * 캐시 적중 등 LLM 호출이 필요 없으면 이미 완료된 future를 돌려준다.
+     * 마감 시각이 지나면 LLM 호출을 더 진행하지 않고 GPT_DEADLINE_EXCEEDED로 실패한다.
+     *
+     * @param request 사용자 질문 및 앱 ID
+     * @param deadline 요청 처리 마감 시각
+     * @return 가이드 메시지 및 타겟 UI 요소 정보 future
+     */
+    CompletableFuture<GuideResponseDTO> generateGuide(GuideRequestDTO request, Deadline deadline);
+
+    /**
+     * 사용자 질문에 대한 AI 가이드를 단계별로 스트리밍 생성
+     *
+     * LLM 스트리밍 응답에서 단계 객체가 완성되고 UI 요소 목록 범위 검증을 통과할 때마다 onStep을 호출한다.
+     * 캐시 적중 시에는 모든 단계를 바로 전달한다.
+     * 반환한 future를 취소하면 진행 중인 LLM 스트리밍 호출도 취소한다.
+     *
      * @param request 사용자 질문 및 앱 ID
-     * @return 가이드 메시지 및 타겟 UI 요소 정보
+     * @param deadline 요청 처리 마감 시각
+     * @param onStep 단계 하나가 준비될 때마다 호출되는 콜백 (순서대로 호출됨)
+     * @return 전체 가이드 future (모든 단계 전달 후 완료)
      */
-    GuideResponseDTO generateGuide(GuideRequestDTO request);
+    CompletableFuture<GuideResponseDTO> streamGuide(GuideRequestDTO request, Deadline deadline,
+                                                    Consumer<GuideStepDTO> onStep);
 }
@@ -1,220 +1,605 @@
 package anam_145.SpringBoot.Server.service.aiGuideService;
 
-import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
-import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
-import anam_145.SpringBoot.Server.service.llm.OpenAiClientService;
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.AppRoutingException;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import anam_145.SpringBoot.Server.service.appRouting.AppProfile;
+import anam_145.SpringBoot.Server.service.appRouting.AppRouteDecision;
+import anam_145.SpringBoot.Server.service.appRouting.AppRoutingService;
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.AppCatalogService;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.guideCache.GuideCacheService;
+import anam_145.SpringBoot.Server.service.guideCache.GuideCacheWriter;
+import anam_145.SpringBoot.Server.service.guideCache.GuideStepPlan;
+import anam_145.SpringBoot.Server.service.guideCache.SemanticGuideCacheService;
+import anam_145.SpringBoot.Server.service.guideCache.SemanticMatch;
+import anam_145.SpringBoot.Server.service.llm.Deadline;
+import anam_145.SpringBoot.Server.service.llm.LlmCallOptions;
+import anam_145.SpringBoot.Server.service.llm.LlmClient;
+import anam_145.SpringBoot.Server.service.retrieval.CandidateRetrievalService;
+import anam_145.SpringBoot.Server.service.retrieval.CandidateSelection;
+import anam_145.SpringBoot.Server.util.NavigationTargetExtractor;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.ActionType;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideRequestDTO;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideResponseDTO;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideStepDTO;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * AI 가이드 생성 서비스 구현체
- * RAG 방식으로 DB에서 관련 UI 요소를 검색하고 LLM을 활용해 안내 메시지를 생성한다.
+ * RAG 방식으로 앱 카탈로그에서 관련 UI 요소 후보를 검색(BM25 + 벡터)하고 LLM을 활용해 안내 메시지를 생성한다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AiGuideServiceImpl implements AiGuideService {
 
-    private final ComposableInfoRepository composableInfoRepository;
-    private final OpenAiClientService openAiClientService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * appId 결정 프롬프트에서 LLM이 앱을 판단할 수 없을 때 돌려주는 값 (기본 앱으로 대체, 학습 데이터로 기록하지 않음)
+     */
+    private static final String UNKNOWN_APP_ID = "unknown";
+
+    /**
+     * 사용자 프롬프트에서 UI 요소 목록 뒤에 붙는 응답 형식 안내 (요청마다 동일)
+     * 화면 이동 경로 정보가 없는 앱에서 사용하며, 이동 단계 구성까지 LLM에 맡긴다.
+     */
+    private static final String SEQUENCE_INSTRUCTIONS = """
+
+            위 모든 UI 요소 중에서 사용자 질문과 관련된 요소들을 의미적으로 선택하고,
+            논리적 순서로 정렬하여 단계별 가이드를 JSON 형식으로 생성하세요.
+
+            응답 형식:
+            {
+              "steps": [
+                {
+                  "stepNumber": 1,
+                  "elementIndex": 0,
+                  "message": "사용자 친화적인 안내 메시지"
+                },
+                ...
+              ]
+            }
+
+            주의:
+            1. elementIndex는 위 목록 각 줄 앞의 번호(0부터 시작)입니다.
+            2. 사용자 질문의 의도를 파악하여 적합한 요소만 선택하세요.
+            3. 텍스트("...")나 설명((...))에서 의미가 유사한 요소를 찾으세요.
+            4. **중요: 목표 요소가 현재 메인 페이지가 아닌 다른 페이지에 있다면,
+               반드시 그 페이지로 이동하는 버튼을 먼저 단계에 포함시키세요.**
+               - 각 페이지의 요소들을 확인하여 논리적인 네비게이션 경로를 구성하세요.
+               - 같은 페이지 내의 요소들은 순차적으로 안내하세요.
+            """;
+
+    /**
+     * 압축된 UI 요소 목록 형식 설명 (ElementTableCache.appendElementLine과 일치해야 함)
+     */
+    private static final String ELEMENT_FORMAT =
+            "(형식: [화면명] 머리줄 아래에 요소마다 한 줄 - 번호 타입#id \"텍스트\" (설명) onClick: 클릭 코드 → 이동 화면, 없는 항목은 생략)\n";
+
+    /**
+     * 화면 이동 경로가 인덱싱된 앱용 응답 형식 안내
+     * 다른 페이지로 이동하는 단계는 서버가 경로 정보로 채우므로 LLM은 목표 요소만 고른다.
+     */
+    private static final String TARGET_INSTRUCTIONS = """
+
+            위 UI 요소 중에서 사용자 질문의 목표를 달성하기 위해 조작해야 하는 요소만 골라
+            조작 순서대로 JSON 형식으로 응답하세요.
+
+            응답 형식:
+            {
+              "steps": [
+                {
+                  "stepNumber": 1,
+                  "elementIndex": 0,
+                  "message": "사용자 친화적인 안내 메시지"
+                },
+                ...
+              ]
+            }
+
+            주의:
+            1. elementIndex는 위 목록 각 줄 앞의 번호(0부터 시작)입니다.
+            2. 사용자 질문의 의도를 파악하여 적합한 요소만 선택하세요.
+            3. 텍스트("...")나 설명((...))에서 의미가 유사한 요소를 찾으세요.
+            4. 목표 요소가 있는 페이지로 이동하는 버튼은 포함하지 마세요. 페이지 이동 단계는 자동으로 추가됩니다.
+            """;
+
+    private final AppCatalogService appCatalogService;
+    private final ElementTableCache elementTableCache;
+    private final CandidateRetrievalService candidateRetrievalService;
+    private final GuideCacheService guideCacheService;
+    private final SemanticGuideCacheService semanticGuideCacheService;
+    private final GuideCacheWriter guideCacheWriter;
+    private final GuideRequestCoalescer guideRequestCoalescer;
+    private final AppRoutingService appRoutingService;
+    private final GuideSpeculator guideSpeculator;
+    private final PromptTokenBudget promptTokenBudget;
+    private final LlmClient llmClient;
+    private final Executor preparationExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public AiGuideServiceImpl(
+            AppCatalogService appCatalogService,
+            ElementTableCache elementTableCache,
+            CandidateRetrievalService candidateRetrievalService,
+            GuideCacheService guideCacheService,
+            SemanticGuideCacheService semanticGuideCacheService,
+            GuideCacheWriter guideCacheWriter,
+            GuideRequestCoalescer guideRequestCoalescer,
+            AppRoutingService appRoutingService,
+            GuideSpeculator guideSpeculator,
+            PromptTokenBudget promptTokenBudget,
+            LlmClient llmClient,
+            @Qualifier("guidePreparationExecutor") Executor preparationExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.appCatalogService = appCatalogService;
+        this.elementTableCache = elementTableCache;
+        this.candidateRetrievalService = candidateRetrievalService;
+        this.guideCacheService = guideCacheService;
+        this.semanticGuideCacheService = semanticGuideCacheService;
+        this.guideCacheWriter = guideCacheWriter;
+        this.guideRequestCoalescer = guideRequestCoalescer;
+        this.appRoutingService = appRoutingService;
+        this.guideSpeculator = guideSpeculator;
+        this.promptTokenBudget = promptTokenBudget;
+        this.llmClient = llmClient;
+        this.preparationExecutor = preparationExecutor;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
-    public GuideResponseDTO generateGuide(GuideRequestDTO request) {
+    public CompletableFuture<GuideResponseDTO> generateGuide(GuideRequestDTO request, Deadline deadline) {
         log.info("AI 가이드 생성 요청: appId={}, userQuestion={}",
                 request.getAppId(), request.getUserQuestion());
 
-        // 1. appId가 비어있으면 질문으로부터 결정
-        String targetAppId = request.getAppId();
-        if (targetAppId == null || targetAppId.isBlank()) {
-            targetAppId = determineAppIdFromQuestion(request.getUserQuestion());
-            log.info("질문으로부터 appId 결정: {}", targetAppId);
+        // 1. appId가 비어있으면 질문으로부터 결정 (LLM으로 결정하는 동안 유력 후보 앱의 준비 작업을 미리 수행)
+        //    앱 결정은 HttpClient 스레드에서 완료될 수 있으므로 이후의 DB/CPU 작업은 준비 스레드 풀에서 수행
+        String userQuestion = request.getUserQuestion();
+        return resolveTarget(request, deadline, call -> { })
+                .thenComposeAsync(this::prepare, preparationExecutor)
+                .thenCompose(prepared -> generateGuideForApp(prepared, userQuestion, deadline));
+    }
+
+    @Override
+    public CompletableFuture<GuideResponseDTO> streamGuide(GuideRequestDTO request, Deadline deadline,
+                                                          Consumer<GuideStepDTO> onStep) {
+        log.info("AI 가이드 스트리밍 요청: appId={}, userQuestion={}",
+                request.getAppId(), request.getUserQuestion());
+
+        long startedAt = System.nanoTime();
+        String userQuestion = request.getUserQuestion();
+
+        // 반환한 future가 취소되면(클라이언트 연결 종료 등) 진행 중인 호출(appId 결정 대기 또는 LLM 스트리밍)도 취소하고,
+        // 아직 시작 전이면 시작하지 않는다. appId 결정은 이 요청의 대기만 취소되고, 같은 질문의 다른 요청과 공유하는 호출은 계속된다.
+        CompletableFuture<GuideResponseDTO> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> pendingCall = new AtomicReference<>();
+        result.whenComplete((response, error) -> {
+            CompletableFuture<?> call = pendingCall.get();
+            if (result.isCancelled() && call != null) {
+                call.cancel(true);
+            }
+        });
+        Consumer<CompletableFuture<?>> trackCall = call -> {
+            pendingCall.set(call);
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        };
+
+        resolveTarget(request, deadline, trackCall)
+                .thenComposeAsync(this::prepare, preparationExecutor)
+                .thenCompose(prepared -> result.isCancelled()
+                        ? CompletableFuture.<GuideResponseDTO>failedFuture(new CancellationException())
+                        : streamGuideForApp(prepared, userQuestion, deadline, onStep, startedAt, trackCall::accept))
+                .whenComplete((response, error) -> {
+                    Timer.builder("ai.guide.stream.duration")
+                            .tag("outcome", result.isCancelled() ? "cancelled" : error == null ? "success" : "error")
+                            .description("스트리밍 가이드 전체 처리 시간")
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    if (error == null) {
+                        result.complete(response);
+                    } else {
+                        result.completeExceptionally(error);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * 요청에 appId가 있으면 그대로, 없으면 질문으로부터 결정한다.
+     *
+     * @param onRoutingCall LLM appId 결정을 기다리는 future를 받는 콜백 (요청 취소 시 대기를 취소하는 데 사용)
+     */
+    private CompletableFuture<GuideTarget> resolveTarget(GuideRequestDTO request, Deadline deadline,
+                                                         Consumer<CompletableFuture<?>> onRoutingCall) {
+        if (request.getAppId() != null && !request.getAppId().isBlank()) {
+            return CompletableFuture.completedFuture(new GuideTarget(request.getAppId(), null));
+        }
+        return determineAppIdFromQuestion(request.getUserQuestion(), deadline, onRoutingCall).thenApply(target -> {
+            log.info("질문으로부터 appId 결정: {}", target.appId());
+            return target;
+        });
+    }
+
+    /**
+     * 결정된 앱의 카탈로그(와 미리 만든 프롬프트)를 준비한다.
+     * 추측 실행 결과가 있으면 그대로 쓰고, 없거나 실패했으면 지금 카탈로그를 가져온다.
+     * 준비 스레드 풀에서 호출되며, 추측 실행 결과를 기다린 뒤의 후속 작업도 같은 풀에서 수행한다.
+     * (이어지는 캐시 조회/후보 검색은 이 future를 완료한 준비 스레드에서 실행된다)
+     */
+    private CompletableFuture<GuidePreparation> prepare(GuideTarget target) {
+        if (target.speculation() == null) {
+            return CompletableFuture.completedFuture(
+                    new GuidePreparation(appCatalogService.getCatalog(target.appId()), null));
+        }
+        return target.speculation().handleAsync((prepared, error) -> {
+            if (prepared != null) {
+                return prepared;
+            }
+            log.warn("추측 실행 준비 실패, 다시 준비: appId={}", target.appId(), error);
+            return new GuidePreparation(appCatalogService.getCatalog(target.appId()), null);
+        }, preparationExecutor);
+    }
+
+    /**
+     * 추측 실행 중 후보 앱 하나의 준비 작업: 카탈로그 로딩 → 후보 검색 + 프롬프트 생성
+     * 단계 사이에서 취소 여부를 확인하여, 다른 앱으로 결정되면 남은 단계를 건너뛴다.
+     */
+    private GuidePreparation prepareSpeculatively(String appId, String userQuestion, BooleanSupplier cancelled) {
+        AppCatalog catalog = appCatalogService.getCatalog(appId);
+        if (cancelled.getAsBoolean() || catalog.getElements().isEmpty()) {
+            return new GuidePreparation(catalog, null);
         }
+        return new GuidePreparation(catalog, buildUserPromptForSequence(userQuestion, catalog));
+    }
 
-        // 2. DB에서 해당 앱의 모든 UI 요소 가져오기
-        List<ComposableInfo> allElements = composableInfoRepository.findByAppId(targetAppId);
+    /**
+     * appId가 정해진 뒤의 가이드 생성
+     * 캐시 적중 시 LLM 호출 없이 즉시 완료된 future를 돌려준다.
+     */
+    private CompletableFuture<GuideResponseDTO> generateGuideForApp(GuidePreparation prepared, String userQuestion,
+                                                                    Deadline deadline) {
+        // 2. 메모리 카탈로그에서 해당 앱의 모든 UI 요소 가져오기 (캐시 적중 시 DB 조회 없음)
+        AppCatalog catalog = prepared.catalog();
+        String targetAppId = catalog.getAppId();
+        List<CatalogElement> allElements = catalog.getElements();
 
         if (allElements.isEmpty()) {
             log.warn("해당 appId의 UI 요소가 DB에 없음: {}", targetAppId);
-            return buildNoResultResponse(targetAppId);
+            return CompletableFuture.completedFuture(buildNoResultResponse(targetAppId));
         }
 
         log.info("조회된 UI 요소 개수: {}", allElements.size());
 
-        // 3. LLM을 활용하여 전체 UI 요소에서 적합한 요소 선택 및 단계별 시퀀스 생성
-        List<GuideStepDTO> steps = generateStepSequence(request.getUserQuestion(), allElements);
-
-        // steps가 비어있으면 예외 발생 (generateStepSequence에서 처리됨)
-
-        // 4. 응답 DTO 생성 (appId 포함)
-        return GuideResponseDTO.builder()
+        // 3. 가이드 캐시 조회 (정확 일치 → 의미 기반)
+        CompletableFuture<List<GuideStepPlan>> plans = findCachedPlans(catalog, userQuestion)
+                .map(CompletableFuture::completedFuture)
+                // 4. LLM을 활용하여 전체 UI 요소에서 적합한 요소 선택 및 단계별 시퀀스 생성
+                //    동시에 들어온 같은 질문은 하나의 LLM 호출 결과를 공유
+                .orElseGet(() -> guideRequestCoalescer.stepSequence(catalog, userQuestion, deadline,
+                        sharedDeadline -> generateAndCacheStepSequence(userQuestion, catalog, prepared.userPrompt(),
+                                sharedDeadline)));
+
+        // 5. 응답 DTO 생성 (appId 포함)
+        return plans.thenApply(stepPlans -> GuideResponseDTO.builder()
                 .appId(targetAppId)
-                .steps(steps)
-                .build();
+                .steps(toStepDTOs(stepPlans, allElements))
+                .build());
     }
 
     /**
-     * 사용자 질문으로부터 적절한 appId 결정
-     * 하이브리드 방식: 명확한 키워드는 즉시 매칭, 불명확하면 LLM 호출
+     * appId가 정해진 뒤의 스트리밍 가이드 생성
+     * 캐시 적중 시 모든 단계를 바로 내보내고, 아니면 LLM 스트리밍 응답에서 단계 객체가 완성될 때마다 내보낸다.
+     * 스트리밍은 응답 조각을 요청마다 따로 받아야 하므로 동시 요청 병합(single-flight)을 적용하지 않는다.
+     *
+     * @param onLlmCall 시작한 LLM 스트리밍 호출 future를 받는 콜백 (요청 취소 시 호출을 취소하는 데 사용)
      */
-    private String determineAppIdFromQuestion(String userQuestion) {
-        String lowerQuestion = userQuestion.toLowerCase();
+    private CompletableFuture<GuideResponseDTO> streamGuideForApp(GuidePreparation prepared, String userQuestion,
+                                                                  Deadline deadline, Consumer<GuideStepDTO> onStep,
+                                                                  long startedAt,
+                                                                  Consumer<CompletableFuture<String>> onLlmCall) {
+        AppCatalog catalog = prepared.catalog();
+        String targetAppId = catalog.getAppId();
+        List<CatalogElement> allElements = catalog.getElements();
 
-        // BonMedia 관련 키워드
-        if (lowerQuestion.contains("본미디어") || lowerQuestion.contains("bonmedia") ||
-            lowerQuestion.contains("뉴스") || lowerQuestion.contains("기사")) {
-            return "com.anam.6nqxb5qfm5lptbc9";  // BonMedia appId
+        if (allElements.isEmpty()) {
+            log.warn("해당 appId의 UI 요소가 DB에 없음: {}", targetAppId);
+            return CompletableFuture.completedFuture(buildNoResultResponse(targetAppId));
         }
 
-        // Busanilbo 관련 키워드
-        if (lowerQuestion.contains("부산일보") || lowerQuestion.contains("busanilbo") ||
-            lowerQuestion.contains("부산")) {
-            return "com.anam.vh7lpswl75iqdarh";  // Busanilbo appId
+        Optional<List<GuideStepPlan>> cached = findCachedPlans(catalog, userQuestion);
+        if (cached.isPresent()) {
+            List<GuideStepDTO> steps = toStepDTOs(cached.get(), allElements);
+            recordFirstStep(startedAt, "cache");
+            steps.forEach(onStep);
+            return CompletableFuture.completedFuture(GuideResponseDTO.builder()
+                    .appId(targetAppId)
+                    .steps(steps)
+                    .build());
         }
 
-        // 이더리움 관련 키워드 (비트코인보다 먼저 체크)
-        if (lowerQuestion.contains("이더리움") || lowerQuestion.contains("eth") ||
-            lowerQuestion.contains("ethereum") || lowerQuestion.contains("이더")) {
-            return "com.anam.osba5s0oy5582dc0";  // Ethereum Wallet appId
+        String systemPrompt = buildSystemPromptForSequence();
+        String userPrompt = prepared.userPrompt() != null
+                ? prepared.userPrompt()
+                : buildUserPromptForSequence(userQuestion, catalog);
+
+        promptTokenBudget.record(systemPrompt, userPrompt);
+
+        // onDelta는 조각 도착 순서대로 한 스레드에서 호출되므로 별도 동기화가 필요 없다
+        StepStreamParser parser = new StepStreamParser();
+        NavigationStepExpander expander = new NavigationStepExpander(catalog);
+        List<GuideStepPlan> plans = new ArrayList<>();
+        long generationStartedAt = System.nanoTime();
+
+        CompletableFuture<String> llmCall = llmClient.stream(systemPrompt, userPrompt,
+                LlmCallOptions.interactive(deadline).forTask(LlmCallOptions.Task.STEP_SEQUENCE), delta -> {
+            for (GuideStepPlan parsed : parser.append(delta)) {
+                if (!isValidElementIndex(parsed, allElements)) {
+                    continue;
+                }
+                for (GuideStepPlan plan : expander.next(parsed)) {
+                    plans.add(plan);
+                    if (plans.size() == 1) {
+                        recordFirstStep(startedAt, "llm");
+                    }
+                    onStep.accept(buildStepDTO(plan.stepNumber(), allElements.get(plan.elementIndex()), plan.message()));
+                }
+            }
+        });
+        onLlmCall.accept(llmCall);
+
+        return llmCall.thenApply(llmResponse -> {
+            recordParseOutcome(parser.finish());
+            recordNavigationSteps(expander.getInsertedSteps());
+            if (plans.isEmpty()) {
+                log.error("LLM 스트리밍 응답에서 단계를 찾지 못함: {}", llmResponse);
+                throw new LlmException(GPTErrorStatus.GPT_RESPONSE_EMPTY);
+            }
+
+            long generationMillis = (System.nanoTime() - generationStartedAt) / 1_000_000;
+            guideCacheWriter.putAsync(catalog, userQuestion, plans, generationMillis);
+
+            return GuideResponseDTO.builder()
+                    .appId(targetAppId)
+                    .steps(toStepDTOs(plans, allElements))
+                    .build();
+        });
+    }
+
+    /**
+     * 정확 일치 캐시, 의미 기반 캐시 순서로 재사용할 가이드를 찾는다.
+     * 의미 기반 캐시 적중은 일부를 표본 검증한다.
+     */
+    private Optional<List<GuideStepPlan>> findCachedPlans(AppCatalog catalog, String userQuestion) {
+        // 같은 앱/인덱스 버전/정규화 질문이면 LLM 호출 생략
+        Optional<List<GuideStepPlan>> cached = guideCacheService.get(catalog, userQuestion);
+        if (cached.isPresent()) {
+            log.info("가이드 캐시 적중: appId={}, userQuestion={}", catalog.getAppId(), userQuestion);
+            return cached;
         }
 
-        // 비트코인 관련 키워드
-        if (lowerQuestion.contains("비트코인") || lowerQuestion.contains("btc") ||
-            lowerQuestion.contains("bitcoin")) {
-            return "com.anam.rehrxj11f38gn09k";  // Bitcoin Wallet appId
+        // 바꿔 말한 질문이면 가장 가까운 가이드 재사용
+        Optional<SemanticMatch> match = semanticGuideCacheService.find(catalog, userQuestion);
+        match.ifPresent(hit -> semanticGuideCacheService.auditIfSampled(catalog, userQuestion, hit,
+                () -> generateStepSequence(userQuestion, catalog, null,
+                        LlmCallOptions.background().forTask(LlmCallOptions.Task.STEP_SEQUENCE)).join()));
+        return match.map(SemanticMatch::steps);
+    }
+
+    private void recordFirstStep(long startedAt, String source) {
+        Timer.builder("ai.guide.stream.first-step")
+                .tag("source", source)
+                .description("스트리밍 요청 시작부터 첫 단계 전송까지의 시간")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 사용자 질문으로부터 적절한 appId 결정
+     * 하이브리드 방식: 등록된 앱 키워드 점수 또는 로컬 의도 분류기로 결정되면 즉시 사용, 둘 다 불확실하면 LLM 호출
+     *
+     * LLM 결정을 기다리다 실패하면 기본 앱으로 대체하되, 요청이 취소되었거나 마감 시각이 지났으면
+     * 대체하지 않고 그 실패를 그대로 전달한다. (어느 경우든 앱이 결정되지 않았으므로 추측 실행 작업은 모두 취소)
+     */
+    private CompletableFuture<GuideTarget> determineAppIdFromQuestion(String userQuestion, Deadline deadline,
+                                                                     Consumer<CompletableFuture<?>> onRoutingCall) {
+        AppRouteDecision decision = appRoutingService.route(userQuestion);
+        if (decision.isDecided()) {
+            return CompletableFuture.completedFuture(new GuideTarget(decision.appId(), null));
         }
 
-        // 이락 관련 키워드
-        if (lowerQuestion.contains("이락코인") || lowerQuestion.contains("이락") ||
-                lowerQuestion.contains("iraccoin")) {
-            return "com.anam.rehrxj11f38gn09k";  // Bitcoin Wallet appId
+        String defaultAppId = appRoutingService.getDefaultAppId();
+        if (defaultAppId == null) {
+            log.warn("등록된 앱 라우팅 정보가 없어 appId를 결정할 수 없음: {}", userQuestion);
+            return CompletableFuture.failedFuture(new AppRoutingException(CommonErrorStatus.APP_ROUTE_NOT_FOUND));
         }
 
-        // 불명확한 경우 LLM에게 물어보기
-        log.info("명확한 키워드 없음. LLM으로 appId 결정: {}", userQuestion);
-        return determineAppIdWithLLM(userQuestion);
+        // 불명확한 경우 LLM에게 물어보기 (동시에 들어온 같은 질문은 하나의 호출 결과를 공유)
+        log.info("키워드/분류기로 앱 결정 불가({}, 후보 {}개). LLM으로 appId 결정: {}",
+                decision.reason(), decision.candidates().size(), userQuestion);
+
+        // LLM 응답을 기다리는 동안 유력 후보 앱의 카탈로그/프롬프트를 미리 준비하고, 결정되면 나머지는 취소
+        GuideSpeculator.Speculation speculation = guideSpeculator.start(
+                decision.candidates().stream().map(AppProfile::appId).toList(),
+                (appId, cancelled) -> prepareSpeculatively(appId, userQuestion, cancelled));
+
+        CompletableFuture<String> routing = guideRequestCoalescer.appRouting(userQuestion, deadline,
+                sharedDeadline -> determineAppIdWithLLM(userQuestion, decision.candidates(), defaultAppId,
+                        sharedDeadline));
+        onRoutingCall.accept(routing);
+
+        return routing
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    String reason = cause instanceof LlmException llmException
+                            ? String.valueOf(llmException.getCode())
+                            : cause.toString();
+                    if (cause instanceof CancellationException) {
+                        log.info("요청 취소로 LLM appId 결정 대기 중단: {}", userQuestion);
+                        speculation.cancelAll();
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    if (deadline.isExpired()) {
+                        log.warn("LLM appId 결정 실패({}), 마감 시각이 지나 요청 종료: {}", reason, userQuestion);
+                        speculation.cancelAll();
+                        return CompletableFuture.failedFuture(
+                                new LlmException(GPTErrorStatus.GPT_DEADLINE_EXCEEDED, 0, cause));
+                    }
+                    log.warn("LLM appId 결정 실패({}), 기본값 사용: {}", reason, userQuestion);
+                    return CompletableFuture.completedFuture(defaultAppId);
+                })
+                .thenApply(appId -> new GuideTarget(appId, speculation.take(appId)));
     }
 
     /**
-     * LLM을 활용하여 사용자 질문으로부터 적절한 appId 결정
-     * 동의어, 불명확한 표현, 맥락 이해 지원
+     * LLM을 사용하여 후보 앱 중 적절한 appId 결정
+     * 후보 목록은 라우팅 테이블에서 만들며, 동점이면 동점 앱만 제시하여 프롬프트를 줄인다.
+     * 판단할 수 없으면 LLM이 UNKNOWN_APP_ID를 돌려주게 하여 기본 앱 대체와 실제 결정을 구분하고,
+     * 실제 결정만 의도 분류기 학습 데이터로 기록한다.
      */
-    private String determineAppIdWithLLM(String userQuestion) {
-        try {
-            String systemPrompt = """
-                    당신은 미니앱 선택 전문가입니다.
-                    사용자 질문을 분석하여 가장 적절한 미니앱 ID를 반환하세요.
-
-                    사용 가능한 미니앱 목록:
-                    1. com.anam.rehrxj11f38gn09k
-                       - 이름: Bitcoin Wallet
-                       - 설명: 비트코인 블록체인 지갑
-
-                    2. com.anam.osba5s0oy5582dc0
-                       - 이름: Ethereum Wallet
-                       - 설명: 이더리움 블록체인 지갑
-
-                    3. com.anam.6nqxb5qfm5lptbc9
-                       - 이름: BonMedia
-                       - 설명: 뉴스/미디어 콘텐츠 서비스
-
-                    4. com.anam.vh7lpswl75iqdarh
-                       - 이름: Busanilbo
-                       - 설명: 부산 지역 뉴스 서비스
-
-                    블록체인 지갑 공통 기능:
-                    - 송금 (보내기, 전송, transfer, send)
-                    - 받기 (입금, 수신, receive, deposit)
-                    - 잔액 조회 (balance, 잔고)
-                    - 주소 확인 및 복사
-                    - 거래 내역 (transaction history)
-                    - 설정 (settings, 프라이빗 키, 시드 구문)
-
-                    규칙:
-                    1. 질문에서 명시된 암호화폐나 서비스 이름을 찾으세요
-                    2. 동의어와 약어도 고려하세요 (예: "이더" = Ethereum, "코인" = 암호화폐)
-                    3. 블록체인 공통 기능(송금, 받기 등)이면서 특정 코인이 명시되지 않은 경우 기본값 사용
-                    4. 불명확하거나 일반적인 암호화폐 관련 질문이면 기본값: com.anam.rehrxj11f38gn09k
-                    5. **반드시 appId만 반환하세요. 설명이나 추가 텍스트 없이 appId만 출력하세요.**
-
-                    예시:
-                    - "이더 보내기" → com.anam.osba5s0oy5582dc0
-                    - "이더리움 받기" → com.anam.osba5s0oy5582dc0
-                    - "암호화폐 송금" → com.anam.rehrxj11f38gn09k
-                    - "코인 받기" → com.anam.rehrxj11f38gn09k
-                    - "부산 뉴스" → com.anam.vh7lpswl75iqdarh
-                    """;
-
-            String userPrompt = "질문: \"" + userQuestion + "\"\n\n적절한 appId:";
-
-            String appId = openAiClientService.generateGuideMessage(systemPrompt, userPrompt);
-
-            if (appId == null || appId.isBlank()) {
-                log.warn("LLM이 appId를 반환하지 않음. 기본값 사용");
-                return "com.anam.rehrxj11f38gn09k";
+    private CompletableFuture<String> determineAppIdWithLLM(String userQuestion,
+                                                           List<AppProfile> candidates,
+                                                           String defaultAppId,
+                                                           Deadline deadline) {
+        StringBuilder appList = new StringBuilder();
+        for (int i = 0; i < candidates.size(); i++) {
+            AppProfile app = candidates.get(i);
+            appList.append(i + 1).append(". ").append(app.appId()).append('\n')
+                    .append("   - 이름: ").append(app.name()).append('\n');
+            if (app.description() != null && !app.description().isBlank()) {
+                appList.append("   - 설명: ").append(app.description()).append('\n');
             }
+        }
 
-            // 응답 정리 (앞뒤 공백, 따옴표, 설명 제거)
-            String cleanedAppId = appId.trim()
-                    .replaceAll("^['\"]|['\"]$", "")  // 따옴표 제거
-                    .split("\\s")[0];  // 첫 번째 단어만 (설명 제거)
-
-            log.info("LLM appId 결정: \"{}\" -> {}", userQuestion, cleanedAppId);
-            return cleanedAppId;
+        String systemPrompt = """
+                당신은 미니앱 선택 전문가입니다.
+                사용자 질문을 분석하여 가장 적절한 미니앱 ID를 반환하세요.
 
-        } catch (Exception e) {
-            log.error("LLM appId 결정 실패, 기본값 사용: {}", e.getMessage());
-            return "com.anam.rehrxj11f38gn09k";  // 기본값
-        }
+                사용 가능한 미니앱 목록:
+                %s
+                규칙:
+                1. 질문에서 명시된 암호화폐나 서비스 이름을 찾으세요
+                2. 동의어와 약어도 고려하세요 (예: "이더" = Ethereum, "코인" = 암호화폐)
+                3. 여러 앱의 공통 기능(송금, 받기 등)이면서 특정 앱이 명시되지 않은 경우 %s 반환
+                4. 불명확하거나 목록에 맞는 앱이 없으면 %s 반환
+                5. **반드시 appId(또는 %s)만 반환하세요. 설명이나 추가 텍스트 없이 출력하세요.**
+                """.formatted(appList, UNKNOWN_APP_ID, UNKNOWN_APP_ID, UNKNOWN_APP_ID);
+
+        String userPrompt = "질문: \"" + userQuestion + "\"\n\n적절한 appId:";
+
+        return llmClient.complete(systemPrompt, userPrompt,
+                LlmCallOptions.interactive(deadline).forTask(LlmCallOptions.Task.APP_ROUTING))
+                .thenApply(appId -> {
+                    if (appId == null || appId.isBlank()) {
+                        log.warn("LLM이 appId를 반환하지 않음. 기본값 사용");
+                        return defaultAppId;
+                    }
+
+                    // 응답 정리 (앞뒤 공백, 따옴표, 설명 제거)
+                    String cleanedAppId = appId.trim()
+                            .replaceAll("^['\"]|['\"]$", "")  // 따옴표 제거
+                            .split("\\s")[0];  // 첫 번째 단어만 (설명 제거)
+
+                    if (UNKNOWN_APP_ID.equalsIgnoreCase(cleanedAppId)) {
+                        log.info("LLM이 appId를 판단하지 못함: \"{}\", 기본값 사용", userQuestion);
+                        return defaultAppId;
+                    }
+
+                    if (!appRoutingService.isRegistered(cleanedAppId)) {
+                        log.warn("LLM이 등록되지 않은 appId 반환: \"{}\" -> {}, 기본값 사용", userQuestion, cleanedAppId);
+                        return defaultAppId;
+                    }
+
+                    log.info("LLM appId 결정: \"{}\" -> {}", userQuestion, cleanedAppId);
+                    appRoutingService.recordLlmDecision(userQuestion, cleanedAppId);
+                    return cleanedAppId;
+                })
+                .exceptionally(e -> {
+                    log.error("LLM appId 결정 실패, 기본값 사용: {}", e.getMessage());
+                    return defaultAppId;
+                });
     }
 
+    /**
+     * 단계별 시퀀스를 생성하고 정확 일치/의미 기반 캐시에 보관한다.
+     * 동시 요청 병합 시 leader만 실행한다. 캐시 저장은 GuideCacheWriter가 응답과 분리하여 수행한다.
+     */
+    private CompletableFuture<List<GuideStepPlan>> generateAndCacheStepSequence(String userQuestion, AppCatalog catalog,
+                                                                                String preparedUserPrompt,
+                                                                                Deadline deadline) {
+        long startedAt = System.nanoTime();
+        // plans가 비어있으면 예외로 완료됨 (generateStepSequence에서 처리됨)
+        LlmCallOptions options = LlmCallOptions.interactive(deadline).forTask(LlmCallOptions.Task.STEP_SEQUENCE);
+        return generateStepSequence(userQuestion, catalog, preparedUserPrompt, options).thenApply(plans -> {
+            long generationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            // 응답을 먼저 완료하고 캐시 저장(DB INSERT 포함)은 별도 스레드에서 수행
+            guideCacheWriter.putAsync(catalog, userQuestion, plans, generationMillis);
+            return plans;
+        });
+    }
 
     /**
      * LLM을 활용하여 단계별 시퀀스 생성
+     *
+     * @param preparedUserPrompt 추측 실행으로 미리 만든 사용자 프롬프트 (없으면 null)
+     * @param options LLM 호출 조건 (사용자 요청은 마감 시각 포함, 캐시 검증은 백그라운드 우선순위)
      */
-    private List<GuideStepDTO> generateStepSequence(String userQuestion, List<ComposableInfo> elements) {
-        try {
-            // 1. LLM 프롬프트 생성
-            String systemPrompt = buildSystemPromptForSequence();
-            String userPrompt = buildUserPromptForSequence(userQuestion, elements);
-
-            log.debug("LLM 시퀀스 생성 프롬프트 길이: {} chars", userPrompt.length());
+    private CompletableFuture<List<GuideStepPlan>> generateStepSequence(String userQuestion, AppCatalog catalog,
+                                                                        String preparedUserPrompt, LlmCallOptions options) {
+        List<CatalogElement> elements = catalog.getElements();
 
-            // 2. LLM 호출
-            String llmResponse = openAiClientService.generateGuideMessage(systemPrompt, userPrompt);
+        // 1. LLM 프롬프트 생성
+        String systemPrompt = buildSystemPromptForSequence();
+        String userPrompt = preparedUserPrompt != null
+                ? preparedUserPrompt
+                : buildUserPromptForSequence(userQuestion, catalog);
 
-            if (llmResponse == null || llmResponse.isBlank()) {
-                throw new RuntimeException("LLM 응답이 비어있습니다.");
-            }
+        log.debug("LLM 시퀀스 생성 프롬프트 길이: {} chars", userPrompt.length());
+        promptTokenBudget.record(systemPrompt, userPrompt);
 
+        // 2. LLM 호출 (재시도/회로 차단은 LlmClient에서 처리, 실패는 LlmException 에러 코드 그대로 전달)
+        return llmClient.complete(systemPrompt, userPrompt, options).thenApply(llmResponse -> {
             // 3. JSON 파싱
-            List<GuideStepDTO> steps = parseStepsFromLLMResponse(llmResponse, elements);
+            List<GuideStepPlan> steps = parseStepsFromLLMResponse(llmResponse, elements);
 
             // 4. 단계 검증
             if (steps.isEmpty()) {
-                throw new RuntimeException("LLM 응답 파싱 결과 빈 배열입니다.");
+                log.error("LLM 응답에서 단계를 찾지 못함: {}", llmResponse);
+                throw new LlmException(GPTErrorStatus.GPT_RESPONSE_EMPTY);
             }
 
-            validateStepSequence(steps);
-            return steps;
-
-        } catch (Exception e) {
-            log.error("LLM 시퀀스 생성 중 예외 발생", e);
-            throw new RuntimeException("AI 가이드 생성 실패: " + e.getMessage(), e);
-        }
+            // 5. 화면 이동 단계 채우기 (인덱싱된 최단 경로 사용)
+            NavigationStepExpander expander = new NavigationStepExpander(catalog);
+            List<GuideStepPlan> expanded = new ArrayList<>(steps.size());
+            for (GuideStepPlan step : steps) {
+                expanded.addAll(expander.next(step));
+            }
+            recordNavigationSteps(expander.getInsertedSteps());
+            return expanded;
+        });
     }
 
     /**
@@ -241,113 +626,116 @@ public class AiGuideServiceImpl implements AiGuideService {
 
     /**
      * 사용자 프롬프트: UI 요소 목록 + 시퀀스 생성 요청
+     * UI 요소 목록은 ElementTableCache에서 미리 렌더링된 문자열을 사용하고, 질문만 요청마다 끼워 넣는다.
+     * 큰 앱은 BM25 검색으로 고른 후보 요소만 넣는다. (번호는 전체 목록 기준이므로 응답 파싱은 동일)
+     * 요소 목록이 토큰 예산을 넘으면 관련도가 높은 요소부터 예산만큼만 넣는다.
      */
-    private String buildUserPromptForSequence(String userQuestion, List<ComposableInfo> elements) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("사용자 질문: \"").append(userQuestion).append("\"\n\n");
-        prompt.append("미니앱의 모든 UI 요소들:\n");
-
-        for (int i = 0; i < elements.size(); i++) {
-            ComposableInfo elem = elements.get(i);
-            prompt.append(String.format(
-                    "%d. [%s 페이지] %s (타입: %s, 텍스트: \"%s\", 검색가능텍스트: \"%s\", onClick: %s)\n",
-                    i,
-                    elem.getScreenInfo() != null ? elem.getScreenInfo().getName() : "Unknown",
-                    elem.getComposableId() != null ? elem.getComposableId() : "no-id",
-                    elem.getType(),
-                    elem.getText() != null ? elem.getText() : "",
-                    elem.getSearchableText() != null ? elem.getSearchableText() : "",
-                    elem.getOnClickCode() != null ? elem.getOnClickCode() : "none"
-            ));
+    private String buildUserPromptForSequence(String userQuestion, AppCatalog catalog) {
+        CandidateSelection selection = candidateRetrievalService.selectCandidates(catalog, userQuestion);
+
+        // 이동 경로가 있으면 LLM은 목표 요소만 고르고, 이동 단계는 NavigationStepExpander가 채운다
+        String instructions = catalog.getNavigation().isEmpty() ? SEQUENCE_INSTRUCTIONS : TARGET_INSTRUCTIONS;
+        String questionLine = "사용자 질문: \"" + userQuestion + "\"\n\n";
+
+        ElementTableCache.ElementTable elementTable;
+        String header;
+        if (selection.isFullList()) {
+            elementTable = elementTableCache.getElementTable(catalog);
+            header = "미니앱의 모든 UI 요소들:\n";
+        } else {
+            elementTable = elementTableCache.getElementTable(catalog, selection.getElementIndices());
+            header = "미니앱의 UI 요소 중 질문과 관련된 후보들 (번호는 전체 목록 기준):\n";
+            log.info("프롬프트 UI 요소 축소: {}/{}개 (검색 {}개 + 네비게이션 {}개)",
+                    selection.getElementIndices().size(), catalog.size(),
+                    selection.getMatchedCount(), selection.getNavigationCount());
         }
 
-        prompt.append("""
-
-                위 모든 UI 요소 중에서 사용자 질문과 관련된 요소들을 의미적으로 선택하고,
-                논리적 순서로 정렬하여 단계별 가이드를 JSON 형식으로 생성하세요.
-
-                응답 형식:
-                {
-                  "steps": [
-                    {
-                      "stepNumber": 1,
-                      "elementIndex": 0,
-                      "message": "사용자 친화적인 안내 메시지"
-                    },
-                    ...
-                  ]
-                }
-
-                주의:
-                1. elementIndex는 위 목록의 인덱스(0부터 시작)입니다.
-                2. 사용자 질문의 의도를 파악하여 적합한 요소만 선택하세요.
-                3. 텍스트나 검색가능텍스트에서 의미가 유사한 요소를 찾으세요.
-                4. **중요: 목표 요소가 현재 메인 페이지가 아닌 다른 페이지에 있다면,
-                   반드시 그 페이지로 이동하는 버튼을 먼저 단계에 포함시키세요.**
-                   - 각 페이지의 요소들을 확인하여 논리적인 네비게이션 경로를 구성하세요.
-                   - 같은 페이지 내의 요소들은 순차적으로 안내하세요.
-                """);
+        String budgetHeader = "미니앱의 UI 요소 중 질문과 관련도가 높은 일부 (번호는 전체 목록 기준):\n";
+        int tableBudget = promptTokenBudget.elementTableBudget(
+                buildSystemPromptForSequence(), questionLine, budgetHeader, ELEMENT_FORMAT, instructions);
+        if (elementTable.tokens() > tableBudget) {
+            List<Integer> ranked = selection.isFullList()
+                    ? candidateRetrievalService.rankElements(catalog, userQuestion)
+                    : selection.getRankedIndices();
+            elementTable = elementTableCache.getElementTable(catalog, ranked, tableBudget);
+            header = budgetHeader;
+            log.warn("프롬프트 토큰 예산 초과: appId={}, UI 요소 {}개 중 {}개만 포함 ({} 토큰)",
+                    catalog.getAppId(), ranked.size(), elementTable.elementCount(), elementTable.tokens());
+        }
 
+        StringBuilder prompt = new StringBuilder(
+                elementTable.text().length() + instructions.length() + userQuestion.length() + 256);
+        prompt.append(questionLine);
+        prompt.append(header);
+        prompt.append(ELEMENT_FORMAT);
+        prompt.append(elementTable.text());
+        prompt.append(instructions);
         return prompt.toString();
     }
 
     /**
-     * LLM JSON 응답 파싱하여 GuideStepDTO 리스트 생성
+     * LLM 응답을 파싱하여 단계 목록(요소 인덱스 + 메시지) 생성
+     * 응답이 잘렸거나 뒤쪽 형식이 깨져도 그 전까지 완성된 단계는 살린다.
      */
-    private List<GuideStepDTO> parseStepsFromLLMResponse(String llmResponse, List<ComposableInfo> elements) {
-        try {
-            // JSON 추출 (코드 블록 내부에 있을 수 있음)
-            String jsonString = extractJsonFromResponse(llmResponse);
-
-            // JSON 파싱
-            JsonNode rootNode = objectMapper.readTree(jsonString);
-            JsonNode stepsNode = rootNode.get("steps");
-
-            if (stepsNode == null || !stepsNode.isArray()) {
-                log.warn("LLM 응답에 'steps' 배열이 없음");
-                return new ArrayList<>();
+    private List<GuideStepPlan> parseStepsFromLLMResponse(String llmResponse, List<CatalogElement> elements) {
+        StepStreamParser parser = new StepStreamParser();
+        List<GuideStepPlan> steps = new ArrayList<>();
+        for (GuideStepPlan plan : parser.append(llmResponse)) {
+            if (isValidElementIndex(plan, elements)) {
+                steps.add(plan);
             }
+        }
 
-            List<GuideStepDTO> steps = new ArrayList<>();
-
-            for (JsonNode stepNode : stepsNode) {
-                int stepNumber = stepNode.get("stepNumber").asInt();
-                int elementIndex = stepNode.get("elementIndex").asInt();
-                String message = stepNode.get("message").asText();
-
-                if (elementIndex < 0 || elementIndex >= elements.size()) {
-                    log.warn("elementIndex 범위 초과: {}", elementIndex);
-                    continue;
-                }
-
-                ComposableInfo element = elements.get(elementIndex);
+        StepStreamParser.Outcome outcome = parser.finish();
+        recordParseOutcome(outcome);
+        if (outcome != StepStreamParser.Outcome.COMPLETE) {
+            log.warn("LLM 응답 파싱 {}: 복구한 단계 {}개", outcome, steps.size());
+        }
+        return steps;
+    }
 
-                // GuideStepDTO 생성
-                GuideStepDTO step = buildStepDTO(stepNumber, element, message);
-                steps.add(step);
-            }
+    /**
+     * 단계가 가리키는 elementIndex가 카탈로그 범위 안인지 확인한다.
+     */
+    private boolean isValidElementIndex(GuideStepPlan plan, List<CatalogElement> elements) {
+        if (plan.elementIndex() < 0 || plan.elementIndex() >= elements.size()) {
+            log.warn("elementIndex 범위 초과: {}", plan.elementIndex());
+            return false;
+        }
+        return true;
+    }
 
-            return steps;
+    private void recordNavigationSteps(int insertedSteps) {
+        Counter.builder("ai.guide.navigation.inserted-steps")
+                .description("화면 이동 경로로 채워 넣은 이동 단계 수")
+                .register(meterRegistry)
+                .increment(insertedSteps);
+    }
 
-        } catch (Exception e) {
-            log.error("LLM 응답 JSON 파싱 실패", e);
-            return new ArrayList<>();
-        }
+    private void recordParseOutcome(StepStreamParser.Outcome outcome) {
+        Counter.builder("ai.guide.llm-output")
+                .tag("outcome", outcome.name().toLowerCase())
+                .description("LLM 단계 응답 파싱 결과 (complete/truncated/malformed/not_found)")
+                .register(meterRegistry)
+                .increment();
     }
 
     /**
-     * LLM 응답에서 JSON 문자열 추출 (마크다운 코드 블록 제거)
+     * 단계 목록을 카탈로그 UI 요소 정보와 합쳐 GuideStepDTO 리스트로 변환
      */
-    private String extractJsonFromResponse(String response) {
-        // ```json ... ``` 형태 제거
-        String cleaned = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "");
-        return cleaned.trim();
+    private List<GuideStepDTO> toStepDTOs(List<GuideStepPlan> plans, List<CatalogElement> elements) {
+        List<GuideStepDTO> steps = new ArrayList<>(plans.size());
+        for (GuideStepPlan plan : plans) {
+            steps.add(buildStepDTO(plan.stepNumber(), elements.get(plan.elementIndex()), plan.message()));
+        }
+        validateStepSequence(steps);
+        return steps;
     }
 
     /**
-     * ComposableInfo를 GuideStepDTO로 변환
+     * 카탈로그 UI 요소를 GuideStepDTO로 변환
      */
-    private GuideStepDTO buildStepDTO(int stepNumber, ComposableInfo element, String message) {
+    private GuideStepDTO buildStepDTO(int stepNumber, CatalogElement element, String message) {
         // TargetElementDTO 생성
         GuideResponseDTO.TargetElementDTO targetElementDTO = GuideResponseDTO.TargetElementDTO.builder()
                 .composableId(element.getComposableId())
@@ -360,13 +748,11 @@ public class AiGuideServiceImpl implements AiGuideService {
         ActionType actionType = determineActionType(element);
 
         // nextScreen 추출
-        String nextScreen = extractNextScreen(element.getOnClickCode());
+        String nextScreen = NavigationTargetExtractor.extractNextScreen(element.getOnClickCode());
 
         return GuideStepDTO.builder()
                 .stepNumber(stepNumber)
-                .targetScreen(element.getScreenInfo() != null
-                        ? element.getScreenInfo().getName()
-                        : "Unknown")
+                .targetScreen(element.getScreenName())
                 .targetElement(targetElementDTO)
                 .guideMessage(message)
                 .actionType(actionType)
@@ -378,7 +764,7 @@ public class AiGuideServiceImpl implements AiGuideService {
     /**
      * ActionType 자동 분류
      */
-    private ActionType determineActionType(ComposableInfo element) {
+    private ActionType determineActionType(CatalogElement element) {
         String onClickCode = element.getOnClickCode();
         String type = element.getType();
 
@@ -401,38 +787,6 @@ public class AiGuideServiceImpl implements AiGuideService {
         return ActionType.WAIT;
     }
 
-    /**
-     * onClickCode에서 nextScreen 추출
-     *
-     * 지원 패턴:
-     * - navigateTo('page') → page
-     * - navigateToSend() → send
-     * - navigateToReceive() → receive
-     * - navigateToSettings() → settings
-     */
-    private String extractNextScreen(String onClickCode) {
-        if (onClickCode == null || onClickCode.isBlank()) {
-            return null;
-        }
-
-        // navigateTo('wallet') → wallet 추출
-        Pattern pattern1 = Pattern.compile("navigateTo\\(['\"]([^'\"]+)['\"]\\)");
-        Matcher matcher1 = pattern1.matcher(onClickCode);
-        if (matcher1.find()) {
-            return matcher1.group(1);
-        }
-
-        // navigateToXxx() → xxx 추출 (camelCase to lowercase)
-        Pattern pattern2 = Pattern.compile("navigateTo([A-Z][a-zA-Z]*)\\(");
-        Matcher matcher2 = pattern2.matcher(onClickCode);
-        if (matcher2.find()) {
-            String screenName = matcher2.group(1);
-            return screenName.toLowerCase(); // Send → send, Settings → settings
-        }
-
-        return null;
-    }
-
     /**
      * 단계 시퀀스 검증 (순환 참조, 중복 화면 체크)
      */
@@ -461,4 +815,13 @@ public class AiGuideServiceImpl implements AiGuideService {
                 .steps(new ArrayList<>())
                 .build();
     }
+
+    /**
+     * 가이드를 생성할 앱
+     *
+     * @param appId 결정된 MiniApp ID
+     * @param speculation 앱 결정 중 미리 시작한 준비 작업 (추측하지 않았으면 null)
+     */
+    private record GuideTarget(String appId, CompletableFuture<GuidePreparation> speculation) {
+    }
 }
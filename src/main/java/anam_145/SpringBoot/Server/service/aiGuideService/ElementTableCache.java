@@ -0,0 +1,278 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.llm.TokenCounter;
+import anam_145.SpringBoot.Server.util.NavigationTargetExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * 프롬프트의 UI 요소 목록 부분을 앱 카탈로그별로 미리 렌더링해 두는 캐시
+ *
+ * UI 요소 목록 문자열은 같은 앱(같은 인덱스 버전)에 대한 모든 질문에서 동일하므로 한 번만 만든다.
+ * 카탈로그는 재인덱싱 시 새 객체로 교체되므로 카탈로그 객체 자체를 키로 사용하고,
+ * 약한 참조(WeakHashMap)로 보관하여 교체/제거된 카탈로그의 문자열은 GC가 회수하게 한다.
+ *
+ * 목록은 토큰을 아끼는 압축 형식으로 만든다.
+ * - 화면명은 줄마다 반복하지 않고, 화면이 바뀔 때만 "[화면명]" 머리줄로 한 번 쓴다.
+ * - 검색가능텍스트(다른 필드를 이어 붙인 값)는 넣지 않고, 클릭 코드는 공백을 줄이고 max-handler-chars에서 자른다.
+ *   잘린 코드에 화면 이동이 있으면 이동 대상 화면을 따로 적어 둔다.
+ * 렌더링 시 줄마다 토큰 수를 미리 세어 두므로, 요청마다 토큰 예산 안에서 요소를 고를 때 다시 세지 않는다.
+ */
+@Component
+public class ElementTableCache {
+
+    private final Map<AppCatalog, RenderedTable> tables = new WeakHashMap<>();
+
+    private final TokenCounter tokenCounter;
+    private final int maxHandlerChars;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter savedBytesCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary reductionSummary;
+
+    public ElementTableCache(
+            TokenCounter tokenCounter,
+            @Value("${ai.prompt.max-handler-chars:80}") int maxHandlerChars,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokenCounter = tokenCounter;
+        this.maxHandlerChars = maxHandlerChars;
+        this.hitCounter = Counter.builder("ai.prompt.element-table.requests")
+                .tag("result", "hit")
+                .description("UI 요소 목록 렌더링 캐시 조회 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.prompt.element-table.requests")
+                .tag("result", "miss")
+                .description("UI 요소 목록 렌더링 캐시 조회 수")
+                .register(meterRegistry);
+        this.savedBytesCounter = Counter.builder("ai.prompt.element-table.saved")
+                .baseUnit("bytes")
+                .description("캐시 적중으로 다시 만들지 않은 UI 요소 목록 크기 (UTF-8)")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("ai.prompt.element-table.dropped")
+                .description("토큰 예산을 넘어 프롬프트에서 제외한 UI 요소 수")
+                .register(meterRegistry);
+        this.reductionSummary = DistributionSummary.builder("ai.prompt.element-table.reduction")
+                .description("후보 선택/토큰 예산으로 줄어든 UI 요소 목록 토큰 비율 (0: 그대로, 1: 전부 제거)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 프롬프트에 넣을 UI 요소 목록
+     *
+     * @param text 프롬프트에 그대로 들어가는 문자열
+     * @param tokens 토큰 수 (줄별 토큰 수의 합)
+     * @param elementCount 포함된 UI 요소 수
+     * @param droppedCount 토큰 예산 때문에 제외된 UI 요소 수
+     */
+    public record ElementTable(String text, int tokens, int elementCount, int droppedCount) {
+    }
+
+    /**
+     * 카탈로그의 UI 요소 목록 문자열을 반환한다. 없으면 렌더링하여 보관한다.
+     *
+     * @param catalog 앱 카탈로그
+     * @return 프롬프트용 UI 요소 목록 (요소마다 한 줄, 번호는 카탈로그 내 인덱스)
+     */
+    public ElementTable getElementTable(AppCatalog catalog) {
+        RenderedTable rendered = getRenderedTable(catalog);
+        reductionSummary.record(0.0);
+        return new ElementTable(rendered.text(), rendered.tokens(), catalog.size(), 0);
+    }
+
+    /**
+     * 카탈로그의 UI 요소 중 일부만 담은 목록 문자열을 반환한다.
+     * 미리 렌더링된 줄을 잘라 붙이므로 요청마다 포맷팅하지 않으며, 번호는 전체 목록 기준 인덱스를 유지한다.
+     *
+     * @param catalog 앱 카탈로그
+     * @param elementIndices 포함할 UI 요소 인덱스 (오름차순)
+     * @return 프롬프트용 UI 요소 목록
+     */
+    public ElementTable getElementTable(AppCatalog catalog, List<Integer> elementIndices) {
+        RenderedTable rendered = getRenderedTable(catalog);
+        ElementTable table = assemble(catalog, rendered, elementIndices, 0);
+        reductionSummary.record(rendered.tokens() == 0 ? 0.0 : 1.0 - (double) table.tokens() / rendered.tokens());
+        return table;
+    }
+
+    /**
+     * 우선순위가 높은 요소부터 토큰 예산에 들어가는 만큼만 담은 목록 문자열을 반환한다.
+     * 담을 요소를 고른 뒤에는 인덱스 순으로 다시 정렬하여 화면별로 묶는다.
+     * 예산이 첫 요소보다 작아도 첫 요소 하나는 넣는다. (LLM이 고를 요소가 하나도 없지 않도록)
+     *
+     * @param catalog 앱 카탈로그
+     * @param elementsByPriority 후보 UI 요소 인덱스 (관련도가 높은 순)
+     * @param tokenBudget UI 요소 목록에 쓸 수 있는 최대 토큰 수
+     * @return 프롬프트용 UI 요소 목록
+     */
+    public ElementTable getElementTable(AppCatalog catalog, List<Integer> elementsByPriority, int tokenBudget) {
+        RenderedTable rendered = getRenderedTable(catalog);
+
+        // 1. 우선순위 순으로 예산에 맞는 요소 선택 (화면 머리줄은 화면마다 한 번 센다)
+        List<Integer> chosen = new ArrayList<>();
+        Set<String> screens = new HashSet<>();
+        int tokens = 0;
+        for (int index : elementsByPriority) {
+            String screen = catalog.getElements().get(index).getScreenName();
+            int cost = rendered.lineTokens()[index] + (screens.contains(screen) ? 0 : rendered.headerTokens().get(screen));
+            if (tokens + cost > tokenBudget && !chosen.isEmpty()) {
+                continue;
+            }
+            chosen.add(index);
+            screens.add(screen);
+            tokens += cost;
+        }
+
+        // 2. 인덱스 순으로 조립 (같은 화면이 떨어져 있으면 머리줄이 다시 들어가므로 넘치면 우선순위 낮은 요소부터 뺀다)
+        List<Integer> ordered = chosen.stream().sorted().toList();
+        ElementTable table = assemble(catalog, rendered, ordered, elementsByPriority.size() - chosen.size());
+        while (table.tokens() > tokenBudget && chosen.size() > 1) {
+            chosen.remove(chosen.size() - 1);
+            ordered = chosen.stream().sorted().toList();
+            table = assemble(catalog, rendered, ordered, elementsByPriority.size() - chosen.size());
+        }
+
+        droppedCounter.increment(table.droppedCount());
+        reductionSummary.record(rendered.tokens() == 0 ? 0.0 : 1.0 - (double) table.tokens() / rendered.tokens());
+        return table;
+    }
+
+    private ElementTable assemble(AppCatalog catalog, RenderedTable rendered, List<Integer> elementIndices,
+                                  int droppedCount) {
+        int[] offsets = rendered.lineOffsets();
+        StringBuilder table = new StringBuilder(elementIndices.size() * 80);
+        int tokens = 0;
+        String previousScreen = null;
+        for (int index : elementIndices) {
+            String screen = catalog.getElements().get(index).getScreenName();
+            if (!screen.equals(previousScreen)) {
+                appendScreenHeader(table, screen);
+                tokens += rendered.headerTokens().get(screen);
+                previousScreen = screen;
+            }
+            table.append(rendered.lines(), offsets[index], offsets[index + 1]);
+            tokens += rendered.lineTokens()[index];
+        }
+        return new ElementTable(table.toString(), tokens, elementIndices.size(), droppedCount);
+    }
+
+    private RenderedTable getRenderedTable(AppCatalog catalog) {
+        synchronized (tables) {
+            RenderedTable cached = tables.get(catalog);
+            if (cached != null) {
+                hitCounter.increment();
+                savedBytesCounter.increment(cached.utf8Bytes());
+                return cached;
+            }
+        }
+
+        missCounter.increment();
+        RenderedTable rendered = render(catalog);
+        synchronized (tables) {
+            // 동시에 렌더링된 경우 먼저 보관된 문자열을 사용
+            return tables.computeIfAbsent(catalog, key -> rendered);
+        }
+    }
+
+    private RenderedTable render(AppCatalog catalog) {
+        StringBuilder lines = new StringBuilder(catalog.size() * 80);
+        int[] lineOffsets = new int[catalog.size() + 1];
+        int[] lineTokens = new int[catalog.size()];
+        Map<String, Integer> headerTokens = new HashMap<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            CatalogElement element = catalog.getElements().get(i);
+            lineOffsets[i] = lines.length();
+            appendElementLine(lines, i, element, maxHandlerChars);
+            lineTokens[i] = tokenCounter.count(lines.substring(lineOffsets[i]));
+            headerTokens.computeIfAbsent(element.getScreenName(), screen -> {
+                StringBuilder header = new StringBuilder();
+                appendScreenHeader(header, screen);
+                return tokenCounter.count(header.toString());
+            });
+        }
+        lineOffsets[catalog.size()] = lines.length();
+
+        RenderedTable partial = new RenderedTable(lines.toString(), lineOffsets, lineTokens, headerTokens, null, 0, 0);
+        ElementTable full = assemble(catalog, partial, IntStream.range(0, catalog.size()).boxed().toList(), 0);
+        return new RenderedTable(partial.lines(), lineOffsets, lineTokens, headerTokens,
+                full.text(), full.tokens(), full.text().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * 화면 머리줄을 추가한다. 형식: "[화면명]"
+     */
+    static void appendScreenHeader(StringBuilder table, String screenName) {
+        table.append('[').append(screenName).append("]\n");
+    }
+
+    /**
+     * UI 요소 한 줄을 추가한다. (화면명은 머리줄에 있으므로 넣지 않는다)
+     * 형식: "0 Button#btn_send "보내기" (설명) onClick: navigateTo('send') → send"
+     * 값이 없는 항목은 생략하고, 설명은 표시 텍스트와 다를 때만 넣는다.
+     */
+    static void appendElementLine(StringBuilder table, int index, CatalogElement element, int maxHandlerChars) {
+        table.append(index).append(' ').append(element.getType());
+        if (hasText(element.getComposableId())) {
+            table.append('#').append(element.getComposableId());
+        }
+        if (hasText(element.getText())) {
+            table.append(" \"").append(compact(element.getText(), Integer.MAX_VALUE)).append('"');
+        }
+        if (hasText(element.getSemanticHint()) && !element.getSemanticHint().equals(element.getText())) {
+            table.append(" (").append(compact(element.getSemanticHint(), Integer.MAX_VALUE)).append(')');
+        }
+        if (hasText(element.getOnClickCode())) {
+            String code = compact(element.getOnClickCode(), maxHandlerChars);
+            table.append(" onClick: ").append(code);
+            String nextScreen = NavigationTargetExtractor.extractNextScreen(element.getOnClickCode());
+            if (nextScreen != null && code.endsWith("…")) {
+                table.append(" → ").append(nextScreen);
+            }
+        }
+        table.append('\n');
+    }
+
+    /**
+     * 줄바꿈/연속 공백을 공백 하나로 줄이고, 최대 길이를 넘으면 잘라서 "…"를 붙인다.
+     */
+    private static String compact(String value, int maxChars) {
+        String collapsed = value.strip().replaceAll("\\s+", " ");
+        return collapsed.length() > maxChars ? collapsed.substring(0, maxChars) + "…" : collapsed;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * 렌더링된 UI 요소 목록
+     *
+     * @param lines 요소 줄만 이어 붙인 문자열 (화면 머리줄 없음)
+     * @param lineOffsets 각 UI 요소 줄의 시작 위치 (마지막 값은 전체 길이)
+     * @param lineTokens 각 UI 요소 줄의 토큰 수
+     * @param headerTokens 화면명 → 화면 머리줄 토큰 수
+     * @param text 전체 목록 (화면 머리줄 포함, 프롬프트에 그대로 들어가는 문자열)
+     * @param tokens 전체 목록 토큰 수
+     * @param utf8Bytes 전체 목록 UTF-8 인코딩 크기 (절감량 지표용, 렌더링 시 한 번만 계산)
+     */
+    private record RenderedTable(String lines, int[] lineOffsets, int[] lineTokens, Map<String, Integer> headerTokens,
+                                 String text, int tokens, int utf8Bytes) {
+    }
+}
@@ -0,0 +1,61 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.GeneralException;
+import anam_145.SpringBoot.Server.service.llm.Deadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 가이드 요청의 처리 마감 시각 계산
+ *
+ * 서버의 비동기 응답 대기 시간(spring.mvc.async.request-timeout)과 클라이언트가 알려준 대기 가능 시간
+ * (X-Request-Timeout-Ms 헤더) 중 짧은 쪽에서 여유 시간(safety-margin)을 뺀 시각을 마감으로 한다.
+ * 그 이후에 완료된 응답은 어차피 전달되지 않으므로, LLM 호출과 재시도는 마감 시각까지만 진행한다.
+ *
+ * 여유 시간을 빼고 나면 최소 처리 시간(min-budget)도 남지 않는 헤더 값은 처리해도 이미 늦으므로 400으로 거절한다.
+ */
+@Component
+public class GuideDeadlinePolicy {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final long serverTimeoutMillis;
+    private final long safetyMarginMillis;
+    private final long minBudgetMillis;
+
+    public GuideDeadlinePolicy(
+            @Value("${spring.mvc.async.request-timeout:30s}") Duration asyncRequestTimeout,
+            @Value("${ai.guide.deadline.safety-margin-ms:1000}") long safetyMarginMillis,
+            @Value("${ai.guide.deadline.min-budget-ms:500}") long minBudgetMillis
+    ) {
+        this.serverTimeoutMillis = asyncRequestTimeout.toMillis();
+        this.safetyMarginMillis = Math.max(0, safetyMarginMillis);
+        this.minBudgetMillis = Math.max(0, minBudgetMillis);
+    }
+
+    /**
+     * 지금 들어온 요청의 마감 시각을 계산한다.
+     *
+     * @param clientTimeoutMillis 클라이언트가 알려준 대기 가능 시간 (ms, 없으면 null)
+     * @return 요청 마감 시각
+     * @throws GeneralException 헤더 값이 여유 시간 + 최소 처리 시간보다 짧은 경우 (REQUEST_TIMEOUT_TOO_SHORT)
+     */
+    public Deadline forRequest(Long clientTimeoutMillis) {
+        if (clientTimeoutMillis != null && clientTimeoutMillis < safetyMarginMillis + minBudgetMillis) {
+            throw new GeneralException(CommonErrorStatus.REQUEST_TIMEOUT_TOO_SHORT);
+        }
+
+        long budget = serverTimeoutMillis > 0 ? serverTimeoutMillis : Long.MAX_VALUE;
+        if (clientTimeoutMillis != null) {
+            budget = Math.min(budget, clientTimeoutMillis);
+        }
+        if (budget == Long.MAX_VALUE) {
+            return Deadline.none();
+        }
+        // 서버 설정 값이 여유 시간보다 짧아도 최소 처리 시간은 보장한다
+        return Deadline.after(Math.max(minBudgetMillis, budget - safetyMarginMillis));
+    }
+}
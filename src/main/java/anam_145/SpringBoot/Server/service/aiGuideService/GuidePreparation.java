@@ -0,0 +1,12 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+
+/**
+ * appId가 정해진 뒤 LLM 호출 전까지의 준비 결과
+ *
+ * @param catalog 앱 카탈로그
+ * @param userPrompt 미리 만든 시퀀스 생성 사용자 프롬프트 (만들지 않았으면 null, 필요할 때 생성)
+ */
+record GuidePreparation(AppCatalog catalog, String userPrompt) {
+}
@@ -0,0 +1,121 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.guideCache.GuideStepPlan;
+import anam_145.SpringBoot.Server.service.guideCache.QuestionNormalizer;
+import anam_145.SpringBoot.Server.service.llm.Deadline;
+import anam_145.SpringBoot.Server.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 동일한 가이드 요청의 LLM 호출 병합기
+ *
+ * 같은 질문이 동시에 몰리면(공지/프로모션 직후 등) LLM 호출 하나만 실행하고 나머지 요청은 그 결과를 공유한다.
+ * - 단계 시퀀스 생성: (appId, 인덱스 버전, 정규화 질문) 기준
+ * - appId 결정: 정규화 질문 기준
+ *
+ * 공유 LLM 호출은 특정 요청의 마감 시각이 아니라 서버 기준 마감 시각(GuideDeadlinePolicy, 헤더 미적용)으로 실행한다.
+ * 요청 마감은 클라이언트가 X-Request-Timeout-Ms 헤더로 정할 수 있으므로, leader의 마감으로 실행하면
+ * 짧은 타임아웃을 보낸 요청 하나 때문에 병합된 모든 요청이 GPT_DEADLINE_EXCEEDED로 실패한다.
+ * 각 요청의 마감 시각은 자기 결과 사본에만 적용한다. (follower는 follower-timeout-ms도 함께 적용)
+ */
+@Component
+public class GuideRequestCoalescer {
+
+    private final GuideDeadlinePolicy deadlinePolicy;
+    private final boolean enabled;
+    private final long followerTimeoutMillis;
+
+    private final SingleFlight<String, List<GuideStepPlan>> stepSequenceFlight;
+    private final SingleFlight<String, String> appRoutingFlight;
+
+    public GuideRequestCoalescer(
+            GuideDeadlinePolicy deadlinePolicy,
+            @Value("${ai.coalescing.enabled:true}") boolean enabled,
+            @Value("${ai.coalescing.follower-timeout-ms:60000}") long followerTimeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.deadlinePolicy = deadlinePolicy;
+        this.enabled = enabled;
+        this.followerTimeoutMillis = Math.max(1, followerTimeoutMillis);
+        this.stepSequenceFlight = new SingleFlight<>("step-sequence", meterRegistry);
+        this.appRoutingFlight = new SingleFlight<>("app-routing", meterRegistry);
+    }
+
+    /**
+     * 단계 시퀀스 생성을 병합하여 실행한다.
+     *
+     * @param catalog 질문 대상 앱의 카탈로그
+     * @param userQuestion 사용자 질문
+     * @param deadline 이 요청의 처리 마감 시각 (반환된 future에만 적용)
+     * @param generation 실제 생성 작업 (leader만 실행, 인자는 공유 호출에 적용할 마감 시각)
+     * @return 생성된 단계 목록 future
+     */
+    public CompletableFuture<List<GuideStepPlan>> stepSequence(AppCatalog catalog, String userQuestion, Deadline deadline,
+                                                               Function<Deadline, CompletableFuture<List<GuideStepPlan>>> generation) {
+        if (!enabled) {
+            return generation.apply(deadline);
+        }
+        String key = catalog.getAppId() + '\0' + catalog.getIndexVersion() + '\0' + keyOf(userQuestion);
+        return withDeadline(stepSequenceFlight.execute(key, () -> generation.apply(deadlinePolicy.forRequest(null)),
+                followerTimeoutMillis, () -> timeout(deadline)), deadline);
+    }
+
+    /**
+     * LLM 기반 appId 결정을 병합하여 실행한다.
+     *
+     * @param userQuestion 사용자 질문
+     * @param deadline 이 요청의 처리 마감 시각 (반환된 future에만 적용)
+     * @param routing 실제 결정 작업 (leader만 실행, 인자는 공유 호출에 적용할 마감 시각)
+     * @return 결정된 appId future
+     */
+    public CompletableFuture<String> appRouting(String userQuestion, Deadline deadline,
+                                                Function<Deadline, CompletableFuture<String>> routing) {
+        if (!enabled) {
+            return routing.apply(deadline);
+        }
+        return withDeadline(appRoutingFlight.execute(keyOf(userQuestion), () -> routing.apply(deadlinePolicy.forRequest(null)),
+                followerTimeoutMillis, () -> timeout(deadline)), deadline);
+    }
+
+    /**
+     * 정규화할 수 없는 질문(빈 질문, 너무 긴 질문)은 원문을 키로 사용한다.
+     */
+    private static String keyOf(String userQuestion) {
+        String normalized = QuestionNormalizer.normalize(userQuestion);
+        return normalized != null ? normalized : String.valueOf(userQuestion);
+    }
+
+    /**
+     * 요청별 결과 사본에 그 요청의 마감 시각을 적용한다. (공유 호출은 계속 진행)
+     */
+    private static <V> CompletableFuture<V> withDeadline(CompletableFuture<V> result, Deadline deadline) {
+        if (!deadline.isBounded()) {
+            return result;
+        }
+        return result.orTimeout(Math.max(1, deadline.remainingMillis()), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    return CompletableFuture.failedFuture(cause instanceof TimeoutException ? timeout(deadline) : cause);
+                });
+    }
+
+    private static LlmException timeout(Deadline deadline) {
+        return new LlmException(deadline.isExpired()
+                ? GPTErrorStatus.GPT_DEADLINE_EXCEEDED
+                : GPTErrorStatus.GPT_RESPONSE_TIMEOUT);
+    }
+}
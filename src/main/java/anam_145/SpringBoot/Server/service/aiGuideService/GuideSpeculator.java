@@ -0,0 +1,137 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 앱 결정과 가이드 준비를 겹쳐 실행하는 추측 실행기
+ *
+ * LLM이 appId를 고르는 동안, 가능성이 높은 후보 앱 앞쪽 max-apps개의 카탈로그 로딩·후보 검색·프롬프트 생성을 미리 시작한다.
+ * 앱이 결정되면 해당 앱의 결과만 가져가고 나머지는 취소한다. 결정된 앱을 추측하지 않았으면 평소처럼 결정 후에 준비한다.
+ * 작업 범위는 요청 하나(Speculation)로 묶여, 결정 시점(또는 결정 없이 요청이 끝난 시점)에 모든 추측 작업이 정리된다.
+ * 취소는 작업 단계 사이에서 확인하므로 이미 시작한 DB 조회는 끝까지 수행된다. (로딩된 카탈로그는 캐시에 남아 재사용된다)
+ * take()는 앱 결정 LLM 응답 스레드에서 호출되므로 취소만 하고, 결과를 이어받는 작업은 호출 측이 자체 스레드 풀에서 수행한다.
+ */
+@Slf4j
+@Component
+public class GuideSpeculator {
+
+    private final Executor executor;
+    private final boolean enabled;
+    private final int maxApps;
+    private final MeterRegistry meterRegistry;
+
+    public GuideSpeculator(
+            @Qualifier("guideSpeculationExecutor") Executor executor,
+            @Value("${ai.guide.speculation.enabled:true}") boolean enabled,
+            @Value("${ai.guide.speculation.max-apps:2}") int maxApps,
+            MeterRegistry meterRegistry
+    ) {
+        this.executor = executor;
+        this.enabled = enabled;
+        this.maxApps = maxApps;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 앱 하나의 준비 작업
+     */
+    @FunctionalInterface
+    interface Preparer {
+        /**
+         * @param appId 준비할 MiniApp ID
+         * @param cancelled 단계 사이에서 확인할 취소 여부
+         */
+        GuidePreparation prepare(String appId, BooleanSupplier cancelled);
+    }
+
+    /**
+     * 후보 앱 앞쪽부터 준비 작업을 시작한다.
+     *
+     * @param appIds 가능성이 높은 순의 후보 appId
+     * @param preparer 앱별 준비 작업
+     * @return 이번 요청의 추측 실행 범위
+     */
+    Speculation start(List<String> appIds, Preparer preparer) {
+        Map<String, CompletableFuture<GuidePreparation>> tasks = new LinkedHashMap<>();
+        if (!enabled) {
+            return new Speculation(tasks);
+        }
+        for (String appId : appIds.stream().distinct().limit(maxApps).toList()) {
+            CompletableFuture<GuidePreparation> task = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    if (task.isDone()) {
+                        return; // 시작 전에 취소됨
+                    }
+                    try {
+                        task.complete(preparer.prepare(appId, task::isDone));
+                    } catch (Throwable e) {
+                        task.completeExceptionally(e);
+                    }
+                });
+                tasks.put(appId, task);
+            } catch (RejectedExecutionException e) {
+                meterRegistry.counter("ai.guide.speculation", "result", "rejected").increment();
+                log.debug("추측 실행 큐 포화, 건너뜀: appId={}", appId);
+            }
+        }
+        return new Speculation(tasks);
+    }
+
+    /**
+     * 요청 하나의 추측 실행 범위
+     */
+    final class Speculation {
+
+        private final Map<String, CompletableFuture<GuidePreparation>> tasks;
+
+        private Speculation(Map<String, CompletableFuture<GuidePreparation>> tasks) {
+            this.tasks = tasks;
+        }
+
+        /**
+         * 결정된 앱의 준비 작업을 가져오고 나머지는 취소한다.
+         *
+         * @param appId 결정된 MiniApp ID
+         * @return 준비 작업 (추측하지 않은 앱이면 null)
+         */
+        CompletableFuture<GuidePreparation> take(String appId) {
+            if (tasks.isEmpty()) {
+                return null;
+            }
+            CompletableFuture<GuidePreparation> winner = tasks.get(appId);
+            tasks.forEach((candidate, task) -> {
+                if (!candidate.equals(appId)) {
+                    boolean cancelled = task.cancel(false);
+                    meterRegistry.counter("ai.guide.speculation.losers",
+                            "state", cancelled ? "cancelled" : "completed").increment();
+                }
+            });
+            meterRegistry.counter("ai.guide.speculation", "result", winner != null ? "hit" : "miss").increment();
+            return winner;
+        }
+
+        /**
+         * 앱이 결정되지 않은 채 요청이 끝났을 때(요청 취소, 마감 시각 경과) 모든 준비 작업을 취소한다.
+         */
+        void cancelAll() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            tasks.values().forEach(task -> task.cancel(false));
+            meterRegistry.counter("ai.guide.speculation", "result", "abandoned").increment();
+        }
+    }
+}
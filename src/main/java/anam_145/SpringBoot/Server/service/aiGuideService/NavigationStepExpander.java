@@ -0,0 +1,95 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.catalog.CatalogNavigation;
+import anam_145.SpringBoot.Server.service.guideCache.GuideStepPlan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM이 고른 목표 단계 앞에 화면 이동 단계를 채워 넣는 확장기
+ *
+ * 사용자가 진입 화면에서 시작한다고 보고, 단계마다 "현재 화면"을 추적한다.
+ * 다음 단계가 다른 화면에 있으면 카탈로그의 진입 경로(인덱싱 때 미리 계산한 최단 경로)에서
+ * 현재 화면 이후 구간의 이동 요소를 단계로 끼워 넣는다. 현재 화면이 경로 위에 없으면 진입 화면부터 안내한다.
+ * LLM이 이동 단계를 직접 넣은 경우에도 그 단계로 현재 화면이 바뀌므로 같은 이동이 중복되지 않는다.
+ * 단계 번호는 1부터 다시 매긴다.
+ * 한 요청(스트림) 전용이며 스레드 안전하지 않다.
+ */
+final class NavigationStepExpander {
+
+    private final List<CatalogElement> elements;
+    private final CatalogNavigation navigation;
+
+    private String currentScreen;
+    private int stepNumber;
+    private int insertedSteps;
+
+    NavigationStepExpander(AppCatalog catalog) {
+        this.elements = catalog.getElements();
+        this.navigation = catalog.getNavigation();
+        this.currentScreen = navigation.getEntryScreen();
+    }
+
+    /**
+     * LLM 단계 하나를 받아, 필요한 이동 단계와 함께 번호를 다시 매겨 돌려준다.
+     *
+     * @param step elementIndex가 검증된 LLM 단계
+     * @return 이동 단계 + 해당 단계 (순서대로)
+     */
+    List<GuideStepPlan> next(GuideStepPlan step) {
+        List<GuideStepPlan> result = new ArrayList<>(2);
+        CatalogElement target = elements.get(step.elementIndex());
+
+        if (!navigation.isEmpty() && !target.getScreenName().equals(currentScreen)) {
+            for (int index : routeTo(target.getScreenName())) {
+                result.add(new GuideStepPlan(++stepNumber, index, navigationMessage(elements.get(index))));
+                insertedSteps++;
+            }
+        }
+        result.add(new GuideStepPlan(++stepNumber, step.elementIndex(), step.message()));
+
+        String nextScreen = navigation.resolveNextScreen(target.getOnClickCode());
+        currentScreen = nextScreen != null ? nextScreen : target.getScreenName();
+        return result;
+    }
+
+    int getInsertedSteps() {
+        return insertedSteps;
+    }
+
+    /**
+     * 현재 화면에서 목표 화면까지 눌러야 할 이동 요소
+     * 진입 경로 위에 현재 화면이 있으면 그 이후 구간만, 없으면 경로 전체를 사용한다.
+     */
+    private List<Integer> routeTo(String screen) {
+        List<Integer> path = navigation.entryPathTo(screen);
+        if (path == null) {
+            return List.of();
+        }
+        for (int i = 0; i < path.size(); i++) {
+            if (elements.get(path.get(i)).getScreenName().equals(currentScreen)) {
+                return path.subList(i, path.size());
+            }
+        }
+        return path;
+    }
+
+    private static String navigationMessage(CatalogElement element) {
+        String label = firstNonBlank(element.getText(), element.getSemanticHint(), element.getComposableId());
+        return label != null
+                ? "'" + label + "'을(를) 눌러 다음 화면으로 이동하세요."
+                : "이동 버튼을 눌러 다음 화면으로 이동하세요.";
+    }
+
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.llm.TokenCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가이드 생성 프롬프트의 토큰 예산
+ *
+ * 시스템 프롬프트 + 사용자 프롬프트가 ai.prompt.max-tokens를 넘지 않도록,
+ * 고정 부분(시스템 프롬프트, 질문, 안내문)을 뺀 나머지를 UI 요소 목록에 배정한다.
+ * 실제로 LLM에 보내는 프롬프트의 토큰 수는 ai.prompt.tokens 히스토그램으로 기록한다.
+ */
+@Component
+public class PromptTokenBudget {
+
+    private final TokenCounter tokenCounter;
+    private final int maxTokens;
+    private final DistributionSummary promptTokens;
+
+    public PromptTokenBudget(
+            TokenCounter tokenCounter,
+            @Value("${ai.prompt.max-tokens:6000}") int maxTokens,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokenCounter = tokenCounter;
+        this.maxTokens = maxTokens;
+        this.promptTokens = DistributionSummary.builder("ai.prompt.tokens")
+                .baseUnit("tokens")
+                .description("가이드 생성 요청마다 LLM에 보낸 프롬프트 토큰 수 (시스템 + 사용자)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 고정 부분을 뺀 뒤 UI 요소 목록에 쓸 수 있는 토큰 수
+     *
+     * @param fixedParts 프롬프트에서 요소 목록을 제외한 나머지 문자열
+     * @return 요소 목록 토큰 예산 (0 이상)
+     */
+    int elementTableBudget(String... fixedParts) {
+        int used = 0;
+        for (String part : fixedParts) {
+            used += tokenCounter.count(part);
+        }
+        return Math.max(0, maxTokens - used);
+    }
+
+    /**
+     * LLM에 보내는 프롬프트의 토큰 수를 기록한다.
+     */
+    void record(String systemPrompt, String userPrompt) {
+        promptTokens.record(tokenCounter.count(systemPrompt) + tokenCounter.count(userPrompt));
+    }
+}
@@ -0,0 +1,220 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.guideCache.GuideStepPlan;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM 단계 응답({"steps":[...]})을 토큰 단위로 읽는 증분 파서
+ *
+ * Jackson의 논블로킹 JsonParser에 응답 조각을 넣는 대로 토큰을 소비하며,
+ * 단계 객체가 닫힐 때마다 GuideStepPlan을 돌려준다. 중간 트리(JsonNode)나 단계별 JSON 문자열은 만들지 않는다.
+ * - "steps" 키 뒤의 첫 '['부터 파서에 넣으므로 앞쪽 설명 문장이나 코드 블록 표시(```json)는 건너뛴다.
+ * - 배열이 닫히면(']') 이후 입력(닫는 중괄호, 코드 블록 끝 등)은 무시한다.
+ * - 응답이 중간에 잘리거나(max-tokens 도달) 형식이 깨지면, 그 전까지 완성된 단계는 그대로 유지한다.
+ * - stepNumber/elementIndex/message 중 하나라도 없는 단계는 건너뛴다. 모르는 필드는 무시한다.
+ * 한 응답(스트림) 전용이며 스레드 안전하지 않다.
+ */
+@Slf4j
+final class StepStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String STEPS_KEY = "\"steps\"";
+
+    /**
+     * 파서 종료 상태
+     */
+    enum Outcome {
+        /** steps 배열이 정상적으로 닫힘 */
+        COMPLETE,
+        /** 배열이 닫히기 전에 입력이 끝남 (잘린 응답) */
+        TRUNCATED,
+        /** JSON 형식 오류로 중단 */
+        MALFORMED,
+        /** "steps" 배열을 찾지 못함 */
+        NOT_FOUND
+    }
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    /** "steps" 배열 시작 전까지만 쌓아 두는 버퍼 (찾은 뒤에는 비운다) */
+    private StringBuilder pending = new StringBuilder();
+    private boolean inArray;
+    private Outcome outcome;
+
+    /** steps 배열 기준 깊이 (1 = 단계 객체 안, 2 이상 = 단계 안의 중첩 값) */
+    private int depth;
+    private String field;
+    private Integer stepNumber;
+    private Integer elementIndex;
+    private String message;
+
+    StepStreamParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("논블로킹 JSON 파서 생성 실패", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 응답 조각을 추가하고, 이번에 완성된 단계들을 돌려준다.
+     *
+     * @param delta 새로 도착한 응답 조각
+     * @return 완성된 단계 목록 (없으면 빈 목록)
+     */
+    List<GuideStepPlan> append(CharSequence delta) {
+        if (outcome != null || delta.isEmpty()) {
+            return List.of();
+        }
+
+        CharSequence input = delta;
+        if (!inArray) {
+            pending.append(delta);
+            int start = findArrayStart();
+            if (start < 0) {
+                return List.of();
+            }
+            input = pending.subSequence(start, pending.length());
+            pending = null;
+            inArray = true;
+        }
+
+        byte[] bytes = input.toString().getBytes(StandardCharsets.UTF_8);
+        List<GuideStepPlan> completed = new ArrayList<>();
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            drain(completed);
+        } catch (IOException e) {
+            // 같은 조각에서 오류 앞에 완성된 단계는 돌려준다
+            log.warn("LLM 단계 응답 형식 오류로 파싱 중단: {}", e.getMessage());
+            outcome = Outcome.MALFORMED;
+        }
+        return completed;
+    }
+
+    /**
+     * 입력이 끝났음을 알리고 종료 상태를 돌려준다.
+     * 닫히지 않은 마지막 단계 객체는 버린다.
+     */
+    Outcome finish() {
+        if (outcome == null) {
+            outcome = inArray ? Outcome.TRUNCATED : Outcome.NOT_FOUND;
+        }
+        feeder.endOfInput();
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // 바이트 배열 입력이므로 닫을 자원이 없다
+        }
+        return outcome;
+    }
+
+    /**
+     * "steps" 키 뒤의 '[' 위치를 찾는다.
+     * 키가 조각 경계에서 잘렸을 수 있으므로 찾지 못하면 다음 조각과 이어서 다시 찾는다.
+     */
+    private int findArrayStart() {
+        int key = pending.indexOf(STEPS_KEY);
+        if (key < 0) {
+            // 키 앞부분이 남아 있을 수 있는 꼬리만 보관
+            int keep = Math.min(pending.length(), STEPS_KEY.length() - 1);
+            pending.delete(0, pending.length() - keep);
+            return -1;
+        }
+        return pending.indexOf("[", key + STEPS_KEY.length());
+    }
+
+    /**
+     * 지금까지 들어온 바이트로 만들 수 있는 토큰을 모두 소비하고, 완성된 단계를 completed에 담는다.
+     */
+    private void drain(List<GuideStepPlan> completed) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (depth == 0) {
+                // 배열 바로 아래: 단계 객체 시작 또는 배열 끝
+                if (token == JsonToken.START_OBJECT) {
+                    depth = 1;
+                    stepNumber = null;
+                    elementIndex = null;
+                    message = null;
+                } else if (token == JsonToken.END_ARRAY && parser.getParsingContext().inRoot()) {
+                    outcome = Outcome.COMPLETE;
+                    break;
+                }
+                continue;
+            }
+
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (depth == 0) {
+                        GuideStepPlan step = toStep();
+                        if (step != null) {
+                            completed.add(step);
+                        }
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        field = parser.currentName();
+                    }
+                }
+                default -> {
+                    if (depth == 1) {
+                        readValue(token);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 단계 객체 바로 아래의 스칼라 값을 읽는다.
+     * 숫자 필드가 문자열("3")로 오는 경우도 허용한다.
+     */
+    private void readValue(JsonToken token) throws IOException {
+        switch (field) {
+            case "stepNumber" -> stepNumber = intValue(token);
+            case "elementIndex" -> elementIndex = intValue(token);
+            case "message" -> message = token == JsonToken.VALUE_NULL ? null : parser.getText();
+            case null, default -> {
+                // 모르는 필드는 무시
+            }
+        }
+    }
+
+    private Integer intValue(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private GuideStepPlan toStep() {
+        if (stepNumber == null || elementIndex == null || message == null) {
+            log.warn("필수 필드가 없는 단계 건너뜀: stepNumber={}, elementIndex={}, message={}",
+                    stepNumber, elementIndex, message);
+            return null;
+        }
+        return new GuideStepPlan(stepNumber, elementIndex, message);
+    }
+}
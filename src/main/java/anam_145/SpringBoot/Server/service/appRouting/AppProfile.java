@@ -0,0 +1,11 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+/**
+ * LLM 프롬프트의 앱 목록에 넣는 미니앱 정보
+ *
+ * @param appId MiniApp ID
+ * @param name 앱 표시 이름
+ * @param description 앱 설명 (없으면 null)
+ */
+public record AppProfile(String appId, String name, String description) {
+}
@@ -0,0 +1,21 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import java.util.List;
+
+/**
+ * 키워드 기반 앱 라우팅 결과
+ *
+ * 키워드 점수 또는 의도 분류기로 한 앱이 결정되면 appId가 채워진다.
+ * 점수가 같은 앱이 여럿이거나 일치하는 키워드가 없으면 appId는 null이며,
+ * 분류기 신뢰도도 기준 미만이면 LLM에게 물어볼 후보 앱 목록(동점 앱 또는 전체 앱)을 함께 돌려준다.
+ *
+ * @param appId 결정된 MiniApp ID (LLM 판단이 필요하면 null)
+ * @param candidates LLM에게 제시할 후보 앱, 가능성이 높은 순 (appId가 결정되었으면 빈 목록)
+ * @param reason 결정 방식 (지표/로그용: "keyword", "classifier", "tie", "no-match")
+ */
+public record AppRouteDecision(String appId, List<AppProfile> candidates, String reason) {
+
+    public boolean isDecided() {
+        return appId != null;
+    }
+}
@@ -0,0 +1,45 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+/**
+ * 질문으로 대상 미니앱을 고르는 라우팅 서비스
+ *
+ * mini_app_route 테이블에 등록된 앱 키워드로 질문을 한 번 훑어 앱별 점수를 매긴다.
+ * 키워드로 결정되지 않으면 로컬 의도 분류기로 후보 중 하나를 고르고,
+ * 분류기 신뢰도도 낮은 질문만 LLM에게 넘길 수 있도록 후보 앱 목록을 제공한다.
+ */
+public interface AppRoutingService {
+
+    /**
+     * 질문에 포함된 키워드 또는 의도 분류기로 대상 앱을 결정한다.
+     *
+     * @param userQuestion 사용자 질문
+     * @return 결정된 appId 또는 LLM에게 물어볼 후보 앱 목록
+     */
+    AppRouteDecision route(String userQuestion);
+
+    /**
+     * 앱을 결정할 수 없을 때 사용할 기본 appId
+     *
+     * @return 기본 appId (등록된 앱이 없으면 null)
+     */
+    String getDefaultAppId();
+
+    /**
+     * 등록된 앱인지 확인한다. (LLM 응답 검증용)
+     */
+    boolean isRegistered(String appId);
+
+    /**
+     * LLM이 결정한 앱을 기록한다. 기록은 의도 분류기 재학습에 사용된다.
+     * LLM 오류, 판단 불가, 미등록 응답으로 기본 앱을 대신 쓴 경우에는 호출하지 않는다.
+     *
+     * @param userQuestion 사용자 질문
+     * @param appId LLM이 고른 등록된 appId
+     */
+    void recordLlmDecision(String userQuestion, String appId);
+
+    /**
+     * 라우팅 정보를 다시 읽고, 바뀌었으면 오토마톤을 다시 만든다.
+     */
+    void refresh();
+}
@@ -0,0 +1,401 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import anam_145.SpringBoot.Server.domain.appRouting.MiniAppRoute;
+import anam_145.SpringBoot.Server.domain.appRouting.RouteKeyword;
+import anam_145.SpringBoot.Server.repository.MiniAppRouteRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 질문 기반 앱 라우팅 서비스 구현체
+ *
+ * mini_app_route 테이블의 키워드를 Aho–Corasick 오토마톤 하나로 컴파일해 두고,
+ * 질문을 한 번 훑어 앱별 가중치 합으로 점수를 매긴다.
+ * - 최고 점수 앱이 하나면 바로 결정하고, 동점이면 동점 앱만, 일치하는 키워드가 없으면 전체 앱을 LLM 후보로 돌려준다.
+ * - 같은 키워드는 질문에 여러 번 나와도 한 번만 센다.
+ * - 영문/숫자 키워드는 단어 경계에서만 인정한다. (예: "eth"가 "method"에 일치하지 않도록)
+ * - 키워드로 결정되지 않으면 로컬 의도 분류기(IntentClassifier)로 후보 앱 중 하나를 고르고,
+ *   신뢰도가 ai.app-router.classifier.min-confidence 이상일 때만 채택한다. 그 미만이면 LLM 후보를 돌려준다.
+ * - 분류기는 UI 텍스트와 LLM 결정 기록으로 백그라운드에서 주기적으로 다시 학습하여 통째로 교체한다.
+ * - 라우팅 정보는 주기적으로 다시 읽고, 내용이 바뀐 경우에만 오토마톤을 다시 만들어 통째로 교체한다.
+ * - 테이블이 비어 있으면 기존에 코드에 있던 기본 앱/키워드를 등록한다. (ai.app-router.seed-defaults)
+ */
+@Slf4j
+@Service
+public class AppRoutingServiceImpl implements AppRoutingService {
+
+    private final MiniAppRouteRepository miniAppRouteRepository;
+    private final IntentClassifierTrainer intentClassifierTrainer;
+    private final boolean seedDefaults;
+    private final boolean classifierEnabled;
+    private final double minConfidence;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary classifierConfidence;
+
+    /**
+     * 현재 사용 중인 컴파일 결과 (처음 사용할 때 또는 refresh 시 교체)
+     */
+    private volatile CompiledRoutes routes;
+
+    /**
+     * 현재 사용 중인 의도 분류기 (학습 전이거나 비활성화되면 null)
+     */
+    private volatile IntentClassifier classifier;
+
+    public AppRoutingServiceImpl(
+            MiniAppRouteRepository miniAppRouteRepository,
+            IntentClassifierTrainer intentClassifierTrainer,
+            @Value("${ai.app-router.seed-defaults:true}") boolean seedDefaults,
+            @Value("${ai.app-router.classifier.enabled:true}") boolean classifierEnabled,
+            @Value("${ai.app-router.classifier.min-confidence:0.8}") double minConfidence,
+            MeterRegistry meterRegistry
+    ) {
+        this.miniAppRouteRepository = miniAppRouteRepository;
+        this.intentClassifierTrainer = intentClassifierTrainer;
+        this.seedDefaults = seedDefaults;
+        this.classifierEnabled = classifierEnabled;
+        this.minConfidence = minConfidence;
+        this.meterRegistry = meterRegistry;
+        this.classifierConfidence = DistributionSummary.builder("ai.app-router.classifier.confidence")
+                .description("키워드로 결정되지 않은 질문에 대한 의도 분류기 신뢰도")
+                .register(meterRegistry);
+
+        Gauge.builder("ai.app-router.apps", this, service -> service.routes == null ? 0 : service.routes.apps.size())
+                .description("라우팅에 등록된 앱 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.app-router.keywords", this, service -> service.routes == null ? 0 : service.routes.keywords.length)
+                .description("오토마톤에 컴파일된 키워드 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버 시작 시 기본 라우팅 정보를 등록하고 오토마톤을 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (seedDefaults && miniAppRouteRepository.count() == 0) {
+            List<MiniAppRoute> defaults = defaultRoutes();
+            miniAppRouteRepository.saveAll(defaults);
+            log.info("앱 라우팅 기본 정보 등록: 앱 {}개", defaults.size());
+        }
+        refresh();
+        scheduledRetrain();
+    }
+
+    /**
+     * 라우팅 정보 변경을 주기적으로 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${ai.app-router.refresh-interval-ms:60000}",
+            initialDelayString = "${ai.app-router.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("앱 라우팅 정보 갱신 실패, 기존 오토마톤 유지", e);
+        }
+    }
+
+    /**
+     * 의도 분류기를 주기적으로 다시 학습한다. 실패하면 기존 분류기를 유지한다.
+     */
+    @Scheduled(fixedDelayString = "${ai.app-router.classifier.retrain-interval-ms:600000}",
+            initialDelayString = "${ai.app-router.classifier.retrain-interval-ms:600000}")
+    public void scheduledRetrain() {
+        if (!classifierEnabled) {
+            return;
+        }
+        try {
+            classifier = intentClassifierTrainer.train(minConfidence);
+        } catch (Exception e) {
+            log.warn("의도 분류기 학습 실패, 기존 분류기 유지", e);
+        }
+    }
+
+    @Override
+    public synchronized void refresh() {
+        List<RouteRow> rows = miniAppRouteRepository.findAllWithKeywords().stream()
+                .map(AppRoutingServiceImpl::toRow)
+                .toList();
+
+        CompiledRoutes current = routes;
+        if (current != null && current.rows.equals(rows)) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        CompiledRoutes compiled = CompiledRoutes.compile(rows);
+        routes = compiled;
+        log.info("앱 라우팅 오토마톤 생성: 앱 {}개, 키워드 {}개, 노드 {}개, {}ms",
+                compiled.apps.size(), compiled.keywords.length, compiled.automaton.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public AppRouteDecision route(String userQuestion) {
+        CompiledRoutes current = compiledRoutes();
+        AppRouteDecision decision = current.route(userQuestion);
+        if (!decision.isDecided()) {
+            decision = classify(userQuestion, decision, current.defaultAppId);
+        }
+        meterRegistry.counter("ai.app-router.requests", "result", decision.reason()).increment();
+        return decision;
+    }
+
+    @Override
+    public void recordLlmDecision(String userQuestion, String appId) {
+        if (classifierEnabled) {
+            intentClassifierTrainer.record(userQuestion, appId, IntentClassifierTrainer.SOURCE_LLM);
+        }
+    }
+
+    /**
+     * 키워드로 결정되지 않은 질문을 후보 앱 안에서 의도 분류기로 결정한다.
+     * 신뢰도가 기준 미만이면 LLM 후보를 가능성이 높은 순서로 정렬해 돌려준다.
+     * (분류기 순위, 분류기가 판단할 수 없으면 LLM이 불명확할 때 고르는 기본 앱을 앞에 둔다)
+     */
+    private AppRouteDecision classify(String userQuestion, AppRouteDecision decision, String defaultAppId) {
+        IntentClassifier current = classifier;
+        List<IntentClassifier.Prediction> ranking = current == null ? List.of()
+                : current.rank(userQuestion, decision.candidates().stream().map(AppProfile::appId).toList());
+        if (ranking.isEmpty()) {
+            return reorderCandidates(decision, defaultAppId == null ? List.of() : List.of(defaultAppId));
+        }
+
+        IntentClassifier.Prediction prediction = ranking.get(0);
+        classifierConfidence.record(prediction.confidence());
+        if (prediction.confidence() < minConfidence) {
+            log.debug("의도 분류기 신뢰도 부족: \"{}\" -> {} ({})", userQuestion, prediction.appId(), prediction.confidence());
+            return reorderCandidates(decision, ranking.stream().map(IntentClassifier.Prediction::appId).toList());
+        }
+        log.info("의도 분류기 appId 결정: \"{}\" -> {} ({})", userQuestion, prediction.appId(),
+                String.format("%.2f", prediction.confidence()));
+        return new AppRouteDecision(prediction.appId(), List.of(), "classifier");
+    }
+
+    /**
+     * 후보 중 preferred에 있는 앱을 그 순서대로 앞에 두고, 나머지는 원래 순서를 유지한다.
+     */
+    private static AppRouteDecision reorderCandidates(AppRouteDecision decision, List<String> preferred) {
+        List<AppProfile> ordered = new ArrayList<>(decision.candidates().size());
+        for (String appId : preferred) {
+            decision.candidates().stream()
+                    .filter(app -> app.appId().equals(appId))
+                    .findFirst()
+                    .ifPresent(ordered::add);
+        }
+        for (AppProfile app : decision.candidates()) {
+            if (!ordered.contains(app)) {
+                ordered.add(app);
+            }
+        }
+        return new AppRouteDecision(null, List.copyOf(ordered), decision.reason());
+    }
+
+    @Override
+    public String getDefaultAppId() {
+        return compiledRoutes().defaultAppId;
+    }
+
+    @Override
+    public boolean isRegistered(String appId) {
+        return compiledRoutes().appIds.contains(appId);
+    }
+
+    private CompiledRoutes compiledRoutes() {
+        CompiledRoutes current = routes;
+        if (current == null) {
+            refresh();
+            current = routes;
+        }
+        return current;
+    }
+
+    static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static RouteRow toRow(MiniAppRoute route) {
+        List<KeywordRow> keywords = route.getKeywords().stream()
+                .map(keyword -> new KeywordRow(normalize(keyword.getKeyword()), keyword.getWeight()))
+                .filter(keyword -> !keyword.keyword().isEmpty())
+                .sorted(Comparator.comparing(KeywordRow::keyword).thenComparingDouble(KeywordRow::weight))
+                .toList();
+        return new RouteRow(route.getAppId(), route.getName(), route.getDescription(), route.isDefaultApp(), keywords);
+    }
+
+    /**
+     * 기존 하드코딩 라우팅을 옮긴 기본 등록 정보
+     * 앱 이름은 가중치 3, 다른 앱과 겹칠 수 있는 일반 단어는 1~2로 둔다.
+     */
+    private static List<MiniAppRoute> defaultRoutes() {
+        return List.of(
+                route("com.anam.rehrxj11f38gn09k", "Bitcoin Wallet", "비트코인 블록체인 지갑", true,
+                        keyword("비트코인", 3), keyword("bitcoin", 3), keyword("btc", 3),
+                        keyword("이락코인", 3), keyword("iraccoin", 3), keyword("이락", 2)),
+                route("com.anam.osba5s0oy5582dc0", "Ethereum Wallet", "이더리움 블록체인 지갑", false,
+                        keyword("이더리움", 3), keyword("ethereum", 3), keyword("eth", 3), keyword("이더", 2)),
+                route("com.anam.6nqxb5qfm5lptbc9", "BonMedia", "뉴스/미디어 콘텐츠 서비스", false,
+                        keyword("본미디어", 3), keyword("bonmedia", 3), keyword("뉴스", 1), keyword("기사", 1)),
+                route("com.anam.vh7lpswl75iqdarh", "Busanilbo", "부산 지역 뉴스 서비스", false,
+                        keyword("부산일보", 3), keyword("busanilbo", 3), keyword("부산", 2))
+        );
+    }
+
+    private static MiniAppRoute route(String appId, String name, String description, boolean defaultApp,
+                                      RouteKeyword... keywords) {
+        return MiniAppRoute.builder()
+                .appId(appId)
+                .name(name)
+                .description(description)
+                .defaultApp(defaultApp)
+                .keywords(new ArrayList<>(List.of(keywords)))
+                .build();
+    }
+
+    private static RouteKeyword keyword(String keyword, double weight) {
+        return new RouteKeyword(keyword, weight);
+    }
+
+    /**
+     * DB에서 읽은 라우팅 정보 (변경 감지용 값 객체)
+     */
+    private record RouteRow(String appId, String name, String description, boolean defaultApp,
+                            List<KeywordRow> keywords) {
+    }
+
+    private record KeywordRow(String keyword, double weight) {
+    }
+
+    /**
+     * 라우팅 정보 하나를 컴파일한 결과 (불변)
+     */
+    private static final class CompiledRoutes {
+
+        private static final double EPSILON = 1e-9;
+
+        private final List<RouteRow> rows;
+        private final List<AppProfile> apps; // 앱 번호 순
+        private final Set<String> appIds;
+        private final String defaultAppId;
+        private final KeywordAutomaton automaton;
+        private final String[] keywords; // 키워드 번호 → 키워드
+        private final int[][] keywordApps; // 키워드 번호 → 앱 번호 목록
+        private final double[][] keywordWeights; // 키워드 번호 → 앱별 가중치 (keywordApps와 같은 순서)
+
+        private CompiledRoutes(List<RouteRow> rows, List<AppProfile> apps, String defaultAppId,
+                               String[] keywords, int[][] keywordApps, double[][] keywordWeights) {
+            this.rows = rows;
+            this.apps = apps;
+            this.appIds = new HashSet<>();
+            apps.forEach(app -> appIds.add(app.appId()));
+            this.defaultAppId = defaultAppId;
+            this.keywords = keywords;
+            this.keywordApps = keywordApps;
+            this.keywordWeights = keywordWeights;
+            this.automaton = KeywordAutomaton.build(List.of(keywords));
+        }
+
+        static CompiledRoutes compile(List<RouteRow> rows) {
+            List<AppProfile> apps = new ArrayList<>(rows.size());
+            String defaultAppId = null;
+            Map<String, List<double[]>> appsByKeyword = new LinkedHashMap<>(); // 키워드 → [앱 번호, 가중치]
+            for (int app = 0; app < rows.size(); app++) {
+                RouteRow row = rows.get(app);
+                apps.add(new AppProfile(row.appId(), row.name(), row.description()));
+                if (row.defaultApp() && defaultAppId == null) {
+                    defaultAppId = row.appId();
+                }
+                for (KeywordRow keyword : row.keywords()) {
+                    appsByKeyword.computeIfAbsent(keyword.keyword(), key -> new ArrayList<>())
+                            .add(new double[]{app, keyword.weight()});
+                }
+            }
+            if (defaultAppId == null && !apps.isEmpty()) {
+                defaultAppId = apps.get(0).appId();
+            }
+
+            String[] keywords = appsByKeyword.keySet().toArray(String[]::new);
+            int[][] keywordApps = new int[keywords.length][];
+            double[][] keywordWeights = new double[keywords.length][];
+            for (int k = 0; k < keywords.length; k++) {
+                List<double[]> entries = appsByKeyword.get(keywords[k]);
+                keywordApps[k] = new int[entries.size()];
+                keywordWeights[k] = new double[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    keywordApps[k][i] = (int) entries.get(i)[0];
+                    keywordWeights[k][i] = entries.get(i)[1];
+                }
+            }
+            return new CompiledRoutes(rows, List.copyOf(apps), defaultAppId, keywords, keywordApps, keywordWeights);
+        }
+
+        AppRouteDecision route(String userQuestion) {
+            String text = normalize(userQuestion);
+            Map<Integer, Double> scores = new HashMap<>();
+            BitSet counted = new BitSet(keywords.length);
+
+            automaton.search(text, (keyword, end) -> {
+                if (counted.get(keyword) || !isWordBoundary(text, keywords[keyword], end)) {
+                    return;
+                }
+                counted.set(keyword);
+                for (int i = 0; i < keywordApps[keyword].length; i++) {
+                    scores.merge(keywordApps[keyword][i], keywordWeights[keyword][i], Double::sum);
+                }
+            });
+
+            if (scores.isEmpty()) {
+                return new AppRouteDecision(null, apps, "no-match");
+            }
+
+            double best = scores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+            List<AppProfile> leaders = new ArrayList<>();
+            scores.entrySet().stream()
+                    .filter(entry -> best - entry.getValue() < EPSILON)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .forEach(app -> leaders.add(apps.get(app)));
+
+            if (leaders.size() == 1) {
+                return new AppRouteDecision(leaders.get(0).appId(), List.of(), "keyword");
+            }
+            return new AppRouteDecision(null, List.copyOf(leaders), "tie");
+        }
+
+        /**
+         * 영문/숫자로 시작하거나 끝나는 키워드는 앞뒤가 영문/숫자가 아닐 때만 인정한다.
+         * 한글은 조사가 붙으므로(예: "이더리움을") 경계를 검사하지 않는다.
+         */
+        private static boolean isWordBoundary(String text, String keyword, int end) {
+            int start = end - keyword.length() + 1;
+            if (isAsciiLetterOrDigit(keyword.charAt(0)) && start > 0 && isAsciiLetterOrDigit(text.charAt(start - 1))) {
+                return false;
+            }
+            return !isAsciiLetterOrDigit(keyword.charAt(keyword.length() - 1))
+                    || end + 1 >= text.length()
+                    || !isAsciiLetterOrDigit(text.charAt(end + 1));
+        }
+
+        private static boolean isAsciiLetterOrDigit(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import anam_145.SpringBoot.Server.util.LexicalTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 질문 → 미니앱 의도 분류기 (다항 나이브 베이즈, 불변 객체)
+ *
+ * LexicalTokenizer의 토큰(한글 음절 bigram, 영문 단어)을 특징으로 쓰고, 외부 호출 없이 메모리에서 학습/분류한다.
+ * - 앱마다 사전 확률은 같다고 본다. 학습 데이터 양(UI 요소 수, 기록된 질문 수)이 앱 인기도를 뜻하지 않기 때문이다.
+ * - 학습에 없던 토큰은 모든 앱에 같은 영향을 주므로 무시한다.
+ * - 나이브 베이즈의 사후 확률은 토큰이 많을수록 극단적으로 커지므로,
+ *   로그 점수를 알려진 토큰 수로 나눈 뒤(토큰당 평균) softmax를 취해 신뢰도로 사용한다.
+ * 희소 저장: 토큰마다 등장한 앱의 점수 차이만 보관하고, 등장하지 않은 앱은 앱별 기본값(unseen)을 쓴다.
+ */
+final class IntentClassifier {
+
+    private static final double ALPHA = 0.1; // 스무딩 계수 (Lidstone)
+
+    private final List<String> appIds; // 앱 번호 → appId
+    private final Map<String, Integer> appIndex;
+    private final double[] unseenLogProb; // 앱별, 해당 앱에서 본 적 없는 토큰의 로그 확률
+    private final Map<String, TokenStats> tokens;
+
+    private IntentClassifier(List<String> appIds, double[] unseenLogProb, Map<String, TokenStats> tokens) {
+        this.appIds = appIds;
+        this.appIndex = new HashMap<>(appIds.size() * 2);
+        for (int i = 0; i < appIds.size(); i++) {
+            appIndex.put(appIds.get(i), i);
+        }
+        this.unseenLogProb = unseenLogProb;
+        this.tokens = tokens;
+    }
+
+    /**
+     * 학습 데이터 한 건
+     *
+     * @param appId 정답 MiniApp ID
+     * @param text 질문 또는 앱 관련 텍스트
+     * @param weight 샘플 가중치 (실제 질문은 UI 텍스트보다 높게 둔다)
+     */
+    record Sample(String appId, String text, double weight) {
+    }
+
+    /**
+     * 분류 결과
+     *
+     * @param appId 가장 가능성이 높은 MiniApp ID
+     * @param confidence 후보 앱 사이의 신뢰도 (0~1)
+     */
+    record Prediction(String appId, double confidence) {
+    }
+
+    /**
+     * 교차 검증 결과
+     *
+     * @param samples 평가한 샘플 수
+     * @param accuracy 전체 정확도
+     * @param coverage 신뢰도 기준 이상으로 분류기가 결정한 비율
+     * @param confidentAccuracy 신뢰도 기준 이상인 샘플의 정확도
+     */
+    record Evaluation(int samples, double accuracy, double coverage, double confidentAccuracy) {
+    }
+
+    /**
+     * 토큰 하나의 앱별 점수 (등장한 앱만)
+     *
+     * @param apps 앱 번호
+     * @param delta 해당 앱의 로그 확률 - unseen 로그 확률
+     */
+    private record TokenStats(int[] apps, double[] delta) {
+    }
+
+    /**
+     * 샘플로 분류기를 학습한다.
+     *
+     * @param samples 학습 데이터
+     * @return 분류기 (샘플이 없으면 앱이 0개인 분류기)
+     */
+    static IntentClassifier train(List<Sample> samples) {
+        Map<String, Integer> appIndex = new LinkedHashMap<>();
+        Map<String, Map<Integer, Double>> counts = new HashMap<>();
+        List<Double> totals = new ArrayList<>();
+
+        for (Sample sample : samples) {
+            if (sample.text() == null || sample.weight() <= 0) {
+                continue;
+            }
+            int app = appIndex.computeIfAbsent(sample.appId(), key -> {
+                totals.add(0.0);
+                return totals.size() - 1;
+            });
+            for (String token : LexicalTokenizer.tokenize(sample.text())) {
+                counts.computeIfAbsent(token, key -> new HashMap<>()).merge(app, sample.weight(), Double::sum);
+                totals.set(app, totals.get(app) + sample.weight());
+            }
+        }
+
+        int vocabulary = counts.size();
+        double[] unseenLogProb = new double[appIndex.size()];
+        for (int app = 0; app < unseenLogProb.length; app++) {
+            unseenLogProb[app] = Math.log(ALPHA / (totals.get(app) + ALPHA * vocabulary));
+        }
+
+        // log((c + α) / (N + αV)) - log(α / (N + αV)) = log(1 + c / α) 이므로 앱별 전체 토큰 수와 무관하다
+        Map<String, TokenStats> tokens = new HashMap<>(vocabulary * 2);
+        for (Map.Entry<String, Map<Integer, Double>> entry : counts.entrySet()) {
+            int[] apps = new int[entry.getValue().size()];
+            double[] delta = new double[apps.length];
+            int i = 0;
+            for (Map.Entry<Integer, Double> count : entry.getValue().entrySet()) {
+                apps[i] = count.getKey();
+                delta[i] = Math.log1p(count.getValue() / ALPHA);
+                i++;
+            }
+            tokens.put(entry.getKey(), new TokenStats(apps, delta));
+        }
+        return new IntentClassifier(List.copyOf(appIndex.keySet()), unseenLogProb, tokens);
+    }
+
+    /**
+     * 후보 앱 중 질문에 가장 맞는 앱을 고른다.
+     *
+     * @param text 사용자 질문
+     * @param candidateAppIds 후보 appId (학습되지 않은 앱은 제외된다)
+     * @return 분류 결과 (후보가 없거나 질문에 학습된 토큰이 없으면 null)
+     */
+    Prediction classify(String text, Collection<String> candidateAppIds) {
+        List<Prediction> ranking = rank(text, candidateAppIds);
+        return ranking.isEmpty() ? null : ranking.get(0);
+    }
+
+    /**
+     * 후보 앱을 질문에 맞는 순서로 정렬한다.
+     *
+     * @param text 사용자 질문
+     * @param candidateAppIds 후보 appId (학습되지 않은 앱은 제외된다)
+     * @return 신뢰도 내림차순 분류 결과 (후보가 없거나 질문에 학습된 토큰이 없으면 빈 목록)
+     */
+    List<Prediction> rank(String text, Collection<String> candidateAppIds) {
+        int[] candidates = candidateAppIds.stream()
+                .map(appIndex::get)
+                .filter(index -> index != null)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        if (candidates.length == 0 || text == null) {
+            return List.of();
+        }
+        int[] position = new int[appIds.size()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < candidates.length; i++) {
+            position[candidates[i]] = i;
+        }
+
+        double[] scores = new double[candidates.length];
+        int known = 0;
+        for (String token : LexicalTokenizer.tokenize(text)) {
+            TokenStats stats = tokens.get(token);
+            if (stats == null) {
+                continue;
+            }
+            known++;
+            for (int i = 0; i < stats.apps().length; i++) {
+                int pos = position[stats.apps()[i]];
+                if (pos >= 0) {
+                    scores[pos] += stats.delta()[i];
+                }
+            }
+        }
+        if (known == 0) {
+            return List.of();
+        }
+
+        // 토큰당 평균 로그 점수로 softmax
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < candidates.length; i++) {
+            scores[i] = (scores[i] + known * unseenLogProb[candidates[i]]) / known;
+            max = Math.max(max, scores[i]);
+        }
+        double sum = 0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = Math.exp(scores[i] - max);
+            sum += scores[i];
+        }
+        List<Prediction> ranking = new ArrayList<>(candidates.length);
+        for (int i = 0; i < candidates.length; i++) {
+            ranking.add(new Prediction(appIds.get(candidates[i]), scores[i] / sum));
+        }
+        ranking.sort((a, b) -> Double.compare(b.confidence(), a.confidence()));
+        return ranking;
+    }
+
+    int getAppCount() {
+        return appIds.size();
+    }
+
+    int getVocabularySize() {
+        return tokens.size();
+    }
+
+    /**
+     * k-겹 교차 검증으로 질문 샘플에 대한 정확도를 잰다. (네트워크 없이 실행)
+     * 고정 샘플(앱 이름, UI 텍스트 등)은 항상 학습에만 쓰고, 질문 샘플을 k개로 나눠 번갈아 평가한다.
+     *
+     * @param fixed 항상 학습에 포함할 샘플
+     * @param labeled 평가할 질문 샘플 (순서대로 index % folds로 나눈다)
+     * @param folds 분할 수 (2 이상)
+     * @param minConfidence 분류기가 결정한 것으로 볼 신뢰도 기준
+     */
+    static Evaluation evaluate(List<Sample> fixed, List<Sample> labeled, int folds, double minConfidence) {
+        int correct = 0;
+        int confident = 0;
+        int confidentCorrect = 0;
+        for (int fold = 0; fold < folds; fold++) {
+            List<Sample> training = new ArrayList<>(fixed);
+            List<Sample> test = new ArrayList<>();
+            for (int i = 0; i < labeled.size(); i++) {
+                (i % folds == fold ? test : training).add(labeled.get(i));
+            }
+            IntentClassifier classifier = train(training);
+            for (Sample sample : test) {
+                Prediction prediction = classifier.classify(sample.text(), classifier.appIds);
+                boolean hit = prediction != null && prediction.appId().equals(sample.appId());
+                if (hit) {
+                    correct++;
+                }
+                if (prediction != null && prediction.confidence() >= minConfidence) {
+                    confident++;
+                    if (hit) {
+                        confidentCorrect++;
+                    }
+                }
+            }
+        }
+        int total = labeled.size();
+        return new Evaluation(total,
+                total == 0 ? 0 : (double) correct / total,
+                total == 0 ? 0 : (double) confident / total,
+                confident == 0 ? 0 : (double) confidentCorrect / confident);
+    }
+}
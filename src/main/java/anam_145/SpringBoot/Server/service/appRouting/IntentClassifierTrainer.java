@@ -0,0 +1,165 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import anam_145.SpringBoot.Server.domain.appRouting.AppRouteLog;
+import anam_145.SpringBoot.Server.domain.appRouting.MiniAppRoute;
+import anam_145.SpringBoot.Server.domain.appRouting.RouteKeyword;
+import anam_145.SpringBoot.Server.repository.AppRouteLogRepository;
+import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
+import anam_145.SpringBoot.Server.repository.MiniAppRouteRepository;
+import anam_145.SpringBoot.Server.repository.projection.AppTextSample;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 의도 분류기 학습 데이터 수집 및 학습
+ *
+ * 학습 데이터 (앱 라우팅 테이블에 등록된 앱만 사용):
+ * - 앱 이름, 설명, 라우팅 키워드 (가중치 2)
+ * - 인덱싱된 UI 요소의 표시 텍스트와 의미 힌트 (가중치 1)
+ * - LLM이 결정한 과거 질문 (가중치 3, 최근 max-log-samples건, 기본 앱으로 대체한 결과는 기록하지 않음)
+ * LLM 결정 기록은 요청 스레드에서 DB에 쓰지 않도록 메모리에 모았다가 주기적으로 한 번에 저장한다.
+ */
+@Slf4j
+@Component
+public class IntentClassifierTrainer {
+
+    static final String SOURCE_LLM = "llm";
+
+    private static final double ROUTE_WEIGHT = 2.0;
+    private static final double UI_TEXT_WEIGHT = 1.0;
+    private static final double QUESTION_WEIGHT = 3.0;
+    private static final int MAX_PENDING_LOGS = 1000;
+    private static final int EVALUATION_FOLDS = 5;
+    private static final int MIN_EVALUATION_SAMPLES = 20;
+
+    private final MiniAppRouteRepository miniAppRouteRepository;
+    private final ComposableInfoRepository composableInfoRepository;
+    private final AppRouteLogRepository appRouteLogRepository;
+    private final int maxLogSamples;
+
+    private final Queue<AppRouteLog> pendingLogs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public IntentClassifierTrainer(
+            MiniAppRouteRepository miniAppRouteRepository,
+            ComposableInfoRepository composableInfoRepository,
+            AppRouteLogRepository appRouteLogRepository,
+            @Value("${ai.app-router.classifier.max-log-samples:5000}") int maxLogSamples
+    ) {
+        this.miniAppRouteRepository = miniAppRouteRepository;
+        this.composableInfoRepository = composableInfoRepository;
+        this.appRouteLogRepository = appRouteLogRepository;
+        this.maxLogSamples = maxLogSamples;
+    }
+
+    /**
+     * 앱 결정 결과를 기록 대기열에 넣는다. 대기열이 가득 차면 버린다.
+     */
+    void record(String userQuestion, String appId, String source) {
+        if (userQuestion == null || userQuestion.isBlank() || userQuestion.length() > 1000) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > MAX_PENDING_LOGS) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        pendingLogs.add(AppRouteLog.builder()
+                .question(userQuestion.strip())
+                .appId(appId)
+                .source(source)
+                .build());
+    }
+
+    /**
+     * 대기 중인 앱 결정 기록을 저장한다.
+     */
+    @Scheduled(fixedDelayString = "${ai.app-router.classifier.log-flush-interval-ms:10000}")
+    public void flushLogs() {
+        List<AppRouteLog> batch = new ArrayList<>();
+        AppRouteLog entry;
+        while ((entry = pendingLogs.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            appRouteLogRepository.saveAll(batch);
+        } catch (Exception e) {
+            log.warn("앱 결정 기록 저장 실패: {}건 버림", batch.size(), e);
+        }
+    }
+
+    /**
+     * 현재 DB의 데이터로 분류기를 학습한다.
+     * 기록된 질문이 충분하면 교차 검증 결과를 함께 로그로 남긴다.
+     *
+     * @param minConfidence 평가에 사용할 신뢰도 기준
+     * @return 학습된 분류기 (등록된 앱이 없으면 null)
+     */
+    IntentClassifier train(double minConfidence) {
+        flushLogs();
+        long startedAt = System.nanoTime();
+
+        List<MiniAppRoute> routes = miniAppRouteRepository.findAllWithKeywords();
+        if (routes.isEmpty()) {
+            return null;
+        }
+        Set<String> appIds = new HashSet<>();
+        List<IntentClassifier.Sample> fixed = new ArrayList<>();
+        for (MiniAppRoute route : routes) {
+            appIds.add(route.getAppId());
+            fixed.add(new IntentClassifier.Sample(route.getAppId(), route.getName(), ROUTE_WEIGHT));
+            fixed.add(new IntentClassifier.Sample(route.getAppId(), route.getDescription(), ROUTE_WEIGHT));
+            for (RouteKeyword keyword : route.getKeywords()) {
+                fixed.add(new IntentClassifier.Sample(route.getAppId(), keyword.getKeyword(), ROUTE_WEIGHT));
+            }
+        }
+        for (AppTextSample sample : composableInfoRepository.findAllTextSamples()) {
+            if (appIds.contains(sample.appId())) {
+                fixed.add(new IntentClassifier.Sample(sample.appId(), sample.text(), UI_TEXT_WEIGHT));
+                fixed.add(new IntentClassifier.Sample(sample.appId(), sample.semanticHint(), UI_TEXT_WEIGHT));
+            }
+        }
+
+        List<IntentClassifier.Sample> questions = new ArrayList<>();
+        for (AppRouteLog entry : appRouteLogRepository.findByOrderByIdDesc(PageRequest.of(0, maxLogSamples))) {
+            if (appIds.contains(entry.getAppId())) {
+                questions.add(new IntentClassifier.Sample(entry.getAppId(), entry.getQuestion(), QUESTION_WEIGHT));
+            }
+        }
+
+        List<IntentClassifier.Sample> all = new ArrayList<>(fixed.size() + questions.size());
+        all.addAll(fixed);
+        all.addAll(questions);
+        IntentClassifier classifier = IntentClassifier.train(all);
+        log.info("의도 분류기 학습: 앱 {}개, 샘플 {}개(질문 {}개), 토큰 {}개, {}ms",
+                classifier.getAppCount(), all.size(), questions.size(), classifier.getVocabularySize(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+
+        if (questions.size() >= MIN_EVALUATION_SAMPLES) {
+            IntentClassifier.Evaluation evaluation =
+                    IntentClassifier.evaluate(fixed, questions, EVALUATION_FOLDS, minConfidence);
+            log.info("의도 분류기 교차 검증: 질문 {}개, 정확도 {}, 결정 비율 {}, 결정 정확도 {}",
+                    evaluation.samples(), percent(evaluation.accuracy()),
+                    percent(evaluation.coverage()), percent(evaluation.confidentAccuracy()));
+        }
+        return classifier;
+    }
+
+    private static String percent(double ratio) {
+        return String.format("%.1f%%", ratio * 100);
+    }
+}
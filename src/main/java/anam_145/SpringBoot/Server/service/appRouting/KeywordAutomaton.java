@@ -0,0 +1,151 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 여러 키워드를 한 번에 찾는 Aho–Corasick 오토마톤 (불변 객체)
+ *
+ * 키워드 수와 관계없이 질문을 한 번만 훑어 등장한 모든 키워드(겹치는 것 포함)를 찾는다.
+ * - 노드별 전이는 정렬된 문자 배열 + 이진 탐색으로 보관하여 한글처럼 문자 종류가 많아도 메모리가 작다.
+ * - 출력 링크(dictionary suffix link)로 접미사 키워드를 따라가므로 노드마다 출력 목록을 복사하지 않는다.
+ * 키워드와 입력 문자열은 호출하는 쪽에서 같은 방식으로 정규화(소문자 변환 등)해야 한다.
+ */
+final class KeywordAutomaton {
+
+    private final char[][] labels; // 노드별 전이 문자 (오름차순)
+    private final int[][] targets; // 노드별 전이 대상 노드 (labels와 같은 순서)
+    private final int[] fail; // 실패 링크
+    private final int[] output; // 이 노드에서 끝나는 키워드 번호 (없으면 -1)
+    private final int[] outputLink; // 실패 링크를 따라 처음 만나는, 키워드가 끝나는 노드 (없으면 -1)
+
+    private KeywordAutomaton(char[][] labels, int[][] targets, int[] fail, int[] output, int[] outputLink) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.output = output;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * 키워드가 끝나는 위치를 전달받는 콜백
+     */
+    @FunctionalInterface
+    interface MatchHandler {
+        /**
+         * @param keyword 키워드 번호 (build에 전달한 목록의 인덱스)
+         * @param end 입력에서 키워드 마지막 문자의 위치
+         */
+        void onMatch(int keyword, int end);
+    }
+
+    /**
+     * 키워드 목록으로 오토마톤을 만든다. 중복되지 않은 키워드를 전달해야 한다.
+     *
+     * @param keywords 정규화된 키워드 (빈 문자열 제외)
+     */
+    static KeywordAutomaton build(List<String> keywords) {
+        // 1. 트라이 구성
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(-1);
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = children.get(node).get(keyword.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    outputs.add(-1);
+                    children.get(node).put(keyword.charAt(i), next);
+                }
+                node = next;
+            }
+            outputs.set(node, k);
+        }
+
+        int size = children.size();
+        char[][] labels = new char[size][];
+        int[][] targets = new int[size][];
+        int[] output = new int[size];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = children.get(node);
+            labels[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+            output[node] = outputs.get(node);
+        }
+
+        // 2. BFS로 실패 링크와 출력 링크 계산 (루트의 자식은 루트로 실패)
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = targets[node][i];
+
+                int state = fail[node];
+                int next = step(labels, targets, state, c);
+                while (next < 0 && state != 0) {
+                    state = fail[state];
+                    next = step(labels, targets, state, c);
+                }
+                fail[child] = next >= 0 ? next : 0;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return new KeywordAutomaton(labels, targets, fail, output, outputLink);
+    }
+
+    /**
+     * 입력을 한 번 훑어 등장한 모든 키워드를 콜백으로 전달한다.
+     *
+     * @param text 정규화된 입력
+     * @param handler 키워드가 끝날 때마다 호출되는 콜백
+     */
+    void search(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = step(labels, targets, state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = step(labels, targets, state, c);
+            }
+            state = next >= 0 ? next : 0;
+
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                handler.onMatch(output[node], i);
+            }
+        }
+    }
+
+    int size() {
+        return labels.length;
+    }
+
+    private static int step(char[][] labels, int[][] targets, int node, char c) {
+        int index = Arrays.binarySearch(labels[node], c);
+        return index >= 0 ? targets[node][index] : -1;
+    }
+}
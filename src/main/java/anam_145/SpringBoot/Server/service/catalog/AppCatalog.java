@@ -0,0 +1,60 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MiniApp 하나의 UI 요소 카탈로그 (불변 객체)
+ *
+ * 인덱스 버전 하나에 대한 스냅샷이며, 재인덱싱되면 수정하지 않고 새 카탈로그로 통째로 교체한다.
+ * 가이드 요청은 이 객체만 읽으므로 DB 조회 없이 처리된다.
+ */
+@Getter
+public class AppCatalog {
+
+    private final String appId;
+    private final long indexVersion; // 카탈로그를 만든 시점의 MiniAppCodeIndex 인덱스 버전 (인덱스가 없으면 0)
+    private final List<CatalogElement> elements; // 전체 UI 요소 (ID 순)
+    private final Map<String, List<CatalogElement>> elementsByScreen; // 화면명 → UI 요소 (등장 순)
+    private final CatalogNavigation navigation; // 진입 화면부터의 화면 이동 경로 (없으면 비어 있음)
+    private final long estimatedBytes; // 메모리 사용량 추정치
+
+    private AppCatalog(String appId, long indexVersion, List<CatalogElement> elements, CatalogNavigation navigation) {
+        this.appId = appId;
+        this.indexVersion = indexVersion;
+        this.elements = List.copyOf(elements);
+        this.navigation = navigation;
+
+        Map<String, List<CatalogElement>> byScreen = new LinkedHashMap<>();
+        long bytes = 128;
+        for (CatalogElement element : this.elements) {
+            byScreen.computeIfAbsent(element.getScreenName(), key -> new ArrayList<>()).add(element);
+            bytes += element.estimatedBytes();
+        }
+        byScreen.replaceAll((screenName, screenElements) -> List.copyOf(screenElements));
+        this.elementsByScreen = Collections.unmodifiableMap(byScreen);
+        this.estimatedBytes = bytes + navigation.estimatedBytes();
+    }
+
+    public static AppCatalog of(String appId, long indexVersion, List<CatalogElement> elements) {
+        return new AppCatalog(appId, indexVersion, elements, CatalogNavigation.EMPTY);
+    }
+
+    public static AppCatalog of(String appId, long indexVersion, List<CatalogElement> elements,
+                                CatalogNavigation navigation) {
+        return new AppCatalog(appId, indexVersion, elements, navigation);
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public int size() {
+        return elements.size();
+    }
+}
@@ -0,0 +1,73 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.MiniAppCodeIndex;
+import anam_145.SpringBoot.Server.domain.aiGuide.ScreenInfo;
+import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
+import anam_145.SpringBoot.Server.repository.MiniAppCodeIndexRepository;
+import anam_145.SpringBoot.Server.repository.ScreenInfoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB에서 MiniApp 카탈로그를 읽어오는 컴포넌트
+ *
+ * 화면 정보를 JOIN FETCH로 함께 가져와 N+1 쿼리 없이 카탈로그를 만든다.
+ * 인덱싱 때 저장된 화면별 진입 경로도 함께 읽어 카탈로그에 담는다. (ai.navigation.enabled=false면 생략)
+ * 인덱싱 트랜잭션 커밋 직후(AFTER_COMMIT)에도 호출되므로 항상 새 읽기 전용 트랜잭션에서 실행한다.
+ */
+@Slf4j
+@Component
+public class AppCatalogLoader {
+
+    private final MiniAppCodeIndexRepository miniAppCodeIndexRepository;
+    private final ComposableInfoRepository composableInfoRepository;
+    private final ScreenInfoRepository screenInfoRepository;
+    private final boolean navigationEnabled;
+
+    public AppCatalogLoader(
+            MiniAppCodeIndexRepository miniAppCodeIndexRepository,
+            ComposableInfoRepository composableInfoRepository,
+            ScreenInfoRepository screenInfoRepository,
+            @Value("${ai.navigation.enabled:true}") boolean navigationEnabled
+    ) {
+        this.miniAppCodeIndexRepository = miniAppCodeIndexRepository;
+        this.composableInfoRepository = composableInfoRepository;
+        this.screenInfoRepository = screenInfoRepository;
+        this.navigationEnabled = navigationEnabled;
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public AppCatalog load(String appId) {
+        long indexVersion = miniAppCodeIndexRepository.findById(appId)
+                .map(MiniAppCodeIndex::getIndexVersion)
+                .orElse(0L);
+
+        List<CatalogElement> elements = composableInfoRepository.findAllWithScreenByAppId(appId).stream()
+                .map(CatalogElement::from)
+                .toList();
+
+        CatalogNavigation navigation = navigationEnabled ? loadNavigation(appId, elements) : CatalogNavigation.EMPTY;
+
+        log.info("카탈로그 로딩 완료: appId={}, indexVersion={}, UI 요소 {}개, 이동 경로 {}개",
+                appId, indexVersion, elements.size(), navigation.getEntryPaths().size());
+        return AppCatalog.of(appId, indexVersion, elements, navigation);
+    }
+
+    private CatalogNavigation loadNavigation(String appId, List<CatalogElement> elements) {
+        Map<String, List<Long>> pathsByScreen = new HashMap<>();
+        for (ScreenInfo screen : screenInfoRepository.findByAppId(appId)) {
+            List<Long> path = screen.getEntryPathElementIds();
+            if (path != null) {
+                pathsByScreen.put(screen.getName(), path);
+            }
+        }
+        return CatalogNavigation.of(pathsByScreen, elements);
+    }
+}
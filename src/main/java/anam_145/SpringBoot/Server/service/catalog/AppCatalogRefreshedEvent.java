@@ -0,0 +1,10 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+/**
+ * 재인덱싱 후 앱 카탈로그가 새 스냅샷으로 교체되었음을 알리는 이벤트
+ * 카탈로그 기반 색인(BM25, 벡터 등)을 첫 요청 전에 미리 만드는 데 사용한다.
+ *
+ * @param catalog 새로 교체된 카탈로그
+ */
+public record AppCatalogRefreshedEvent(AppCatalog catalog) {
+}
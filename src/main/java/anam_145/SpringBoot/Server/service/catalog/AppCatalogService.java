@@ -0,0 +1,24 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+/**
+ * MiniApp UI 요소 카탈로그 서비스 인터페이스
+ * 앱별 UI 요소를 메모리에 보관하여 가이드 요청이 DB를 조회하지 않도록 한다.
+ */
+public interface AppCatalogService {
+
+    /**
+     * 앱의 카탈로그를 조회한다.
+     * 캐시에 없으면 DB에서 한 번 로딩하여 보관한다.
+     *
+     * @param appId MiniApp ID
+     * @return 앱의 카탈로그 (인덱싱되지 않은 앱이면 빈 카탈로그)
+     */
+    AppCatalog getCatalog(String appId);
+
+    /**
+     * 앱의 카탈로그를 캐시에서 제거한다.
+     *
+     * @param appId MiniApp ID
+     */
+    void evict(String appId);
+}
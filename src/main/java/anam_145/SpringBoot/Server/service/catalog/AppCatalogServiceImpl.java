@@ -0,0 +1,157 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MiniApp UI 요소 카탈로그 서비스 구현체
+ *
+ * 앱별 카탈로그를 LRU 순서로 보관한다.
+ * - 보관 앱 수와 추정 메모리 사용량이 한도를 넘으면 가장 오래 사용하지 않은 앱부터 제거한다.
+ * - 재인덱싱 커밋 후 새 카탈로그를 만들어 통째로 교체하므로, 요청 중인 스레드는 이전 스냅샷을 끝까지 사용한다.
+ * - 인덱스 버전이 더 낮은 카탈로그로는 교체하지 않아, 늦게 끝난 로딩이 최신 카탈로그를 덮어쓰지 않는다.
+ */
+@Slf4j
+@Service
+public class AppCatalogServiceImpl implements AppCatalogService {
+
+    private final AppCatalogLoader appCatalogLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxApps;
+    private final long maxBytes;
+
+    /**
+     * accessOrder=true인 LinkedHashMap으로 LRU 순서를 유지한다.
+     * 조회도 순서를 바꾸므로 모든 접근은 this 모니터로 동기화한다.
+     */
+    private final LinkedHashMap<String, AppCatalog> catalogs = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public AppCatalogServiceImpl(
+            AppCatalogLoader appCatalogLoader,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${ai.catalog.max-apps:100}") int maxApps,
+            @Value("${ai.catalog.max-memory-mb:128}") long maxMemoryMb,
+            MeterRegistry meterRegistry
+    ) {
+        this.appCatalogLoader = appCatalogLoader;
+        this.eventPublisher = eventPublisher;
+        this.maxApps = Math.max(1, maxApps);
+        this.maxBytes = Math.max(1, maxMemoryMb) * 1024 * 1024;
+
+        this.hitCounter = Counter.builder("ai.catalog.requests")
+                .tag("result", "hit")
+                .description("카탈로그 캐시 조회 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.catalog.requests")
+                .tag("result", "miss")
+                .description("카탈로그 캐시 조회 수")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("ai.catalog.evictions")
+                .description("메모리 한도로 제거된 카탈로그 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.catalog.apps", this, service -> service.cachedApps())
+                .description("메모리에 보관 중인 카탈로그 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.catalog.bytes", this, service -> service.cachedBytes())
+                .description("보관 중인 카탈로그의 추정 메모리 사용량")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public AppCatalog getCatalog(String appId) {
+        synchronized (this) {
+            AppCatalog cached = catalogs.get(appId);
+            if (cached != null) {
+                hitCounter.increment();
+                return cached;
+            }
+        }
+
+        // DB 로딩은 락 밖에서 수행 (다른 앱 조회를 막지 않도록)
+        missCounter.increment();
+        return store(appCatalogLoader.load(appId));
+    }
+
+    @Override
+    public synchronized void evict(String appId) {
+        AppCatalog removed = catalogs.remove(appId);
+        if (removed != null) {
+            cachedBytes -= removed.getEstimatedBytes();
+        }
+    }
+
+    /**
+     * 인덱싱 트랜잭션이 커밋되면 새 카탈로그를 만들어 교체하고 AppCatalogRefreshedEvent를 발행한다.
+     * 로딩에 실패하면 이전 카탈로그가 남지 않도록 제거하여, 다음 요청에서 다시 로딩되게 한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMiniAppIndexed(MiniAppIndexedEvent event) {
+        try {
+            AppCatalog catalog = store(appCatalogLoader.load(event.appId()));
+            log.info("카탈로그 교체 완료: appId={}, indexVersion={}, UI 요소 {}개",
+                    event.appId(), catalog.getIndexVersion(), catalog.size());
+            eventPublisher.publishEvent(new AppCatalogRefreshedEvent(catalog));
+        } catch (Exception e) {
+            log.warn("카탈로그 교체 실패, 캐시에서 제거: appId={}", event.appId(), e);
+            evict(event.appId());
+        }
+    }
+
+    /**
+     * 카탈로그를 보관한다.
+     * 이미 더 최신 버전이 보관되어 있으면 그것을 반환한다.
+     */
+    private synchronized AppCatalog store(AppCatalog catalog) {
+        AppCatalog existing = catalogs.get(catalog.getAppId());
+        if (existing != null && existing.getIndexVersion() > catalog.getIndexVersion()) {
+            return existing;
+        }
+
+        catalogs.put(catalog.getAppId(), catalog);
+        cachedBytes += catalog.getEstimatedBytes() - (existing != null ? existing.getEstimatedBytes() : 0);
+        evictIfNecessary(catalog.getAppId());
+        return catalog;
+    }
+
+    /**
+     * 한도를 넘으면 가장 오래 사용하지 않은 카탈로그부터 제거한다.
+     * 방금 보관한 카탈로그는 한도보다 크더라도 제거하지 않는다.
+     */
+    private void evictIfNecessary(String keepAppId) {
+        Iterator<Map.Entry<String, AppCatalog>> iterator = catalogs.entrySet().iterator();
+        while ((catalogs.size() > maxApps || cachedBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<String, AppCatalog> eldest = iterator.next();
+            if (eldest.getKey().equals(keepAppId)) {
+                continue;
+            }
+            iterator.remove();
+            cachedBytes -= eldest.getValue().getEstimatedBytes();
+            evictionCounter.increment();
+            log.info("카탈로그 캐시 제거(LRU): appId={}", eldest.getKey());
+        }
+    }
+
+    private synchronized int cachedApps() {
+        return catalogs.size();
+    }
+
+    private synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+}
@@ -0,0 +1,66 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 메모리 카탈로그에 보관되는 UI 요소 (읽기 전용)
+ *
+ * ComposableInfo 엔티티에서 가이드 생성에 필요한 값만 복사하고,
+ * 지연 로딩되는 화면 정보는 화면명으로 미리 풀어서 보관한다.
+ * 영속성 컨텍스트와 무관하므로 여러 요청 스레드에서 안전하게 공유할 수 있다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CatalogElement {
+
+    private final Long id; // ComposableInfo ID
+    private final String screenName; // 소속 화면명 (화면 정보가 없으면 "Unknown")
+    private final String type; // UI 요소 타입 (예: "Button")
+    private final String composableId; // testTag 또는 HTML id
+    private final String fallbackSelector; // 대체 CSS 선택자
+    private final String text; // 표시 텍스트
+    private final String semanticHint; // contentDescription 등 의미적 힌트
+    private final String onClickCode; // 클릭 핸들러 코드
+    private final String searchableText; // 검색용 통합 텍스트
+    private final String sourceFile; // 소스 파일 경로
+    private final Integer lineNumber; // 소스 코드 라인 번호
+
+    /**
+     * ComposableInfo 엔티티로부터 카탈로그 요소를 만든다.
+     * screenInfo를 접근하므로 화면 정보가 함께 로딩된 상태에서 호출해야 한다.
+     */
+    public static CatalogElement from(ComposableInfo composable) {
+        return CatalogElement.builder()
+                .id(composable.getId())
+                .screenName(composable.getScreenInfo() != null ? composable.getScreenInfo().getName() : "Unknown")
+                .type(composable.getType())
+                .composableId(composable.getComposableId())
+                .fallbackSelector(composable.getFallbackSelector())
+                .text(composable.getText())
+                .semanticHint(composable.getSemanticHint())
+                .onClickCode(composable.getOnClickCode())
+                .searchableText(composable.getSearchableText())
+                .sourceFile(composable.getSourceFile())
+                .lineNumber(composable.getLineNumber())
+                .build();
+    }
+
+    /**
+     * 메모리 사용량 추정치 (bytes)
+     * 문자열은 UTF-16 기준으로 계산하며, 카탈로그 캐시의 메모리 한도 계산에 사용한다.
+     */
+    long estimatedBytes() {
+        return 96 // 객체 헤더 + 필드 참조
+                + sizeOf(screenName) + sizeOf(type) + sizeOf(composableId) + sizeOf(fallbackSelector)
+                + sizeOf(text) + sizeOf(semanticHint) + sizeOf(onClickCode) + sizeOf(searchableText)
+                + sizeOf(sourceFile);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+}
@@ -0,0 +1,116 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+import anam_145.SpringBoot.Server.util.NavigationTargetExtractor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 카탈로그에 포함되는 화면 이동 경로 (불변 객체)
+ *
+ * 인덱싱 시점에 계산되어 ScreenInfo에 저장된 진입 경로(UI 요소 ID)를 카탈로그 인덱스로 바꿔 보관한다.
+ * 가이드 생성 시 LLM이 고른 목표 요소 앞에 이동 단계를 채워 넣는 데 사용한다.
+ * 경로 정보가 없으면(이전 버전 인덱스, 기능 비활성화) 비어 있으며, 이때는 LLM이 이동 단계까지 구성한다.
+ */
+@Getter
+public class CatalogNavigation {
+
+    public static final CatalogNavigation EMPTY = new CatalogNavigation(null, Map.of());
+
+    private final String entryScreen; // 진입 화면명 (경로 정보가 없으면 null)
+    private final Map<String, List<Integer>> entryPaths; // 화면명 → 진입 화면부터의 이동 요소 카탈로그 인덱스
+
+    private CatalogNavigation(String entryScreen, Map<String, List<Integer>> entryPaths) {
+        this.entryScreen = entryScreen;
+        this.entryPaths = entryPaths;
+    }
+
+    /**
+     * 화면별 진입 경로(UI 요소 ID)를 카탈로그 인덱스로 변환하여 만든다.
+     * 카탈로그에 없는 요소를 가리키는 경로는 신뢰할 수 없으므로 버린다.
+     *
+     * @param pathsByScreen 화면명 → 이동 요소 ID (진입 화면은 빈 목록, 도달할 수 없는 화면은 제외)
+     * @param elements 카탈로그 UI 요소 (ID 순)
+     */
+    public static CatalogNavigation of(Map<String, List<Long>> pathsByScreen, List<CatalogElement> elements) {
+        Map<Long, Integer> indexById = new HashMap<>(elements.size() * 2);
+        for (int i = 0; i < elements.size(); i++) {
+            indexById.put(elements.get(i).getId(), i);
+        }
+
+        String entryScreen = null;
+        Map<String, List<Integer>> entryPaths = new TreeMap<>();
+        for (Map.Entry<String, List<Long>> entry : pathsByScreen.entrySet()) {
+            List<Integer> indices = toIndices(entry.getValue(), indexById);
+            if (indices == null) {
+                continue;
+            }
+            if (indices.isEmpty()) {
+                entryScreen = entry.getKey();
+            }
+            entryPaths.put(entry.getKey(), indices);
+        }
+
+        if (entryScreen == null) {
+            return EMPTY;
+        }
+        return new CatalogNavigation(entryScreen, Collections.unmodifiableMap(entryPaths));
+    }
+
+    private static List<Integer> toIndices(List<Long> ids, Map<Long, Integer> indexById) {
+        List<Integer> indices = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Integer index = indexById.get(id);
+            if (index == null) {
+                return null;
+            }
+            indices.add(index);
+        }
+        return List.copyOf(indices);
+    }
+
+    public boolean isEmpty() {
+        return entryPaths.isEmpty();
+    }
+
+    /**
+     * 진입 화면에서 해당 화면까지의 이동 요소 카탈로그 인덱스
+     *
+     * @return 이동 요소 목록 (진입 화면이면 빈 목록, 도달할 수 없으면 null)
+     */
+    public List<Integer> entryPathTo(String screenName) {
+        return entryPaths.get(screenName);
+    }
+
+    /**
+     * 클릭 코드의 이동 대상을 경로가 있는 화면명으로 해석한다.
+     *
+     * @param onClickCode UI 요소의 클릭 핸들러 코드
+     * @return 이동 대상 화면명 (이동 코드가 없거나 알 수 없는 화면이면 null)
+     */
+    public String resolveNextScreen(String onClickCode) {
+        String target = NavigationTargetExtractor.extractNextScreen(onClickCode);
+        if (target == null) {
+            return null;
+        }
+        for (String screen : entryPaths.keySet()) {
+            if (NavigationTargetExtractor.pointsTo(target, screen)) {
+                return screen;
+            }
+        }
+        return null;
+    }
+
+    long estimatedBytes() {
+        long bytes = 64;
+        for (Map.Entry<String, List<Integer>> entry : entryPaths.entrySet()) {
+            bytes += 80 + 2L * entry.getKey().length() + 16L * entry.getValue().size();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,11 @@
+package anam_145.SpringBoot.Server.service.catalog;
+
+/**
+ * MiniApp 인덱스가 갱신되었음을 알리는 이벤트
+ * CodeIndexWriter가 저장 트랜잭션 안에서 발행하며, 커밋 이후에 카탈로그가 교체된다.
+ *
+ * @param appId MiniApp ID
+ * @param indexVersion 갱신된 인덱스 버전
+ */
+public record MiniAppIndexedEvent(String appId, long indexVersion) {
+}
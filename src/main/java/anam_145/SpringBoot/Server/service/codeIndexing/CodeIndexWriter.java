@@ -0,0 +1,154 @@
+package anam_145.SpringBoot.Server.service.codeIndexing;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import anam_145.SpringBoot.Server.domain.aiGuide.MiniAppCodeIndex;
+import anam_145.SpringBoot.Server.domain.aiGuide.ScreenInfo;
+import anam_145.SpringBoot.Server.repository.ComposableInfoJdbcRepository;
+import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
+import anam_145.SpringBoot.Server.repository.MiniAppCodeIndexRepository;
+import anam_145.SpringBoot.Server.repository.ScreenInfoRepository;
+import anam_145.SpringBoot.Server.service.catalog.MiniAppIndexedEvent;
+import anam_145.SpringBoot.Server.service.navigation.NavigationIndexer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파싱이 끝난 인덱싱 결과를 DB에 저장하는 컴포넌트
+ *
+ * 파싱(CPU 작업)과 저장(DB 작업)을 분리하여, 트랜잭션과 DB 커넥션은 저장 단계에서만 점유한다.
+ * CodeIndexingServiceImpl 내부 호출로는 @Transactional 프록시가 적용되지 않으므로 별도 빈으로 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CodeIndexWriter {
+
+    private final MiniAppCodeIndexRepository miniAppCodeIndexRepository;
+    private final ScreenInfoRepository screenInfoRepository;
+    private final ComposableInfoRepository composableInfoRepository;
+    private final ComposableInfoJdbcRepository composableInfoJdbcRepository;
+    private final NavigationIndexer navigationIndexer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 앱에 저장된 화면별 소스 해시를 조회한다.
+     *
+     * @param appId MiniApp ID
+     * @return 화면명 → 소스 해시 (해시가 없는 화면은 값이 null)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> findScreenHashes(String appId) {
+        Map<String, String> hashes = new HashMap<>();
+        for (ScreenInfo screen : screenInfoRepository.findByAppId(appId)) {
+            hashes.put(screen.getName(), screen.getContentHash());
+        }
+        return hashes;
+    }
+
+    /**
+     * 변경된 화면만 교체하여 인덱스를 갱신한다.
+     *
+     * @param appId MiniApp ID
+     * @param fullRebuild true면 기존 인덱스 전체를 지우고 다시 저장
+     * @param screensToRemove 삭제할 화면명 (변경/삭제된 화면)
+     * @param screensToWrite 새로 저장할 화면 (추가/변경된 화면, 저장 순서대로)
+     * @return 새로 저장된 UI 요소 개수
+     */
+    @Transactional // 삭제와 저장을 하나의 트랜잭션으로 묶어 일관성 보장
+    public int applyIndex(String appId,
+                          boolean fullRebuild,
+                          Collection<String> screensToRemove,
+                          List<ParsedScreen> screensToWrite) {
+        // 1. 기존 데이터 정리
+        if (fullRebuild) {
+            // 전체 재인덱싱: 기존 인덱스를 모두 지우고 새로 저장
+            deleteExistingIndex(appId);
+        } else {
+            // 증분 인덱싱: 변경/삭제된 화면만 삭제
+            deleteScreens(appId, screensToRemove);
+        }
+
+        // 2. MiniAppCodeIndex 조회 또는 생성 (최상위 인덱스 엔티티)
+        MiniAppCodeIndex codeIndex = miniAppCodeIndexRepository.findById(appId)
+            .orElseGet(() -> miniAppCodeIndexRepository.save(MiniAppCodeIndex.builder()
+                .appId(appId)
+                .build())); // indexedAt은 @CreationTimestamp로 자동 설정
+
+        // 3. 화면별로 ScreenInfo와 ComposableInfo 저장
+        int totalSaved = 0;
+        for (ParsedScreen parsedScreen : screensToWrite) {
+            List<ComposableInfo> composables = parsedScreen.getComposables();
+
+            // ScreenInfo 생성 (화면 단위)
+            ScreenInfo screenInfo = ScreenInfo.builder()
+                .appId(appId)
+                .name(parsedScreen.getScreenName()) // 예: "TransferScreen"
+                .sourceFile(parsedScreen.getSourceFile()) // 예: "app/.../TransferScreen.kt"
+                .contentHash(parsedScreen.getContentHash())
+                .build();
+
+            // MiniAppCodeIndex와 양방향 관계 설정
+            codeIndex.addScreen(screenInfo);
+
+            // ScreenInfo 저장
+            screenInfoRepository.save(screenInfo);
+
+            // 각 ComposableInfo에 ScreenInfo 설정 후 저장
+            for (ComposableInfo composable : composables) {
+                composable.setScreenInfo(screenInfo); // 양방향 관계 설정 (screenId도 자동 설정됨)
+            }
+
+            // ComposableInfo 일괄 저장 (IDENTITY 전략은 JPA 배치가 안 되므로 JDBC 배치 사용)
+            totalSaved += composableInfoJdbcRepository.batchInsert(composables);
+            log.debug("화면 저장 완료: screenName={}, UI 요소 개수={}", parsedScreen.getScreenName(), composables.size());
+        }
+
+        // 4. 화면 이동 그래프 재계산 (변경되지 않은 화면의 경로도 달라질 수 있으므로 앱 전체)
+        navigationIndexer.rebuild(appId);
+
+        // 5. 인덱스 버전 갱신 후 이벤트 발행 (커밋 이후 메모리 카탈로그 교체)
+        long indexVersion = codeIndex.renewIndexVersion();
+        eventPublisher.publishEvent(new MiniAppIndexedEvent(appId, indexVersion));
+
+        return totalSaved;
+    }
+
+    /**
+     * 기존 인덱스 데이터 삭제 (전체 재인덱싱 시)
+     *
+     * cascade로 삭제하면 모든 ScreenInfo/ComposableInfo를 영속성 컨텍스트에 로딩한 뒤
+     * 한 행씩 DELETE하므로, 테이블별 DELETE 문으로 자식부터 한 번에 삭제한다.
+     */
+    private void deleteExistingIndex(String appId) {
+        int deletedElements = composableInfoRepository.deleteByAppId(appId);
+        int deletedScreens = screenInfoRepository.deleteByAppId(appId);
+        int deletedIndexes = miniAppCodeIndexRepository.deleteByAppId(appId);
+
+        if (deletedIndexes > 0) {
+            log.info("기존 인덱스 삭제: appId={}, 화면 {}개, UI 요소 {}개", appId, deletedScreens, deletedElements);
+        }
+    }
+
+    /**
+     * 지정한 화면과 그 화면의 UI 요소를 삭제한다. (증분 인덱싱 시)
+     * 전체 삭제와 마찬가지로 엔티티를 로딩하지 않고 UI 요소 → 화면 순서로 삭제한다.
+     */
+    private void deleteScreens(String appId, Collection<String> screenNames) {
+        if (screenNames.isEmpty()) {
+            return;
+        }
+
+        int deletedElements = composableInfoRepository.deleteByAppIdAndScreenNames(appId, screenNames);
+        int deletedScreens = screenInfoRepository.deleteByAppIdAndNameIn(appId, screenNames);
+
+        log.info("변경/삭제된 화면 정리: appId={}, 화면 {}개, UI 요소 {}개", appId, deletedScreens, deletedElements);
+    }
+}
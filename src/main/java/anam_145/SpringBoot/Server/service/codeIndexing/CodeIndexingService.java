@@ -1,5 +1,6 @@
 package anam_145.SpringBoot.Server.service.codeIndexing;
 
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingResultDTO;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -10,10 +11,22 @@ public interface CodeIndexingService {
 
     /**
      * MiniApp의 Kotlin 소스 코드를 분석하고 인덱싱한다.
+     * 이미 인덱싱된 앱이면 내용이 바뀐 소스 파일만 다시 파싱한다.
      *
      * @param appId MiniApp ID
      * @param zipFile 업로드된 ZIP 파일
-     * @return 인덱싱된 UI 요소 개수
+     * @return 인덱싱 결과 (전체 UI 요소 개수, 추가/변경/유지/삭제된 파일 수)
      */
-    int indexMiniAppCode(String appId, MultipartFile zipFile);
+    IndexingResultDTO indexMiniAppCode(String appId, MultipartFile zipFile);
+
+    /**
+     * MiniApp의 소스 코드를 분석하고 인덱싱하며, 진행 상황을 리스너로 전달한다.
+     * 비동기 인덱싱 작업에서 진행률을 보고하기 위해 사용된다.
+     *
+     * @param appId MiniApp ID
+     * @param zipFile 업로드된 ZIP 파일
+     * @param progressListener 진행 상황 리스너
+     * @return 인덱싱 결과 (전체 UI 요소 개수, 추가/변경/유지/삭제된 파일 수)
+     */
+    IndexingResultDTO indexMiniAppCode(String appId, MultipartFile zipFile, IndexingProgressListener progressListener);
 }
@@ -1,183 +1,305 @@
 package anam_145.SpringBoot.Server.service.codeIndexing;
 
 import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
-import anam_145.SpringBoot.Server.domain.aiGuide.MiniAppCodeIndex;
-import anam_145.SpringBoot.Server.domain.aiGuide.ScreenInfo;
 import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
-import anam_145.SpringBoot.Server.repository.MiniAppCodeIndexRepository;
-import anam_145.SpringBoot.Server.repository.ScreenInfoRepository;
 import anam_145.SpringBoot.Server.service.htmlParser.HTMLParser;
 import anam_145.SpringBoot.Server.service.kotlinASTParser.KotlinASTParser;
 import anam_145.SpringBoot.Server.service.zipExtractorService.ZipExtractorService;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.KotlinFileContentDTO;
-import lombok.RequiredArgsConstructor;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingResultDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * 코드 인덱싱 서비스 구현체
  * ZIP 파일 업로드부터 DB 저장까지 전체 플로우를 처리한다.
+ *
+ * 파싱 단계는 트랜잭션 밖에서 indexingParseExecutor로 병렬 처리하고,
+ * 저장 단계만 CodeIndexWriter의 트랜잭션 안에서 수행한다.
+ *
+ * 재등록 시에는 화면 단위 소스 해시를 비교하여 추가/변경된 화면만 파싱하고,
+ * 변경 없는 화면의 ScreenInfo/ComposableInfo는 그대로 유지한다(증분 인덱싱).
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CodeIndexingServiceImpl implements CodeIndexingService {
 
     private final ZipExtractorService zipExtractorService;
     private final KotlinASTParser kotlinASTParser;
     private final HTMLParser htmlParser;
-    private final MiniAppCodeIndexRepository miniAppCodeIndexRepository;
-    private final ScreenInfoRepository screenInfoRepository;
+    private final CodeIndexWriter codeIndexWriter;
     private final ComposableInfoRepository composableInfoRepository;
+    private final ExecutorService parseExecutor;
+    private final boolean incrementalEnabled;
+
+    public CodeIndexingServiceImpl(
+            ZipExtractorService zipExtractorService,
+            KotlinASTParser kotlinASTParser,
+            HTMLParser htmlParser,
+            CodeIndexWriter codeIndexWriter,
+            ComposableInfoRepository composableInfoRepository,
+            @Qualifier("indexingParseExecutor") ExecutorService parseExecutor,
+            @Value("${ai.indexing.incremental:true}") boolean incrementalEnabled
+    ) {
+        this.zipExtractorService = zipExtractorService;
+        this.kotlinASTParser = kotlinASTParser;
+        this.htmlParser = htmlParser;
+        this.codeIndexWriter = codeIndexWriter;
+        this.composableInfoRepository = composableInfoRepository;
+        this.parseExecutor = parseExecutor;
+        this.incrementalEnabled = incrementalEnabled;
+    }
 
     @Override
-    @Transactional // 전체 프로세스를 하나의 트랜잭션으로 묶어 일관성 보장
-    public int indexMiniAppCode(String appId, MultipartFile zipFile) {
-        log.info("MiniApp 코드 인덱싱 시작: appId={}", appId);
+    public IndexingResultDTO indexMiniAppCode(String appId, MultipartFile zipFile) {
+        return indexMiniAppCode(appId, zipFile, IndexingProgressListener.NONE);
+    }
 
-        // 1. 기존 인덱스 데이터 삭제 (재인덱싱 시)
-        // 이미 등록된 모듈앱을 다시 업로드하면 기존 데이터를 지우고 새로 분석
-        deleteExistingIndex(appId);
+    @Override
+    public IndexingResultDTO indexMiniAppCode(String appId, MultipartFile zipFile, IndexingProgressListener progressListener) {
+        log.info("MiniApp 코드 인덱싱 시작: appId={}", appId);
 
-        // 2. ZIP 파일에서 소스 파일 추출 (Kotlin + HTML 동시에)
+        // 1. ZIP 파일에서 소스 파일 추출 (Kotlin + HTML 동시에)
         Map<String, List<KotlinFileContentDTO>> extractedFiles = zipExtractorService.extractAllSourceFiles(zipFile);
         List<KotlinFileContentDTO> kotlinFiles = extractedFiles.get("kotlin");
         List<KotlinFileContentDTO> htmlFiles = extractedFiles.get("html");
 
         log.info("추출된 Kotlin 파일 개수: {}, HTML 파일 개수: {}", kotlinFiles.size(), htmlFiles.size());
 
-        List<ComposableInfo> allComposables = new ArrayList<>();
+        // 2. 화면 단위로 소스 파일 그룹화 및 내용 해시 계산
+        // 예: TransferScreen.kt → "TransferScreen", pages/index/index.html → "index"
+        Map<String, List<KotlinFileContentDTO>> filesByScreen = groupFilesByScreen(kotlinFiles, htmlFiles);
+        Map<String, String> newHashes = new LinkedHashMap<>();
+        filesByScreen.forEach((screenName, files) -> newHashes.put(screenName, hashFiles(files)));
 
-        // 3-1. Kotlin 파일 파싱
-        for (KotlinFileContentDTO file : kotlinFiles) {
-            try {
-                // @Composable 함수를 찾아서 내부의 Button, Text 등 UI 요소 정보 추출
-                List<ComposableInfo> composables = kotlinASTParser.parseKotlinFile(
-                    appId,
-                    file.getFileName(),
-                    file.getContent()
-                );
-                allComposables.addAll(composables);
-            } catch (Exception e) {
-                // 특정 파일 파싱 실패해도 전체 프로세스는 계속 진행
-                log.warn("Kotlin 파일 파싱 실패 (계속 진행): fileName={}", file.getFileName(), e);
+        // 3. 기존 인덱스의 해시와 비교하여 추가/변경/유지/삭제 분류
+        Map<String, String> existingHashes = incrementalEnabled
+            ? codeIndexWriter.findScreenHashes(appId)
+            : Map.of();
+
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        for (Map.Entry<String, String> entry : newHashes.entrySet()) {
+            String screenName = entry.getKey();
+            if (!existingHashes.containsKey(screenName)) {
+                added.add(screenName);
+            } else if (existingHashes.get(screenName) == null || !existingHashes.get(screenName).equals(entry.getValue())) {
+                // 기존 해시가 없으면(해시 도입 이전 데이터, 파싱 실패) 변경으로 간주하여 다시 파싱
+                changed.add(screenName);
+            } else {
+                unchanged.add(screenName);
             }
         }
+        List<String> removed = existingHashes.keySet().stream()
+            .filter(screenName -> !newHashes.containsKey(screenName))
+            .sorted()
+            .toList();
 
-        // 3-2. HTML 파일 파싱
-        for (KotlinFileContentDTO file : htmlFiles) {
-            try {
-                // JSoup으로 button, input 등 HTML UI 요소 정보 추출
-                List<ComposableInfo> composables = htmlParser.parseHtmlFile(
-                    appId,
-                    file.getFileName(),
-                    file.getContent()
-                );
-                allComposables.addAll(composables);
-            } catch (Exception e) {
-                // 특정 파일 파싱 실패해도 전체 프로세스는 계속 진행
-                log.warn("HTML 파일 파싱 실패 (계속 진행): fileName={}", file.getFileName(), e);
+        log.info("증분 인덱싱 분류: appId={}, 추가={}, 변경={}, 유지={}, 삭제={}",
+            appId, added.size(), changed.size(), unchanged.size(), removed.size());
+
+        // 4. 추가/변경된 화면의 파일만 병렬로 파싱 (트랜잭션 밖에서 수행)
+        List<String> screensToParse = new ArrayList<>(added);
+        screensToParse.addAll(changed);
+        List<KotlinFileContentDTO> filesToParse = new ArrayList<>();
+        for (String screenName : screensToParse) {
+            filesToParse.addAll(filesByScreen.get(screenName));
+        }
+        progressListener.onFilesExtracted(filesToParse.size());
+
+        Map<KotlinFileContentDTO, FileParseResult> parseResults = parseAll(appId, filesToParse, progressListener);
+
+        // 5. 파일별 결과를 화면 단위로 합치기 (화면 순서 및 파일 순서 유지)
+        List<ParsedScreen> screensToWrite = new ArrayList<>();
+        for (String screenName : screensToParse) {
+            List<KotlinFileContentDTO> files = filesByScreen.get(screenName);
+            List<ComposableInfo> composables = new ArrayList<>();
+            boolean failed = false;
+            for (KotlinFileContentDTO file : files) {
+                FileParseResult result = parseResults.get(file);
+                composables.addAll(result.composables());
+                failed |= result.failed();
             }
+
+            screensToWrite.add(ParsedScreen.builder()
+                .screenName(screenName)
+                .sourceFile(files.get(0).getFileName())
+                .contentHash(failed ? null : newHashes.get(screenName)) // 실패한 화면은 다음 등록 때 다시 파싱
+                .composables(composables)
+                .build());
         }
 
-        log.info("총 추출된 UI 요소 개수: {}", allComposables.size());
+        // 6. 변경/삭제된 화면 교체 및 저장 (이 단계에서만 트랜잭션 사용)
+        progressListener.onPersisting();
+        List<String> screensToRemove = new ArrayList<>(changed);
+        screensToRemove.addAll(removed);
+        int parsedElementCount = codeIndexWriter.applyIndex(appId, !incrementalEnabled, screensToRemove, screensToWrite);
 
-        // 4. 화면별로 그룹화 (ScreenInfo 생성 준비)
-        // 예: TransferScreen.kt의 UI 요소들을 "TransferScreen" 화면으로 그룹화
-        Map<String, List<ComposableInfo>> composablesByScreen = groupComposablesByScreen(allComposables);
+        long elementCount = composableInfoRepository.countByAppId(appId);
+        log.info("MiniApp 코드 인덱싱 완료: appId={}, 새로 저장된 UI 요소 {}개, 전체 {}개",
+            appId, parsedElementCount, elementCount);
 
-        // 5. MiniAppCodeIndex 생성 (최상위 인덱스 엔티티)
-        MiniAppCodeIndex codeIndex = MiniAppCodeIndex.builder()
+        return IndexingResultDTO.builder()
             .appId(appId)
+            .elementCount(elementCount)
+            .parsedElementCount(parsedElementCount)
+            .addedFiles(added.size())
+            .changedFiles(changed.size())
+            .unchangedFiles(unchanged.size())
+            .removedFiles(removed.size())
             .build();
-        miniAppCodeIndexRepository.save(codeIndex); // indexedAt은 @CreationTimestamp로 자동 설정
-
-        // 6. 화면별로 ScreenInfo와 ComposableInfo 저장
-        int totalSaved = 0;
-        for (Map.Entry<String, List<ComposableInfo>> entry : composablesByScreen.entrySet()) {
-            String screenName = entry.getKey();
-            List<ComposableInfo> composables = entry.getValue();
-
-            // ScreenInfo 생성 (화면 단위)
-            ScreenInfo screenInfo = ScreenInfo.builder()
-                .appId(appId)
-                .name(screenName) // 예: "TransferScreen"
-                .sourceFile(getSourceFileForScreen(composables)) // 예: "app/.../TransferScreen.kt"
-                .build();
+    }
 
-            // MiniAppCodeIndex와 양방향 관계 설정
-            codeIndex.addScreen(screenInfo);
+    /**
+     * 소스 파일들을 파싱 스레드 풀에 나눠 맡기고, 파일별 결과를 모은다.
+     * Kotlin(.kt)과 HTML 파일을 확장자로 구분하여 각 파서에 전달한다.
+     */
+    private Map<KotlinFileContentDTO, FileParseResult> parseAll(String appId,
+                                                                List<KotlinFileContentDTO> files,
+                                                                IndexingProgressListener progressListener) {
+        Map<KotlinFileContentDTO, Future<FileParseResult>> futures = new LinkedHashMap<>();
 
-            // ScreenInfo 저장
-            screenInfoRepository.save(screenInfo);
+        for (KotlinFileContentDTO file : files) {
+            futures.put(file, parseExecutor.submit(() -> {
+                try {
+                    return isHtmlFile(file) ? parseHtmlFile(appId, file) : parseKotlinFile(appId, file);
+                } finally {
+                    progressListener.onFileParsed();
+                }
+            }));
+        }
 
-            // 각 ComposableInfo에 ScreenInfo 설정 후 저장
-            for (ComposableInfo composable : composables) {
-                composable.setScreenInfo(screenInfo); // 양방향 관계 설정 (screenId도 자동 설정됨)
+        Map<KotlinFileContentDTO, FileParseResult> results = new HashMap<>();
+        try {
+            for (Map.Entry<KotlinFileContentDTO, Future<FileParseResult>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().get());
             }
+        } catch (InterruptedException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("소스 파일 파싱 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            // 파일별 예외는 작업 내부에서 처리하므로 여기까지 오지 않는다
+            futures.values().forEach(future -> future.cancel(true));
+            throw new IllegalStateException("소스 파일 파싱 작업 실패", e.getCause());
+        }
+
+        return results;
+    }
 
-            // ComposableInfo 일괄 저장 (성능 최적화)
-            composableInfoRepository.saveAll(composables);
+    /**
+     * Kotlin 파일 하나를 파싱한다.
+     * @Composable 함수를 찾아서 내부의 Button, Text 등 UI 요소 정보 추출
+     */
+    private FileParseResult parseKotlinFile(String appId, KotlinFileContentDTO file) {
+        try {
+            return new FileParseResult(
+                kotlinASTParser.parseKotlinFile(appId, file.getFileName(), file.getContent()), false);
+        } catch (Exception e) {
+            // 특정 파일 파싱 실패해도 전체 프로세스는 계속 진행
+            log.warn("Kotlin 파일 파싱 실패 (계속 진행): fileName={}", file.getFileName(), e);
+            return new FileParseResult(List.of(), true);
+        }
+    }
 
-            totalSaved += composables.size();
-            log.debug("화면 저장 완료: screenName={}, UI 요소 개수={}", screenName, composables.size());
+    /**
+     * HTML 파일 하나를 파싱한다.
+     * JSoup으로 button, input 등 HTML UI 요소 정보 추출
+     */
+    private FileParseResult parseHtmlFile(String appId, KotlinFileContentDTO file) {
+        try {
+            return new FileParseResult(
+                htmlParser.parseHtmlFile(appId, file.getFileName(), file.getContent()), false);
+        } catch (Exception e) {
+            // 특정 파일 파싱 실패해도 전체 프로세스는 계속 진행
+            log.warn("HTML 파일 파싱 실패 (계속 진행): fileName={}", file.getFileName(), e);
+            return new FileParseResult(List.of(), true);
         }
+    }
 
-        log.info("MiniApp 코드 인덱싱 완료: appId={}, 총 {}개 UI 요소 저장", appId, totalSaved);
-        return totalSaved;
+    private boolean isHtmlFile(KotlinFileContentDTO file) {
+        return file.getFileName().endsWith(".html");
     }
 
     /**
-     * 기존 인덱스 데이터 삭제 (재인덱싱 시)
+     * 소스 파일을 화면명(Screen)별로 그룹화
+     * Kotlin 파일 → HTML 파일 순서로, 처음 등장한 순서를 유지한다.
      */
-    private void deleteExistingIndex(String appId) {
-        // MiniAppCodeIndex가 존재하면 Cascade로 연관된 데이터 모두 삭제
-        // CascadeType.ALL 설정으로 ScreenInfo → ComposableInfo까지 자동 삭제
-        miniAppCodeIndexRepository.findById(appId).ifPresent(existingIndex -> {
-            log.info("기존 인덱스 삭제: appId={}", appId);
-            miniAppCodeIndexRepository.delete(existingIndex);
-        });
+    private Map<String, List<KotlinFileContentDTO>> groupFilesByScreen(List<KotlinFileContentDTO> kotlinFiles,
+                                                                      List<KotlinFileContentDTO> htmlFiles) {
+        Map<String, List<KotlinFileContentDTO>> filesByScreen = new LinkedHashMap<>();
+        for (KotlinFileContentDTO file : kotlinFiles) {
+            filesByScreen.computeIfAbsent(toScreenName(file.getFileName()), key -> new ArrayList<>()).add(file);
+        }
+        for (KotlinFileContentDTO file : htmlFiles) {
+            filesByScreen.computeIfAbsent(toScreenName(file.getFileName()), key -> new ArrayList<>()).add(file);
+        }
+        return filesByScreen;
     }
 
     /**
-     * ComposableInfo 리스트를 화면명(Screen)별로 그룹화
-     * 파일명에서 화면명을 추출한다
+     * 파일 경로에서 화면명을 추출한다
      * - Kotlin: TransferScreen.kt -> TransferScreen
      * - HTML: pages/index/index.html -> index
      */
-    private Map<String, List<ComposableInfo>> groupComposablesByScreen(List<ComposableInfo> composables) {
-        return composables.stream()
-            .collect(Collectors.groupingBy(composable -> {
-                // 파일명에서 화면명 추출
-                String fileName = composable.getSourceFile();
-                if (fileName == null) {
-                    return "Unknown";
-                }
+    private String toScreenName(String fileName) {
+        if (fileName == null) {
+            return "Unknown";
+        }
 
-                // 경로에서 파일명만 추출 (예: app/src/main/.../TransferScreen.kt -> TransferScreen.kt)
-                String fileNameOnly = fileName.contains("/")
-                    ? fileName.substring(fileName.lastIndexOf("/") + 1)
-                    : fileName;
-
-                // 확장자 제거
-                // TransferScreen.kt -> TransferScreen
-                // index.html -> index
-                return fileNameOnly
-                    .replace(".kt", "")
-                    .replace(".html", "");
-            }));
+        // 경로에서 파일명만 추출 (예: app/src/main/.../TransferScreen.kt -> TransferScreen.kt)
+        String fileNameOnly = fileName.contains("/")
+            ? fileName.substring(fileName.lastIndexOf("/") + 1)
+            : fileName;
+
+        // 확장자 제거
+        // TransferScreen.kt -> TransferScreen
+        // index.html -> index
+        return fileNameOnly
+            .replace(".kt", "")
+            .replace(".html", "");
+    }
+
+    /**
+     * 화면을 구성하는 파일들의 내용 해시(SHA-256)를 계산한다.
+     * 파일 경로 순으로 정렬하여 ZIP 내부 순서가 바뀌어도 같은 값이 나오도록 한다.
+     */
+    private String hashFiles(List<KotlinFileContentDTO> files) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            files.stream()
+                .sorted(Comparator.comparing(KotlinFileContentDTO::getFileName))
+                .forEach(file -> {
+                    digest.update(file.getFileName().getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(file.getContent().getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256은 모든 JVM에서 지원되므로 발생하지 않음
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
     }
 
     /**
-     * 화면의 소스 파일 경로 추출
-     * 같은 화면의 UI 요소들은 모두 같은 파일에서 나오므로 첫 번째 요소의 경로 사용
+     * 파일 하나의 파싱 결과
+     *
+     * @param composables 추출된 UI 요소 목록
+     * @param failed 파싱 예외 발생 여부 (true면 해시를 저장하지 않아 다음 등록 때 다시 파싱)
      */
-    private String getSourceFileForScreen(List<ComposableInfo> composables) {
-        return composables.isEmpty() ? null : composables.get(0).getSourceFile();
+    private record FileParseResult(List<ComposableInfo> composables, boolean failed) {
     }
 }
@@ -0,0 +1,35 @@
+package anam_145.SpringBoot.Server.service.codeIndexing;
+
+/**
+ * 인덱싱 진행 상황을 전달받는 리스너
+ *
+ * 파일 파싱 알림은 여러 파싱 스레드에서 동시에 호출되므로 구현체는 스레드 안전해야 한다.
+ */
+public interface IndexingProgressListener {
+
+    /**
+     * 진행 상황을 받지 않는 기본 리스너
+     */
+    IndexingProgressListener NONE = new IndexingProgressListener() {
+    };
+
+    /**
+     * ZIP 추출이 끝나고 파싱 대상 파일 수가 정해졌을 때 호출된다.
+     *
+     * @param totalFiles 파싱 대상 소스 파일 총 개수
+     */
+    default void onFilesExtracted(int totalFiles) {
+    }
+
+    /**
+     * 소스 파일 하나의 파싱이 끝났을 때 호출된다. (성공/실패 무관)
+     */
+    default void onFileParsed() {
+    }
+
+    /**
+     * 파싱이 모두 끝나고 DB 저장을 시작할 때 호출된다.
+     */
+    default void onPersisting() {
+    }
+}
@@ -0,0 +1,23 @@
+package anam_145.SpringBoot.Server.service.codeIndexing;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 파싱이 끝나 저장을 기다리는 화면 단위 결과
+ * CodeIndexingServiceImpl이 만들고 CodeIndexWriter가 ScreenInfo/ComposableInfo로 저장한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ParsedScreen {
+
+    private final String screenName; // 화면명 (예: "TransferScreen", "index")
+    private final String sourceFile; // 대표 소스 파일 경로
+    private final String contentHash; // 소스 파일 내용 해시 (파싱 실패 시 null)
+    private final List<ComposableInfo> composables; // 화면에서 추출된 UI 요소 목록
+}
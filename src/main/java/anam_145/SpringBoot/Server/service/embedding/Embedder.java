@@ -0,0 +1,24 @@
+package anam_145.SpringBoot.Server.service.embedding;
+
+/**
+ * 텍스트 임베딩 생성기 인터페이스
+ *
+ * UI 요소와 사용자 질문을 같은 벡터 공간에 놓아 의미 기반 후보 검색에 사용한다.
+ * 기본 구현은 외부 호출이 없는 해싱 n-gram 임베더이며, 로컬 모델 등 다른 구현으로 교체할 수 있다.
+ */
+public interface Embedder {
+
+    /**
+     * 임베딩 차원 수
+     */
+    int dimension();
+
+    /**
+     * 텍스트를 L2 정규화된 벡터로 변환한다.
+     * 같은 입력에는 항상 같은 벡터를 반환해야 한다.
+     *
+     * @param text 입력 텍스트 (null이면 영벡터)
+     * @return 길이가 dimension()인 벡터 (내적이 곧 코사인 유사도)
+     */
+    float[] embed(String text);
+}
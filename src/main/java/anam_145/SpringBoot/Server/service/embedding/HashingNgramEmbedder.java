@@ -0,0 +1,94 @@
+package anam_145.SpringBoot.Server.service.embedding;
+
+import anam_145.SpringBoot.Server.util.LexicalTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 해싱 기반 n-gram 임베더 (외부 모델 없이 동작하는 기본 구현)
+ *
+ * 검색 토큰(한글 bigram, 영어 단어)과 영어 단어의 문자 3-gram을 특성으로 사용하고,
+ * feature hashing으로 고정 차원 벡터에 누적한 뒤 L2 정규화한다.
+ * - 문자 3-gram 덕분에 "transfer"/"transfers", "settings"/"setting" 같은 변형도 가깝게 놓인다.
+ * - 해시는 String.hashCode 기반이므로 JVM과 실행 환경에 관계없이 결과가 같다(테스트 재현 가능).
+ */
+@Component
+public class HashingNgramEmbedder implements Embedder {
+
+    private static final float TOKEN_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimension;
+
+    public HashingNgramEmbedder(@Value("${ai.embedding.dimension:256}") int dimension) {
+        this.dimension = Math.max(16, dimension);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        List<String> tokens = LexicalTokenizer.tokenize(text);
+
+        for (String token : tokens) {
+            addFeature(vector, token, TOKEN_WEIGHT);
+
+            // 영어 단어는 문자 3-gram도 추가 (어형 변화에 강하도록)
+            if (token.length() > 3 && isLatin(token.charAt(0))) {
+                String padded = "^" + token + "$";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    addFeature(vector, "#" + padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+                }
+            }
+        }
+
+        normalize(vector);
+        return vector;
+    }
+
+    /**
+     * 특성 하나를 해시 위치에 더한다.
+     * 부호 해시를 함께 사용하여 충돌로 인한 편향을 상쇄한다.
+     */
+    private void addFeature(float[] vector, String feature, float weight) {
+        int hash = mix(feature.hashCode());
+        int slot = Math.floorMod(hash, dimension);
+        vector[slot] += (hash & 0x8000_0000) == 0 ? weight : -weight;
+    }
+
+    /**
+     * 하위 비트 분포를 고르게 하기 위한 정수 해시 믹싱 (MurmurHash3 finalizer)
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85eb_ca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2_ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static void normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverse;
+        }
+    }
+
+    private static boolean isLatin(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+}
@@ -0,0 +1,13 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import java.util.List;
+
+/**
+ * 캐시에 보관되는 가이드 결과
+ *
+ * @param steps 단계 목록
+ * @param generationMillis 최초 생성(LLM 호출)에 걸린 시간 (절약 시간 지표용)
+ * @param createdAtMillis 생성 시각 (epoch millis, TTL 계산용)
+ */
+public record CachedGuide(List<GuideStepPlan> steps, long generationMillis, long createdAtMillis) {
+}
@@ -0,0 +1,35 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 가이드 결과 캐시 서비스 인터페이스
+ *
+ * (appId, 인덱스 버전, 정규화된 질문)을 키로 LLM이 만든 단계 목록을 재사용한다.
+ * 메모리(1차)와 DB(2차, GuideEntity/GuideStepEntity) 두 단계로 보관한다.
+ */
+public interface GuideCacheService {
+
+    /**
+     * 캐시된 가이드를 조회한다.
+     *
+     * @param catalog 질문 대상 앱의 카탈로그 (인덱스 버전 확인용)
+     * @param userQuestion 사용자 질문
+     * @return 캐시된 단계 목록 (없거나 만료되었으면 empty)
+     */
+    Optional<List<GuideStepPlan>> get(AppCatalog catalog, String userQuestion);
+
+    /**
+     * 생성된 가이드를 캐시에 보관한다.
+     * 보관 실패는 가이드 응답에 영향을 주지 않도록 내부에서 처리한다.
+     *
+     * @param catalog 가이드를 생성할 때 사용한 카탈로그
+     * @param userQuestion 사용자 질문
+     * @param steps LLM이 결정한 단계 목록
+     * @param generationMillis 생성에 걸린 시간 (ms)
+     */
+    void put(AppCatalog catalog, String userQuestion, List<GuideStepPlan> steps, long generationMillis);
+}
@@ -0,0 +1,233 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.MiniAppIndexedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 가이드 결과 캐시 서비스 구현체
+ *
+ * - 1차(메모리): accessOrder LinkedHashMap 기반 LRU, 항목 수 한도와 TTL 적용
+ * - 2차(DB): GuideEntity/GuideStepEntity, 같은 TTL 적용, 서버 재시작 후에도 유지
+ * 키에 인덱스 버전이 포함되어 재인덱싱 후에는 이전 가이드가 조회되지 않으며,
+ * 재인덱싱 커밋 시 해당 앱의 메모리 항목과 이전 버전 DB 행을 함께 정리한다.
+ */
+@Slf4j
+@Service
+public class GuideCacheServiceImpl implements GuideCacheService {
+
+    private final GuideCacheStore guideCacheStore;
+    private final boolean enabled;
+    private final boolean persistent;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    /**
+     * 키: appId + '\0' + indexVersion + '\0' + 정규화된 질문
+     * 모든 접근은 this 모니터로 동기화한다.
+     */
+    private final LinkedHashMap<String, CachedGuide> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Counter memoryHitCounter;
+    private final Counter databaseHitCounter;
+    private final Counter missCounter;
+    private final Timer savedTimer;
+
+    @Autowired
+    public GuideCacheServiceImpl(
+            GuideCacheStore guideCacheStore,
+            @Value("${ai.guide-cache.enabled:true}") boolean enabled,
+            @Value("${ai.guide-cache.persistent:true}") boolean persistent,
+            @Value("${ai.guide-cache.max-entries:10000}") int maxEntries,
+            @Value("${ai.guide-cache.ttl-minutes:1440}") long ttlMinutes,
+            MeterRegistry meterRegistry
+    ) {
+        this(guideCacheStore, enabled, persistent, maxEntries, ttlMinutes, meterRegistry, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 현재 시각 (epoch millis, TTL 계산용)
+     */
+    GuideCacheServiceImpl(GuideCacheStore guideCacheStore, boolean enabled, boolean persistent, int maxEntries,
+                          long ttlMinutes, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.guideCacheStore = guideCacheStore;
+        this.enabled = enabled;
+        this.persistent = persistent;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Duration.ofMinutes(Math.max(1, ttlMinutes)).toMillis();
+        this.clock = clock;
+
+        this.memoryHitCounter = Counter.builder("ai.guide.cache.requests")
+                .tag("result", "hit").tag("tier", "memory")
+                .description("가이드 캐시 조회 수")
+                .register(meterRegistry);
+        this.databaseHitCounter = Counter.builder("ai.guide.cache.requests")
+                .tag("result", "hit").tag("tier", "database")
+                .description("가이드 캐시 조회 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.guide.cache.requests")
+                .tag("result", "miss").tag("tier", "none")
+                .description("가이드 캐시 조회 수")
+                .register(meterRegistry);
+        this.savedTimer = Timer.builder("ai.guide.cache.saved")
+                .description("캐시 적중으로 생략된 가이드 생성(LLM) 시간")
+                .register(meterRegistry);
+        Gauge.builder("ai.guide.cache.entries", this, service -> service.size())
+                .description("메모리 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<List<GuideStepPlan>> get(AppCatalog catalog, String userQuestion) {
+        String normalizedQuery = QuestionNormalizer.normalize(userQuestion);
+        if (!enabled || normalizedQuery == null) {
+            return Optional.empty();
+        }
+
+        String key = keyOf(catalog, normalizedQuery);
+        long now = clock.getAsLong();
+
+        // 1. 메모리 조회
+        synchronized (this) {
+            CachedGuide cached = entries.get(key);
+            if (cached != null) {
+                if (now - cached.createdAtMillis() < ttlMillis) {
+                    memoryHitCounter.increment();
+                    savedTimer.record(cached.generationMillis(), TimeUnit.MILLISECONDS);
+                    return Optional.of(cached.steps());
+                }
+                entries.remove(key);
+            }
+        }
+
+        // 2. DB 조회 (적중 시 메모리로 승격)
+        if (persistent) {
+            try {
+                Optional<CachedGuide> stored = guideCacheStore.find(
+                        catalog.getAppId(), catalog.getIndexVersion(), normalizedQuery, expiryCutoff());
+                if (stored.isPresent() && isValidFor(catalog, stored.get())) {
+                    databaseHitCounter.increment();
+                    savedTimer.record(stored.get().generationMillis(), TimeUnit.MILLISECONDS);
+                    store(key, stored.get());
+                    return Optional.of(stored.get().steps());
+                }
+            } catch (Exception e) {
+                log.warn("가이드 캐시 DB 조회 실패 (캐시 미적중으로 처리): appId={}", catalog.getAppId(), e);
+            }
+        }
+
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(AppCatalog catalog, String userQuestion, List<GuideStepPlan> steps, long generationMillis) {
+        String normalizedQuery = QuestionNormalizer.normalize(userQuestion);
+        if (!enabled || normalizedQuery == null || steps.isEmpty()) {
+            return;
+        }
+
+        CachedGuide guide = new CachedGuide(List.copyOf(steps), generationMillis, clock.getAsLong());
+        store(keyOf(catalog, normalizedQuery), guide);
+
+        if (persistent) {
+            try {
+                guideCacheStore.save(catalog, userQuestion, normalizedQuery, guide.steps(), generationMillis);
+            } catch (Exception e) {
+                log.warn("가이드 캐시 DB 저장 실패 (메모리 캐시만 사용): appId={}", catalog.getAppId(), e);
+            }
+        }
+    }
+
+    /**
+     * 재인덱싱 커밋 후 해당 앱의 캐시를 정리한다.
+     * 메모리 항목은 모두 제거하고, DB에서는 새 인덱스 버전이 아닌 가이드를 삭제한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMiniAppIndexed(MiniAppIndexedEvent event) {
+        String prefix = event.appId() + '\0';
+        synchronized (this) {
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        if (persistent) {
+            try {
+                int deleted = guideCacheStore.deleteOtherVersions(event.appId(), event.indexVersion());
+                log.info("재인덱싱으로 가이드 캐시 무효화: appId={}, 삭제된 가이드 {}개", event.appId(), deleted);
+            } catch (Exception e) {
+                // 인덱스 버전이 키에 포함되므로 삭제에 실패해도 이전 가이드가 조회되지는 않는다
+                log.warn("가이드 캐시 DB 정리 실패: appId={}", event.appId(), e);
+            }
+        }
+    }
+
+    /**
+     * TTL이 지난 DB 캐시 행을 주기적으로 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${ai.guide-cache.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled || !persistent) {
+            return;
+        }
+        try {
+            int deleted = guideCacheStore.deleteCreatedBefore(expiryCutoff());
+            if (deleted > 0) {
+                log.info("만료된 가이드 캐시 삭제: {}개", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("만료된 가이드 캐시 삭제 실패", e);
+        }
+    }
+
+    private synchronized void store(String key, CachedGuide guide) {
+        entries.put(key, guide);
+        while (entries.size() > maxEntries) {
+            String eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+        }
+    }
+
+    /**
+     * 이 시각 이전에 만들어진 가이드는 TTL이 지난 것으로 본다.
+     */
+    private LocalDateTime expiryCutoff() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.getAsLong() - ttlMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * DB에서 읽은 가이드의 요소 인덱스가 카탈로그 범위 안에 있는지 확인한다.
+     */
+    private boolean isValidFor(AppCatalog catalog, CachedGuide guide) {
+        return guide.steps().stream().allMatch(step -> step.elementIndex() >= 0 && step.elementIndex() < catalog.size());
+    }
+
+    private String keyOf(AppCatalog catalog, String normalizedQuery) {
+        return catalog.getAppId() + '\0' + catalog.getIndexVersion() + '\0' + normalizedQuery;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,96 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.GuideEntity;
+import anam_145.SpringBoot.Server.domain.aiGuide.GuideStepEntity;
+import anam_145.SpringBoot.Server.repository.GuideRepository;
+import anam_145.SpringBoot.Server.repository.GuideStepRepository;
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 가이드 캐시의 DB(2차) 저장소
+ *
+ * GuideEntity/GuideStepEntity 테이블에 가이드 결과를 보관하여 서버 재시작 후에도 재사용한다.
+ * GuideCacheServiceImpl 내부 호출로는 @Transactional 프록시가 적용되지 않으므로 별도 빈으로 둔다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GuideCacheStore {
+
+    private final GuideRepository guideRepository;
+    private final GuideStepRepository guideStepRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<CachedGuide> find(String appId, long indexVersion, String normalizedQuery, LocalDateTime createdAfter) {
+        return guideRepository.findCachedGuides(appId, indexVersion, normalizedQuery, createdAfter).stream()
+                .findFirst()
+                .filter(guide -> guide.getSteps().stream().allMatch(step -> step.getElementIndex() != null))
+                .map(guide -> new CachedGuide(
+                        guide.getSteps().stream()
+                                .sorted(Comparator.comparing(GuideStepEntity::getStepNumber))
+                                .map(step -> new GuideStepPlan(step.getStepNumber(), step.getElementIndex(), step.getInstruction()))
+                                .toList(),
+                        guide.getGenerationMillis() != null ? guide.getGenerationMillis() : 0L,
+                        guide.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    @Transactional
+    public void save(AppCatalog catalog, String userQuestion, String normalizedQuery,
+                     List<GuideStepPlan> steps, long generationMillis) {
+        GuideEntity guide = GuideEntity.builder()
+                .guideId(UUID.randomUUID().toString())
+                .appId(catalog.getAppId())
+                .userQuery(userQuestion.length() > 1000 ? userQuestion.substring(0, 1000) : userQuestion)
+                .normalizedQuery(normalizedQuery)
+                .indexVersion(catalog.getIndexVersion())
+                .generationMillis(generationMillis)
+                .build();
+
+        for (GuideStepPlan plan : steps) {
+            CatalogElement element = catalog.getElements().get(plan.elementIndex());
+            guide.addStep(GuideStepEntity.builder()
+                    .stepNumber(plan.stepNumber())
+                    .instruction(plan.message())
+                    .targetScreen(element.getScreenName())
+                    .targetElement(element.getComposableId())
+                    .elementIndex(plan.elementIndex())
+                    .build());
+        }
+
+        guideRepository.save(guide);
+    }
+
+    /**
+     * 재인덱싱된 앱의 이전 인덱스 버전 가이드를 삭제한다.
+     * 인덱싱 트랜잭션 커밋 직후(AFTER_COMMIT)에 호출되므로 새 트랜잭션에서 실행한다.
+     *
+     * @return 삭제된 가이드 수
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteOtherVersions(String appId, long indexVersion) {
+        guideStepRepository.deleteByAppIdAndOtherIndexVersion(appId, indexVersion);
+        return guideRepository.deleteByAppIdAndOtherIndexVersion(appId, indexVersion);
+    }
+
+    /**
+     * TTL이 지난 가이드를 삭제한다.
+     *
+     * @return 삭제된 가이드 수
+     */
+    @Transactional
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        guideStepRepository.deleteByGuideCreatedBefore(createdBefore);
+        return guideRepository.deleteByCreatedAtBefore(createdBefore);
+    }
+}
@@ -0,0 +1,69 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 생성된 가이드를 정확 일치/의미 기반 캐시에 비동기로 저장하는 컴포넌트
+ *
+ * LLM 응답은 HttpClient 스레드에서 완료되므로, 그 자리에서 DB INSERT(GuideCacheStore)와 질문 임베딩을 수행하면
+ * 클라이언트 응답이 저장을 기다리고 커넥션 풀 지연이 HttpClient 완료 스레드까지 막는다.
+ * 응답은 먼저 돌려주고 저장은 guideCacheWriteExecutor에서 수행한다.
+ * 저장 전 같은 질문이 다시 들어오면 캐시 미적중으로 처리될 뿐이므로, 대기열이 가득 차면 저장을 건너뛴다.
+ */
+@Slf4j
+@Component
+public class GuideCacheWriter {
+
+    private final GuideCacheService guideCacheService;
+    private final SemanticGuideCacheService semanticGuideCacheService;
+    private final Executor executor;
+    private final Counter droppedCounter;
+
+    public GuideCacheWriter(
+            GuideCacheService guideCacheService,
+            SemanticGuideCacheService semanticGuideCacheService,
+            @Qualifier("guideCacheWriteExecutor") Executor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.guideCacheService = guideCacheService;
+        this.semanticGuideCacheService = semanticGuideCacheService;
+        this.executor = executor;
+        this.droppedCounter = Counter.builder("ai.guide.cache.write.dropped")
+                .description("저장 대기열이 가득 차 캐시에 저장하지 못한 가이드 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 가이드를 두 캐시에 저장하도록 예약하고 바로 반환한다.
+     *
+     * @param catalog 가이드를 생성할 때 사용한 카탈로그
+     * @param userQuestion 사용자 질문
+     * @param steps LLM이 결정한 단계 목록 (호출 후 변경되어도 영향 없도록 복사하여 보관)
+     * @param generationMillis 생성에 걸린 시간 (ms)
+     */
+    public void putAsync(AppCatalog catalog, String userQuestion, List<GuideStepPlan> steps, long generationMillis) {
+        List<GuideStepPlan> snapshot = List.copyOf(steps);
+        try {
+            executor.execute(() -> {
+                try {
+                    guideCacheService.put(catalog, userQuestion, snapshot, generationMillis);
+                    semanticGuideCacheService.put(catalog, userQuestion, snapshot, generationMillis);
+                } catch (Exception e) {
+                    log.warn("가이드 캐시 저장 실패: appId={}", catalog.getAppId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            log.warn("가이드 캐시 저장 대기열 가득 참, 저장 생략: appId={}", catalog.getAppId());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+/**
+ * LLM이 결정한 가이드 단계 하나 (UI 요소 정보를 채우기 전 단계)
+ * 카탈로그 인덱스만 가지므로 같은 인덱스 버전의 카탈로그와 함께 GuideStepDTO로 복원한다.
+ *
+ * @param stepNumber 단계 번호 (1부터)
+ * @param elementIndex 대상 UI 요소의 카탈로그 인덱스
+ * @param message 사용자 안내 메시지
+ */
+public record GuideStepPlan(int stepNumber, int elementIndex, String message) {
+}
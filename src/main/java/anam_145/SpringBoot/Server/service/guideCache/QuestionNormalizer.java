@@ -0,0 +1,39 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 캐시 키용 질문 정규화
+ *
+ * 같은 의미의 표기 차이(대소문자, 전각/반각, 문장부호, 공백)를 없앤다.
+ * 예: "비트코인  보내기?" → "비트코인 보내기", "BTC 송금!!" → "btc 송금"
+ */
+public final class QuestionNormalizer {
+
+    /**
+     * 정규화 결과 최대 길이 (DB 인덱스 컬럼 길이와 동일)
+     */
+    public static final int MAX_LENGTH = 500;
+
+    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{P}\\p{S}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QuestionNormalizer() {
+    }
+
+    /**
+     * @param question 사용자 질문
+     * @return 정규화된 질문 (비어 있거나 MAX_LENGTH를 넘으면 null → 캐시하지 않음)
+     */
+    public static String normalize(String question) {
+        if (question == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = PUNCTUATION.matcher(normalized).replaceAll(" ");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.isEmpty() || normalized.length() > MAX_LENGTH ? null : normalized;
+    }
+}
@@ -0,0 +1,42 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 의미 기반 가이드 캐시 서비스 인터페이스
+ *
+ * 정확 일치 캐시(GuideCacheService)가 놓치는 바꿔 말한 질문("이더 송금 방법" / "이더 송금하는 방법")을
+ * 질문 임베딩의 코사인 유사도로 찾아 같은 앱, 같은 인덱스 버전의 가이드를 재사용한다.
+ */
+public interface SemanticGuideCacheService {
+
+    /**
+     * 유사도 임계값 이상인 가장 가까운 캐시 항목을 찾는다.
+     *
+     * @param catalog 질문 대상 앱의 카탈로그
+     * @param userQuestion 사용자 질문
+     * @return 적중 결과 (없으면 empty)
+     */
+    Optional<SemanticMatch> find(AppCatalog catalog, String userQuestion);
+
+    /**
+     * 생성된 가이드를 질문 임베딩과 함께 보관한다.
+     */
+    void put(AppCatalog catalog, String userQuestion, List<GuideStepPlan> steps, long generationMillis);
+
+    /**
+     * 적중 결과 일부를 표본 추출하여 백그라운드에서 실제 생성 결과와 비교한다.
+     * 목표 요소 집합이 다르면 오적중(false hit)으로 기록하고, 같은 항목이 여러 번 어긋나면 새 결과로 교체한다.
+     *
+     * @param catalog 적중 시 사용한 카탈로그
+     * @param userQuestion 적중한 사용자 질문
+     * @param match 적중 결과
+     * @param regenerate 캐시 없이 가이드를 다시 생성하는 함수 (LLM 호출)
+     */
+    void auditIfSampled(AppCatalog catalog, String userQuestion, SemanticMatch match,
+                        Supplier<List<GuideStepPlan>> regenerate);
+}
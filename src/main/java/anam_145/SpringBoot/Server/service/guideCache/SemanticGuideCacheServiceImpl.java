@@ -0,0 +1,363 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.catalog.MiniAppIndexedEvent;
+import anam_145.SpringBoot.Server.service.embedding.Embedder;
+import anam_145.SpringBoot.Server.util.NavigationTargetExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 의미 기반 가이드 캐시 서비스 구현체 (메모리 전용)
+ *
+ * - 앱별로 (정규화 질문 → 임베딩, 단계 목록) 항목을 accessOrder LinkedHashMap에 보관하고,
+ *   앱당 항목 수와 앱 개수를 각각 LRU로 제한한다.
+ * - 조회는 해당 앱 항목 전체와의 내적(= 코사인 유사도)을 계산해 가장 가까운 항목을 고른다.
+ *   앱당 항목 수가 수백 개 수준이므로 선형 탐색으로 충분하다.
+ * - 항목은 인덱스 버전에 묶여 있어 재인덱싱 후에는 앱 전체 항목을 버린다.
+ * - 기본 임베더(해싱 n-gram)는 어휘 기반이라 "받기"/"보내기"처럼 뜻이 반대인 질문도 0.6~0.7 정도로
+ *   가깝게 나오므로 임계값 기본값을 보수적으로(0.85) 두고, 표본 검증으로 오적중률을 측정한다.
+ * - 표본 검증은 다시 생성한 결과와 목표 요소 집합만 비교한다. 재생성은 같은 온도로 샘플링되므로 단계 순서,
+ *   이동 단계, 문구는 실행마다 달라질 수 있다. 한 번 어긋났다고 바로 버리지 않고, 같은 항목이
+ *   audit-evict-mismatches번 어긋나면 제거한다.
+ */
+@Slf4j
+@Service
+public class SemanticGuideCacheServiceImpl implements SemanticGuideCacheService {
+
+    private final Embedder embedder;
+    private final Executor auditExecutor;
+    private final boolean enabled;
+    private final double minSimilarity;
+    private final int maxEntriesPerApp;
+    private final int maxApps;
+    private final long ttlMillis;
+    private final double auditSampleRate;
+    private final int auditEvictMismatches;
+
+    /**
+     * 키: appId, 값: 해당 앱의 항목 (앱 단위 LRU)
+     * 모든 접근은 this 모니터로 동기화한다.
+     */
+    private final LinkedHashMap<String, AppEntries> apps = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final DistributionSummary similaritySummary;
+    private final Timer savedTimer;
+    private final Counter auditMatchCounter;
+    private final Counter auditMismatchCounter;
+    private final Counter auditErrorCounter;
+
+    public SemanticGuideCacheServiceImpl(
+            Embedder embedder,
+            @Qualifier("guideAuditExecutor") Executor auditExecutor,
+            @Value("${ai.guide-cache.semantic.enabled:true}") boolean enabled,
+            @Value("${ai.guide-cache.semantic.min-similarity:0.85}") double minSimilarity,
+            @Value("${ai.guide-cache.semantic.max-entries-per-app:200}") int maxEntriesPerApp,
+            @Value("${ai.guide-cache.semantic.max-apps:100}") int maxApps,
+            @Value("${ai.guide-cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${ai.guide-cache.semantic.audit-sample-rate:0.05}") double auditSampleRate,
+            @Value("${ai.guide-cache.semantic.audit-evict-mismatches:2}") int auditEvictMismatches,
+            MeterRegistry meterRegistry
+    ) {
+        this.embedder = embedder;
+        this.auditExecutor = auditExecutor;
+        this.enabled = enabled;
+        this.minSimilarity = minSimilarity;
+        this.maxEntriesPerApp = Math.max(1, maxEntriesPerApp);
+        this.maxApps = Math.max(1, maxApps);
+        this.ttlMillis = Duration.ofMinutes(Math.max(1, ttlMinutes)).toMillis();
+        this.auditSampleRate = Math.min(1.0, Math.max(0.0, auditSampleRate));
+        this.auditEvictMismatches = Math.max(1, auditEvictMismatches);
+
+        this.hitCounter = Counter.builder("ai.guide.semantic-cache.requests")
+                .tag("result", "hit")
+                .description("의미 기반 가이드 캐시 조회 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.guide.semantic-cache.requests")
+                .tag("result", "miss")
+                .description("의미 기반 가이드 캐시 조회 수")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("ai.guide.semantic-cache.evictions")
+                .description("용량 초과로 제거된 의미 기반 캐시 항목 수")
+                .register(meterRegistry);
+        this.similaritySummary = DistributionSummary.builder("ai.guide.semantic-cache.similarity")
+                .description("적중한 항목과의 코사인 유사도")
+                .register(meterRegistry);
+        this.savedTimer = Timer.builder("ai.guide.semantic-cache.saved")
+                .description("의미 기반 캐시 적중으로 생략된 가이드 생성(LLM) 시간")
+                .register(meterRegistry);
+        this.auditMatchCounter = Counter.builder("ai.guide.semantic-cache.audits")
+                .tag("result", "match")
+                .description("표본 검증한 적중 결과 수")
+                .register(meterRegistry);
+        this.auditMismatchCounter = Counter.builder("ai.guide.semantic-cache.audits")
+                .tag("result", "mismatch")
+                .description("표본 검증한 적중 결과 수")
+                .register(meterRegistry);
+        this.auditErrorCounter = Counter.builder("ai.guide.semantic-cache.audits")
+                .tag("result", "error")
+                .description("표본 검증한 적중 결과 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.guide.semantic-cache.hit.ratio", this, SemanticGuideCacheServiceImpl::hitRatio)
+                .description("의미 기반 캐시 조회 중 적중 비율")
+                .register(meterRegistry);
+        Gauge.builder("ai.guide.semantic-cache.false-hit.ratio", this, SemanticGuideCacheServiceImpl::falseHitRatio)
+                .description("표본 검증에서 실제 생성 결과와 달랐던 적중 비율")
+                .register(meterRegistry);
+        Gauge.builder("ai.guide.semantic-cache.entries", this, service -> service.size())
+                .description("의미 기반 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<SemanticMatch> find(AppCatalog catalog, String userQuestion) {
+        String normalizedQuery = QuestionNormalizer.normalize(userQuestion);
+        if (!enabled || normalizedQuery == null) {
+            return Optional.empty();
+        }
+
+        // 보관된 항목이 없는 앱은 질문 임베딩을 계산하지 않고 바로 미적중 처리
+        long now = System.currentTimeMillis();
+        if (!hasEntries(catalog, now)) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        float[] query = embedder.embed(normalizedQuery);
+
+        String bestQuestion = null;
+        SemanticEntry best = null;
+        double bestSimilarity = minSimilarity;
+
+        synchronized (this) {
+            AppEntries entries = apps.get(catalog.getAppId());
+            if (entries != null && entries.indexVersion == catalog.getIndexVersion()) {
+                for (Map.Entry<String, SemanticEntry> item : entries.items.entrySet()) {
+                    double similarity = dot(query, item.getValue().vector);
+                    if (similarity >= bestSimilarity) {
+                        bestSimilarity = similarity;
+                        bestQuestion = item.getKey();
+                        best = item.getValue();
+                    }
+                }
+                if (bestQuestion != null) {
+                    // LRU 순서 갱신
+                    entries.items.get(bestQuestion);
+                }
+            }
+        }
+
+        if (best == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        similaritySummary.record(bestSimilarity);
+        savedTimer.record(best.generationMillis, TimeUnit.MILLISECONDS);
+        log.info("의미 기반 캐시 적중: appId={}, similarity={}, matched='{}'",
+                catalog.getAppId(), String.format("%.3f", bestSimilarity), bestQuestion);
+        return Optional.of(new SemanticMatch(best.steps, bestSimilarity, bestQuestion));
+    }
+
+    @Override
+    public void put(AppCatalog catalog, String userQuestion, List<GuideStepPlan> steps, long generationMillis) {
+        String normalizedQuery = QuestionNormalizer.normalize(userQuestion);
+        if (!enabled || normalizedQuery == null || steps.isEmpty()) {
+            return;
+        }
+
+        SemanticEntry entry = new SemanticEntry(embedder.embed(normalizedQuery), List.copyOf(steps),
+                generationMillis, System.currentTimeMillis(), new AtomicInteger());
+        store(catalog, normalizedQuery, entry);
+    }
+
+    @Override
+    public void auditIfSampled(AppCatalog catalog, String userQuestion, SemanticMatch match,
+                               Supplier<List<GuideStepPlan>> regenerate) {
+        if (auditSampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= auditSampleRate) {
+            return;
+        }
+
+        auditExecutor.execute(() -> {
+            try {
+                long startedAt = System.nanoTime();
+                List<GuideStepPlan> actual = regenerate.get();
+                long generationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+                if (targetsOf(catalog, actual).equals(targetsOf(catalog, match.steps()))) {
+                    auditMatchCounter.increment();
+                    return;
+                }
+
+                auditMismatchCounter.increment();
+                log.warn("의미 기반 캐시 오적중: appId={}, question='{}', matched='{}', similarity={}",
+                        catalog.getAppId(), userQuestion, match.matchedQuestion(),
+                        String.format("%.3f", match.similarity()));
+
+                // 반복해서 어긋난 항목만 버리고, 검증 질문은 실제 결과로 보관한다
+                if (recordMismatch(catalog, match.matchedQuestion())) {
+                    put(catalog, userQuestion, actual, generationMillis);
+                }
+            } catch (Exception e) {
+                auditErrorCounter.increment();
+                log.warn("의미 기반 캐시 검증 실패: appId={}", catalog.getAppId(), e);
+            }
+        });
+    }
+
+    /**
+     * 재인덱싱 커밋 후 해당 앱의 항목을 모두 제거한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onMiniAppIndexed(MiniAppIndexedEvent event) {
+        apps.remove(event.appId());
+    }
+
+    /**
+     * 카탈로그와 같은 인덱스 버전의 만료되지 않은 항목이 있는지 확인한다. (만료 항목은 이때 제거)
+     */
+    private synchronized boolean hasEntries(AppCatalog catalog, long now) {
+        AppEntries entries = apps.get(catalog.getAppId());
+        if (entries == null || entries.indexVersion != catalog.getIndexVersion()) {
+            return false;
+        }
+        entries.items.values().removeIf(entry -> now - entry.createdAtMillis >= ttlMillis);
+        return !entries.items.isEmpty();
+    }
+
+    private synchronized void store(AppCatalog catalog, String normalizedQuery, SemanticEntry entry) {
+        AppEntries entries = apps.get(catalog.getAppId());
+        if (entries == null || entries.indexVersion != catalog.getIndexVersion()) {
+            // 더 오래된 카탈로그로 만든 결과가 새 버전 항목을 덮어쓰지 않도록 한다
+            if (entries != null && entries.indexVersion > catalog.getIndexVersion()) {
+                return;
+            }
+            entries = new AppEntries(catalog.getIndexVersion());
+            apps.put(catalog.getAppId(), entries);
+        }
+
+        entries.items.put(normalizedQuery, entry);
+        while (entries.items.size() > maxEntriesPerApp) {
+            String eldest = entries.items.keySet().iterator().next();
+            entries.items.remove(eldest);
+            evictionCounter.increment();
+        }
+        while (apps.size() > maxApps) {
+            String eldestApp = apps.keySet().iterator().next();
+            evictionCounter.increment(apps.remove(eldestApp).items.size());
+        }
+    }
+
+    /**
+     * 항목의 검증 불일치 횟수를 늘리고, 한도에 닿으면 제거한다.
+     *
+     * @return 항목을 제거했으면 true
+     */
+    private synchronized boolean recordMismatch(AppCatalog catalog, String normalizedQuery) {
+        AppEntries entries = apps.get(catalog.getAppId());
+        if (entries == null || entries.indexVersion != catalog.getIndexVersion()) {
+            return false;
+        }
+        SemanticEntry entry = entries.items.get(normalizedQuery);
+        if (entry == null || entry.auditMismatches.incrementAndGet() < auditEvictMismatches) {
+            return false;
+        }
+        entries.items.remove(normalizedQuery);
+        return true;
+    }
+
+    /**
+     * 단계 목록에서 목표 요소 집합만 추출한다.
+     * 화면 이동 단계(이동 코드가 있는 요소)는 서버가 경로로 채우므로 제외하고, 순서와 메시지 문구 차이는 오적중으로 보지 않는다.
+     * 이동 단계만 있는 가이드는 마지막 단계를 목표로 본다.
+     */
+    private static Set<Integer> targetsOf(AppCatalog catalog, List<GuideStepPlan> steps) {
+        List<CatalogElement> elements = catalog.getElements();
+        Set<Integer> targets = new HashSet<>();
+        for (GuideStepPlan step : steps) {
+            int index = step.elementIndex();
+            if (index >= 0 && index < elements.size()
+                    && NavigationTargetExtractor.extractNextScreen(elements.get(index).getOnClickCode()) == null) {
+                targets.add(index);
+            }
+        }
+        if (targets.isEmpty() && !steps.isEmpty()) {
+            targets.add(steps.get(steps.size() - 1).elementIndex());
+        }
+        return targets;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private double falseHitRatio() {
+        double mismatches = auditMismatchCounter.count();
+        double total = mismatches + auditMatchCounter.count();
+        return total == 0 ? 0.0 : mismatches / total;
+    }
+
+    private synchronized int size() {
+        int total = 0;
+        for (AppEntries entries : apps.values()) {
+            total += entries.items.size();
+        }
+        return total;
+    }
+
+    /**
+     * 한 앱의 의미 기반 캐시 항목 (같은 인덱스 버전으로 생성된 것만 보관)
+     */
+    private static final class AppEntries {
+        private final long indexVersion;
+        private final LinkedHashMap<String, SemanticEntry> items = new LinkedHashMap<>(16, 0.75f, true);
+
+        private AppEntries(long indexVersion) {
+            this.indexVersion = indexVersion;
+        }
+    }
+
+    /**
+     * @param auditMismatches 표본 검증에서 재생성 결과와 목표 요소가 달랐던 횟수
+     */
+    private record SemanticEntry(float[] vector, List<GuideStepPlan> steps, long generationMillis, long createdAtMillis,
+                                 AtomicInteger auditMismatches) {
+    }
+}
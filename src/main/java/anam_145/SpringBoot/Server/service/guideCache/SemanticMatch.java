@@ -0,0 +1,13 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import java.util.List;
+
+/**
+ * 의미 기반 캐시 적중 결과
+ *
+ * @param steps 재사용할 단계 목록
+ * @param similarity 질문 간 코사인 유사도
+ * @param matchedQuestion 적중한 캐시 항목의 (정규화된) 원래 질문
+ */
+public record SemanticMatch(List<GuideStepPlan> steps, double similarity, String matchedQuestion) {
+}
@@ -0,0 +1,29 @@
+package anam_145.SpringBoot.Server.service.indexingJob;
+
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingJobResponseDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 비동기 MiniApp 인덱싱 작업 서비스
+ * 업로드된 ZIP을 작업 큐에 등록하고, 작업 진행 상태를 조회한다.
+ */
+public interface IndexingJobService {
+
+    /**
+     * 인덱싱 작업을 등록하고 즉시 반환한다.
+     * 실제 인덱싱(ZIP 추출 → AST 파싱 → DB 저장)은 작업 큐의 워커 스레드에서 수행된다.
+     *
+     * @param appId MiniApp ID
+     * @param zipFile 업로드된 ZIP 파일
+     * @return 등록된 작업 상태 (stage = QUEUED)
+     */
+    IndexingJobResponseDTO submit(String appId, MultipartFile zipFile);
+
+    /**
+     * 인덱싱 작업의 현재 상태를 조회한다.
+     *
+     * @param jobId 작업 ID
+     * @return 진행 단계, 진행률, 요소 개수, 오류 정보
+     */
+    IndexingJobResponseDTO getJob(String jobId);
+}
@@ -0,0 +1,264 @@
+package anam_145.SpringBoot.Server.service.indexingJob;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.GeneralException;
+import anam_145.SpringBoot.Server.apiPayload.exception.IndexingJobException;
+import anam_145.SpringBoot.Server.converter.IndexingJobConverter;
+import anam_145.SpringBoot.Server.domain.indexing.IndexingJob;
+import anam_145.SpringBoot.Server.domain.indexing.IndexingJobStage;
+import anam_145.SpringBoot.Server.repository.IndexingJobRepository;
+import anam_145.SpringBoot.Server.service.codeIndexing.CodeIndexingService;
+import anam_145.SpringBoot.Server.service.codeIndexing.IndexingProgressListener;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingJobResponseDTO;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 MiniApp 인덱싱 작업 서비스 구현체
+ *
+ * - 업로드된 ZIP은 로컬 디렉토리에 저장하고 작업 정보는 indexing_job 테이블에 기록한다.
+ * - 작업은 크기가 제한된 indexingJobExecutor 큐에서 실행되며, 큐가 가득 차면 즉시 거부한다.
+ * - 서버 재시작 후에는 끝나지 않은 작업을 다시 큐에 넣는다.
+ */
+@Slf4j
+@Service
+public class IndexingJobServiceImpl implements IndexingJobService {
+
+    private static final EnumSet<IndexingJobStage> UNFINISHED_STAGES = EnumSet.of(
+            IndexingJobStage.QUEUED,
+            IndexingJobStage.EXTRACTING,
+            IndexingJobStage.PARSING,
+            IndexingJobStage.PERSISTING
+    );
+
+    private final CodeIndexingService codeIndexingService;
+    private final IndexingJobRepository indexingJobRepository;
+    private final ThreadPoolExecutor jobExecutor;
+    private final Path storageDir;
+
+    /**
+     * 실행 중인 작업의 실시간 파싱 진행 수 (jobId → 파싱 완료 파일 수)
+     * 파일마다 DB를 갱신하지 않기 위해 메모리에 유지하고, 단계가 바뀔 때만 DB에 반영한다.
+     */
+    private final Map<String, AtomicInteger> liveProgress = new ConcurrentHashMap<>();
+
+    public IndexingJobServiceImpl(
+            CodeIndexingService codeIndexingService,
+            IndexingJobRepository indexingJobRepository,
+            @Qualifier("indexingJobExecutor") ThreadPoolExecutor jobExecutor,
+            @Value("${ai.indexing.job.storage-dir:${java.io.tmpdir}/anam-indexing-jobs}") String storageDir
+    ) {
+        this.codeIndexingService = codeIndexingService;
+        this.indexingJobRepository = indexingJobRepository;
+        this.jobExecutor = jobExecutor;
+        this.storageDir = Paths.get(storageDir);
+    }
+
+    @Override
+    public IndexingJobResponseDTO submit(String appId, MultipartFile zipFile) {
+        // 1. 큐가 이미 가득 찼다면 파일을 저장하기 전에 거부 (Admission Control)
+        if (isQueueFull()) {
+            log.warn("인덱싱 작업 큐 초과로 요청 거부: appId={}", appId);
+            throw new IndexingJobException(CommonErrorStatus.INDEXING_QUEUE_FULL);
+        }
+
+        // 2. 업로드 파일을 로컬 디스크에 저장 (요청이 끝난 뒤에도 작업에서 읽을 수 있도록)
+        String jobId = UUID.randomUUID().toString();
+        Path zipPath = storeZipFile(jobId, zipFile);
+
+        // 3. 작업 정보 저장
+        IndexingJob job = indexingJobRepository.save(IndexingJob.builder()
+                .jobId(jobId)
+                .appId(appId)
+                .stage(IndexingJobStage.QUEUED)
+                .zipPath(zipPath.toString())
+                .originalFilename(zipFile.getOriginalFilename())
+                .contentType(zipFile.getContentType())
+                .build());
+
+        // 4. 작업 큐에 등록
+        try {
+            enqueue(jobId);
+        } catch (RejectedExecutionException e) {
+            log.warn("인덱싱 작업 큐 초과로 작업 거부: jobId={}, appId={}", jobId, appId);
+            updateJob(jobId, rejected -> rejected.fail(CommonErrorStatus.INDEXING_QUEUE_FULL.getMessage()));
+            deleteQuietly(zipPath);
+            throw new IndexingJobException(CommonErrorStatus.INDEXING_QUEUE_FULL);
+        }
+
+        log.info("인덱싱 작업 등록: jobId={}, appId={}, queueSize={}", jobId, appId, jobExecutor.getQueue().size());
+        return IndexingJobConverter.toResponseDTO(job, null);
+    }
+
+    @Override
+    public IndexingJobResponseDTO getJob(String jobId) {
+        IndexingJob job = indexingJobRepository.findById(jobId)
+                .orElseThrow(() -> new IndexingJobException(CommonErrorStatus.INDEXING_JOB_NOT_FOUND));
+
+        AtomicInteger parsed = liveProgress.get(jobId);
+        return IndexingJobConverter.toResponseDTO(job, parsed != null ? parsed.get() : null);
+    }
+
+    /**
+     * 서버 시작 시 끝나지 않은 작업을 다시 큐에 넣는다.
+     * 진행 중이던 작업은 처음부터 다시 실행된다. (인덱스 교체는 트랜잭션 단위이므로 안전)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<IndexingJob> unfinishedJobs = indexingJobRepository.findByStageInOrderByCreatedAtAsc(UNFINISHED_STAGES);
+        if (unfinishedJobs.isEmpty()) {
+            return;
+        }
+
+        log.info("재시작 전 끝나지 않은 인덱싱 작업 재등록: {}건", unfinishedJobs.size());
+
+        for (IndexingJob job : unfinishedJobs) {
+            if (!Files.exists(Paths.get(job.getZipPath()))) {
+                updateJob(job.getJobId(), missing -> missing.fail("재시작 후 업로드된 ZIP 파일을 찾을 수 없습니다."));
+                continue;
+            }
+
+            updateJob(job.getJobId(), queued -> queued.changeStage(IndexingJobStage.QUEUED));
+            try {
+                enqueue(job.getJobId());
+            } catch (RejectedExecutionException e) {
+                updateJob(job.getJobId(), rejected -> rejected.fail(CommonErrorStatus.INDEXING_QUEUE_FULL.getMessage()));
+                deleteQuietly(Paths.get(job.getZipPath()));
+            }
+        }
+    }
+
+    private void enqueue(String jobId) {
+        jobExecutor.execute(() -> runJob(jobId));
+    }
+
+    /**
+     * 워커 스레드에서 실제 인덱싱을 수행한다.
+     */
+    private void runJob(String jobId) {
+        IndexingJob job = indexingJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStage().isFinished()) {
+            return;
+        }
+
+        Path zipPath = Paths.get(job.getZipPath());
+        AtomicInteger parsedFiles = new AtomicInteger();
+        liveProgress.put(jobId, parsedFiles);
+
+        try {
+            updateJob(jobId, running -> running.changeStage(IndexingJobStage.EXTRACTING));
+
+            StoredZipFile zipFile = new StoredZipFile(zipPath, job.getOriginalFilename(), job.getContentType());
+            IndexingResultDTO result = codeIndexingService.indexMiniAppCode(
+                    job.getAppId(), zipFile, new JobProgressListener(jobId, parsedFiles));
+            int elementCount = (int) result.getElementCount();
+
+            updateJob(jobId, completed -> {
+                completed.updateProgress(parsedFiles.get(), completed.getTotalFiles() != null ? completed.getTotalFiles() : parsedFiles.get());
+                completed.complete(elementCount);
+            });
+            log.info("인덱싱 작업 완료: jobId={}, appId={}, elementCount={}", jobId, job.getAppId(), elementCount);
+
+        } catch (GeneralException e) {
+            log.warn("인덱싱 작업 실패: jobId={}, code={}", jobId, e.getErrorReason().getCode());
+            updateJob(jobId, failed -> failed.fail(e.getErrorReason().getMessage()));
+        } catch (Exception e) {
+            log.error("인덱싱 작업 중 예외 발생: jobId={}", jobId, e);
+            updateJob(jobId, failed -> failed.fail(e.getMessage()));
+        } finally {
+            liveProgress.remove(jobId);
+            deleteQuietly(zipPath);
+        }
+    }
+
+    private boolean isQueueFull() {
+        return jobExecutor.getQueue().remainingCapacity() == 0
+                && jobExecutor.getActiveCount() >= jobExecutor.getMaximumPoolSize();
+    }
+
+    private Path storeZipFile(String jobId, MultipartFile zipFile) {
+        try {
+            Files.createDirectories(storageDir);
+            Path target = storageDir.resolve(jobId + ".zip");
+            try (InputStream inputStream = zipFile.getInputStream()) {
+                Files.copy(inputStream, target);
+            }
+            return target;
+        } catch (IOException e) {
+            log.error("인덱싱 작업용 ZIP 저장 실패: jobId={}", jobId, e);
+            throw new IndexingJobException(CommonErrorStatus.INDEXING_JOB_STORAGE_FAILED);
+        }
+    }
+
+    private void updateJob(String jobId, Consumer<IndexingJob> change) {
+        indexingJobRepository.findById(jobId).ifPresent(job -> {
+            change.accept(job);
+            indexingJobRepository.save(job);
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 ZIP 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * 인덱싱 진행 상황을 작업 상태에 반영하는 리스너
+     * 파일 단위 진행률은 메모리에만 기록하고, 단계 전환 시점에만 DB를 갱신한다.
+     */
+    private class JobProgressListener implements IndexingProgressListener {
+
+        private final String jobId;
+        private final AtomicInteger parsedFiles;
+
+        private JobProgressListener(String jobId, AtomicInteger parsedFiles) {
+            this.jobId = jobId;
+            this.parsedFiles = parsedFiles;
+        }
+
+        @Override
+        public void onFilesExtracted(int totalFiles) {
+            updateJob(jobId, job -> {
+                job.updateProgress(0, totalFiles);
+                job.changeStage(IndexingJobStage.PARSING);
+            });
+        }
+
+        @Override
+        public void onFileParsed() {
+            parsedFiles.incrementAndGet();
+        }
+
+        @Override
+        public void onPersisting() {
+            updateJob(jobId, job -> {
+                job.updateProgress(parsedFiles.get(), job.getTotalFiles() != null ? job.getTotalFiles() : parsedFiles.get());
+                job.changeStage(IndexingJobStage.PERSISTING);
+            });
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package anam_145.SpringBoot.Server.service.indexingJob;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 로컬 디스크에 저장된 ZIP 파일을 MultipartFile로 감싼 어댑터
+ *
+ * 비동기 작업은 HTTP 요청이 끝난 뒤에 실행되므로 업로드 파일을 디스크에 보관해 두고,
+ * 기존 CodeIndexingService / ZipExtractorService에 그대로 전달하기 위해 사용한다.
+ */
+class StoredZipFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+
+    StoredZipFile(Path path, String originalFilename, String contentType) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public String getName() {
+        return "zipFile";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -16,6 +16,7 @@ public interface KotlinASTParser {
      * @param fileName 소스 파일 이름 (예: "TransferScreen.kt")
      * @param sourceCode Kotlin 소스 코드 문자열
      * @return 추출된 UI 요소 정보 목록
+     * @throws anam_145.SpringBoot.Server.apiPayload.exception.KotlinParsingException 파싱 중 오류가 발생한 경우
      */
     List<ComposableInfo> parseKotlinFile(String appId, String fileName, String sourceCode);
 }
@@ -1,12 +1,12 @@
 package anam_145.SpringBoot.Server.service.kotlinASTParser;
 
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.KotlinParsingException;
 import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles;
-import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
-import org.jetbrains.kotlin.com.intellij.openapi.util.Disposer;
 import org.jetbrains.kotlin.com.intellij.psi.PsiElement;
-import org.jetbrains.kotlin.config.CompilerConfiguration;
 import org.jetbrains.kotlin.psi.*;
 import org.springframework.stereotype.Service;
 
@@ -16,37 +16,35 @@ import java.util.List;
 /**
  * Kotlin AST 파서 구현체
  * kotlin-compiler-embeddable을 사용하여 Jetpack Compose UI 요소를 추출한다.
+ * 컴파일러 환경은 KotlinEnvironmentPool에서 빌려 쓰므로 파일마다 새로 만들지 않는다.
  */
 @Slf4j
 @Service
 public class KotlinASTParserImpl implements KotlinASTParser {
 
+    private final KotlinEnvironmentPool environmentPool;
+    private final Timer parseTimer;
+
+    public KotlinASTParserImpl(KotlinEnvironmentPool environmentPool, MeterRegistry meterRegistry) {
+        this.environmentPool = environmentPool;
+        this.parseTimer = Timer.builder("kotlin.parser.parse.time")
+                .description("Kotlin 파일 1개당 파싱 시간")
+                .register(meterRegistry);
+    }
+
     @Override
     public List<ComposableInfo> parseKotlinFile(String appId, String fileName, String sourceCode) {
         log.info("Kotlin 파일 파싱 시작: appId={}, fileName={}", appId, fileName);
 
         List<ComposableInfo> composableInfoList = new ArrayList<>();
+        Timer.Sample sample = Timer.start();
 
         try {
-            // 1. Kotlin 컴파일러 환경 설정
-            // Disposer: 파싱이 끝난 후 리소스를 정리하기 위한 객체
-            var disposer = Disposer.newDisposable();
-
-            try {
-                // CompilerConfiguration: Kotlin 컴파일러의 설정을 담는 객체
-                CompilerConfiguration configuration = new CompilerConfiguration();
-
-                // KotlinCoreEnvironment: Kotlin 코드를 파싱하기 위한 핵심 환경
-                // EnvironmentConfigFiles.JVM_CONFIG_FILES: JVM용 Kotlin 파일 설정 사용
-                KotlinCoreEnvironment environment = KotlinCoreEnvironment.createForProduction(
-                    disposer,
-                    configuration,
-                    EnvironmentConfigFiles.JVM_CONFIG_FILES
-                );
-
+            // 1. 풀에서 Kotlin 컴파일러 환경을 빌려서 파싱
+            // 환경 생성/해제는 KotlinEnvironmentPool이 담당하며 여러 파일에 걸쳐 재사용된다.
+            environmentPool.execute(psiFactory -> {
                 // 2. Kotlin 소스 코드를 PSI(Program Structure Interface) 파일로 변환
                 // PSI는 IntelliJ 플랫폼의 코드 구조 표현 방식
-                KtPsiFactory psiFactory = new KtPsiFactory(environment.getProject());
                 KtFile ktFile = psiFactory.createFile(fileName, sourceCode);
 
                 log.debug("PSI 파일 생성 완료: {}", fileName);
@@ -75,17 +73,18 @@ public class KotlinASTParserImpl implements KotlinASTParser {
                         }
                     }
                 }
+                return composableInfoList;
+            });
 
-                log.info("파싱 완료: 총 {}개의 UI 요소 추출", composableInfoList.size());
-
-            } finally {
-                // 반드시 리소스를 해제하여 메모리 누수 방지
-                Disposer.dispose(disposer);
-            }
+            log.info("파싱 완료: 총 {}개의 UI 요소 추출", composableInfoList.size());
 
         } catch (Exception e) {
             log.error("Kotlin 파싱 중 오류 발생: fileName={}", fileName, e);
-            // 파싱 실패 시 빈 리스트 반환 (일부 파일 실패해도 전체 프로세스는 계속 진행)
+            // 일부만 추출된 결과를 돌려주지 않고 실패를 알린다.
+            // 호출 측(CodeIndexingServiceImpl)이 해당 화면의 해시를 저장하지 않아 다음 등록 때 다시 파싱한다.
+            throw new KotlinParsingException(CommonErrorStatus.KOTLIN_PARSING_FAILED);
+        } finally {
+            sample.stop(parseTimer);
         }
 
         return composableInfoList;
@@ -0,0 +1,225 @@
+package anam_145.SpringBoot.Server.service.kotlinASTParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles;
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
+import org.jetbrains.kotlin.com.intellij.openapi.Disposable;
+import org.jetbrains.kotlin.com.intellij.openapi.util.Disposer;
+import org.jetbrains.kotlin.config.CompilerConfiguration;
+import org.jetbrains.kotlin.psi.KtPsiFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Kotlin PSI 파싱 환경(KotlinCoreEnvironment) 풀
+ *
+ * KotlinCoreEnvironment는 생성 비용이 수백 ms에 달하므로 파일마다 만들지 않고,
+ * 미리 만든 환경을 여러 파일/여러 앱에 걸쳐 재사용한다.
+ * - 풀 크기만큼의 허가(Semaphore)를 얻은 스레드만 환경을 사용하므로 환경은 풀 크기 이하로만 존재하며,
+ *   각 환경은 한 번에 하나의 스레드만 사용한다.
+ * - 한 환경에서 일정 개수 이상의 파일을 파싱하면 내부 캐시가 커지므로 폐기 후 새로 만든다(recycle).
+ *   폐기해도 허가는 반납되므로, 대기 중인 스레드가 깨어나 새 환경을 만든다.
+ */
+@Slf4j
+@Component
+public class KotlinEnvironmentPool {
+
+    /**
+     * 마지막 프로젝트 환경이 해제되어도 애플리케이션 환경을 유지하도록 하는 시스템 프로퍼티
+     * 설정하지 않으면 recycle 시마다 애플리케이션 환경까지 다시 만들어진다.
+     */
+    private static final String KEEPALIVE_PROPERTY = "kotlin.environment.keepalive";
+
+    private final int poolSize;
+    private final int maxFilesPerEnvironment;
+
+    private final Semaphore permits;
+    private final BlockingQueue<PooledEnvironment> idleEnvironments = new LinkedBlockingQueue<>();
+    private final AtomicInteger liveEnvironments = new AtomicInteger();
+
+    private final Counter createdCounter;
+    private final Counter reusedCounter;
+    private final Counter recycledCounter;
+
+    public KotlinEnvironmentPool(
+            @Value("${ai.parser.kotlin.pool-size:0}") int poolSize,
+            @Value("${ai.parser.kotlin.max-files-per-environment:500}") int maxFilesPerEnvironment,
+            MeterRegistry meterRegistry
+    ) {
+        // 0 이하이면 CPU 코어 수만큼 환경을 허용
+        this.poolSize = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.maxFilesPerEnvironment = Math.max(1, maxFilesPerEnvironment);
+        this.permits = new Semaphore(this.poolSize, true);
+
+        System.setProperty(KEEPALIVE_PROPERTY, "true");
+
+        this.createdCounter = Counter.builder("kotlin.parser.environment.created")
+                .description("생성된 Kotlin 파싱 환경 수")
+                .register(meterRegistry);
+        this.reusedCounter = Counter.builder("kotlin.parser.environment.reused")
+                .description("기존 Kotlin 파싱 환경을 재사용한 횟수")
+                .register(meterRegistry);
+        this.recycledCounter = Counter.builder("kotlin.parser.environment.recycled")
+                .description("최대 사용 횟수를 넘겨 폐기된 Kotlin 파싱 환경 수")
+                .register(meterRegistry);
+        Gauge.builder("kotlin.parser.environment.reuse.ratio", this, KotlinEnvironmentPool::reuseRatio)
+                .description("전체 환경 대여 중 재사용 비율")
+                .register(meterRegistry);
+        Gauge.builder("kotlin.parser.environment.live", liveEnvironments, AtomicInteger::get)
+                .description("현재 살아있는 Kotlin 파싱 환경 수")
+                .register(meterRegistry);
+
+        log.info("Kotlin 파싱 환경 풀 초기화: poolSize={}, maxFilesPerEnvironment={}",
+                this.poolSize, this.maxFilesPerEnvironment);
+    }
+
+    /**
+     * 풀에서 환경을 빌려 PSI 작업을 수행하고 반납한다.
+     * 작업 중 예외가 발생한 환경은 상태를 신뢰할 수 없으므로 반납하지 않고 폐기한다.
+     *
+     * @param work KtPsiFactory를 사용하는 파싱 작업 (PSI 객체는 작업 안에서만 사용해야 함)
+     * @return 작업 결과
+     */
+    public <T> T execute(Function<KtPsiFactory, T> work) {
+        PooledEnvironment environment = borrow();
+        boolean healthy = false;
+        try {
+            T result = work.apply(environment.psiFactory);
+            healthy = true;
+            return result;
+        } finally {
+            release(environment, healthy);
+        }
+    }
+
+    /**
+     * 허가를 얻은 뒤 유휴 환경을 꺼내고, 없으면 새로 만든다.
+     * 허가를 가진 스레드 수가 풀 크기 이하이므로 유휴 환경이 없을 때 새로 만들어도 한도를 넘지 않는다.
+     * 허가가 모두 사용 중이면 다른 스레드가 반납하거나 폐기할 때까지 대기한다.
+     */
+    private PooledEnvironment borrow() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Kotlin 파싱 환경 대기 중 인터럽트 발생", e);
+        }
+
+        PooledEnvironment idle = idleEnvironments.poll();
+        if (idle != null) {
+            reusedCounter.increment();
+            return idle;
+        }
+
+        liveEnvironments.incrementAndGet();
+        boolean created = false;
+        try {
+            PooledEnvironment environment = createEnvironment();
+            created = true;
+            return environment;
+        } finally {
+            if (!created) {
+                liveEnvironments.decrementAndGet();
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 사용이 끝난 환경을 반납하고 허가를 돌려준다.
+     * 최대 사용 횟수에 도달했거나 작업이 실패한 환경은 폐기한다.
+     */
+    private void release(PooledEnvironment environment, boolean healthy) {
+        try {
+            environment.usedFiles++;
+
+            if (!healthy || environment.usedFiles >= maxFilesPerEnvironment) {
+                log.debug("Kotlin 파싱 환경 폐기: usedFiles={}, healthy={}", environment.usedFiles, healthy);
+                dispose(environment);
+                recycledCounter.increment();
+                return;
+            }
+
+            idleEnvironments.offer(environment);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledEnvironment createEnvironment() {
+        long startedAt = System.nanoTime();
+
+        // Disposer: 환경을 폐기할 때 리소스를 정리하기 위한 객체
+        Disposable disposable = Disposer.newDisposable();
+        try {
+            // KotlinCoreEnvironment: Kotlin 코드를 파싱하기 위한 핵심 환경
+            // EnvironmentConfigFiles.JVM_CONFIG_FILES: JVM용 Kotlin 파일 설정 사용
+            KotlinCoreEnvironment environment = KotlinCoreEnvironment.createForProduction(
+                    disposable,
+                    new CompilerConfiguration(),
+                    EnvironmentConfigFiles.JVM_CONFIG_FILES
+            );
+
+            createdCounter.increment();
+            log.info("Kotlin 파싱 환경 생성 완료: {}ms", (System.nanoTime() - startedAt) / 1_000_000);
+
+            return new PooledEnvironment(disposable, new KtPsiFactory(environment.getProject()));
+        } catch (RuntimeException e) {
+            Disposer.dispose(disposable);
+            throw e;
+        }
+    }
+
+    private void dispose(PooledEnvironment environment) {
+        try {
+            Disposer.dispose(environment.disposable);
+        } catch (Exception e) {
+            log.warn("Kotlin 파싱 환경 해제 실패", e);
+        } finally {
+            liveEnvironments.decrementAndGet();
+        }
+    }
+
+    private double reuseRatio() {
+        double created = createdCounter.count();
+        double reused = reusedCounter.count();
+        double total = created + reused;
+        return total == 0 ? 0.0 : reused / total;
+    }
+
+    /**
+     * 애플리케이션 종료 시 유휴 환경을 모두 해제한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        PooledEnvironment environment;
+        while ((environment = idleEnvironments.poll()) != null) {
+            dispose(environment);
+        }
+    }
+
+    /**
+     * 풀에서 관리되는 파싱 환경
+     * KtPsiFactory는 프로젝트에 묶여 있으므로 환경과 함께 보관한다.
+     */
+    private static final class PooledEnvironment {
+        private final Disposable disposable;
+        private final KtPsiFactory psiFactory;
+        private int usedFiles;
+
+        private PooledEnvironment(Disposable disposable, KtPsiFactory psiFactory) {
+            this.disposable = disposable;
+            this.psiFactory = psiFactory;
+        }
+    }
+}
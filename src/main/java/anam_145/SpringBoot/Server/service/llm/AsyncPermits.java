@@ -0,0 +1,70 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 스레드를 막지 않는 동시 실행 허가(permit) 관리
+ *
+ * Semaphore와 같은 역할이지만, 허가가 없으면 대기 대신 아직 완료되지 않은 future를 돌려주고
+ * 허가가 반납될 때 도착 순서대로 완료시킨다.
+ * 대기 중인 future가 외부에서 먼저 완료(타임아웃/취소)되면 그 대기자는 건너뛴다.
+ */
+final class AsyncPermits {
+
+    private final int maxPermits;
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int inUse;
+
+    AsyncPermits(int maxPermits) {
+        this.maxPermits = Math.max(1, maxPermits);
+    }
+
+    /**
+     * 허가를 요청한다. 반환된 future가 정상 완료되면 허가를 얻은 것이며, 사용 후 반드시 release()해야 한다.
+     */
+    synchronized CompletableFuture<Void> acquire() {
+        if (inUse < maxPermits) {
+            inUse++;
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * 허가를 반납한다. 대기자가 있으면 허가를 바로 넘긴다.
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            // 대기자가 이미 타임아웃/취소되었다면 다음 대기자에게 넘긴다
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 허가를 얻기 전에 포기한(타임아웃/취소) 대기자를 대기열에서 제거한다.
+     */
+    synchronized void abandon(CompletableFuture<Void> waiter) {
+        waiters.remove(waiter);
+    }
+
+    synchronized int inUse() {
+        return inUse;
+    }
+
+    synchronized int waiting() {
+        return waiters.size();
+    }
+}
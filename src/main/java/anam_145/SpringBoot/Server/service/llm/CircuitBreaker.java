@@ -0,0 +1,155 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LLM 엔드포인트 하나의 회로 차단기 (최근 호출 기준 실패율)
+ *
+ * - CLOSED: 모든 호출 허용. 최근 window-size건 중 실패율이 기준 이상이면(최소 minimum-calls건) OPEN으로 전환
+ * - OPEN: open-duration 동안 호출을 바로 거절하여 장애 중인 엔드포인트에 요청을 쌓지 않는다
+ * - HALF_OPEN: open-duration이 지나면 시험 호출 하나만 허용하고, 성공하면 CLOSED, 실패하면 다시 OPEN
+ * 호출 결과는 엔드포인트 장애(타임아웃, 연결 실패, 429/5xx)만 실패로 센다. 잘못된 요청(4xx) 등은 판정에서 제외한다.
+ * LLM 호출은 초 단위이므로 상태 변경은 단순하게 synchronized로 보호한다.
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+
+    private final boolean[] window; // 최근 호출 결과 (true: 실패), 원형 버퍼
+    private int windowPosition;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * @param name 로그/메트릭에 사용할 엔드포인트 이름
+     * @param windowSize 실패율을 계산할 최근 호출 수
+     * @param minimumCalls 실패율을 판정하기 위한 최소 호출 수
+     * @param failureRateThreshold OPEN으로 전환할 실패율 (0~1)
+     * @param openDurationMillis OPEN 상태 유지 시간 (ms)
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationMillis) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = Math.max(1, openDurationMillis) * 1_000_000;
+    }
+
+    /**
+     * 호출을 시작해도 되는지 확인한다. true를 받은 호출은 반드시 onSuccess/onFailure/onIgnored 중 하나로 끝내야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            resetWindow();
+            transition(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            open();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * 엔드포인트 상태와 무관한 결과(잘못된 요청, 호출자 취소 등). 시험 호출이었다면 다음 시험 호출을 허용한다.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        windowPosition = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void transition(State next) {
+        if (state == next) {
+            return;
+        }
+        State previous = state;
+        state = next;
+        if (next == State.OPEN) {
+            log.warn("LLM 회로 차단: endpoint={}, {} -> OPEN ({}ms 동안 호출 거절)",
+                    name, previous, openDurationNanos / 1_000_000);
+        } else {
+            log.info("LLM 회로 상태 변경: endpoint={}, {} -> {}", name, previous, next);
+        }
+    }
+}
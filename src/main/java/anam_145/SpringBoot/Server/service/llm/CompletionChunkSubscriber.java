@@ -0,0 +1,136 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * OpenAI 스트리밍 응답(SSE) 줄 단위 구독자
+ *
+ * "data: {...}" 줄마다 choices[0].delta.content 조각을 꺼내 onDelta로 전달하고 전체 텍스트를 누적한다.
+ * "data: [DONE]"이나 빈 줄, 주석 줄은 무시한다.
+ * onDelta가 예외를 던지면(클라이언트 연결 종료 등) 구독을 취소하여 LLM 응답 수신을 중단한다.
+ * 줄 단위 구독자를 취소하면 HttpClient의 본문 future가 완료되지 않으므로,
+ * bodySubscriber()가 돌려주는 구독자는 중단 시 본문 future를 그 예외로 바로 완료시킨다.
+ */
+@Slf4j
+final class CompletionChunkSubscriber implements Flow.Subscriber<String> {
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<String> onDelta;
+    private final StringBuilder content = new StringBuilder();
+
+    private final CompletableFuture<String> aborted = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+    private RuntimeException failure;
+
+    private CompletionChunkSubscriber(ObjectMapper objectMapper, Consumer<String> onDelta) {
+        this.objectMapper = objectMapper;
+        this.onDelta = onDelta;
+    }
+
+    /**
+     * 스트리밍 응답 본문 구독자를 만든다.
+     *
+     * @param objectMapper 조각 JSON 파서
+     * @param onDelta 텍스트 조각 수신 콜백
+     * @return 전체 응답 텍스트를 결과로 갖는 본문 구독자
+     */
+    static HttpResponse.BodySubscriber<String> bodySubscriber(ObjectMapper objectMapper, Consumer<String> onDelta) {
+        CompletionChunkSubscriber chunks = new CompletionChunkSubscriber(objectMapper, onDelta);
+        HttpResponse.BodySubscriber<String> lines = HttpResponse.BodySubscribers.fromLineSubscriber(
+                chunks, CompletionChunkSubscriber::content, StandardCharsets.UTF_8, null);
+
+        return new HttpResponse.BodySubscriber<>() {
+            @Override
+            public CompletionStage<String> getBody() {
+                return lines.getBody().toCompletableFuture().applyToEither(chunks.aborted, Function.identity());
+            }
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                lines.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(List<ByteBuffer> item) {
+                lines.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                lines.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                lines.onComplete();
+            }
+        };
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (failure != null || !line.startsWith(DATA_PREFIX)) {
+            return;
+        }
+        String payload = line.substring(DATA_PREFIX.length()).trim();
+        if (payload.isEmpty() || DONE.equals(payload)) {
+            return;
+        }
+
+        try {
+            JsonNode delta = objectMapper.readTree(payload).path("choices").path(0).path("delta").path("content");
+            if (delta.isTextual() && !delta.asText().isEmpty()) {
+                content.append(delta.asText());
+                onDelta.accept(delta.asText());
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            subscription.cancel();
+            aborted.completeExceptionally(e);
+        } catch (Exception e) {
+            log.warn("스트리밍 응답 조각 파싱 실패 (무시): {}", payload);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        // 응답 future가 같은 예외로 완료되므로 여기서는 처리하지 않는다
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    /**
+     * 스트림 종료 후 누적된 전체 텍스트를 돌려준다.
+     * onDelta 처리 중 실패가 있었다면 그 예외를 다시 던진다.
+     */
+    String content() {
+        if (failure != null) {
+            throw failure;
+        }
+        return content.toString();
+    }
+}
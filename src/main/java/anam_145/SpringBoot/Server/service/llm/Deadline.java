@@ -0,0 +1,72 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 마감 시각 (불변 객체)
+ *
+ * HTTP 요청이 들어올 때 한 번 만들어 LLM 호출까지 그대로 전달한다.
+ * 재시도나 대기열 대기로 시간이 흘러도 마감 시각은 바뀌지 않으므로, 각 단계는 남은 시간만큼만 기다린다.
+ * System.nanoTime 기준이라 시스템 시계 변경의 영향을 받지 않는다.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(false, 0);
+
+    private final boolean bounded;
+    private final long expiresAtNanos;
+
+    private Deadline(boolean bounded, long expiresAtNanos) {
+        this.bounded = bounded;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * 마감 시각이 없는 경우 (백그라운드 작업 등). 호출마다 설정된 타임아웃만 적용된다.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * 지금부터 주어진 시간 뒤를 마감 시각으로 한다.
+     *
+     * @param millis 남은 시간 (ms, 0 이하이면 이미 지난 마감 시각, 나노초로 표현할 수 없을 만큼 크면 Long.MAX_VALUE ns로 제한)
+     */
+    public static Deadline after(long millis) {
+        // toNanos는 넘치는 값을 Long.MAX_VALUE로 고정한다. 이후 비교는 모두 차이(expiresAt - now)로 하므로 덧셈이 넘쳐도 안전하다.
+        return new Deadline(true, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis)));
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * 남은 시간 (ms, 지났으면 0, 마감 시각이 없으면 Long.MAX_VALUE)
+     */
+    public long remainingMillis() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (expiresAtNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 설정된 타임아웃과 남은 시간 중 짧은 쪽을 돌려준다.
+     *
+     * @param timeoutMillis 호출 단위 타임아웃 (ms)
+     */
+    public long capMillis(long timeoutMillis) {
+        return Math.min(timeoutMillis, remainingMillis());
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remaining=" + remainingMillis() + "ms]" : "Deadline[none]";
+    }
+}
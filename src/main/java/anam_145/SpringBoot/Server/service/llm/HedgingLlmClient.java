@@ -0,0 +1,282 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 느린 LLM 응답에 같은 요청을 한 번 더 보내는 헤징(hedged request) LlmClient 데코레이터
+ *
+ * - 첫 요청이 최근 응답 시간의 백분위수(예: p95)만큼 지나도 끝나지 않으면 같은 요청을 하나 더 보낸다.
+ *   먼저 응답한 쪽을 쓰고 나머지는 취소한다.
+ * - 스트리밍은 첫 텍스트 조각을 먼저 보낸 쪽이 이기며, 진 쪽의 조각은 전달하지 않는다.
+ *   (지연 기준도 전체 응답이 아니라 첫 조각까지의 시간)
+ * - 추가 요청은 예산 안에서만 보낸다. 요청마다 budget-ratio만큼 예산이 쌓이고 헤징 한 번에 1씩 쓰므로,
+ *   추가 요청 비율이 budget-ratio(예: 5%)를 넘지 않는다.
+ * - 표본이 min-samples보다 적으면 max-delay-ms를 지연 시간으로 쓴다.
+ * 재시도/회로 차단(ResilientLlmClient) 안쪽에 두므로, 헤징한 호출 전체가 재시도 한 번으로 계산된다.
+ */
+@Slf4j
+public class HedgingLlmClient implements LlmClient {
+
+    private static final int LATENCY_SAMPLES = 500;
+    private static final long CREDIT_UNIT = 1_000_000; // 예산 1 (헤징 1회)
+    private static final long MAX_CREDITS = 10 * CREDIT_UNIT; // 한가할 때 쌓아 둘 수 있는 최대 헤징 횟수
+
+    /**
+     * 헤징 정책
+     *
+     * @param percentile 지연 시간으로 쓸 응답 시간 백분위수 (0~1)
+     * @param minDelayMillis 지연 시간 하한 (ms)
+     * @param maxDelayMillis 지연 시간 상한 (ms, 표본이 부족할 때의 지연 시간)
+     * @param minSamples 백분위수를 쓰기 위한 최소 표본 수
+     * @param budgetRatio 요청 대비 추가 요청 비율 상한 (예: 0.05)
+     */
+    public record HedgePolicy(double percentile, long minDelayMillis, long maxDelayMillis, int minSamples,
+                              double budgetRatio) {
+    }
+
+    /**
+     * 추가 요청 예약 방식 (테스트에서 시간 흐름을 직접 제어하기 위해 분리)
+     */
+    @FunctionalInterface
+    interface HedgeScheduler {
+        void schedule(Runnable task, long delayMillis);
+    }
+
+    private static final HedgeScheduler DELAYED_EXECUTOR = (task, delayMillis) ->
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(task);
+
+    private final LlmClient delegate;
+    private final String endpoint;
+    private final HedgePolicy policy;
+    private final long depositPerRequest;
+    private final AtomicLong credits = new AtomicLong();
+
+    private final LatencyTracker completeLatency;
+    private final LatencyTracker firstDeltaLatency;
+    private final MeterRegistry meterRegistry;
+    private final HedgeScheduler scheduler;
+    private final LongSupplier nanoClock;
+
+    public HedgingLlmClient(LlmClient delegate, String endpoint, HedgePolicy policy, MeterRegistry meterRegistry) {
+        this(delegate, endpoint, policy, meterRegistry, DELAYED_EXECUTOR, System::nanoTime);
+    }
+
+    /**
+     * @param scheduler 추가 요청 예약 방식
+     * @param nanoClock 응답 시간 측정용 시계 (System.nanoTime과 같은 단위)
+     */
+    HedgingLlmClient(LlmClient delegate, String endpoint, HedgePolicy policy, MeterRegistry meterRegistry,
+                     HedgeScheduler scheduler, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.endpoint = endpoint;
+        this.policy = policy;
+        this.depositPerRequest = Math.round(Math.max(0, policy.budgetRatio()) * CREDIT_UNIT);
+        this.completeLatency = new LatencyTracker(LATENCY_SAMPLES, policy.percentile());
+        this.firstDeltaLatency = new LatencyTracker(LATENCY_SAMPLES, policy.percentile());
+        this.meterRegistry = meterRegistry;
+        this.scheduler = scheduler;
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("ai.llm.hedge.delay", this, client -> client.delayMillis(client.completeLatency))
+                .tag("endpoint", endpoint).tag("mode", "complete")
+                .description("헤징 요청을 보내기까지의 현재 지연 시간 (ms)")
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.hedge.delay", this, client -> client.delayMillis(client.firstDeltaLatency))
+                .tag("endpoint", endpoint).tag("mode", "stream")
+                .description("헤징 요청을 보내기까지의 현재 지연 시간 (ms)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+        return new HedgedCall("complete", options.deadline(), completeLatency, null,
+                ignored -> delegate.complete(systemPrompt, userPrompt, options)).start();
+    }
+
+    @Override
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Consumer<String> onDelta) {
+        return new HedgedCall("stream", options.deadline(), firstDeltaLatency, onDelta,
+                deltas -> delegate.stream(systemPrompt, userPrompt, options, deltas)).start();
+    }
+
+    private long delayMillis(LatencyTracker latency) {
+        long percentileMillis = latency.percentileMillis(policy.minSamples());
+        if (percentileMillis < 0) {
+            return policy.maxDelayMillis();
+        }
+        return Math.max(policy.minDelayMillis(), Math.min(policy.maxDelayMillis(), percentileMillis));
+    }
+
+    /**
+     * 요청마다 예산을 쌓는다. (상한까지)
+     */
+    private void deposit() {
+        credits.accumulateAndGet(depositPerRequest, (current, amount) -> Math.min(MAX_CREDITS, current + amount));
+    }
+
+    /**
+     * 헤징 1회 분량의 예산을 쓴다.
+     *
+     * @return 예산이 남아 있어 사용했으면 true
+     */
+    private boolean withdraw() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < CREDIT_UNIT) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - CREDIT_UNIT));
+        return true;
+    }
+
+    private void count(String mode, String result) {
+        Counter.builder("ai.llm.hedges")
+                .tag("endpoint", endpoint)
+                .tag("mode", mode)
+                .tag("result", result)
+                .description("헤징 요청 수 (fired: 추가 요청 전송, won: 추가 요청이 먼저 응답, budget-exhausted: 예산 부족으로 생략)")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 헤징 호출 하나 (0: 첫 요청, 1: 추가 요청)
+     * 먼저 응답(스트리밍은 첫 조각)한 요청이 winner가 되며, winner가 정해지면 다른 요청은 취소한다.
+     */
+    private final class HedgedCall {
+
+        private final String mode;
+        private final Deadline deadline;
+        private final LatencyTracker latency;
+        private final Consumer<String> onDelta;
+        private final Function<Consumer<String>, CompletableFuture<String>> call;
+
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final AtomicReferenceArray<CompletableFuture<String>> attempts = new AtomicReferenceArray<>(2);
+        private final long[] startedAt = new long[2];
+        private final AtomicInteger winner = new AtomicInteger(-1);
+
+        HedgedCall(String mode, Deadline deadline, LatencyTracker latency, Consumer<String> onDelta,
+                   Function<Consumer<String>, CompletableFuture<String>> call) {
+            this.mode = mode;
+            this.deadline = deadline;
+            this.latency = latency;
+            this.onDelta = onDelta;
+            this.call = call;
+        }
+
+        CompletableFuture<String> start() {
+            deposit();
+            // 결과가 정해지거나 호출자가 취소하면 남은 요청을 모두 취소한다
+            result.whenComplete((content, error) -> {
+                for (int i = 0; i < 2; i++) {
+                    cancel(i);
+                }
+            });
+
+            launch(0);
+            long delay = delayMillis(latency);
+            if (delay < deadline.remainingMillis()) {
+                scheduler.schedule(this::hedge, delay);
+            }
+            return result;
+        }
+
+        private void hedge() {
+            if (result.isDone() || winner.get() >= 0 || deadline.isExpired()) {
+                return;
+            }
+            if (!withdraw()) {
+                count(mode, "budget-exhausted");
+                return;
+            }
+            count(mode, "fired");
+            log.debug("LLM 헤징 요청 전송: endpoint={}, mode={}", endpoint, mode);
+            launch(1);
+        }
+
+        private void launch(int index) {
+            startedAt[index] = nanoClock.getAsLong();
+            Consumer<String> deltas = onDelta == null ? null : delta -> {
+                if (claim(index)) {
+                    onDelta.accept(delta);
+                }
+            };
+            CompletableFuture<String> attempt;
+            try {
+                attempt = call.apply(deltas);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempts.set(index, attempt);
+            int current = winner.get();
+            if (result.isDone() || (current >= 0 && current != index)) {
+                attempt.cancel(true);
+                return;
+            }
+            attempt.whenComplete((content, error) -> onComplete(index, content, error));
+        }
+
+        /**
+         * index 요청을 winner로 정한다. 이미 winner가 있으면 그 요청인지만 확인한다.
+         * 응답 시간 표본은 항상 첫 요청 기준으로 기록한다. 추가 요청이 이기면 첫 요청은 취소되므로
+         * 그때까지의 경과 시간(실제 응답 시간의 하한)을 기록한다. 이긴 쪽의 시간만 기록하면 분포가 빠른 응답 쪽으로 쏠려
+         * 지연 시간이 줄고 헤징이 점점 잦아진다.
+         */
+        private boolean claim(int index) {
+            if (winner.compareAndSet(-1, index)) {
+                latency.record((nanoClock.getAsLong() - startedAt[0]) / 1_000_000);
+                if (index == 1) {
+                    count(mode, "won");
+                }
+                cancel(1 - index);
+                return true;
+            }
+            return winner.get() == index;
+        }
+
+        private void onComplete(int index, String content, Throwable error) {
+            if (error == null) {
+                if (claim(index)) {
+                    result.complete(content);
+                }
+                return;
+            }
+            int current = winner.get();
+            if (current == index) {
+                // 스트리밍에서 조각을 보낸 뒤 실패한 경우
+                result.completeExceptionally(error);
+                return;
+            }
+            if (current >= 0) {
+                return; // 진 요청 (취소됨)
+            }
+            // 다른 요청이 아직 진행 중이면 그 결과를 기다린다
+            CompletableFuture<String> other = attempts.get(1 - index);
+            if (other == null || other.isDone()) {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private void cancel(int index) {
+            CompletableFuture<String> attempt = attempts.get(index);
+            if (attempt != null && !attempt.isDone()) {
+                attempt.cancel(true);
+            }
+        }
+    }
+}
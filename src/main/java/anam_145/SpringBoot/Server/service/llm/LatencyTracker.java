@@ -0,0 +1,57 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import java.util.Arrays;
+
+/**
+ * 최근 응답 시간 표본으로 백분위수를 계산한다. (헤징 지연 시간 산정용)
+ *
+ * 최근 capacity건만 원형 버퍼에 보관하므로 LLM 응답 속도가 바뀌면 따라간다.
+ * 정렬 비용을 줄이기 위해 백분위수는 조회 시점에 새 표본이 RECOMPUTE_INTERVAL건 이상 쌓였을 때만 다시 계산한다.
+ */
+final class LatencyTracker {
+
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private int count;
+    private int position;
+    private int sinceRecompute;
+    private long cached = -1;
+
+    /**
+     * @param capacity 보관할 최근 표본 수
+     * @param percentile 계산할 백분위수 (0~1, 예: 0.95)
+     */
+    LatencyTracker(int capacity, double percentile) {
+        this.samples = new long[Math.max(1, capacity)];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long millis) {
+        samples[position] = millis;
+        position = (position + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        sinceRecompute++;
+    }
+
+    /**
+     * @param minSamples 값을 신뢰하기 위한 최소 표본 수
+     * @return 백분위수 응답 시간 (ms, 표본이 부족하면 -1)
+     */
+    synchronized long percentileMillis(int minSamples) {
+        if (count < Math.max(1, minSamples)) {
+            return -1;
+        }
+        if (cached < 0 || sinceRecompute >= RECOMPUTE_INTERVAL) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * count) - 1; // nearest-rank
+            cached = sorted[Math.max(0, Math.min(count - 1, rank))];
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,71 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+/**
+ * LLM 호출 한 건의 처리 조건
+ *
+ * @param deadline 요청 처리 마감 시각 (이후로는 대기/재시도하지 않음)
+ * @param priority 호출 우선순위 (호출 한도에 걸려 대기할 때 순서를 정함)
+ * @param task 호출 용도 (어느 제공자/모델로 보낼지 정함)
+ */
+public record LlmCallOptions(Deadline deadline, Priority priority, Task task) {
+
+    /**
+     * 호출 우선순위 (선언 순서가 높은 우선순위)
+     */
+    public enum Priority {
+        /** 사용자가 응답을 기다리는 호출 (가이드 생성, appId 결정) */
+        INTERACTIVE,
+        /** 응답 경로와 무관한 부가 작업 (캐시 검증 등) */
+        BACKGROUND
+    }
+
+    /**
+     * 호출 용도 (ai.llm.routing.*의 라우팅 규칙 키)
+     */
+    public enum Task {
+        /** 질문에 맞는 미니앱 appId 선택 (짧은 응답, 빠른 모델로 충분) */
+        APP_ROUTING,
+        /** 단계별 가이드 시퀀스 생성 (정확도가 중요한 호출) */
+        STEP_SEQUENCE,
+        /** 용도를 지정하지 않은 호출 */
+        GENERAL;
+
+        /**
+         * 설정 키와 메트릭 태그에 쓰는 이름 (예: app-routing)
+         */
+        public String key() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private static final LlmCallOptions BACKGROUND = new LlmCallOptions(Deadline.none(), Priority.BACKGROUND, Task.GENERAL);
+    private static final LlmCallOptions DEFAULT = new LlmCallOptions(Deadline.none(), Priority.INTERACTIVE, Task.GENERAL);
+
+    /**
+     * 사용자 요청 처리 중의 호출
+     */
+    public static LlmCallOptions interactive(Deadline deadline) {
+        return new LlmCallOptions(deadline, Priority.INTERACTIVE, Task.GENERAL);
+    }
+
+    /**
+     * 백그라운드 작업의 호출 (마감 시각 없음, 대기 시 사용자 요청에 양보)
+     */
+    public static LlmCallOptions background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * 마감 시각 없는 일반 우선순위 호출
+     */
+    public static LlmCallOptions defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * 용도만 바꾼 호출 조건
+     */
+    public LlmCallOptions forTask(Task task) {
+        return new LlmCallOptions(deadline, priority, task);
+    }
+}
@@ -0,0 +1,51 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * LLM 클라이언트 인터페이스
+ *
+ * 호출 스레드를 막지 않도록 결과를 CompletableFuture로 돌려준다.
+ * 실패 시 future는 LlmException(GPTErrorStatus 에러 코드 포함)으로 완료된다.
+ * 호출 조건(LlmCallOptions)의 마감 시각 이후로는 기다리지 않으며, 우선순위는 호출 한도 대기 순서에 쓰인다.
+ */
+public interface LlmClient {
+
+    /**
+     * 시스템/사용자 프롬프트로 응답 텍스트를 생성한다.
+     *
+     * @param systemPrompt 시스템 프롬프트 (AI의 역할 정의)
+     * @param userPrompt 사용자 프롬프트 (실제 질문 및 컨텍스트)
+     * @param options 호출 조건 (마감 시각, 우선순위)
+     * @return LLM이 생성한 텍스트
+     */
+    CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options);
+
+    /**
+     * 스트리밍 모드로 응답을 생성한다. 텍스트 조각이 도착할 때마다 onDelta를 호출한다.
+     * onDelta는 조각 도착 순서대로 한 스레드에서 호출되며, 예외를 던지면 수신을 중단하고 future도 실패한다.
+     *
+     * @param systemPrompt 시스템 프롬프트
+     * @param userPrompt 사용자 프롬프트
+     * @param options 호출 조건 (마감 시각, 우선순위)
+     * @param onDelta 텍스트 조각 수신 콜백
+     * @return 전체 응답 텍스트 (스트림이 끝나면 완료)
+     */
+    CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                     Consumer<String> onDelta);
+
+    /**
+     * 기본 조건(마감 시각 없음, 일반 우선순위)으로 응답 텍스트를 생성한다.
+     */
+    default CompletableFuture<String> complete(String systemPrompt, String userPrompt) {
+        return complete(systemPrompt, userPrompt, LlmCallOptions.defaults());
+    }
+
+    /**
+     * 기본 조건(마감 시각 없음, 일반 우선순위)으로 스트리밍 응답을 생성한다.
+     */
+    default CompletableFuture<String> stream(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        return stream(systemPrompt, userPrompt, LlmCallOptions.defaults(), onDelta);
+    }
+}
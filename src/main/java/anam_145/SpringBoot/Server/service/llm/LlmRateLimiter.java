@@ -0,0 +1,230 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM 엔드포인트 하나의 분당 요청 수/토큰 수 한도를 지키는 호출 허가 관리
+ *
+ * - 요청 수와 (추정) 토큰 수 토큰 버킷 두 개에서 모두 꺼낼 수 있어야 허가한다.
+ * - 한도에 걸린 요청은 스레드 없이 우선순위 대기열에서 기다린다. (우선순위, 도착 순서)
+ *   대기열에 앞선 요청이 있으면 새 요청도 그 뒤에 선다. (큰 요청이 작은 요청에 계속 밀리지 않도록)
+ * - 대기열이 가득 차면 더 낮은 우선순위의 마지막 대기자를 밀어내고, 그런 대기자가 없으면 새 요청을 바로 거절한다.
+ * - 대기는 min(마감 시각, max-queue-wait-ms)까지만 하며, 넘으면 GPT_DEADLINE_EXCEEDED 또는 GPT_RATE_LIMITED로 실패한다.
+ */
+@Slf4j
+final class LlmRateLimiter {
+
+    private static final Comparator<Waiter> ORDER = Comparator
+            .comparing((Waiter waiter) -> waiter.priority)
+            .thenComparingLong(waiter -> waiter.sequence);
+
+    private final String endpoint;
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final int queueCapacity;
+    private final long maxQueueWaitMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final TreeSet<Waiter> queue = new TreeSet<>(ORDER);
+    private long sequence;
+    private boolean drainScheduled;
+
+    /**
+     * @param endpoint 엔드포인트 이름 (메트릭 태그)
+     * @param requestsPerMinute 분당 요청 수 한도
+     * @param tokensPerMinute 분당 토큰 수 한도 (프롬프트 + 최대 응답 토큰 추정치 기준)
+     * @param burstSeconds 한가할 때 쌓아 둘 수 있는 한도 (초 단위)
+     * @param queueCapacity 대기열 최대 길이
+     * @param maxQueueWaitMillis 대기열 최대 대기 시간 (ms)
+     */
+    LlmRateLimiter(String endpoint, long requestsPerMinute, long tokensPerMinute, double burstSeconds,
+                   int queueCapacity, long maxQueueWaitMillis, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.requestBucket = new TokenBucket(requestsPerMinute, burstSeconds);
+        this.tokenBucket = new TokenBucket(tokensPerMinute, burstSeconds);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("ai.llm.ratelimit.queued", this, LlmRateLimiter::queued)
+                .tag("endpoint", endpoint)
+                .description("호출 한도로 대기 중인 LLM 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 허가를 요청한다. 반환된 future가 정상 완료되면 호출해도 된다.
+     * 허가 전에 future를 취소하면 대기열에서 빠진다.
+     *
+     * @param tokens 이 호출의 추정 토큰 수
+     */
+    CompletableFuture<Void> acquire(int tokens, LlmCallOptions.Priority priority, Deadline deadline) {
+        Waiter waiter;
+        Waiter evicted = null;
+        synchronized (this) {
+            if (queue.isEmpty() && tryTake(tokens)) {
+                admitted(priority, 0);
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queue.size() >= queueCapacity) {
+                Waiter last = queue.isEmpty() ? null : queue.last();
+                if (last == null || last.priority.compareTo(priority) <= 0) {
+                    rejected(priority, "queue-full");
+                    log.warn("LLM 호출 한도 대기열 가득 참, 요청 거절: endpoint={}, priority={}, queued={}",
+                            endpoint, priority, queue.size());
+                    return CompletableFuture.failedFuture(new LlmException(GPTErrorStatus.GPT_RATE_LIMITED));
+                }
+                queue.remove(last);
+                evicted = last;
+            }
+            waiter = new Waiter(tokens, priority, sequence++);
+            queue.add(waiter);
+            scheduleDrain(0);
+        }
+
+        if (evicted != null) {
+            rejected(evicted.priority, "evicted");
+            evicted.future.completeExceptionally(new LlmException(GPTErrorStatus.GPT_RATE_LIMITED));
+        }
+        waiter.future.whenComplete((ignored, error) -> {
+            if (waiter.future.isCancelled()) {
+                abandon(waiter);
+            }
+        });
+        long waitMillis = Math.min(maxQueueWaitMillis, deadline.remainingMillis());
+        CompletableFuture.delayedExecutor(Math.max(0, waitMillis), TimeUnit.MILLISECONDS)
+                .execute(() -> expire(waiter, deadline));
+        return waiter.future;
+    }
+
+    private synchronized int queued() {
+        return queue.size();
+    }
+
+    /**
+     * 대기열 앞에서부터 한도 안에 드는 요청을 허가하고, 남은 요청이 있으면 한도가 찰 시점에 다시 실행되도록 예약한다.
+     */
+    private void drain() {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            while (!queue.isEmpty()) {
+                Waiter head = queue.first();
+                long waitNanos = nanosUntilAvailable(head.tokens);
+                if (waitNanos > 0) {
+                    scheduleDrain(waitNanos);
+                    break;
+                }
+                requestBucket.take(1);
+                tokenBucket.take(head.tokens);
+                queue.pollFirst();
+                admitted.add(head);
+            }
+        }
+
+        // 허가된 호출이 이 스레드에서 바로 시작되므로 락 밖에서 완료시킨다
+        for (Waiter waiter : admitted) {
+            if (waiter.future.complete(null)) {
+                admitted(waiter.priority, System.nanoTime() - waiter.enqueuedAt);
+            } else {
+                refund(waiter);
+            }
+        }
+    }
+
+    private void scheduleDrain(long delayNanos) {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        long delayMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(this::drain);
+    }
+
+    private boolean tryTake(int tokens) {
+        if (nanosUntilAvailable(tokens) > 0) {
+            return false;
+        }
+        requestBucket.take(1);
+        tokenBucket.take(tokens);
+        return true;
+    }
+
+    private long nanosUntilAvailable(int tokens) {
+        return Math.max(requestBucket.nanosUntilAvailable(1), tokenBucket.nanosUntilAvailable(tokens));
+    }
+
+    /**
+     * 허가 직전에 취소된 대기자의 몫을 되돌린다.
+     */
+    private synchronized void refund(Waiter waiter) {
+        requestBucket.refund(1);
+        tokenBucket.refund(waiter.tokens);
+    }
+
+    private synchronized void abandon(Waiter waiter) {
+        queue.remove(waiter);
+    }
+
+    /**
+     * 대기 시간이 다 된 대기자를 실패시킨다. (이미 허가/제거된 경우 무시)
+     */
+    private void expire(Waiter waiter, Deadline deadline) {
+        synchronized (this) {
+            if (!queue.remove(waiter)) {
+                return;
+            }
+        }
+        rejected(waiter.priority, "timeout");
+        waiter.future.completeExceptionally(new LlmException(deadline.isExpired()
+                ? GPTErrorStatus.GPT_DEADLINE_EXCEEDED
+                : GPTErrorStatus.GPT_RATE_LIMITED));
+    }
+
+    private void admitted(LlmCallOptions.Priority priority, long waitNanos) {
+        Timer.builder("ai.llm.ratelimit.wait")
+                .tag("endpoint", endpoint)
+                .tag("priority", priority.name().toLowerCase())
+                .description("호출 한도로 대기한 시간 (허가된 요청)")
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void rejected(LlmCallOptions.Priority priority, String reason) {
+        Counter.builder("ai.llm.ratelimit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .description("호출 한도로 거절한 LLM 요청 수 (queue-full: 대기열 가득 참, evicted: 높은 우선순위에 밀림, timeout: 대기 시간 초과)")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static final class Waiter {
+
+        private final int tokens;
+        private final LlmCallOptions.Priority priority;
+        private final long sequence;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Waiter(int tokens, LlmCallOptions.Priority priority, long sequence) {
+            this.tokens = tokens;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * OpenAI Chat Completions API 클라이언트 (JDK HttpClient 기반 비동기 구현)
+ *
+ * - 요청 스레드를 막지 않는다. 응답은 HttpClient 내부 스레드에서 future로 전달된다.
+ * - 하나의 HttpClient를 공유하여 연결을 재사용한다(keep-alive). HTTP/2를 우선 사용하고,
+ *   서버가 지원하지 않으면 HTTP/1.1로 내려간다. HTTP/2는 연결 하나에 여러 요청을 다중화한다.
+ * - 타임아웃은 세 단계로 나눈다.
+ *   연결(connect) / 응답(response, 요청 전송 후 응답 수신까지) / 전체(total, 동시 실행 허가 대기 포함)
+ * - 동시에 LLM으로 나가는 요청 수를 max-in-flight로 제한하고, 초과분은 스레드 없이 대기열에서 기다린다.
+ * - 요청 마감 시각(Deadline)이 전체 타임아웃보다 먼저 오면 마감 시각까지만 기다린다.
+ * - 반환한 future를 취소하면 허가 대기나 전송 중인 요청을 중단한다.
+ * - API 키가 없으면 빈을 만들지 않는다. (로컬 스텁 제공자만으로 실행 가능, LlmClientConfig 참고)
+ * - forModel()로 연결과 동시 실행 한도를 공유하면서 모델만 다른 클라이언트를 만들 수 있다.
+ */
+@Slf4j
+@Service
+@ConditionalOnExpression("!'${ai.openai.api-key:}'.isBlank()")
+public class OpenAiLlmClient implements LlmClient {
+
+    /**
+     * HTTP/1.1 연결 풀 크기와 유휴 연결 유지 시간은 JDK HttpClient가 시스템 프로퍼티로만 받는다.
+     * 첫 HttpClient가 만들어질 때 읽히므로 클라이언트 생성 전에 설정한다(이미 지정되어 있으면 유지).
+     */
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    private static final String PROVIDER = "openai";
+
+    private final String model;
+    private final Integer maxTokens;
+    private final Double temperature;
+    private final URI completionsUri;
+    private final String authorization;
+    private final Duration responseTimeout;
+    private final long totalTimeoutMillis;
+
+    private final HttpClient httpClient;
+    private final AsyncPermits permits;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public OpenAiLlmClient(
+            @Value("${ai.openai.api-key}") String apiKey,
+            @Value("${ai.openai.model:gpt-4}") String model,
+            @Value("${ai.openai.max-tokens:500}") Integer maxTokens,
+            @Value("${ai.openai.temperature:0.7}") Double temperature,
+            @Value("${ai.openai.base-url:https://api.openai.com/v1}") String baseUrl,
+            @Value("${ai.openai.http.connect-timeout-ms:5000}") long connectTimeoutMillis,
+            @Value("${ai.openai.http.response-timeout-ms:60000}") long responseTimeoutMillis,
+            @Value("${ai.openai.http.total-timeout-ms:90000}") long totalTimeoutMillis,
+            @Value("${ai.openai.http.max-in-flight:64}") int maxInFlight,
+            @Value("${ai.openai.http.http2:true}") boolean http2,
+            @Value("${ai.openai.http.connection-pool-size:0}") int connectionPoolSize,
+            @Value("${ai.openai.http.keep-alive-seconds:30}") int keepAliveSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        // API 키 필수 검증
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("OpenAI API 키가 설정되지 않았습니다. application.yml에 ai.openai.api-key를 설정해주세요.");
+        }
+
+        this.model = model;
+        this.maxTokens = maxTokens;
+        this.temperature = temperature;
+        this.completionsUri = URI.create(baseUrl.replaceAll("/+$", "") + "/chat/completions");
+        this.authorization = "Bearer " + apiKey;
+        this.responseTimeout = Duration.ofMillis(Math.max(1, responseTimeoutMillis));
+        this.totalTimeoutMillis = Math.max(1, totalTimeoutMillis);
+        this.permits = new AsyncPermits(maxInFlight);
+        this.meterRegistry = meterRegistry;
+
+        // 0이면 JDK 기본값(무제한) 유지
+        if (connectionPoolSize > 0 && System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, String.valueOf(connectionPoolSize));
+        }
+        if (System.getProperty(KEEPALIVE_PROPERTY) == null) {
+            System.setProperty(KEEPALIVE_PROPERTY, String.valueOf(Math.max(1, keepAliveSeconds)));
+        }
+
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(Math.max(1, connectTimeoutMillis)))
+                .build();
+
+        Gauge.builder("ai.llm.in-flight", permits, AsyncPermits::inUse)
+                .tag("provider", PROVIDER)
+                .description("LLM으로 전송 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.queued", permits, AsyncPermits::waiting)
+                .tag("provider", PROVIDER)
+                .description("동시 실행 한도로 대기 중인 LLM 요청 수")
+                .register(meterRegistry);
+
+        log.info("OpenAI API 클라이언트 초기화 완료: model={}, baseUrl={}, http2={}, maxInFlight={}",
+                model, baseUrl, http2, maxInFlight);
+    }
+
+    private OpenAiLlmClient(OpenAiLlmClient base, String model) {
+        this.model = model;
+        this.maxTokens = base.maxTokens;
+        this.temperature = base.temperature;
+        this.completionsUri = base.completionsUri;
+        this.authorization = base.authorization;
+        this.responseTimeout = base.responseTimeout;
+        this.totalTimeoutMillis = base.totalTimeoutMillis;
+        this.httpClient = base.httpClient;
+        this.permits = base.permits;
+        this.meterRegistry = base.meterRegistry;
+    }
+
+    /**
+     * 같은 API 키/연결/동시 실행 한도를 쓰면서 다른 모델로 요청하는 클라이언트를 만든다.
+     * (예: appId 결정용 빠른 모델)
+     */
+    public OpenAiLlmClient forModel(String model) {
+        return this.model.equals(model) ? this : new OpenAiLlmClient(this, model);
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+        return send(systemPrompt, userPrompt, false, options.deadline(),
+                responseInfo -> HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                this::extractContent);
+    }
+
+    @Override
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Consumer<String> onDelta) {
+        // 오류 응답은 SSE가 아니므로 본문 전체를 문자열로 받아 오류 메시지에 사용한다
+        HttpResponse.BodyHandler<String> handler = responseInfo -> isSuccess(responseInfo.statusCode())
+                ? CompletionChunkSubscriber.bodySubscriber(objectMapper, onDelta)
+                : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+
+        return send(systemPrompt, userPrompt, true, options.deadline(), handler, response -> {
+            checkStatus(response);
+            if (response.body().isBlank()) {
+                throw new LlmException(GPTErrorStatus.GPT_RESPONSE_EMPTY, response.statusCode(), null);
+            }
+            return response.body();
+        });
+    }
+
+    /**
+     * 동시 실행 허가를 얻어 요청을 보내고, 전체 타임아웃(마감 시각이 더 이르면 마감 시각)과 실패 변환을 적용한다.
+     */
+    private CompletableFuture<String> send(String systemPrompt, String userPrompt, boolean stream, Deadline deadline,
+                                           HttpResponse.BodyHandler<String> bodyHandler,
+                                           Function<HttpResponse<String>, String> extractor) {
+        long startedAt = System.nanoTime();
+        String mode = stream ? "stream" : "complete";
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(new LlmException(GPTErrorStatus.GPT_DEADLINE_EXCEEDED));
+        }
+        long timeoutMillis = Math.max(1, deadline.capMillis(totalTimeoutMillis));
+        HttpRequest request;
+        try {
+            request = buildRequest(systemPrompt, userPrompt, stream);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new LlmException(GPTErrorStatus.GPT_API_ERROR, 0, e));
+        }
+
+        // 1. 동시 실행 허가 대기 (전체 타임아웃 안에서)
+        CompletableFuture<Void> permit = permits.acquire();
+        permit.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        permits.abandon(permit);
+                    }
+                });
+
+        // 2. 허가를 얻으면 전송, 응답이 오거나 실패하면 허가 반납
+        AtomicReference<CompletableFuture<HttpResponse<String>>> exchangeRef = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<String> result = permit.thenCompose(ignored -> {
+            log.debug("OpenAI API 호출 시작: model={}, mode={}", model, mode);
+            CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(request, bodyHandler);
+            exchangeRef.set(exchange);
+            exchange.whenComplete((response, error) -> permits.release());
+            if (cancelled.get()) {
+                exchange.cancel(true);
+            }
+            return exchange.thenApply(extractor);
+        });
+
+        // 3. 전체 타임아웃 (남은 시간 기준), 초과 시 전송 중인 요청도 취소
+        long remainingMillis = Math.max(1, timeoutMillis - elapsedMillis(startedAt));
+        CompletableFuture<String> outcome = result.orTimeout(remainingMillis, TimeUnit.MILLISECONDS)
+                .handle((content, error) -> {
+                    if (cancelled.get()) {
+                        record(startedAt, mode, "cancelled");
+                        log.debug("OpenAI API 호출 취소: mode={}", mode);
+                        throw new CancellationException();
+                    }
+                    if (error == null) {
+                        record(startedAt, mode, "success");
+                        log.info("OpenAI API 호출 성공: mode={}, 응답 길이={}자", mode, content.length());
+                        return content;
+                    }
+                    // 전체 타임아웃 등으로 포기한 요청은 전송을 중단하여 연결과 허가를 돌려받는다
+                    CompletableFuture<HttpResponse<String>> exchange = exchangeRef.get();
+                    if (exchange != null) {
+                        exchange.cancel(true);
+                    }
+                    LlmException failure = toLlmException(error, deadline);
+                    record(startedAt, mode, failure.getCode() == GPTErrorStatus.GPT_API_ERROR
+                            || failure.getCode() == GPTErrorStatus.GPT_RESPONSE_EMPTY ? "error" : "timeout");
+                    log.error("OpenAI API 호출 실패: mode={}, {}", mode, failure.getCode().getReason().getMessage(), failure.getCause());
+                    throw failure;
+                });
+
+        // 4. 호출자가 결과를 취소하면(헤징에서 진 요청 등) 허가 대기나 전송을 중단한다
+        outcome.whenComplete((content, error) -> {
+            if (!outcome.isCancelled()) {
+                return;
+            }
+            cancelled.set(true);
+            permit.cancel(false);
+            CompletableFuture<HttpResponse<String>> exchange = exchangeRef.get();
+            if (exchange != null) {
+                exchange.cancel(true);
+            }
+        });
+        return outcome;
+    }
+
+    private HttpRequest buildRequest(String systemPrompt, String userPrompt, boolean stream) throws Exception {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        ArrayNode messages = body.putArray("messages");
+        messages.addObject().put("role", "system").put("content", systemPrompt);
+        messages.addObject().put("role", "user").put("content", userPrompt);
+        if (maxTokens != null) {
+            body.put("max_tokens", maxTokens);
+        }
+        if (temperature != null) {
+            body.put("temperature", temperature);
+        }
+        if (stream) {
+            body.put("stream", true);
+        }
+
+        return HttpRequest.newBuilder(completionsUri)
+                .timeout(responseTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    /**
+     * 응답 본문에서 첫 번째 choice의 메시지 내용을 꺼낸다.
+     */
+    private String extractContent(HttpResponse<String> response) {
+        checkStatus(response);
+        int status = response.statusCode();
+
+        JsonNode content;
+        try {
+            content = objectMapper.readTree(response.body()).path("choices").path(0).path("message").path("content");
+        } catch (Exception e) {
+            throw new LlmException(GPTErrorStatus.GPT_API_ERROR, status, e);
+        }
+        if (!content.isTextual() || content.asText().isBlank()) {
+            throw new LlmException(GPTErrorStatus.GPT_RESPONSE_EMPTY, status, null);
+        }
+        return content.asText();
+    }
+
+    private static void checkStatus(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (!isSuccess(status)) {
+            throw new LlmException(GPTErrorStatus.GPT_API_ERROR, status,
+                    new IllegalStateException("OpenAI API 오류 응답: HTTP " + status + " " + abbreviate(response.body())));
+        }
+    }
+
+    private static boolean isSuccess(int status) {
+        return status / 100 == 2;
+    }
+
+    /**
+     * future 실패 원인을 LlmException으로 변환한다.
+     */
+    private static LlmException toLlmException(Throwable error, Deadline deadline) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof LlmException llmException) {
+            return llmException;
+        }
+        if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+            // 설정된 타임아웃이 아니라 요청 마감 시각 때문에 포기한 경우를 구분한다 (재시도 대상이 아님)
+            return new LlmException(deadline.isExpired()
+                    ? GPTErrorStatus.GPT_DEADLINE_EXCEEDED
+                    : GPTErrorStatus.GPT_RESPONSE_TIMEOUT, 0, cause);
+        }
+        return new LlmException(GPTErrorStatus.GPT_API_ERROR, 0, cause);
+    }
+
+    private void record(long startedAt, String mode, String outcome) {
+        Timer.builder("ai.llm.requests")
+                .tag("provider", PROVIDER)
+                .tag("model", model)
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .description("LLM 요청 처리 시간 (허가 대기 포함)")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    private static String abbreviate(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+}
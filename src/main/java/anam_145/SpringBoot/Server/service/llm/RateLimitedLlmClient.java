@@ -0,0 +1,109 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * LLM 엔드포인트의 분당 요청 수/토큰 수 한도 안에서만 호출을 보내는 LlmClient 데코레이터
+ *
+ * 제공자 한도(429)에 걸린 뒤 재시도하는 대신, 보내기 전에 로컬에서 한도를 지키고 초과분은 우선순위 대기열에 세운다.
+ * 사용자 요청(INTERACTIVE)은 백그라운드 작업보다 먼저 허가되며, 대기열이 넘치면 GPT_RATE_LIMITED로 바로 실패한다.
+ * 토큰 수는 시스템/사용자 프롬프트 토큰에 최대 응답 토큰을 더해 추정한다.
+ * 헤징/재시도로 보내는 추가 요청도 한도에 포함되도록 가장 안쪽(실제 클라이언트 바로 바깥)에 둔다.
+ */
+public class RateLimitedLlmClient implements LlmClient {
+
+    /**
+     * 호출 한도 정책
+     *
+     * @param requestsPerMinute 분당 요청 수 한도
+     * @param tokensPerMinute 분당 토큰 수 한도
+     * @param burstSeconds 한가할 때 쌓아 둘 수 있는 한도 (초 단위)
+     * @param queueCapacity 대기열 최대 길이
+     * @param maxQueueWaitMillis 대기열 최대 대기 시간 (ms)
+     * @param completionTokens 호출마다 더할 응답 토큰 추정치 (보통 max-tokens)
+     */
+    public record RateLimitPolicy(long requestsPerMinute, long tokensPerMinute, double burstSeconds,
+                                  int queueCapacity, long maxQueueWaitMillis, int completionTokens) {
+    }
+
+    private final LlmClient delegate;
+    private final LlmRateLimiter limiter;
+    private final TokenCounter tokenCounter;
+    private final int completionTokens;
+
+    public RateLimitedLlmClient(LlmClient delegate, String endpoint, RateLimitPolicy policy,
+                                TokenCounter tokenCounter, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.limiter = new LlmRateLimiter(endpoint, policy.requestsPerMinute(), policy.tokensPerMinute(),
+                policy.burstSeconds(), policy.queueCapacity(), policy.maxQueueWaitMillis(), meterRegistry);
+        this.tokenCounter = tokenCounter;
+        this.completionTokens = Math.max(0, policy.completionTokens());
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+        return admit(systemPrompt, userPrompt, options, () -> delegate.complete(systemPrompt, userPrompt, options));
+    }
+
+    @Override
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Consumer<String> onDelta) {
+        return admit(systemPrompt, userPrompt, options,
+                () -> delegate.stream(systemPrompt, userPrompt, options, onDelta));
+    }
+
+    /**
+     * 허가를 받은 뒤 호출한다. 반환한 future가 취소되면 대기 중이면 대기열에서 빠지고, 호출 중이면 호출을 취소한다.
+     */
+    private CompletableFuture<String> admit(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Supplier<CompletableFuture<String>> call) {
+        int tokens = tokenCounter.count(systemPrompt) + tokenCounter.count(userPrompt) + completionTokens;
+        CompletableFuture<Void> permit = limiter.acquire(tokens, options.priority(), options.deadline());
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> current = new AtomicReference<>();
+        result.whenComplete((content, error) -> {
+            if (!result.isCancelled()) {
+                return;
+            }
+            permit.cancel(false);
+            CompletableFuture<String> running = current.get();
+            if (running != null) {
+                running.cancel(true);
+            }
+        });
+
+        permit.whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<String> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            current.set(future);
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+            future.whenComplete((content, failure) -> {
+                if (failure == null) {
+                    result.complete(content);
+                } else {
+                    result.completeExceptionally(failure);
+                }
+            });
+        });
+        return result;
+    }
+}
@@ -0,0 +1,240 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * LLM 엔드포인트 하나에 재시도, 회로 차단, 마감 시각을 적용하는 LlmClient 데코레이터
+ *
+ * - 재시도: 엔드포인트 장애(타임아웃, 연결 실패, 429/5xx)만 최대 max-attempts회까지 다시 보낸다.
+ *   대기 시간은 지수적으로 늘리되 [0, 상한] 사이에서 무작위로 골라(full jitter) 동시에 실패한 요청이 한꺼번에 몰리지 않게 한다.
+ *   대기 후 남은 시간이 min-attempt-ms보다 짧으면 재시도하지 않고 마지막 오류를 돌려준다.
+ * - 스트리밍은 텍스트 조각을 하나라도 전달한 뒤에는 재시도하지 않는다 (이미 보낸 단계를 중복 전달하지 않도록)
+ * - 회로 차단: 엔드포인트별 CircuitBreaker가 OPEN이면 호출하지 않고 GPT_CIRCUIT_OPEN으로 바로 실패한다.
+ * - 마감 시각: 재시도 대기를 포함한 전체 시간이 요청 마감 시각을 넘지 않으며, 지나면 GPT_DEADLINE_EXCEEDED로 실패한다.
+ * 대기 중에 스레드를 점유하지 않는다 (재시도는 지연 실행기로 예약).
+ */
+@Slf4j
+public class ResilientLlmClient implements LlmClient {
+
+    /**
+     * 재시도 정책
+     *
+     * @param maxAttempts 최대 시도 횟수 (첫 호출 포함, 1이면 재시도 안 함)
+     * @param initialBackoffMillis 첫 재시도 대기 상한 (ms, 시도마다 두 배)
+     * @param maxBackoffMillis 재시도 대기 상한의 최댓값 (ms)
+     * @param minAttemptMillis 재시도하려면 대기 후 남아 있어야 하는 최소 시간 (ms)
+     */
+    public record RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, long minAttemptMillis) {
+    }
+
+    private final LlmClient delegate;
+    private final String endpoint;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter retryCounter;
+    private final Counter rejectedCounter;
+    private final Counter deadlineCounter;
+
+    /**
+     * @param delegate 실제 호출을 수행할 클라이언트
+     * @param endpoint 엔드포인트 이름 (회로 차단기 단위, 메트릭 태그)
+     * @param retryPolicy 재시도 정책
+     * @param circuitBreaker 이 엔드포인트의 회로 차단기
+     * @param meterRegistry 메트릭 레지스트리
+     */
+    public ResilientLlmClient(LlmClient delegate, String endpoint, RetryPolicy retryPolicy,
+                              CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.endpoint = endpoint;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+
+        this.retryCounter = Counter.builder("ai.llm.retries")
+                .tag("endpoint", endpoint)
+                .description("엔드포인트 장애로 다시 보낸 LLM 요청 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ai.llm.circuit.rejected")
+                .tag("endpoint", endpoint)
+                .description("회로 차단(OPEN)으로 보내지 않고 거절한 LLM 요청 수")
+                .register(meterRegistry);
+        this.deadlineCounter = Counter.builder("ai.llm.deadline-exceeded")
+                .tag("endpoint", endpoint)
+                .description("요청 마감 시각이 지나 포기한 LLM 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("endpoint", endpoint)
+                .description("LLM 회로 차단기 상태 (0: CLOSED, 1: HALF_OPEN, 2: OPEN)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+        return execute("complete", options.deadline(), () -> delegate.complete(systemPrompt, userPrompt, options),
+                () -> true);
+    }
+
+    @Override
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Consumer<String> onDelta) {
+        AtomicBoolean delivered = new AtomicBoolean();
+        return execute("stream", options.deadline(), () -> delegate.stream(systemPrompt, userPrompt, options,
+                delta -> {
+                    delivered.set(true);
+                    onDelta.accept(delta);
+                }), () -> !delivered.get());
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 첫 시도를 시작하고, 실패하면 정책에 따라 재시도를 예약한다.
+     * 반환한 future가 취소되면 진행 중인 시도도 취소한다.
+     */
+    private CompletableFuture<String> execute(String mode, Deadline deadline,
+                                              Supplier<CompletableFuture<String>> call,
+                                              BooleanSupplier retryAllowed) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> current = new AtomicReference<>();
+        result.whenComplete((content, error) -> {
+            CompletableFuture<String> attempt = current.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        attempt(1, mode, deadline, call, retryAllowed, result, current);
+        return result;
+    }
+
+    private void attempt(int attempt, String mode, Deadline deadline,
+                         Supplier<CompletableFuture<String>> call, BooleanSupplier retryAllowed,
+                         CompletableFuture<String> result, AtomicReference<CompletableFuture<String>> current) {
+        if (result.isDone()) {
+            return;
+        }
+        if (deadline.isExpired()) {
+            deadlineCounter.increment();
+            result.completeExceptionally(new LlmException(GPTErrorStatus.GPT_DEADLINE_EXCEEDED));
+            return;
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCounter.increment();
+            log.warn("LLM 회로 차단 중 호출 거절: endpoint={}, mode={}", endpoint, mode);
+            result.completeExceptionally(new LlmException(GPTErrorStatus.GPT_CIRCUIT_OPEN));
+            return;
+        }
+
+        CompletableFuture<String> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        current.set(future);
+        if (result.isCancelled()) {
+            future.cancel(true);
+        }
+
+        future.whenComplete((content, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                result.complete(content);
+                return;
+            }
+            if (unwrap(error) instanceof CancellationException) {
+                circuitBreaker.onIgnored();
+                result.completeExceptionally(error);
+                return;
+            }
+
+            LlmException failure = toLlmException(error);
+            if (!isEndpointFailure(failure)) {
+                circuitBreaker.onIgnored();
+                if (failure.getCode() == GPTErrorStatus.GPT_DEADLINE_EXCEEDED) {
+                    deadlineCounter.increment();
+                }
+                result.completeExceptionally(failure);
+                return;
+            }
+            circuitBreaker.onFailure();
+
+            long backoffMillis = backoffMillis(attempt);
+            if (attempt >= retryPolicy.maxAttempts() || !retryAllowed.getAsBoolean()
+                    || deadline.remainingMillis() < backoffMillis + retryPolicy.minAttemptMillis()) {
+                result.completeExceptionally(failure);
+                return;
+            }
+
+            retryCounter.increment();
+            log.warn("LLM 호출 실패, {}ms 후 재시도 ({}/{}): endpoint={}, mode={}, code={}, status={}",
+                    backoffMillis, attempt + 1, retryPolicy.maxAttempts(), endpoint, mode,
+                    failure.getCode().getReason().getCode(), failure.getStatusCode());
+            CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> attempt(attempt + 1, mode, deadline, call, retryAllowed, result, current));
+        });
+    }
+
+    /**
+     * attempt번째 시도가 실패한 뒤의 대기 시간: [0, min(max, initial * 2^(attempt-1))] 사이 무작위 (full jitter)
+     */
+    private long backoffMillis(int attempt) {
+        long ceiling = retryPolicy.initialBackoffMillis() << Math.min(attempt - 1, 20);
+        ceiling = Math.min(retryPolicy.maxBackoffMillis(), Math.max(0, ceiling));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * 엔드포인트 장애로 볼 실패인지 판단한다. (재시도 및 회로 차단 판정 대상)
+     * 응답 없음(타임아웃, 연결 오류)과 429/5xx 응답이 해당하며,
+     * 4xx 응답, 빈 응답, 마감 시각 초과, 호출자 콜백 예외는 다시 보내도 결과가 같으므로 제외한다.
+     */
+    static boolean isEndpointFailure(LlmException failure) {
+        if (failure.getCode() == GPTErrorStatus.GPT_RESPONSE_TIMEOUT) {
+            return true;
+        }
+        if (failure.getCode() != GPTErrorStatus.GPT_API_ERROR) {
+            return false;
+        }
+        int status = failure.getStatusCode();
+        if (status == 0) {
+            return failure.getCause() instanceof IOException;
+        }
+        return status == 408 || status == 429 || status >= 500;
+    }
+
+    private static LlmException toLlmException(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof LlmException llmException) {
+            return llmException;
+        }
+        return new LlmException(GPTErrorStatus.GPT_API_ERROR, 0, cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
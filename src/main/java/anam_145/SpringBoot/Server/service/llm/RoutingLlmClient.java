@@ -0,0 +1,230 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 호출 용도(LlmCallOptions.Task)에 따라 LLM 제공자를 고르고, 제공자 장애 시 다음 제공자로 넘기는 LlmClient
+ *
+ * - 용도마다 제공자 후보 목록(라우팅 규칙)을 두고 앞에서부터 사용한다. (예: appId 결정은 빠른 모델, 단계 시퀀스는 정확한 모델)
+ * - 회로가 열린 등 비정상 제공자는 후보 목록 뒤로 보낸다. (모두 비정상이면 원래 순서대로 시도)
+ * - 제공자 장애(회로 차단, 호출 한도 초과, 타임아웃, 연결 실패, 429/5xx)로 실패하면 마감 시각 안에서 다음 후보로 보낸다.
+ *   스트리밍은 텍스트 조각을 하나라도 전달한 뒤에는 넘기지 않는다.
+ * - 제공자별 처리 시간과 결과(ai.llm.provider.requests), 장애 전환 횟수(ai.llm.provider.failovers)를 기록한다.
+ * 제공자마다 재시도/회로 차단(ResilientLlmClient)을 따로 두므로, 장애 전환은 한 제공자의 재시도가 끝난 뒤 일어난다.
+ */
+@Slf4j
+public class RoutingLlmClient implements LlmClient {
+
+    /**
+     * 등록된 LLM 제공자
+     *
+     * @param name 제공자 이름 (라우팅 규칙과 메트릭 태그에 사용)
+     * @param client 제공자 클라이언트
+     * @param healthy 현재 정상인지 (회로가 열려 있으면 false)
+     */
+    public record Provider(String name, LlmClient client, BooleanSupplier healthy) {
+    }
+
+    private final Map<LlmCallOptions.Task, List<Provider>> routes = new EnumMap<>(LlmCallOptions.Task.class);
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param providers 등록된 제공자
+     * @param rules 용도별 제공자 이름 목록 (등록되지 않은 이름은 무시, 비어 있으면 GENERAL 규칙, 그것도 비어 있으면 전체 제공자)
+     */
+    public RoutingLlmClient(List<Provider> providers, Map<LlmCallOptions.Task, List<String>> rules,
+                            MeterRegistry meterRegistry) {
+        if (providers.isEmpty()) {
+            throw new IllegalStateException("사용 가능한 LLM 제공자가 없습니다. ai.openai.api-key를 설정하거나 ai.llm.stub.enabled를 켜 주세요.");
+        }
+        this.meterRegistry = meterRegistry;
+
+        Map<String, Provider> byName = new LinkedHashMap<>();
+        for (Provider provider : providers) {
+            byName.put(provider.name(), provider);
+            Gauge.builder("ai.llm.provider.healthy", provider, p -> p.healthy().getAsBoolean() ? 1 : 0)
+                    .tag("provider", provider.name())
+                    .description("LLM 제공자 정상 여부 (1: 정상, 0: 회로 차단 중)")
+                    .register(meterRegistry);
+        }
+
+        List<Provider> fallback = resolve(rules.get(LlmCallOptions.Task.GENERAL), byName);
+        if (fallback.isEmpty()) {
+            fallback = List.copyOf(byName.values());
+        }
+        for (LlmCallOptions.Task task : LlmCallOptions.Task.values()) {
+            List<Provider> route = resolve(rules.get(task), byName);
+            routes.put(task, route.isEmpty() ? fallback : route);
+            log.info("LLM 라우팅 규칙: task={}, providers={}", task.key(),
+                    routes.get(task).stream().map(Provider::name).toList());
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+        return execute("complete", options, provider -> provider.client().complete(systemPrompt, userPrompt, options),
+                () -> true);
+    }
+
+    @Override
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Consumer<String> onDelta) {
+        AtomicBoolean delivered = new AtomicBoolean();
+        return execute("stream", options, provider -> provider.client().stream(systemPrompt, userPrompt, options,
+                delta -> {
+                    delivered.set(true);
+                    onDelta.accept(delta);
+                }), () -> !delivered.get());
+    }
+
+    /**
+     * 용도의 후보 제공자 (정상인 제공자 먼저, 각 그룹 안에서는 규칙 순서)
+     */
+    private List<Provider> candidates(LlmCallOptions.Task task) {
+        List<Provider> candidates = new ArrayList<>(routes.get(task));
+        candidates.sort(Comparator.comparing(provider -> !provider.healthy().getAsBoolean()));
+        return candidates;
+    }
+
+    /**
+     * 첫 후보로 호출하고, 제공자 장애로 실패하면 다음 후보로 넘긴다.
+     * 반환한 future가 취소되면 진행 중인 호출도 취소한다.
+     */
+    private CompletableFuture<String> execute(String mode, LlmCallOptions options,
+                                              Function<Provider, CompletableFuture<String>> call,
+                                              BooleanSupplier failoverAllowed) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> current = new AtomicReference<>();
+        result.whenComplete((content, error) -> {
+            CompletableFuture<String> attempt = current.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        attempt(0, candidates(options.task()), mode, options, call, failoverAllowed, result, current);
+        return result;
+    }
+
+    private void attempt(int index, List<Provider> candidates, String mode, LlmCallOptions options,
+                         Function<Provider, CompletableFuture<String>> call, BooleanSupplier failoverAllowed,
+                         CompletableFuture<String> result, AtomicReference<CompletableFuture<String>> current) {
+        if (result.isDone()) {
+            return;
+        }
+        Provider provider = candidates.get(index);
+        long startedAt = System.nanoTime();
+
+        CompletableFuture<String> future;
+        try {
+            future = call.apply(provider);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        current.set(future);
+        if (result.isCancelled()) {
+            future.cancel(true);
+        }
+
+        future.whenComplete((content, error) -> {
+            if (error == null) {
+                record(provider, options.task(), mode, "success", startedAt);
+                result.complete(content);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof CancellationException) {
+                record(provider, options.task(), mode, "cancelled", startedAt);
+                result.completeExceptionally(error);
+                return;
+            }
+            record(provider, options.task(), mode, "error", startedAt);
+
+            if (index + 1 >= candidates.size() || !isProviderFailure(cause) || !failoverAllowed.getAsBoolean()
+                    || options.deadline().isExpired()) {
+                result.completeExceptionally(error);
+                return;
+            }
+            Provider next = candidates.get(index + 1);
+            Counter.builder("ai.llm.provider.failovers")
+                    .tag("task", options.task().key())
+                    .tag("from", provider.name())
+                    .tag("to", next.name())
+                    .description("제공자 장애로 다음 LLM 제공자에 넘긴 요청 수")
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("LLM 제공자 장애, 다음 제공자로 전환: task={}, mode={}, {} -> {}, code={}",
+                    options.task().key(), mode, provider.name(), next.name(),
+                    ((LlmException) cause).getCode().getReason().getCode());
+            attempt(index + 1, candidates, mode, options, call, failoverAllowed, result, current);
+        });
+    }
+
+    /**
+     * 다른 제공자에 보내면 성공할 수 있는 실패인지 판단한다.
+     * 제공자 자체의 장애(ResilientLlmClient.isEndpointFailure)와 회로 차단, 로컬 호출 한도 초과가 해당한다.
+     */
+    static boolean isProviderFailure(Throwable cause) {
+        if (!(cause instanceof LlmException failure)) {
+            return false;
+        }
+        return failure.getCode() == GPTErrorStatus.GPT_CIRCUIT_OPEN
+                || failure.getCode() == GPTErrorStatus.GPT_RATE_LIMITED
+                || ResilientLlmClient.isEndpointFailure(failure);
+    }
+
+    private void record(Provider provider, LlmCallOptions.Task task, String mode, String outcome, long startedAt) {
+        Timer.builder("ai.llm.provider.requests")
+                .tag("provider", provider.name())
+                .tag("task", task.key())
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .description("LLM 제공자별 요청 처리 시간 (재시도/대기 포함)")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private static List<Provider> resolve(List<String> names, Map<String, Provider> byName) {
+        if (names == null) {
+            return List.of();
+        }
+        List<Provider> route = new ArrayList<>();
+        for (String name : names) {
+            Provider provider = byName.get(name.trim());
+            if (provider != null && !route.contains(provider)) {
+                route.add(provider);
+            }
+        }
+        return List.copyOf(route);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
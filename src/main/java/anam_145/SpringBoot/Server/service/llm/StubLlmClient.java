@@ -0,0 +1,157 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 외부 API 없이 정해진 응답을 돌려주는 로컬 LLM 제공자 (부하 테스트, CI용)
+ *
+ * - 같은 입력에는 항상 같은 응답을 돌려준다.
+ *   재생 파일의 항목을 순서대로 보고, 용도가 맞고 사용자 프롬프트에 contains 문자열이 있는 첫 항목의 응답을 쓴다.
+ *   맞는 항목이 없으면 용도별 기본 응답을 쓴다. (단계 시퀀스는 0번 요소 한 단계, appId 결정은 설정한 appId)
+ * - 응답은 latency-ms만큼 지난 뒤 완료되며(스레드를 막지 않음), 스트리밍은 chunk-chars 글자씩 나누어 전달한다.
+ * - 마감 시각이 지연 시간보다 먼저 오면 실제 제공자처럼 GPT_DEADLINE_EXCEEDED로 실패한다.
+ */
+@Slf4j
+public class StubLlmClient implements LlmClient {
+
+    static final String DEFAULT_STEP_SEQUENCE =
+            "{\"steps\":[{\"stepNumber\":1,\"elementIndex\":0,\"message\":\"테스트 응답입니다. 첫 번째 요소를 눌러 주세요.\"}]}";
+    static final String DEFAULT_RESPONSE = "테스트 응답입니다.";
+
+    /**
+     * 재생 항목
+     *
+     * @param task 적용할 호출 용도 (null이면 모든 용도)
+     * @param contains 사용자 프롬프트에 포함되어야 하는 문자열 (null이면 항상 일치)
+     * @param response 돌려줄 응답
+     */
+    public record ReplayEntry(LlmCallOptions.Task task, String contains, String response) {
+
+        boolean matches(LlmCallOptions.Task callTask, String userPrompt) {
+            return (task == null || task == callTask) && (contains == null || userPrompt.contains(contains));
+        }
+    }
+
+    private final List<ReplayEntry> replay;
+    private final String appRoutingResponse;
+    private final long latencyMillis;
+    private final int chunkChars;
+
+    /**
+     * @param replay 재생 항목 (앞쪽 항목 우선)
+     * @param appRoutingResponse 맞는 재생 항목이 없을 때 appId 결정에 돌려줄 appId
+     * @param latencyMillis 응답 지연 시간 (ms)
+     * @param chunkChars 스트리밍 조각 하나의 글자 수
+     */
+    public StubLlmClient(List<ReplayEntry> replay, String appRoutingResponse, long latencyMillis, int chunkChars) {
+        this.replay = List.copyOf(replay);
+        this.appRoutingResponse = appRoutingResponse;
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.chunkChars = Math.max(1, chunkChars);
+        log.info("스텁 LLM 제공자 초기화: replay={}건, latency={}ms", this.replay.size(), this.latencyMillis);
+    }
+
+    /**
+     * JSON Lines 재생 파일을 읽는다.
+     * 한 줄에 {"task": "app-routing", "contains": "이더", "response": "ethereum"} 형식의 항목 하나 (task, contains는 생략 가능)
+     */
+    public static List<ReplayEntry> loadReplay(Path file) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<ReplayEntry> entries = new ArrayList<>();
+        try {
+            int lineNumber = 0;
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.path("response").isTextual()) {
+                    throw new IllegalStateException("스텁 재생 파일 " + lineNumber + "번째 줄에 response가 없습니다: " + file);
+                }
+                entries.add(new ReplayEntry(
+                        parseTask(node.path("task").asText(null)),
+                        node.path("contains").asText(null),
+                        node.path("response").asText()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("스텁 재생 파일을 읽을 수 없습니다: " + file, e);
+        }
+        return entries;
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+        return respond(userPrompt, options, null);
+    }
+
+    @Override
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                            Consumer<String> onDelta) {
+        return respond(userPrompt, options, onDelta);
+    }
+
+    private CompletableFuture<String> respond(String userPrompt, LlmCallOptions options, Consumer<String> onDelta) {
+        Deadline deadline = options.deadline();
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(new LlmException(GPTErrorStatus.GPT_DEADLINE_EXCEEDED));
+        }
+        String response = resolve(options.task(), userPrompt);
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        long remainingMillis = deadline.remainingMillis();
+        if (latencyMillis >= remainingMillis) {
+            CompletableFuture.delayedExecutor(remainingMillis, TimeUnit.MILLISECONDS).execute(() ->
+                    result.completeExceptionally(new LlmException(GPTErrorStatus.GPT_DEADLINE_EXCEEDED)));
+            return result;
+        }
+        CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            try {
+                if (onDelta != null) {
+                    for (int i = 0; i < response.length() && !result.isDone(); i += chunkChars) {
+                        onDelta.accept(response.substring(i, Math.min(response.length(), i + chunkChars)));
+                    }
+                }
+                result.complete(response);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private String resolve(LlmCallOptions.Task task, String userPrompt) {
+        for (ReplayEntry entry : replay) {
+            if (entry.matches(task, userPrompt)) {
+                return entry.response();
+            }
+        }
+        return switch (task) {
+            case APP_ROUTING -> appRoutingResponse;
+            case STEP_SEQUENCE -> DEFAULT_STEP_SEQUENCE;
+            case GENERAL -> DEFAULT_RESPONSE;
+        };
+    }
+
+    private static LlmCallOptions.Task parseTask(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return LlmCallOptions.Task.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
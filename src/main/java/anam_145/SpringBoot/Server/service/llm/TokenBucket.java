@@ -0,0 +1,61 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+/**
+ * 분당 한도를 일정한 속도로 채우는 토큰 버킷
+ *
+ * 용량(capacity)까지만 쌓이므로 한가한 동안 모인 양만큼만 한꺼번에 보낼 수 있다(burst).
+ * 채우기는 조회 시점에 경과 시간만큼 몰아서 한다.
+ * 스레드 안전하지 않으므로 LlmRateLimiter의 락 안에서만 사용한다.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_MINUTE = 60_000_000_000d;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double available;
+    private long refilledAt;
+
+    /**
+     * @param perMinute 분당 한도
+     * @param burstSeconds 용량 (몇 초 분량의 한도를 쌓아 둘 수 있는지)
+     */
+    TokenBucket(long perMinute, double burstSeconds) {
+        this.refillPerNano = Math.max(1, perMinute) / NANOS_PER_MINUTE;
+        this.capacity = Math.max(1, Math.max(1, perMinute) * burstSeconds / 60);
+        this.available = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * amount만큼 쓸 수 있을 때까지 남은 시간을 돌려준다.
+     * 용량보다 큰 요청은 버킷이 가득 찼을 때 통과시킨다. (그렇지 않으면 영원히 대기)
+     *
+     * @return 대기 시간 (ns, 지금 쓸 수 있으면 0)
+     */
+    long nanosUntilAvailable(double amount) {
+        refill();
+        double shortage = Math.min(amount, capacity) - available;
+        return shortage <= 0 ? 0 : (long) Math.ceil(shortage / refillPerNano);
+    }
+
+    /**
+     * amount만큼 쓴다. nanosUntilAvailable(amount)가 0일 때만 호출한다.
+     */
+    void take(double amount) {
+        available = Math.max(0, available - Math.min(amount, capacity));
+    }
+
+    /**
+     * 쓰고 나서 사용하지 못한 양을 되돌린다.
+     */
+    void refund(double amount) {
+        available = Math.min(capacity, available + Math.min(amount, capacity));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - refilledAt) * refillPerNano);
+        refilledAt = now;
+    }
+}
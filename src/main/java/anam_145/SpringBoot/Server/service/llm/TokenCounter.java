@@ -0,0 +1,40 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 프롬프트 토큰 수 계산기
+ *
+ * 설정된 모델(ai.openai.model)의 BPE 인코딩으로 토큰 수를 센다. 인코딩 표는 jtokkit jar에 포함되어 있어 네트워크가 필요 없다.
+ * 모델 이름으로 인코딩을 찾을 수 없으면 GPT-4/GPT-3.5 계열의 cl100k_base를 사용한다.
+ * 특수 토큰(<|endoftext|> 등)도 일반 텍스트로 센다. (사용자 입력에 들어 있어도 예외가 나지 않도록)
+ */
+@Slf4j
+@Component
+public class TokenCounter {
+
+    private final Encoding encoding;
+
+    public TokenCounter(@Value("${ai.openai.model:gpt-4}") String model) {
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(model)
+                .orElseGet(() -> registry.getEncoding(EncodingType.CL100K_BASE));
+        log.info("프롬프트 토큰 계산기 초기화: model={}, encoding={}", model, encoding.getName());
+    }
+
+    /**
+     * 텍스트의 토큰 수
+     */
+    public int count(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return encoding.countTokensOrdinary(text);
+    }
+}
@@ -0,0 +1,72 @@
+package anam_145.SpringBoot.Server.service.navigation;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.ScreenInfo;
+import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
+import anam_145.SpringBoot.Server.repository.ScreenInfoRepository;
+import anam_145.SpringBoot.Server.repository.projection.NavigationSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 인덱싱 시점에 앱의 화면 이동 그래프를 만들어 화면별 최단 경로를 ScreenInfo에 저장하는 컴포넌트
+ *
+ * 증분 인덱싱에서도 바뀌지 않은 화면의 경로가 달라질 수 있으므로(대상 화면 추가/삭제 등) 항상 앱 전체를 다시 계산한다.
+ * 이동 요소만 조회하므로 UI 요소 전체를 로딩하지 않는다.
+ */
+@Slf4j
+@Component
+public class NavigationIndexer {
+
+    /**
+     * entry_path 컬럼 길이 (넘으면 경로를 저장하지 않음)
+     */
+    private static final int MAX_ENTRY_PATH_LENGTH = 1000;
+
+    private final ScreenInfoRepository screenInfoRepository;
+    private final ComposableInfoRepository composableInfoRepository;
+    private final List<String> entryScreens;
+
+    public NavigationIndexer(
+            ScreenInfoRepository screenInfoRepository,
+            ComposableInfoRepository composableInfoRepository,
+            @Value("${ai.navigation.entry-screens:index,main,home}") List<String> entryScreens
+    ) {
+        this.screenInfoRepository = screenInfoRepository;
+        this.composableInfoRepository = composableInfoRepository;
+        this.entryScreens = List.copyOf(entryScreens);
+    }
+
+    /**
+     * 앱의 화면 이동 그래프를 다시 계산하여 각 화면의 진입 경로를 갱신한다.
+     * 인덱스 저장 트랜잭션 안에서 화면/UI 요소 저장이 끝난 뒤 호출한다.
+     *
+     * @param appId MiniApp ID
+     * @return 계산된 그래프
+     */
+    @Transactional
+    public ScreenNavigationGraph rebuild(String appId) {
+        List<ScreenInfo> screens = screenInfoRepository.findByAppId(appId);
+        List<NavigationSource> sources = composableInfoRepository.findNavigationSourcesByAppId(appId);
+
+        ScreenNavigationGraph graph = ScreenNavigationGraph.build(
+                screens.stream().map(ScreenInfo::getName).toList(), sources, entryScreens);
+
+        for (ScreenInfo screen : screens) {
+            List<Long> path = graph.pathTo(screen.getName());
+            screen.updateEntryPath(path);
+            if (screen.getEntryPath() != null && screen.getEntryPath().length() > MAX_ENTRY_PATH_LENGTH) {
+                log.warn("화면 이동 경로가 너무 길어 저장하지 않음: appId={}, screen={}, 이동 {}회",
+                        appId, screen.getName(), path.size());
+                screen.updateEntryPath(null);
+            }
+        }
+
+        log.info("화면 이동 그래프 갱신: appId={}, 진입 화면={}, 화면 {}개 중 도달 가능 {}개, 간선 {}개",
+                appId, graph.getEntryScreen(), screens.size(), graph.getEntryPaths().size(), graph.getEdgeCount());
+        return graph;
+    }
+}
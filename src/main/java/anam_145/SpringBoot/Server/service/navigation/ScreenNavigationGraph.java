@@ -0,0 +1,148 @@
+package anam_145.SpringBoot.Server.service.navigation;
+
+import anam_145.SpringBoot.Server.repository.projection.NavigationSource;
+import anam_145.SpringBoot.Server.util.NavigationTargetExtractor;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * MiniApp 하나의 화면 이동 그래프 (불변 객체)
+ *
+ * 이동 코드(navigateTo('x'), navigateToXxx())를 가진 UI 요소를 "요소가 속한 화면 → 이동 대상 화면" 간선으로 보고,
+ * 진입 화면에서 모든 화면까지의 최단 경로(이동 횟수 기준)를 BFS로 미리 계산한다.
+ * - 같은 길이의 경로가 여러 개면 UI 요소 ID가 작은 간선을 우선하므로, 같은 입력이면 항상 같은 경로가 나온다.
+ * - 진입 화면은 후보 이름(예: index, main, home)과 일치하는 화면을 우선하고,
+ *   없으면 들어오는 간선이 없는 화면 중 나가는 간선이 가장 많은 화면을 고른다.
+ */
+@Getter
+public final class ScreenNavigationGraph {
+
+    private final String entryScreen; // 진입 화면명 (화면이 없으면 null)
+    private final int edgeCount; // 화면 사이를 잇는 간선 수
+    private final Map<String, List<Long>> entryPaths; // 화면명 → 진입 화면부터의 이동 요소 ID (도달 가능한 화면만)
+
+    private ScreenNavigationGraph(String entryScreen, int edgeCount, Map<String, List<Long>> entryPaths) {
+        this.entryScreen = entryScreen;
+        this.edgeCount = edgeCount;
+        this.entryPaths = Collections.unmodifiableMap(entryPaths);
+    }
+
+    /**
+     * 화면 목록과 이동 요소로 그래프를 만들고 최단 경로를 계산한다.
+     *
+     * @param screenNames 앱의 모든 화면명
+     * @param sources 이동 코드를 가진 UI 요소 (ID 순)
+     * @param entryCandidates 진입 화면 후보 이름 (우선순위 순, 대소문자/"Screen"/"Page" 접미사 무시)
+     */
+    public static ScreenNavigationGraph build(Collection<String> screenNames,
+                                              List<NavigationSource> sources,
+                                              List<String> entryCandidates) {
+        List<String> screens = new ArrayList<>(new TreeSet<>(screenNames));
+        if (screens.isEmpty()) {
+            return new ScreenNavigationGraph(null, 0, Map.of());
+        }
+
+        // 1. 간선 구성: 이동 대상을 실제 화면명으로 해석 (자기 자신으로의 이동은 제외)
+        Map<String, List<Edge>> edgesByScreen = new HashMap<>();
+        Map<String, Integer> incoming = new HashMap<>();
+        int edgeCount = 0;
+        for (NavigationSource source : sources) {
+            String target = resolveScreen(NavigationTargetExtractor.extractNextScreen(source.onClickCode()), screens);
+            if (target == null || target.equals(source.screenName())) {
+                continue;
+            }
+            edgesByScreen.computeIfAbsent(source.screenName(), key -> new ArrayList<>())
+                    .add(new Edge(source.elementId(), target));
+            incoming.merge(target, 1, Integer::sum);
+            edgeCount++;
+        }
+        edgesByScreen.values().forEach(edges -> edges.sort((a, b) -> Long.compare(a.elementId(), b.elementId())));
+
+        // 2. 진입 화면 결정 후 BFS
+        String entry = chooseEntry(screens, entryCandidates, edgesByScreen, incoming);
+        return new ScreenNavigationGraph(entry, edgeCount, shortestPaths(entry, edgesByScreen));
+    }
+
+    /**
+     * 화면까지의 이동 경로를 반환한다.
+     *
+     * @return 이동 요소 ID 목록 (진입 화면이면 빈 목록, 도달할 수 없으면 null)
+     */
+    public List<Long> pathTo(String screenName) {
+        return entryPaths.get(screenName);
+    }
+
+    private static String resolveScreen(String target, List<String> screens) {
+        if (target == null) {
+            return null;
+        }
+        for (String screen : screens) {
+            if (NavigationTargetExtractor.pointsTo(target, screen)) {
+                return screen;
+            }
+        }
+        return null;
+    }
+
+    private static String chooseEntry(List<String> screens,
+                                      List<String> entryCandidates,
+                                      Map<String, List<Edge>> edgesByScreen,
+                                      Map<String, Integer> incoming) {
+        for (String candidate : entryCandidates) {
+            String screen = resolveScreen(candidate, screens);
+            if (screen != null) {
+                return screen;
+            }
+        }
+
+        // 후보 이름이 없으면 다른 화면에서 들어오지 않는 화면 중 나가는 간선이 가장 많은 화면
+        String best = null;
+        int bestScore = -1;
+        for (String screen : screens) {
+            int outgoing = edgesByScreen.getOrDefault(screen, List.of()).size();
+            // 들어오는 간선이 없는 화면을 항상 우선한다
+            int score = (incoming.containsKey(screen) ? 0 : 1_000_000) + outgoing;
+            if (score > bestScore) {
+                best = screen;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static Map<String, List<Long>> shortestPaths(String entry, Map<String, List<Edge>> edgesByScreen) {
+        Map<String, List<Long>> paths = new LinkedHashMap<>();
+        paths.put(entry, List.of());
+
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(entry);
+        while (!queue.isEmpty()) {
+            String screen = queue.poll();
+            List<Long> path = paths.get(screen);
+            for (Edge edge : edgesByScreen.getOrDefault(screen, List.of())) {
+                if (paths.containsKey(edge.target())) {
+                    continue;
+                }
+                List<Long> next = new ArrayList<>(path.size() + 1);
+                next.addAll(path);
+                next.add(edge.elementId());
+                paths.put(edge.target(), List.copyOf(next));
+                queue.add(edge.target());
+            }
+        }
+        return paths;
+    }
+
+    private record Edge(long elementId, String target) {
+    }
+}
@@ -0,0 +1,165 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.util.LexicalTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 앱 카탈로그 하나에 대한 BM25 역색인 (불변 객체)
+ *
+ * 문서 하나 = UI 요소 하나이며, text/semanticHint/searchableText/화면명/composableId를 합쳐 색인한다.
+ * searchableText에 text와 semanticHint가 이미 포함되어 있으므로 두 필드는 자연스럽게 가중치가 두 배가 된다.
+ */
+final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Posting> postings;
+    private final int[] documentLengths;
+    private final double averageDocumentLength;
+
+    private Bm25Index(Map<String, Posting> postings, int[] documentLengths) {
+        this.postings = postings;
+        this.documentLengths = documentLengths;
+        this.averageDocumentLength = documentLengths.length == 0
+                ? 0
+                : Arrays.stream(documentLengths).average().orElse(0);
+    }
+
+    static Bm25Index build(List<CatalogElement> elements) {
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        int[] documentLengths = new int[elements.size()];
+
+        for (int doc = 0; doc < elements.size(); doc++) {
+            List<String> tokens = LexicalTokenizer.tokenize(documentText(elements.get(doc)));
+            documentLengths[doc] = tokens.size();
+
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            for (String token : tokens) {
+                termFrequencies.merge(token, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                builders.computeIfAbsent(entry.getKey(), key -> new PostingBuilder()).add(doc, entry.getValue());
+            }
+        }
+
+        Map<String, Posting> postings = new HashMap<>(builders.size() * 2);
+        builders.forEach((term, builder) -> postings.put(term, builder.build()));
+        return new Bm25Index(postings, documentLengths);
+    }
+
+    private static String documentText(CatalogElement element) {
+        StringBuilder text = new StringBuilder();
+        append(text, element.getText());
+        append(text, element.getSemanticHint());
+        append(text, element.getSearchableText());
+        append(text, element.getScreenName());
+        append(text, element.getComposableId());
+        return text.toString();
+    }
+
+    private static void append(StringBuilder text, String value) {
+        if (value != null) {
+            text.append(value).append(' ');
+        }
+    }
+
+    /**
+     * 질문과 관련도가 높은 UI 요소를 점수 순으로 반환한다.
+     *
+     * @param query 사용자 질문
+     * @param limit 최대 개수
+     * @return 점수가 0보다 큰 UI 요소 (점수 내림차순, 동점이면 카탈로그 순서)
+     */
+    List<ScoredElement> search(String query, int limit) {
+        int documentCount = documentLengths.length;
+        if (documentCount == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        double[] scores = new double[documentCount];
+        for (String term : new LinkedHashSet<>(LexicalTokenizer.tokenize(query))) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+
+            int documentFrequency = posting.documents.length;
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < posting.documents.length; i++) {
+                int doc = posting.documents[i];
+                int tf = posting.frequencies[i];
+                double norm = K1 * (1 - B + B * documentLengths[doc] / averageDocumentLength);
+                scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+
+        List<ScoredElement> results = new ArrayList<>();
+        for (int doc = 0; doc < documentCount; doc++) {
+            if (scores[doc] > 0) {
+                results.add(new ScoredElement(doc, scores[doc]));
+            }
+        }
+        results.sort((a, b) -> a.score() != b.score()
+                ? Double.compare(b.score(), a.score())
+                : Integer.compare(a.index(), b.index()));
+        return results.size() > limit ? List.copyOf(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * 질문 단어(공백 기준) 중 색인에 존재하는 단어의 비율
+     * 한글 단어는 bigram 여러 개로 나뉘므로, 단어의 토큰 중 하나라도 색인에 있으면 존재하는 것으로 본다.
+     * 값이 낮으면 질문이 UI 요소 텍스트와 다른 표현을 쓰고 있어 검색 결과를 신뢰하기 어렵다.
+     *
+     * @param query 사용자 질문
+     * @return 0.0 ~ 1.0 (토큰이 있는 단어가 없으면 0.0)
+     */
+    double termCoverage(String query) {
+        int words = 0;
+        int known = 0;
+        for (String word : query.trim().split("\\s+")) {
+            List<String> tokens = LexicalTokenizer.tokenize(word);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            words++;
+            if (tokens.stream().anyMatch(postings::containsKey)) {
+                known++;
+            }
+        }
+        return words == 0 ? 0.0 : (double) known / words;
+    }
+
+    /**
+     * 용어 하나의 역색인 목록 (문서 번호 오름차순)
+     */
+    private record Posting(int[] documents, int[] frequencies) {
+    }
+
+    private static final class PostingBuilder {
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        Posting build() {
+            return new Posting(Arrays.copyOf(documents, size), Arrays.copyOf(frequencies, size));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+
+import java.util.List;
+
+/**
+ * LLM 프롬프트에 넣을 UI 요소 후보 검색 서비스 인터페이스
+ * 앱의 전체 UI 요소 대신 질문과 관련된 요소만 골라 프롬프트 크기와 LLM 지연을 줄인다.
+ */
+public interface CandidateRetrievalService {
+
+    /**
+     * 질문과 관련된 UI 요소 후보를 선택한다.
+     *
+     * @param catalog 앱 카탈로그
+     * @param userQuestion 사용자 질문
+     * @return 후보 선택 결과 (재현율이 낮으면 전체 목록 사용)
+     */
+    CandidateSelection selectCandidates(AppCatalog catalog, String userQuestion);
+
+    /**
+     * 카탈로그의 모든 UI 요소를 질문과의 관련도 순으로 정렬한다.
+     * 전체 목록이 프롬프트 토큰 예산을 넘을 때 어떤 요소를 남길지 정하는 데 사용한다.
+     *
+     * @param catalog 앱 카탈로그
+     * @param userQuestion 사용자 질문
+     * @return 모든 UI 요소 인덱스 (검색된 요소는 관련도 순, 나머지는 카탈로그 순)
+     */
+    List<Integer> rankElements(AppCatalog catalog, String userQuestion);
+}
@@ -0,0 +1,242 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.AppCatalogRefreshedEvent;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.embedding.Embedder;
+import anam_145.SpringBoot.Server.util.NavigationTargetExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+/**
+ * UI 요소 후보 검색 서비스 구현체 (BM25 + 벡터 검색)
+ *
+ * 카탈로그별로 BM25 역색인과 벡터 색인을 한 번 만들어 두고(카탈로그 객체를 키로 약한 참조 보관),
+ * 질문마다 두 검색 결과를 순위 기반으로 합쳐(RRF) 상위 K개 요소와
+ * 그 요소가 있는 화면으로 이동하는 네비게이션 요소를 후보로 선택한다.
+ * (화면 이동 경로가 인덱싱된 앱은 이동 단계를 서버가 채우므로 네비게이션 요소를 추가하지 않는다)
+ * - 색인은 재인덱싱 후 카탈로그가 교체될 때 미리 만들어 두므로 첫 질문이 느려지지 않는다.
+ * - 단어가 겹치지 않아 BM25 재현율이 낮아도 벡터 검색 결과가 충분히 유사하면 그것을 사용한다.
+ * - 둘 다 신뢰하기 어려우면 전체 목록으로 되돌아간다.
+ */
+@Slf4j
+@Service
+public class CandidateRetrievalServiceImpl implements CandidateRetrievalService {
+
+    /**
+     * Reciprocal Rank Fusion 상수 (일반적으로 쓰이는 60 사용)
+     */
+    private static final int RRF_K = 60;
+
+    private final Embedder embedder;
+    private final boolean enabled;
+    private final int topK;
+    private final int minCatalogSize;
+    private final double minTermCoverage;
+    private final boolean vectorEnabled;
+    private final double minSimilarity;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<AppCatalog, CatalogIndexes> indexes = new WeakHashMap<>();
+
+    public CandidateRetrievalServiceImpl(
+            Embedder embedder,
+            @Value("${ai.retrieval.enabled:true}") boolean enabled,
+            @Value("${ai.retrieval.top-k:30}") int topK,
+            @Value("${ai.retrieval.min-catalog-size:60}") int minCatalogSize,
+            @Value("${ai.retrieval.min-term-coverage:0.2}") double minTermCoverage,
+            @Value("${ai.retrieval.vector.enabled:true}") boolean vectorEnabled,
+            @Value("${ai.retrieval.vector.min-similarity:0.25}") double minSimilarity,
+            MeterRegistry meterRegistry
+    ) {
+        this.embedder = embedder;
+        this.enabled = enabled;
+        this.topK = Math.max(1, topK);
+        this.minCatalogSize = minCatalogSize;
+        this.minTermCoverage = minTermCoverage;
+        this.vectorEnabled = vectorEnabled;
+        this.minSimilarity = minSimilarity;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CandidateSelection selectCandidates(AppCatalog catalog, String userQuestion) {
+        CandidateSelection selection = select(catalog, userQuestion);
+        meterRegistry.counter("ai.retrieval.requests", "mode", selection.getReason()).increment();
+        return selection;
+    }
+
+    @Override
+    public List<Integer> rankElements(AppCatalog catalog, String userQuestion) {
+        CatalogIndexes catalogIndexes = indexesOf(catalog);
+        int size = catalog.size();
+
+        List<ScoredElement> lexicalMatches = catalogIndexes.bm25().search(userQuestion, size);
+        List<ScoredElement> semanticMatches = catalogIndexes.vectors() != null
+                ? catalogIndexes.vectors().search(embedder.embed(userQuestion), size, minSimilarity)
+                : List.of();
+
+        Set<Integer> ranked = new LinkedHashSet<>(size * 2);
+        for (ScoredElement match : fuse(lexicalMatches, semanticMatches, size)) {
+            ranked.add(match.index());
+        }
+        for (int i = 0; i < size; i++) {
+            ranked.add(i);
+        }
+        return List.copyOf(ranked);
+    }
+
+    /**
+     * 재인덱싱으로 카탈로그가 교체되면 검색 색인을 미리 만든다.
+     */
+    @EventListener
+    public void onCatalogRefreshed(AppCatalogRefreshedEvent event) {
+        if (enabled && event.catalog().size() > minCatalogSize) {
+            indexesOf(event.catalog());
+        }
+    }
+
+    private CandidateSelection select(AppCatalog catalog, String userQuestion) {
+        // 카탈로그가 작으면 좁혀도 이득이 적으므로 전체 목록 사용
+        if (!enabled || catalog.size() <= minCatalogSize) {
+            return CandidateSelection.fullList("full");
+        }
+
+        CatalogIndexes catalogIndexes = indexesOf(catalog);
+
+        // 1. BM25 검색 (재현율 검사: 질문 단어 중 색인에 있는 비율이 낮으면 신뢰하지 않음)
+        List<ScoredElement> lexicalMatches = catalogIndexes.bm25().search(userQuestion, topK);
+        double coverage = catalogIndexes.bm25().termCoverage(userQuestion);
+        boolean lexicalReliable = !lexicalMatches.isEmpty() && coverage >= minTermCoverage;
+
+        // 2. 벡터 검색 (최소 유사도 이상만)
+        List<ScoredElement> semanticMatches = catalogIndexes.vectors() != null
+                ? catalogIndexes.vectors().search(embedder.embed(userQuestion), topK, minSimilarity)
+                : List.of();
+
+        List<ScoredElement> matches;
+        String reason;
+        if (lexicalReliable) {
+            matches = fuse(lexicalMatches, semanticMatches, topK);
+            reason = semanticMatches.isEmpty() ? "retrieved" : "hybrid";
+        } else if (!semanticMatches.isEmpty()) {
+            matches = semanticMatches;
+            reason = "semantic";
+        } else {
+            log.debug("후보 검색 재현율 낮음, 전체 목록 사용: matches={}, coverage={}", lexicalMatches.size(), coverage);
+            return CandidateSelection.fullList("low-recall");
+        }
+
+        Set<Integer> selected = new LinkedHashSet<>();
+        Set<String> targetScreens = new LinkedHashSet<>();
+        for (ScoredElement match : matches) {
+            selected.add(match.index());
+            targetScreens.add(catalog.getElements().get(match.index()).getScreenName());
+        }
+
+        // 화면 이동 경로가 인덱싱된 앱은 이동 단계를 서버가 채우므로 네비게이션 요소를 프롬프트에 넣지 않는다
+        int navigationCount = catalog.getNavigation().isEmpty()
+                ? addNavigationElements(catalog, targetScreens, selected)
+                : 0;
+
+        return CandidateSelection.builder()
+                .fullList(false)
+                .elementIndices(List.copyOf(new TreeSet<>(selected)))
+                .rankedIndices(List.copyOf(selected))
+                .matchedCount(matches.size())
+                .navigationCount(navigationCount)
+                .reason(reason)
+                .build();
+    }
+
+    /**
+     * 두 검색 결과를 Reciprocal Rank Fusion으로 합쳐 상위 limit개를 반환한다.
+     * 점수 척도가 다른 BM25와 코사인 유사도를 순위만으로 합칠 수 있다.
+     */
+    private List<ScoredElement> fuse(List<ScoredElement> lexical, List<ScoredElement> semantic, int limit) {
+        Map<Integer, Double> fused = new HashMap<>();
+        for (int rank = 0; rank < lexical.size(); rank++) {
+            fused.merge(lexical.get(rank).index(), 1.0 / (RRF_K + rank + 1), Double::sum);
+        }
+        for (int rank = 0; rank < semantic.size(); rank++) {
+            fused.merge(semantic.get(rank).index(), 1.0 / (RRF_K + rank + 1), Double::sum);
+        }
+
+        List<ScoredElement> results = new ArrayList<>(fused.size());
+        fused.forEach((index, score) -> results.add(new ScoredElement(index, score)));
+        results.sort((a, b) -> a.score() != b.score()
+                ? Double.compare(b.score(), a.score())
+                : Integer.compare(a.index(), b.index()));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    /**
+     * 후보 요소가 있는 화면으로 이동하는 네비게이션 요소를 추가한다.
+     * LLM이 "먼저 해당 페이지로 이동" 단계를 구성할 수 있도록 하기 위함이다.
+     * 추가 개수는 topK로 제한한다.
+     */
+    private int addNavigationElements(AppCatalog catalog, Set<String> targetScreens, Set<Integer> selected) {
+        Set<String> screensToReach = new HashSet<>(targetScreens);
+        List<CatalogElement> elements = catalog.getElements();
+
+        int added = 0;
+        for (int i = 0; i < elements.size() && added < topK; i++) {
+            CatalogElement element = elements.get(i);
+            String target = NavigationTargetExtractor.extractNextScreen(element.getOnClickCode());
+            if (target == null || selected.contains(i)) {
+                continue;
+            }
+            for (String screen : screensToReach) {
+                if (!screen.equals(element.getScreenName()) && NavigationTargetExtractor.pointsTo(target, screen)) {
+                    selected.add(i);
+                    added++;
+                    break;
+                }
+            }
+        }
+        return added;
+    }
+
+    private CatalogIndexes indexesOf(AppCatalog catalog) {
+        synchronized (indexes) {
+            CatalogIndexes cached = indexes.get(catalog);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        CatalogIndexes built = new CatalogIndexes(
+                Bm25Index.build(catalog.getElements()),
+                vectorEnabled ? VectorIndex.build(catalog.getElements(), embedder) : null);
+        log.info("후보 검색 색인 생성: appId={}, indexVersion={}, UI 요소 {}개, 벡터={}, {}ms",
+                catalog.getAppId(), catalog.getIndexVersion(), catalog.size(), vectorEnabled,
+                (System.nanoTime() - startedAt) / 1_000_000);
+
+        synchronized (indexes) {
+            return indexes.computeIfAbsent(catalog, key -> built);
+        }
+    }
+
+    /**
+     * 카탈로그 하나에 대한 검색 색인 묶음
+     *
+     * @param bm25 BM25 역색인
+     * @param vectors 벡터 색인 (벡터 검색 비활성화 시 null)
+     */
+    private record CatalogIndexes(Bm25Index bm25, VectorIndex vectors) {
+    }
+}
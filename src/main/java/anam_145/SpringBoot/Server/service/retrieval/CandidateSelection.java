@@ -0,0 +1,37 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 프롬프트에 넣을 UI 요소 후보 선택 결과
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CandidateSelection {
+
+    /**
+     * true면 후보를 좁히지 않고 전체 UI 요소를 사용한다.
+     * (카탈로그가 작거나, 검색 결과가 부족하여 재현율이 낮다고 판단한 경우)
+     */
+    private final boolean fullList;
+
+    private final List<Integer> elementIndices; // 선택된 UI 요소의 카탈로그 인덱스 (오름차순, fullList면 빈 목록)
+    private final List<Integer> rankedIndices; // 같은 요소를 관련도 순으로 (검색 결과 → 네비게이션, 토큰 예산 초과 시 사용)
+    private final int matchedCount; // 검색으로 선택된 요소 수
+    private final int navigationCount; // 후보 화면으로 이동하기 위해 추가된 네비게이션 요소 수
+    private final String reason; // 선택 방식 설명 (로그/지표용, 예: "retrieved", "low-recall")
+
+    public static CandidateSelection fullList(String reason) {
+        return CandidateSelection.builder()
+                .fullList(true)
+                .elementIndices(List.of())
+                .rankedIndices(List.of())
+                .reason(reason)
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+/**
+ * 후보 검색 결과 한 건
+ *
+ * @param index 카탈로그 내 UI 요소 인덱스
+ * @param score 검색 점수 (BM25 점수 또는 코사인 유사도)
+ */
+record ScoredElement(int index, double score) {
+}
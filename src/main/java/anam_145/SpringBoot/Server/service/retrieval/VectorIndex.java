@@ -0,0 +1,86 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.embedding.Embedder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 앱 카탈로그 하나에 대한 벡터 색인 (불변 객체)
+ *
+ * UI 요소 임베딩을 하나의 float 배열(요소 수 × 차원)에 연속으로 저장하고 전수 내적으로 검색한다.
+ * 앱 하나의 UI 요소는 수천 개 수준이므로 근사 색인(HNSW) 없이도 질문당 1ms 내외로 충분하며,
+ * 연속 배열이라 캐시 효율이 좋고 메모리 오버헤드가 없다.
+ */
+final class VectorIndex {
+
+    private final int dimension;
+    private final int size;
+    private final float[] vectors;
+
+    private VectorIndex(int dimension, int size, float[] vectors) {
+        this.dimension = dimension;
+        this.size = size;
+        this.vectors = vectors;
+    }
+
+    static VectorIndex build(List<CatalogElement> elements, Embedder embedder) {
+        int dimension = embedder.dimension();
+        float[] vectors = new float[elements.size() * dimension];
+        for (int i = 0; i < elements.size(); i++) {
+            float[] vector = embedder.embed(documentText(elements.get(i)));
+            System.arraycopy(vector, 0, vectors, i * dimension, dimension);
+        }
+        return new VectorIndex(dimension, elements.size(), vectors);
+    }
+
+    private static String documentText(CatalogElement element) {
+        StringBuilder text = new StringBuilder();
+        if (element.getText() != null) text.append(element.getText()).append(' ');
+        if (element.getSemanticHint() != null) text.append(element.getSemanticHint()).append(' ');
+        if (element.getComposableId() != null) text.append(element.getComposableId()).append(' ');
+        text.append(element.getScreenName());
+        return text.toString();
+    }
+
+    /**
+     * 질문 벡터와 코사인 유사도가 높은 UI 요소를 반환한다.
+     *
+     * @param query 질문 임베딩 (L2 정규화됨)
+     * @param limit 최대 개수
+     * @param minSimilarity 최소 유사도 (미만은 제외)
+     * @return 유사도 내림차순, 동점이면 카탈로그 순서
+     */
+    List<ScoredElement> search(float[] query, int limit, double minSimilarity) {
+        if (size == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // 상위 limit개만 유지하는 최소 힙 (가장 낮은 점수가 맨 앞)
+        PriorityQueue<ScoredElement> heap = new PriorityQueue<>(limit + 1, (a, b) ->
+                a.score() != b.score() ? Double.compare(a.score(), b.score()) : Integer.compare(b.index(), a.index()));
+
+        for (int doc = 0; doc < size; doc++) {
+            int offset = doc * dimension;
+            float dot = 0f;
+            for (int d = 0; d < dimension; d++) {
+                dot += vectors[offset + d] * query[d];
+            }
+            if (dot < minSimilarity) {
+                continue;
+            }
+            heap.offer(new ScoredElement(doc, dot));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<ScoredElement> results = new ArrayList<>(heap);
+        results.sort((a, b) -> a.score() != b.score()
+                ? Double.compare(b.score(), a.score())
+                : Integer.compare(a.index(), b.index()));
+        return results;
+    }
+}
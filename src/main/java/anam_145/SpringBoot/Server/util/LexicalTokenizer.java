@@ -0,0 +1,101 @@
+package anam_145.SpringBoot.Server.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 한국어/영어 혼합 텍스트용 검색 토크나이저
+ *
+ * - 영어/숫자: camelCase, snake_case를 분리하고 소문자로 만든다. (navigateToSend → navigate, send)
+ * - 한글: 조사/어미가 붙어도 매칭되도록 음절 bigram으로 나눈다. (송금하기 → 송금, 금하, 하기)
+ *   2음절 초과 어절은 원형도 함께 넣어 정확히 일치하는 경우 점수가 더 높게 나오게 한다.
+ * - 문자 종류가 바뀌는 지점에서 끊는다. (BTC송금 → btc, 송금)
+ */
+public final class LexicalTokenizer {
+
+    private static final Set<String> ENGLISH_STOPWORDS = Set.of(
+            "a", "an", "the", "to", "of", "in", "on", "for", "and", "or", "is", "it", "by", "with"
+    );
+
+    private LexicalTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            char c = text.charAt(start);
+            if (isHangul(c)) {
+                int end = start;
+                while (end < length && isHangul(text.charAt(end))) {
+                    end++;
+                }
+                addHangulTokens(text.substring(start, end), tokens);
+                start = end;
+            } else if (isLatinOrDigit(c)) {
+                int end = start;
+                while (end < length && isLatinOrDigit(text.charAt(end))) {
+                    end++;
+                }
+                addLatinTokens(text.substring(start, end), tokens);
+                start = end;
+            } else {
+                start++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addHangulTokens(String word, List<String> tokens) {
+        if (word.length() == 1) {
+            tokens.add(word);
+            return;
+        }
+        for (int i = 0; i + 1 < word.length(); i++) {
+            tokens.add(word.substring(i, i + 2));
+        }
+        if (word.length() > 2) {
+            tokens.add(word);
+        }
+    }
+
+    /**
+     * camelCase 경계(소문자→대문자, 대문자 연속 뒤 대문자+소문자)와 문자/숫자 경계에서 분리한다.
+     */
+    private static void addLatinTokens(String word, List<String> tokens) {
+        int start = 0;
+        for (int i = 1; i <= word.length(); i++) {
+            boolean boundary = i == word.length();
+            if (!boundary) {
+                char prev = word.charAt(i - 1);
+                char curr = word.charAt(i);
+                boundary = (Character.isLowerCase(prev) && Character.isUpperCase(curr))
+                        || (Character.isUpperCase(prev) && Character.isUpperCase(curr)
+                            && i + 1 < word.length() && Character.isLowerCase(word.charAt(i + 1)))
+                        || (Character.isDigit(prev) != Character.isDigit(curr));
+            }
+            if (boundary) {
+                String token = word.substring(start, i).toLowerCase(Locale.ROOT);
+                if (token.length() > 1 && !ENGLISH_STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = i;
+            }
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㅣ');
+    }
+
+    private static boolean isLatinOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,77 @@
+package anam_145.SpringBoot.Server.util;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * onClick 코드에서 이동 대상 화면을 추출하는 유틸리티
+ *
+ * 지원 패턴:
+ * - navigateTo('page') → page
+ * - navigateToSend() → send
+ * - navigateToReceive() → receive
+ * - navigateToSettings() → settings
+ */
+public final class NavigationTargetExtractor {
+
+    private static final Pattern NAVIGATE_TO_NAME = Pattern.compile("navigateTo\\(['\"]([^'\"]+)['\"]\\)");
+    private static final Pattern NAVIGATE_TO_METHOD = Pattern.compile("navigateTo([A-Z][a-zA-Z]*)\\(");
+
+    private NavigationTargetExtractor() {
+    }
+
+    /**
+     * onClick 코드에서 nextScreen 추출
+     *
+     * @param onClickCode 클릭 핸들러 코드
+     * @return 이동 대상 화면 (이동 코드가 없으면 null)
+     */
+    public static String extractNextScreen(String onClickCode) {
+        if (onClickCode == null || onClickCode.isBlank()) {
+            return null;
+        }
+
+        // navigateTo('wallet') → wallet 추출
+        Matcher nameMatcher = NAVIGATE_TO_NAME.matcher(onClickCode);
+        if (nameMatcher.find()) {
+            return nameMatcher.group(1);
+        }
+
+        // navigateToXxx() → xxx 추출 (camelCase to lowercase)
+        Matcher methodMatcher = NAVIGATE_TO_METHOD.matcher(onClickCode);
+        if (methodMatcher.find()) {
+            return methodMatcher.group(1).toLowerCase(); // Send → send, Settings → settings
+        }
+
+        return null;
+    }
+
+    /**
+     * 이동 대상이 해당 화면을 가리키는지 판단한다.
+     * 대소문자, 구분자, "Screen"/"Page" 접미사 차이는 무시한다.
+     * 예: "send" ↔ "SendScreen", "pages/wallet" ↔ "wallet"
+     *
+     * @param target extractNextScreen으로 추출한 이동 대상
+     * @param screenName ScreenInfo 화면명
+     * @return 같은 화면이면 true
+     */
+    public static boolean pointsTo(String target, String screenName) {
+        if (target == null || screenName == null) {
+            return false;
+        }
+        String normalizedTarget = normalize(target);
+        return !normalizedTarget.isEmpty() && normalizedTarget.equals(normalize(screenName));
+    }
+
+    private static String normalize(String name) {
+        String lastSegment = name.substring(name.lastIndexOf('/') + 1);
+        String normalized = lastSegment.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9가-힣]", "");
+        if (normalized.endsWith("screen")) {
+            normalized = normalized.substring(0, normalized.length() - "screen".length());
+        } else if (normalized.endsWith("page")) {
+            normalized = normalized.substring(0, normalized.length() - "page".length());
+        }
+        return normalized;
+    }
+}
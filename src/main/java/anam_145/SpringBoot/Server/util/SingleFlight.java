@@ -0,0 +1,123 @@
+package anam_145.SpringBoot.Server.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 요청을 하나의 실행으로 합치는 single-flight 유틸리티
+ *
+ * - 키별로 처음 들어온 요청(leader)이 비동기 작업을 시작하고, 작업이 끝나기 전에 같은 키로 들어온
+ *   요청(follower)은 같은 결과 future를 공유한다. 대기 중에 스레드를 점유하지 않는다.
+ * - leader의 작업이 예외로 끝나면 같은 예외가 모든 follower에게 전달된다.
+ * - follower는 정해진 시간까지만 기다리며, 시간이 지나면 자기 future만 onTimeout 예외로 완료된다.
+ *   (공유 작업은 취소하지 않으므로 leader와 다른 follower에게는 영향이 없다)
+ * - 결과를 보관하지 않는다. 실행이 끝나면 키가 제거되어 다음 요청은 새로 실행된다.
+ *
+ * @param <K> 요청 키 타입
+ * @param <V> 결과 타입
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCounter;
+    private final Counter followerCounter;
+    private final Counter timeoutCounter;
+
+    /**
+     * @param name 메트릭 태그에 사용할 이름
+     * @param meterRegistry 메트릭 레지스트리
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("ai.singleflight.calls")
+                .tag("name", name).tag("role", "leader")
+                .description("single-flight 실행 수 (leader: 직접 실행, follower: 결과 공유)")
+                .register(meterRegistry);
+        this.followerCounter = Counter.builder("ai.singleflight.calls")
+                .tag("name", name).tag("role", "follower")
+                .description("single-flight 실행 수 (leader: 직접 실행, follower: 결과 공유)")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("ai.singleflight.timeouts")
+                .tag("name", name)
+                .description("대기 시간 초과로 포기한 follower 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.singleflight.in-flight", inFlight, Map::size)
+                .tag("name", name)
+                .description("현재 실행 중인 키 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 키로 실행 중인 작업이 있으면 그 결과를 공유하고, 없으면 직접 실행한다.
+     *
+     * @param key 요청 키
+     * @param work 실행할 비동기 작업 (leader일 때만 호출 스레드에서 시작됨)
+     * @param followerTimeoutMillis follower의 최대 대기 시간 (ms)
+     * @param onTimeout follower 대기 시간 초과 시 future를 완료시킬 예외
+     * @return 작업 결과 future (호출자별 사본이므로 취소해도 다른 호출자에게 영향이 없음)
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> work, long followerTimeoutMillis,
+                                        Supplier<? extends RuntimeException> onTimeout) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+        if (existing == null) {
+            leaderCounter.increment();
+            lead(key, created, work);
+            return created.copy();
+        }
+
+        followerCounter.increment();
+        return follow(existing, followerTimeoutMillis, onTimeout);
+    }
+
+    private void lead(K key, CompletableFuture<V> shared, Supplier<CompletableFuture<V>> work) {
+        CompletableFuture<V> source;
+        try {
+            source = work.get();
+        } catch (RuntimeException | Error e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+
+        // 키를 먼저 제거한 뒤 완료시켜, 완료 이후 들어온 요청은 새로 실행되도록 한다
+        source.whenComplete((result, error) -> {
+            inFlight.remove(key, shared);
+            if (error != null) {
+                // leader가 던진 예외를 그대로 전달 (에러 코드 유지)
+                shared.completeExceptionally(unwrap(error));
+            } else {
+                shared.complete(result);
+            }
+        });
+    }
+
+    private CompletableFuture<V> follow(CompletableFuture<V> shared, long timeoutMillis,
+                                        Supplier<? extends RuntimeException> onTimeout) {
+        // 사본에만 타임아웃을 걸어 공유 future는 건드리지 않는다
+        return shared.copy()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    if (unwrap(error) instanceof TimeoutException) {
+                        timeoutCounter.increment();
+                        return CompletableFuture.failedFuture(onTimeout.get());
+                    }
+                    return CompletableFuture.failedFuture(error);
+                });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -1,12 +1,24 @@
 package anam_145.SpringBoot.Server.web.controller;
 
 import anam_145.SpringBoot.Server.apiPayload.ApiResponse;
+import anam_145.SpringBoot.Server.apiPayload.code.ErrorReasonDTO;
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.GeneralException;
 import anam_145.SpringBoot.Server.service.aiGuideService.AiGuideService;
+import anam_145.SpringBoot.Server.service.aiGuideService.GuideDeadlinePolicy;
+import anam_145.SpringBoot.Server.service.llm.Deadline;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideRequestDTO;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.GuideResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * AI 가이드 API 컨트롤러
@@ -19,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 public class AiGuideController {
 
     private final AiGuideService aiGuideService;
+    private final GuideDeadlinePolicy guideDeadlinePolicy;
 
     /**
      * AI 가이드 생성 API
@@ -30,26 +43,115 @@ public class AiGuideController {
      * 3. 프론트엔드에서 오버레이 표시할 수 있는 형식으로 반환
      *
      * @param request 사용자 질문 및 앱 ID
+     * @param clientTimeoutMillis 클라이언트가 응답을 기다릴 수 있는 시간 (ms, 선택)
      * @return 가이드 메시지 및 타겟 UI 요소 정보
      */
     @PostMapping("/query")
-    public ApiResponse<GuideResponseDTO> generateGuide(@RequestBody GuideRequestDTO request) {
+    public CompletableFuture<ApiResponse<GuideResponseDTO>> generateGuide(
+            @RequestBody GuideRequestDTO request,
+            @RequestHeader(value = GuideDeadlinePolicy.TIMEOUT_HEADER, required = false) Long clientTimeoutMillis) {
         log.info("AI 가이드 요청: appId={}, userQuestion={}",
                 request.getAppId(), request.getUserQuestion());
 
-        GuideResponseDTO response = aiGuideService.generateGuide(request);
+        // 요청이 들어온 시점 기준 마감 시각 (이후 LLM 호출/재시도는 이 시각까지만 진행)
+        Deadline deadline = guideDeadlinePolicy.forRequest(clientTimeoutMillis);
+
+        // LLM 응답을 기다리는 동안 서블릿 스레드를 반환 (Spring MVC 비동기 처리)
+        return aiGuideService.generateGuide(request, deadline).thenApply(response -> {
+            log.info("AI 가이드 생성 완료: appId={}, steps count={}",
+                    response.getAppId(),
+                    response.getSteps() != null ? response.getSteps().size() : 0);
+
+            if (response.getSteps() != null && !response.getSteps().isEmpty()) {
+                log.info("첫 번째 스텝: stepNumber={}, targetScreen={}, message={}",
+                        response.getSteps().get(0).getStepNumber(),
+                        response.getSteps().get(0).getTargetScreen(),
+                        response.getSteps().get(0).getGuideMessage());
+            }
+
+            return ApiResponse.onSuccess(response);
+        });
+    }
+
+    /**
+     * AI 가이드 스트리밍 API (Server-Sent Events)
+     * POST /api/v1/guide/query/stream
+     *
+     * 전체 단계가 만들어질 때까지 기다리지 않고, 단계가 하나씩 완성될 때마다 전송한다.
+     * - step: GuideStepDTO (단계마다 한 번)
+     * - complete: ApiResponse<GuideResponseDTO> (전체 결과, 마지막에 한 번)
+     * - error: ApiResponse (실패 시 에러 코드와 메시지)
+     *
+     * @param request 사용자 질문 및 앱 ID
+     * @param clientTimeoutMillis 클라이언트가 응답을 기다릴 수 있는 시간 (ms, 선택)
+     * @return SSE 스트림
+     */
+    @PostMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGuide(
+            @RequestBody GuideRequestDTO request,
+            @RequestHeader(value = GuideDeadlinePolicy.TIMEOUT_HEADER, required = false) Long clientTimeoutMillis) {
+        log.info("AI 가이드 스트리밍 요청: appId={}, userQuestion={}",
+                request.getAppId(), request.getUserQuestion());
+
+        Deadline deadline = guideDeadlinePolicy.forRequest(clientTimeoutMillis);
+
+        // 타임아웃은 spring.mvc.async.request-timeout 설정을 따름
+        SseEmitter emitter = new SseEmitter();
 
-        log.info("AI 가이드 생성 완료: appId={}, steps count={}",
-                response.getAppId(),
-                response.getSteps() != null ? response.getSteps().size() : 0);
+        CompletableFuture<GuideResponseDTO> guide =
+                aiGuideService.streamGuide(request, deadline, step -> send(emitter, "step", step));
 
-        if (response.getSteps() != null && !response.getSteps().isEmpty()) {
-            log.info("첫 번째 스텝: stepNumber={}, targetScreen={}, message={}",
-                    response.getSteps().get(0).getStepNumber(),
-                    response.getSteps().get(0).getTargetScreen(),
-                    response.getSteps().get(0).getGuideMessage());
+        // 타임아웃, 클라이언트 연결 종료, 응답 종료 시 진행 중인 LLM 호출과 후속 작업을 취소 (이미 완료됐으면 무시됨)
+        emitter.onTimeout(() -> {
+            log.info("AI 가이드 스트리밍 타임아웃: appId={}", request.getAppId());
+            guide.cancel(true);
+        });
+        emitter.onError(error -> guide.cancel(true));
+        emitter.onCompletion(() -> guide.cancel(true));
+
+        guide.whenComplete((response, error) -> {
+            if (guide.isCancelled()) {
+                // emitter가 이미 종료되어 더 보낼 수 없음
+                return;
+            }
+            try {
+                if (error == null) {
+                    log.info("AI 가이드 스트리밍 완료: appId={}, steps count={}",
+                            response.getAppId(), response.getSteps().size());
+                    send(emitter, "complete", ApiResponse.onSuccess(response));
+                } else {
+                    send(emitter, "error", toFailure(error));
+                }
+                emitter.complete();
+            } catch (UncheckedIOException | IllegalStateException e) {
+                // 클라이언트가 먼저 연결을 끊었거나 emitter가 이미 타임아웃/완료된 경우
+                log.info("AI 가이드 스트리밍 중 클라이언트 연결 종료");
+                emitter.completeWithError(e);
+            }
+        });
+
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        return ApiResponse.onSuccess(response);
+    /**
+     * 스트리밍 중 발생한 예외를 실패 응답으로 변환한다. (일반 API의 ExceptionAdvice와 같은 형식)
+     */
+    private ApiResponse<Object> toFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        ErrorReasonDTO reason = cause instanceof GeneralException generalException
+                ? generalException.getErrorReason()
+                : CommonErrorStatus._INTERNAL_SERVER_ERROR.getReason();
+        if (!(cause instanceof GeneralException)) {
+            log.error("AI 가이드 스트리밍 실패", cause);
+        }
+        return ApiResponse.onFailure(reason.getCode(), reason.getMessage(), null);
     }
 }
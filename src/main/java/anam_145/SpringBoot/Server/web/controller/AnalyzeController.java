@@ -2,9 +2,12 @@ package anam_145.SpringBoot.Server.web.controller;
 
 import anam_145.SpringBoot.Server.apiPayload.ApiResponse;
 import anam_145.SpringBoot.Server.service.codeIndexing.CodeIndexingService;
+import anam_145.SpringBoot.Server.service.indexingJob.IndexingJobService;
 import anam_145.SpringBoot.Server.service.zipExtractorService.ZipExtractorService;
 import anam_145.SpringBoot.Server.web.controller.specification.AnalyzeSpecification;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.KotlinFileContentDTO;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingJobResponseDTO;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingResultDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -21,6 +24,7 @@ public class AnalyzeController implements AnalyzeSpecification {
 
     private final ZipExtractorService zipExtractorService; // ZIP 파일 추출 서비스 로직
     private final CodeIndexingService codeIndexingService; // 코드 인덱싱 서비스 로직
+    private final IndexingJobService indexingJobService; // 비동기 인덱싱 작업 서비스 로직
 
     /**
      * MiniApp ZIP 파일에서 Kotlin 소스 파일 추출 API
@@ -51,13 +55,14 @@ public class AnalyzeController implements AnalyzeSpecification {
      * 1. ZIP에서 Kotlin 파일 추출
      * 2. AST 파싱하여 UI 요소 추출
      * 3. DB에 저장
+     * 이미 등록된 앱이면 내용이 바뀐 소스 파일만 다시 파싱한다.
      *
      * @param appId MiniApp 고유 ID
      * @param zipFile MiniApp 프로젝트 ZIP 파일
-     * @return 인덱싱된 UI 요소 개수
+     * @return 인덱싱 결과 (전체 UI 요소 개수, 추가/변경/유지/삭제된 파일 수)
      */
     @PostMapping(value = "/miniapp/register", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ApiResponse<Integer> registerMiniApp(
+    public ApiResponse<IndexingResultDTO> registerMiniApp(
             @RequestParam("appId") String appId, // Query Parameter로 appId 전달
             @RequestPart("zipFile") MultipartFile zipFile) { // form-data의 "zipFile" 필드로 전송
 
@@ -65,9 +70,46 @@ public class AnalyzeController implements AnalyzeSpecification {
                 appId, zipFile.getOriginalFilename(), zipFile.getSize());
 
         // 코드 인덱싱 서비스 호출 (ZIP 추출 → AST 파싱 → DB 저장)
-        int indexedCount = codeIndexingService.indexMiniAppCode(appId, zipFile);
+        IndexingResultDTO result = codeIndexingService.indexMiniAppCode(appId, zipFile);
 
-        log.info("MiniApp 등록 완료: appId={}, 인덱싱된 UI 요소 개수={}", appId, indexedCount);
-        return ApiResponse.onSuccess(indexedCount);
+        log.info("MiniApp 등록 완료: appId={}, 인덱싱된 UI 요소 개수={}", appId, result.getElementCount());
+        return ApiResponse.onSuccess(result);
+    }
+
+    /**
+     * MiniApp 비동기 등록 API (작업 기반)
+     * POST /api/v1/analyze/jobs
+     *
+     * ZIP 파일을 작업 큐에 등록하고 작업 ID를 즉시 반환한다.
+     * 인덱싱 진행 상황은 GET /api/v1/analyze/jobs/{jobId}로 조회한다.
+     *
+     * @param appId MiniApp 고유 ID
+     * @param zipFile MiniApp 프로젝트 ZIP 파일
+     * @return 등록된 작업 상태 (jobId 포함)
+     */
+    @Override
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ApiResponse<IndexingJobResponseDTO> submitIndexingJob(
+            @RequestParam("appId") String appId,
+            @RequestPart("zipFile") MultipartFile zipFile) {
+
+        log.info("MiniApp 비동기 등록 요청: appId={}, fileName={} ({}bytes)",
+                appId, zipFile.getOriginalFilename(), zipFile.getSize());
+
+        IndexingJobResponseDTO job = indexingJobService.submit(appId, zipFile);
+        return ApiResponse.onSuccess(job);
+    }
+
+    /**
+     * 인덱싱 작업 상태 조회 API
+     * GET /api/v1/analyze/jobs/{jobId}
+     *
+     * @param jobId 작업 ID
+     * @return 진행 단계, 진행률(파싱된 파일 수 / 전체), 요소 개수, 오류 정보
+     */
+    @Override
+    @GetMapping("/jobs/{jobId}")
+    public ApiResponse<IndexingJobResponseDTO> getIndexingJob(@PathVariable("jobId") String jobId) {
+        return ApiResponse.onSuccess(indexingJobService.getJob(jobId));
     }
 }
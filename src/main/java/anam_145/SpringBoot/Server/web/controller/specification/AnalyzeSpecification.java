@@ -2,6 +2,7 @@ package anam_145.SpringBoot.Server.web.controller.specification;
 
 import anam_145.SpringBoot.Server.apiPayload.ApiResponse;
 import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.KotlinFileContentDTO;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingJobResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -22,4 +23,21 @@ public interface AnalyzeSpecification {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "ZIP 추출 중 서버 오류")
     })
     ApiResponse<List<KotlinFileContentDTO>> extractKotlinFiles(MultipartFile zipFile);
+
+    @Operation(summary = "MiniApp 비동기 등록", description = "ZIP 파일을 인덱싱 작업 큐에 등록하고 작업 ID를 즉시 반환합니다.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "작업 등록 성공",
+                    content = @Content(schema = @Schema(implementation = IndexingJobResponseDTO.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "작업 큐가 가득 참 (잠시 후 재시도)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "업로드 파일 저장 중 서버 오류")
+    })
+    ApiResponse<IndexingJobResponseDTO> submitIndexingJob(String appId, MultipartFile zipFile);
+
+    @Operation(summary = "인덱싱 작업 상태 조회", description = "작업의 진행 단계, 진행률(파싱된 파일 수 / 전체), UI 요소 개수, 오류 정보를 조회합니다.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(schema = @Schema(implementation = IndexingJobResponseDTO.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "존재하지 않는 작업")
+    })
+    ApiResponse<IndexingJobResponseDTO> getIndexingJob(String jobId);
 }
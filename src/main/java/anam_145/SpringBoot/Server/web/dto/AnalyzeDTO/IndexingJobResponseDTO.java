@@ -0,0 +1,43 @@
+package anam_145.SpringBoot.Server.web.dto.AnalyzeDTO;
+
+import anam_145.SpringBoot.Server.domain.indexing.IndexingJobStage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(title = "인덱싱 작업 상태 DTO", description = "비동기 MiniApp 인덱싱 작업의 진행 상태")
+public class IndexingJobResponseDTO {
+
+    @Schema(description = "작업 ID", example = "4f1c2a9e-0b7d-4d3e-9a51-2f6c8e7b1d20")
+    private final String jobId;
+
+    @Schema(description = "MiniApp ID", example = "com.anam.rehrxj11f38gn09k")
+    private final String appId;
+
+    @Schema(description = "진행 단계 (QUEUED, EXTRACTING, PARSING, PERSISTING, COMPLETED, FAILED)", example = "PARSING")
+    private final IndexingJobStage stage;
+
+    @Schema(description = "파싱이 끝난 소스 파일 수", example = "42")
+    private final Integer parsedFiles;
+
+    @Schema(description = "파싱 대상 소스 파일 총 개수 (추출 전에는 null)", example = "120")
+    private final Integer totalFiles;
+
+    @Schema(description = "저장된 UI 요소 개수 (완료 전에는 null)", example = "1534")
+    private final Integer elementCount;
+
+    @Schema(description = "실패 사유 (실패 시에만 설정)")
+    private final String errorMessage;
+
+    @Schema(description = "작업 등록 시간")
+    private final LocalDateTime createdAt;
+
+    @Schema(description = "작업 종료 시간 (완료/실패 시 설정)")
+    private final LocalDateTime finishedAt;
+}
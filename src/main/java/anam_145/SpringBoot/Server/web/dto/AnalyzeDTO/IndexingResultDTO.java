@@ -0,0 +1,36 @@
+package anam_145.SpringBoot.Server.web.dto.AnalyzeDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(title = "인덱싱 결과 DTO", description = "MiniApp 코드 인덱싱 결과 (증분 인덱싱 통계 포함)")
+public class IndexingResultDTO {
+
+    @Schema(description = "MiniApp ID", example = "com.anam.rehrxj11f38gn09k")
+    private final String appId;
+
+    @Schema(description = "인덱싱 후 앱 전체 UI 요소 개수", example = "1534")
+    private final long elementCount;
+
+    @Schema(description = "이번 요청에서 새로 파싱하여 저장한 UI 요소 개수", example = "12")
+    private final int parsedElementCount;
+
+    // 아래 개수는 화면 단위 소스 파일 기준 (같은 화면명으로 묶이는 파일은 하나로 계산)
+
+    @Schema(description = "새로 추가된 소스 파일 수", example = "1")
+    private final int addedFiles;
+
+    @Schema(description = "내용이 변경되어 다시 파싱한 소스 파일 수", example = "2")
+    private final int changedFiles;
+
+    @Schema(description = "변경이 없어 기존 인덱스를 유지한 소스 파일 수", example = "117")
+    private final int unchangedFiles;
+
+    @Schema(description = "ZIP에서 사라져 인덱스에서 삭제된 소스 파일 수", example = "0")
+    private final int removedFiles;
+}
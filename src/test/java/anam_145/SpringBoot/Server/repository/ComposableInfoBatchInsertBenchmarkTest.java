@@ -0,0 +1,241 @@
+package anam_145.SpringBoot.Server.repository;
+
+import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import anam_145.SpringBoot.Server.domain.aiGuide.MiniAppCodeIndex;
+import anam_145.SpringBoot.Server.domain.aiGuide.ScreenInfo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UI 요소 저장 방식별 처리량 비교 벤치마크
+ *
+ * 10,000개 UI 요소를 가진 앱을 기준으로 다음 두 방식을 비교한다.
+ * - before: ComposableInfoRepository.saveAll() (IDENTITY 전략이라 행마다 INSERT)
+ * - after: ComposableInfoJdbcRepository.batchInsert() (JDBC 배치 INSERT)
+ *
+ * H2 인메모리 DB에서는 네트워크 왕복이 없으므로 처리 시간 차이가 작게 나온다.
+ * 그래서 처리 시간은 로그로만 남기고, 실제 MySQL에서 차이를 만드는 DB 왕복 횟수(composable_info INSERT 실행 수)를
+ * DataSource 프록시로 세어 검증한다. (rewriteBatchedStatements=true면 배치 하나가 왕복 한 번)
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({ComposableInfoJdbcRepository.class, ComposableInfoBatchInsertBenchmarkTest.StatementCountingConfig.class})
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "ai.indexing.insert-batch-size=500"
+})
+class ComposableInfoBatchInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ComposableInfoBatchInsertBenchmarkTest.class);
+
+    private static final int ELEMENT_COUNT = 10_000;
+    private static final int BATCH_SIZE = 500;
+
+    /** composable_info INSERT 문 실행 수 (execute* 호출 1회 = DB 왕복 1회) */
+    private static final AtomicInteger insertRoundTrips = new AtomicInteger();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ComposableInfoRepository composableInfoRepository;
+
+    @Autowired
+    private ComposableInfoJdbcRepository composableInfoJdbcRepository;
+
+    @Test
+    void compareSaveAllAndJdbcBatchInsert() {
+        // 워밍업 (JIT, 커넥션, 쿼리 캐시)
+        saveAllRows("warmup-jpa", BATCH_SIZE);
+        batchInsertRows("warmup-jdbc", BATCH_SIZE);
+
+        Measurement before = saveAllRows("benchmark-jpa", ELEMENT_COUNT);
+        Measurement after = batchInsertRows("benchmark-jdbc", ELEMENT_COUNT);
+
+        log.info("{}개 UI 요소 저장 - saveAll(): {} rows/s, 왕복 {}회 / batchInsert(): {} rows/s, 왕복 {}회",
+                ELEMENT_COUNT, String.format("%,.0f", before.rowsPerSecond()), before.roundTrips(),
+                String.format("%,.0f", after.rowsPerSecond()), after.roundTrips());
+
+        assertThat(composableInfoRepository.countByAppId("benchmark-jpa")).isEqualTo(ELEMENT_COUNT);
+        assertThat(composableInfoRepository.countByAppId("benchmark-jdbc")).isEqualTo(ELEMENT_COUNT);
+        // IDENTITY 전략은 생성된 ID를 받아야 하므로 행마다 INSERT, JDBC 배치는 batch-size마다 한 번
+        assertThat(before.roundTrips()).isEqualTo(ELEMENT_COUNT);
+        assertThat(after.roundTrips()).isEqualTo(ELEMENT_COUNT / BATCH_SIZE);
+    }
+
+    @Test
+    void batchInsertBuildsSearchableText() {
+        ScreenInfo screen = persistScreen("searchable-app");
+        ComposableInfo composable = ComposableInfo.builder()
+                .appId("searchable-app")
+                .type("Button")
+                .composableId("btn_send")
+                .text("보내기")
+                .semanticHint("송금")
+                .build();
+        composable.setScreenInfo(screen);
+
+        composableInfoJdbcRepository.batchInsert(List.of(composable));
+        entityManager.clear();
+
+        List<ComposableInfo> saved = composableInfoRepository.findByAppId("searchable-app");
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getScreenId()).isEqualTo(screen.getId());
+        assertThat(saved.get(0).getSearchableText()).isEqualTo("보내기 송금 btn_send TransferScreen");
+    }
+
+    private Measurement saveAllRows(String appId, int count) {
+        List<ComposableInfo> composables = createComposables(persistScreen(appId), count);
+
+        int roundTripsBefore = insertRoundTrips.get();
+        long startedAt = System.nanoTime();
+        composableInfoRepository.saveAll(composables);
+        entityManager.flush();
+        long elapsed = System.nanoTime() - startedAt;
+
+        entityManager.clear();
+        return new Measurement(count / (elapsed / 1_000_000_000.0), insertRoundTrips.get() - roundTripsBefore);
+    }
+
+    private Measurement batchInsertRows(String appId, int count) {
+        List<ComposableInfo> composables = createComposables(persistScreen(appId), count);
+
+        int roundTripsBefore = insertRoundTrips.get();
+        long startedAt = System.nanoTime();
+        composableInfoJdbcRepository.batchInsert(composables);
+        long elapsed = System.nanoTime() - startedAt;
+
+        entityManager.clear();
+        return new Measurement(count / (elapsed / 1_000_000_000.0), insertRoundTrips.get() - roundTripsBefore);
+    }
+
+    private ScreenInfo persistScreen(String appId) {
+        MiniAppCodeIndex codeIndex = entityManager.persist(MiniAppCodeIndex.builder()
+                .appId(appId)
+                .build());
+        ScreenInfo screen = ScreenInfo.builder()
+                .appId(appId)
+                .name("TransferScreen")
+                .sourceFile("app/src/main/java/TransferScreen.kt")
+                .build();
+        codeIndex.addScreen(screen);
+        entityManager.persist(screen);
+        entityManager.flush();
+        return screen;
+    }
+
+    private List<ComposableInfo> createComposables(ScreenInfo screen, int count) {
+        List<ComposableInfo> composables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ComposableInfo composable = ComposableInfo.builder()
+                    .appId(screen.getAppId())
+                    .type(i % 2 == 0 ? "Button" : "Text")
+                    .composableId("element_" + i)
+                    .text("요소 " + i)
+                    .semanticHint("설명 " + i)
+                    .onClickCode("{ viewModel.action" + i + "() }")
+                    .modifierCode("Modifier.testTag(\"element_" + i + "\")")
+                    .sourceFile(screen.getSourceFile())
+                    .lineNumber(i + 1)
+                    .build();
+            composable.setScreenInfo(screen);
+            composables.add(composable);
+        }
+        return composables;
+    }
+
+    private record Measurement(double rowsPerSecond, int roundTrips) {
+    }
+
+    /**
+     * DataSource → Connection → PreparedStatement를 프록시로 감싸 composable_info INSERT 실행 수를 센다.
+     */
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return proxy(bean, (target, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection ? countingConnection(result) : result;
+                    });
+                }
+            };
+        }
+
+        private static Object countingConnection(Object connection) {
+            return proxy(connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")
+                        && isComposableInsert((String) args[0])) {
+                    return countingStatement(result);
+                }
+                return result;
+            });
+        }
+
+        private static Object countingStatement(Object statement) {
+            return proxy(statement, (target, method, args) -> {
+                // execute, executeUpdate, executeQuery, executeBatch (+ Large 변형) 모두 DB 왕복 한 번
+                if (method.getName().startsWith("execute")) {
+                    insertRoundTrips.incrementAndGet();
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static boolean isComposableInsert(String sql) {
+            return sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").contains("insert into composable_info");
+        }
+
+        private static Object proxy(Object target, TargetHandler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+            return Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                    ClassUtils.getAllInterfaces(target), invocationHandler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @FunctionalInterface
+        private interface TargetHandler {
+            Object invoke(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
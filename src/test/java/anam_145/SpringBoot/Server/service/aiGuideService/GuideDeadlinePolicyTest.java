@@ -0,0 +1,59 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.GeneralException;
+import anam_145.SpringBoot.Server.service.llm.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GuideDeadlinePolicy가 여유 시간보다 짧은 헤더를 거절하고, 큰 값에서도 마감 시각이 넘치지 않는지 검증한다.
+ */
+class GuideDeadlinePolicyTest {
+
+    private final GuideDeadlinePolicy policy = new GuideDeadlinePolicy(Duration.ofSeconds(30), 1000, 500);
+
+    @Test
+    void headerShorterThanMarginPlusMinimumBudgetIsRejected() {
+        for (long header : new long[]{Long.MIN_VALUE, -1, 0, 1000, 1499}) {
+            assertThatThrownBy(() -> policy.forRequest(header))
+                    .isInstanceOfSatisfying(GeneralException.class, e ->
+                            assertThat(e.getCode()).isEqualTo(CommonErrorStatus.REQUEST_TIMEOUT_TOO_SHORT));
+        }
+
+        Deadline shortest = policy.forRequest(1500L);
+        assertThat(shortest.isExpired()).isFalse();
+        assertThat(shortest.remainingMillis()).isBetween(1L, 500L);
+    }
+
+    @Test
+    void budgetIsCappedAtServerTimeout() {
+        assertThat(policy.forRequest(Long.MAX_VALUE).remainingMillis()).isBetween(28_000L, 29_000L);
+        assertThat(policy.forRequest(null).remainingMillis()).isBetween(28_000L, 29_000L);
+        assertThat(policy.forRequest(5_000L).remainingMillis()).isBetween(3_000L, 4_000L);
+    }
+
+    @Test
+    void serverTimeoutShorterThanMarginStillLeavesMinimumBudget() {
+        GuideDeadlinePolicy tight = new GuideDeadlinePolicy(Duration.ofMillis(800), 1000, 500);
+
+        assertThat(tight.forRequest(null).isExpired()).isFalse();
+        assertThat(tight.forRequest(null).remainingMillis()).isBetween(1L, 500L);
+    }
+
+    @Test
+    void unboundedServerTimeoutWithHugeHeaderDoesNotOverflow() {
+        GuideDeadlinePolicy unbounded = new GuideDeadlinePolicy(Duration.ZERO, 1000, 500);
+
+        assertThat(unbounded.forRequest(null).isBounded()).isFalse();
+        // 나노초로 바꾸면 넘치는 값도 가장 먼 마감 시각으로 고정된다
+        Deadline huge = unbounded.forRequest(Long.MAX_VALUE - 1);
+        assertThat(huge.isExpired()).isFalse();
+        assertThat(huge.remainingMillis()).isGreaterThan(Duration.ofDays(365 * 100L).toMillis());
+        assertThat(Deadline.after(Long.MAX_VALUE).isExpired()).isFalse();
+    }
+}
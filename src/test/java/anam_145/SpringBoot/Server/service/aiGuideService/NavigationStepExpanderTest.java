@@ -0,0 +1,123 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.catalog.CatalogNavigation;
+import anam_145.SpringBoot.Server.service.guideCache.GuideStepPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NavigationStepExpander가 현재 화면을 추적하며 이동 단계를 채우는지 검증한다.
+ */
+class NavigationStepExpanderTest {
+
+    /**
+     * 카탈로그 인덱스: 0 지갑(index → wallet), 1 설정(index → settings), 2 보내기(wallet → send), 3 잔액(wallet),
+     * 4 주소 입력(send), 5 전송(send), 6 언어(settings), 7 숨은 메뉴(orphan, 도달 불가)
+     */
+    private static final List<CatalogElement> ELEMENTS = List.of(
+            element(1L, "index", "지갑", "navigateTo('wallet')"),
+            element(2L, "index", "설정", "navigateToSettings()"),
+            element(3L, "wallet", "보내기", "navigateToSend()"),
+            element(4L, "wallet", "잔액", null),
+            element(5L, "send", "주소 입력", null),
+            element(6L, "send", "전송", "submit()"),
+            element(7L, "settings", "언어", null),
+            element(8L, "orphan", "숨은 메뉴", null));
+
+    private static final AppCatalog CATALOG = AppCatalog.of("com.anam.wallet", 1, ELEMENTS,
+            CatalogNavigation.of(Map.of(
+                    "index", List.of(),
+                    "wallet", List.of(1L),
+                    "send", List.of(1L, 3L),
+                    "settings", List.of(2L)), ELEMENTS));
+
+    @Test
+    void insertsEntryPathBeforeTargetOnAnotherScreen() {
+        NavigationStepExpander expander = new NavigationStepExpander(CATALOG);
+
+        assertThat(expander.next(step(1, 5, "전송을 누르세요"))).containsExactly(
+                new GuideStepPlan(1, 0, "'지갑'을(를) 눌러 다음 화면으로 이동하세요."),
+                new GuideStepPlan(2, 2, "'보내기'을(를) 눌러 다음 화면으로 이동하세요."),
+                new GuideStepPlan(3, 5, "전송을 누르세요"));
+        assertThat(expander.getInsertedSteps()).isEqualTo(2);
+    }
+
+    @Test
+    void targetOnCurrentScreenNeedsNoNavigation() {
+        NavigationStepExpander expander = new NavigationStepExpander(CATALOG);
+
+        // 진입 화면의 요소, 그리고 그 요소로 이동한 화면의 요소
+        assertThat(expander.next(step(1, 0, "지갑을 누르세요"))).containsExactly(step(1, 0, "지갑을 누르세요"));
+        assertThat(expander.next(step(2, 3, "잔액을 확인하세요"))).containsExactly(step(2, 3, "잔액을 확인하세요"));
+        assertThat(expander.getInsertedSteps()).isZero();
+    }
+
+    @Test
+    void continuesFromCurrentScreenWhenItIsOnThePath() {
+        NavigationStepExpander expander = new NavigationStepExpander(CATALOG);
+        expander.next(step(1, 3, "잔액을 확인하세요")); // index → wallet 이동 1단계 추가
+
+        // 이미 wallet에 있으므로 send까지의 경로 중 wallet 이후 구간만 추가한다
+        assertThat(expander.next(step(2, 5, "전송을 누르세요"))).containsExactly(
+                new GuideStepPlan(3, 2, "'보내기'을(를) 눌러 다음 화면으로 이동하세요."),
+                new GuideStepPlan(4, 5, "전송을 누르세요"));
+        assertThat(expander.getInsertedSteps()).isEqualTo(2);
+    }
+
+    @Test
+    void restartsFromEntryPathWhenCurrentScreenIsOffThePath() {
+        NavigationStepExpander expander = new NavigationStepExpander(CATALOG);
+        expander.next(step(1, 6, "언어를 고르세요")); // settings로 이동
+
+        // settings는 wallet 경로 위에 없으므로 진입 경로 전체를 안내한다
+        assertThat(expander.next(step(2, 3, "잔액을 확인하세요"))).containsExactly(
+                new GuideStepPlan(3, 0, "'지갑'을(를) 눌러 다음 화면으로 이동하세요."),
+                new GuideStepPlan(4, 3, "잔액을 확인하세요"));
+    }
+
+    @Test
+    void navigationChosenByLlmIsNotDuplicated() {
+        NavigationStepExpander expander = new NavigationStepExpander(CATALOG);
+
+        assertThat(expander.next(step(1, 0, "지갑을 누르세요"))).hasSize(1);
+        assertThat(expander.next(step(2, 2, "보내기를 누르세요"))).hasSize(1);
+        assertThat(expander.next(step(3, 5, "전송을 누르세요"))).containsExactly(step(3, 5, "전송을 누르세요"));
+        assertThat(expander.getInsertedSteps()).isZero();
+    }
+
+    @Test
+    void unreachableTargetIsKeptWithoutNavigation() {
+        NavigationStepExpander expander = new NavigationStepExpander(CATALOG);
+
+        assertThat(expander.next(step(1, 7, "숨은 메뉴를 누르세요"))).containsExactly(step(1, 7, "숨은 메뉴를 누르세요"));
+        assertThat(expander.getInsertedSteps()).isZero();
+    }
+
+    @Test
+    void catalogWithoutNavigationOnlyRenumbersSteps() {
+        NavigationStepExpander expander = new NavigationStepExpander(AppCatalog.of("com.anam.wallet", 1, ELEMENTS));
+
+        assertThat(expander.next(step(4, 5, "전송을 누르세요"))).containsExactly(step(1, 5, "전송을 누르세요"));
+        assertThat(expander.getInsertedSteps()).isZero();
+    }
+
+    private static GuideStepPlan step(int stepNumber, int elementIndex, String message) {
+        return new GuideStepPlan(stepNumber, elementIndex, message);
+    }
+
+    private static CatalogElement element(long id, String screenName, String text, String onClickCode) {
+        return CatalogElement.builder()
+                .id(id)
+                .screenName(screenName)
+                .type("Button")
+                .text(text)
+                .onClickCode(onClickCode)
+                .build();
+    }
+}
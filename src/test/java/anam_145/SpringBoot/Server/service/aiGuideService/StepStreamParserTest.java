@@ -0,0 +1,123 @@
+package anam_145.SpringBoot.Server.service.aiGuideService;
+
+import anam_145.SpringBoot.Server.service.aiGuideService.StepStreamParser.Outcome;
+import anam_145.SpringBoot.Server.service.guideCache.GuideStepPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StepStreamParser가 조각 경계, 응답 앞뒤 텍스트, 잘린 응답, 형식 오류를 처리하는지 검증한다.
+ */
+class StepStreamParserTest {
+
+    private static final String RESPONSE = """
+            {"steps":[
+              {"stepNumber":1,"elementIndex":12,"message":"지갑 탭을 누르세요"},
+              {"stepNumber":2,"elementIndex":3,"message":"송금 버튼을 누르세요"}
+            ]}""";
+
+    private static final List<GuideStepPlan> EXPECTED = List.of(
+            new GuideStepPlan(1, 12, "지갑 탭을 누르세요"),
+            new GuideStepPlan(2, 3, "송금 버튼을 누르세요"));
+
+    @Test
+    void parsesResponseDeliveredOneCharacterAtATime() {
+        StepStreamParser parser = new StepStreamParser();
+        List<GuideStepPlan> steps = new ArrayList<>();
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            steps.addAll(parser.append(RESPONSE.substring(i, i + 1)));
+        }
+
+        assertThat(steps).isEqualTo(EXPECTED);
+        assertThat(parser.finish()).isEqualTo(Outcome.COMPLETE);
+    }
+
+    @Test
+    void joinsKeysAndValuesSplitAcrossChunks() {
+        StepStreamParser parser = new StepStreamParser();
+
+        List<GuideStepPlan> steps = feed(parser,
+                "{\"st", "eps\"", " : ", "[{\"stepNum", "ber\":1,\"elementIndex\":1", "2,\"mess",
+                "age\":\"지갑 탭을 ", "누르세요\"", "}");
+
+        // 단계 객체가 닫히는 조각에서 바로 돌려준다
+        assertThat(steps).containsExactly(EXPECTED.get(0));
+        assertThat(parser.append(",{\"stepNumber\":2,\"elementIndex\":3,\"message\":\"송금 버튼을 누르세요\"}]}"))
+                .containsExactly(EXPECTED.get(1));
+        assertThat(parser.finish()).isEqualTo(Outcome.COMPLETE);
+    }
+
+    @Test
+    void skipsPreambleCodeFenceAndTrailingText() {
+        StepStreamParser parser = new StepStreamParser();
+
+        List<GuideStepPlan> steps = feed(parser,
+                "다음 순서로 안내합니다.\n```json\n", RESPONSE, "\n```\n", "추가 설명: {형식이 맞지 않는 문장");
+
+        assertThat(steps).isEqualTo(EXPECTED);
+        assertThat(parser.finish()).isEqualTo(Outcome.COMPLETE);
+    }
+
+    @Test
+    void skipsStepsMissingRequiredFieldsAndIgnoresNestedUnknownFields() {
+        StepStreamParser parser = new StepStreamParser();
+
+        List<GuideStepPlan> steps = feed(parser, """
+                {"steps":[
+                  {"stepNumber":1,"message":"elementIndex 없음"},
+                  {"stepNumber":"2","elementIndex":"7","meta":{"elementIndex":99,"tags":["a"]},"message":"보내기"}
+                ]}""");
+
+        assertThat(steps).containsExactly(new GuideStepPlan(2, 7, "보내기"));
+        assertThat(parser.finish()).isEqualTo(Outcome.COMPLETE);
+    }
+
+    @Test
+    void truncatedResponseKeepsCompletedStepsAndDropsOpenOne() {
+        StepStreamParser parser = new StepStreamParser();
+
+        List<GuideStepPlan> steps = feed(parser,
+                "{\"steps\":[{\"stepNumber\":1,\"elementIndex\":12,\"message\":\"지갑 탭을 누르세요\"},",
+                "{\"stepNumber\":2,\"elementIndex\":3,\"mess");
+
+        assertThat(steps).containsExactly(EXPECTED.get(0));
+        assertThat(parser.finish()).isEqualTo(Outcome.TRUNCATED);
+    }
+
+    @Test
+    void malformedJsonStopsParsingButKeepsEarlierStepsInSameChunk() {
+        StepStreamParser parser = new StepStreamParser();
+
+        List<GuideStepPlan> steps = feed(parser,
+                "{\"steps\":[{\"stepNumber\":1,\"elementIndex\":12,\"message\":\"지갑 탭을 누르세요\"},"
+                        + "{\"stepNumber\":2,\"elementIndex\":}]}");
+
+        assertThat(steps).containsExactly(EXPECTED.get(0));
+        // 오류 이후 조각은 무시한다
+        assertThat(parser.append("{\"stepNumber\":3,\"elementIndex\":1,\"message\":\"무시\"}")).isEmpty();
+        assertThat(parser.finish()).isEqualTo(Outcome.MALFORMED);
+    }
+
+    @Test
+    void reportsNotFoundWhenResponseHasNoStepsArray() {
+        StepStreamParser plainText = new StepStreamParser();
+        assertThat(feed(plainText, "죄송합니다. ", "해당 기능을 찾을 수 없습니다.")).isEmpty();
+        assertThat(plainText.finish()).isEqualTo(Outcome.NOT_FOUND);
+
+        StepStreamParser otherKey = new StepStreamParser();
+        assertThat(feed(otherKey, "{\"result\":[{\"stepNumber\":1,\"elementIndex\":0,\"message\":\"x\"}]}")).isEmpty();
+        assertThat(otherKey.finish()).isEqualTo(Outcome.NOT_FOUND);
+    }
+
+    private static List<GuideStepPlan> feed(StepStreamParser parser, String... chunks) {
+        List<GuideStepPlan> steps = new ArrayList<>();
+        for (String chunk : chunks) {
+            steps.addAll(parser.append(chunk));
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,116 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import anam_145.SpringBoot.Server.domain.appRouting.MiniAppRoute;
+import anam_145.SpringBoot.Server.domain.appRouting.RouteKeyword;
+import anam_145.SpringBoot.Server.repository.MiniAppRouteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AppRoutingServiceImpl의 키워드 점수 계산(포함 관계 키워드, 단어 경계, 동점 처리)을 검증한다.
+ *
+ * 라우팅 테이블은 목(mock) 저장소로 대신하고 의도 분류기는 끄므로, 키워드로 결정되지 않은 질문은 후보 목록으로 돌아온다.
+ */
+class AppRoutingServiceImplTest {
+
+    private static final String BITCOIN = "com.anam.bitcoin";
+    private static final String BUSAN = "com.anam.busan";
+    private static final String ETHEREUM = "com.anam.ethereum";
+    private static final String NEWS = "com.anam.news";
+
+    private final MiniAppRouteRepository repository = mock(MiniAppRouteRepository.class);
+    private AppRoutingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // 저장소와 같이 appId 순으로 돌려준다. 기본 앱은 첫 번째 앱이 아닌 ETHEREUM
+        when(repository.findAllWithKeywords()).thenReturn(List.of(
+                route(BITCOIN, false, keyword("비트코인", 3), keyword("btc", 3), keyword("코인", 1)),
+                route(BUSAN, false, keyword("부산일보", 3), keyword("부산", 2), keyword("뉴스", 1)),
+                route(ETHEREUM, true, keyword("이더리움", 3), keyword("이더", 2), keyword("eth", 3), keyword("코인", 1)),
+                route(NEWS, false, keyword("뉴스", 1), keyword("기사", 1))));
+        service = new AppRoutingServiceImpl(repository, mock(IntentClassifierTrainer.class),
+                false, false, 0.8, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void nestedKeywordsEachCountOnceRegardlessOfRepetition() {
+        // ETHEREUM: 이더리움(3) + 이더(2) = 5, BITCOIN: btc(3)는 두 번 나와도 한 번만 센다
+        AppRouteDecision decision = service.route("btc btc 이더리움 차이");
+
+        assertThat(decision.appId()).isEqualTo(ETHEREUM);
+        assertThat(decision.reason()).isEqualTo("keyword");
+    }
+
+    @Test
+    void sharedNestedKeywordScoresEveryOwningApp() {
+        // "비트코인"에 포함된 "코인"은 두 앱 모두에 1점: BITCOIN 4, ETHEREUM 1
+        assertThat(service.route("비트코인 보내기").appId()).isEqualTo(BITCOIN);
+    }
+
+    @Test
+    void asciiKeywordsMatchOnlyAtWordBoundaries() {
+        assertThat(service.route("method 호출하는 법").appId()).isNull();
+        assertThat(service.route("eth2 스테이킹").appId()).isNull();
+
+        // 대소문자는 구분하지 않고, 한글 조사나 기호는 경계로 본다
+        assertThat(service.route("ETH를 보내는 법").appId()).isEqualTo(ETHEREUM);
+        assertThat(service.route("(btc) 주소 복사").appId()).isEqualTo(BITCOIN);
+    }
+
+    @Test
+    void hangulKeywordsMatchInsideLongerWords() {
+        // 조사가 붙은 형태와 복합어 안의 키워드도 인정한다. BUSAN: 부산일보(3) + 부산(2), NEWS: 기사(1)
+        assertThat(service.route("이더리움을 받으려면").appId()).isEqualTo(ETHEREUM);
+        assertThat(service.route("부산일보에서 기사 찾기").appId()).isEqualTo(BUSAN);
+    }
+
+    @Test
+    void tieReturnsOnlyLeadersWithDefaultAppFirst() {
+        AppRouteDecision withDefault = service.route("btc와 eth 중 뭐가 나아요?");
+        assertThat(withDefault.appId()).isNull();
+        assertThat(withDefault.reason()).isEqualTo("tie");
+        assertThat(appIds(withDefault)).containsExactly(ETHEREUM, BITCOIN);
+
+        // 동점 앱에 기본 앱이 없으면 앱 순서를 유지한다
+        AppRouteDecision withoutDefault = service.route("오늘 뉴스 보여줘");
+        assertThat(withoutDefault.reason()).isEqualTo("tie");
+        assertThat(appIds(withoutDefault)).containsExactly(BUSAN, NEWS);
+    }
+
+    @Test
+    void noMatchOffersAllAppsWithDefaultAppFirst() {
+        AppRouteDecision decision = service.route("설정 화면은 어디 있나요?");
+
+        assertThat(decision.appId()).isNull();
+        assertThat(decision.reason()).isEqualTo("no-match");
+        assertThat(appIds(decision)).containsExactly(ETHEREUM, BITCOIN, BUSAN, NEWS);
+        assertThat(service.getDefaultAppId()).isEqualTo(ETHEREUM);
+    }
+
+    private static List<String> appIds(AppRouteDecision decision) {
+        return decision.candidates().stream().map(AppProfile::appId).toList();
+    }
+
+    private static MiniAppRoute route(String appId, boolean defaultApp, RouteKeyword... keywords) {
+        return MiniAppRoute.builder()
+                .appId(appId)
+                .name(appId)
+                .description(appId)
+                .defaultApp(defaultApp)
+                .keywords(new ArrayList<>(List.of(keywords)))
+                .build();
+    }
+
+    private static RouteKeyword keyword(String keyword, double weight) {
+        return new RouteKeyword(keyword, weight);
+    }
+}
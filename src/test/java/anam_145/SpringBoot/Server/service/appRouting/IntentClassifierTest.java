@@ -0,0 +1,118 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IntentClassifier 학습/분류/교차 검증을 메모리에서만 검증한다.
+ *
+ * DB, Spring 컨텍스트, 외부 네트워크 없이 실행된다.
+ */
+class IntentClassifierTest {
+
+    private static final String BITCOIN = "com.anam.bitcoin";
+    private static final String ETHEREUM = "com.anam.ethereum";
+    private static final String NEWS = "com.anam.news";
+
+    private static final List<String> ALL_APPS = List.of(BITCOIN, ETHEREUM, NEWS);
+
+    private static List<IntentClassifier.Sample> appTexts() {
+        return List.of(
+                sample(BITCOIN, "Bitcoin Wallet 비트코인 블록체인 지갑", 2),
+                sample(BITCOIN, "사토시 단위 수수료 설정", 1),
+                sample(BITCOIN, "UTXO 목록 보기", 1),
+                sample(BITCOIN, "비트코인 보내기", 1),
+                sample(ETHEREUM, "Ethereum Wallet 이더리움 블록체인 지갑", 2),
+                sample(ETHEREUM, "가스비 설정", 1),
+                sample(ETHEREUM, "토큰 목록 보기", 1),
+                sample(ETHEREUM, "스마트 컨트랙트 호출", 1),
+                sample(NEWS, "BonMedia 뉴스 미디어 콘텐츠", 2),
+                sample(NEWS, "기사 목록 보기", 1),
+                sample(NEWS, "구독 설정", 1),
+                sample(NEWS, "오늘의 헤드라인", 1)
+        );
+    }
+
+    private static IntentClassifier.Sample sample(String appId, String text, double weight) {
+        return new IntentClassifier.Sample(appId, text, weight);
+    }
+
+    @Test
+    void classifiesQuestionsWithoutAppNames() {
+        IntentClassifier classifier = IntentClassifier.train(appTexts());
+
+        IntentClassifier.Prediction gas = classifier.classify("가스비는 어디서 바꿔요?", ALL_APPS);
+        assertThat(gas.appId()).isEqualTo(ETHEREUM);
+        assertThat(gas.confidence()).isGreaterThan(0.8);
+
+        assertThat(classifier.classify("사토시로 수수료 정하는 법", ALL_APPS).appId()).isEqualTo(BITCOIN);
+        assertThat(classifier.classify("헤드라인 기사 보여줘", ALL_APPS).appId()).isEqualTo(NEWS);
+    }
+
+    @Test
+    void sharedWordsGiveLowConfidence() {
+        IntentClassifier classifier = IntentClassifier.train(appTexts());
+
+        // "목록 보기"는 세 앱 모두에 있으므로 확신할 수 없어야 한다
+        IntentClassifier.Prediction prediction = classifier.classify("목록 보기", ALL_APPS);
+        assertThat(prediction.confidence()).isLessThan(0.8);
+    }
+
+    @Test
+    void restrictsPredictionToCandidates() {
+        IntentClassifier classifier = IntentClassifier.train(appTexts());
+
+        IntentClassifier.Prediction prediction = classifier.classify("헤드라인 가스비", List.of(ETHEREUM, BITCOIN));
+        assertThat(prediction.appId()).isEqualTo(ETHEREUM);
+    }
+
+    @Test
+    void returnsNullForUnknownTokensOrCandidates() {
+        IntentClassifier classifier = IntentClassifier.train(appTexts());
+
+        assertThat(classifier.classify("zzz qqq", ALL_APPS)).isNull();
+        assertThat(classifier.classify("가스비", List.of("com.anam.unknown"))).isNull();
+    }
+
+    @Test
+    void loggedQuestionsAreLearned() {
+        List<IntentClassifier.Sample> samples = new ArrayList<>(appTexts());
+        IntentClassifier before = IntentClassifier.train(samples);
+        IntentClassifier.Prediction unsure = before.classify("송금 내역 확인", ALL_APPS);
+        assertThat(unsure == null || unsure.confidence() < 0.8).isTrue();
+
+        samples.add(sample(BITCOIN, "송금 내역 확인", 3));
+        samples.add(sample(BITCOIN, "송금하고 싶어요", 3));
+        IntentClassifier after = IntentClassifier.train(samples);
+
+        IntentClassifier.Prediction learned = after.classify("송금 내역은 어디서 확인해", ALL_APPS);
+        assertThat(learned.appId()).isEqualTo(BITCOIN);
+        assertThat(learned.confidence()).isGreaterThan(0.8);
+    }
+
+    @Test
+    void crossValidationRunsOffline() {
+        List<IntentClassifier.Sample> questions = List.of(
+                sample(BITCOIN, "사토시 수수료 얼마야", 3),
+                sample(ETHEREUM, "가스비 얼마야", 3),
+                sample(NEWS, "오늘 헤드라인 뭐야", 3),
+                sample(BITCOIN, "UTXO 확인하는 법", 3),
+                sample(ETHEREUM, "컨트랙트 호출 방법", 3),
+                sample(NEWS, "기사 구독하는 법", 3),
+                sample(BITCOIN, "사토시 단위로 보내기", 3),
+                sample(ETHEREUM, "가스비 설정 바꾸기", 3),
+                sample(NEWS, "헤드라인 기사 목록", 3),
+                sample(BITCOIN, "UTXO 목록", 3)
+        );
+
+        IntentClassifier.Evaluation evaluation = IntentClassifier.evaluate(appTexts(), questions, 5, 0.8);
+
+        assertThat(evaluation.samples()).isEqualTo(questions.size());
+        assertThat(evaluation.accuracy()).isGreaterThanOrEqualTo(0.9);
+        assertThat(evaluation.confidentAccuracy()).isGreaterThanOrEqualTo(evaluation.accuracy());
+    }
+}
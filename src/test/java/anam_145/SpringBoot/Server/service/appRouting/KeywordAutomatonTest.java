@@ -0,0 +1,66 @@
+package anam_145.SpringBoot.Server.service.appRouting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * KeywordAutomaton이 겹치거나 포함 관계인 키워드를 모두 찾는지 검증한다.
+ */
+class KeywordAutomatonTest {
+
+    @Test
+    void reportsOverlappingKeywordsThroughSuffixLinks() {
+        Matcher matcher = new Matcher(List.of("he", "she", "his", "hers"));
+
+        // "ushers": she와 he가 같은 위치에서 끝나고, hers는 he 이후로 이어진다
+        assertThat(matcher.search("ushers")).containsExactly("she@3", "he@3", "hers@5");
+    }
+
+    @Test
+    void reportsNestedHangulKeywords() {
+        Matcher matcher = new Matcher(List.of("이더", "이더리움", "리움", "부산", "부산일보"));
+
+        assertThat(matcher.search("이더리움을 부산일보에서"))
+                .containsExactly("이더@1", "이더리움@3", "리움@3", "부산@7", "부산일보@9");
+    }
+
+    @Test
+    void reportsEveryOccurrenceAndRecoversAfterMismatch() {
+        Matcher matcher = new Matcher(List.of("aab", "ab"));
+
+        // "aaab": 첫 a 두 개로 aab를 기대하다 세 번째 a에서 실패 링크로 되돌아간다
+        assertThat(matcher.search("aaab ab")).containsExactly("aab@3", "ab@3", "ab@6");
+    }
+
+    @Test
+    void emptyKeywordListMatchesNothing() {
+        Matcher matcher = new Matcher(List.of());
+
+        assertThat(matcher.search("비트코인 보내기")).isEmpty();
+        assertThat(matcher.automaton.size()).isEqualTo(1);
+    }
+
+    /**
+     * 키워드 목록과 오토마톤을 함께 보관하여 일치 결과를 "키워드@끝 위치" 형태로 발견 순서대로 돌려준다.
+     */
+    private static final class Matcher {
+
+        private final List<String> keywords;
+        private final KeywordAutomaton automaton;
+
+        Matcher(List<String> keywords) {
+            this.keywords = keywords;
+            this.automaton = KeywordAutomaton.build(keywords);
+        }
+
+        List<String> search(String text) {
+            List<String> matches = new ArrayList<>();
+            automaton.search(text, (keyword, end) -> matches.add(keywords.get(keyword) + "@" + end));
+            return matches;
+        }
+    }
+}
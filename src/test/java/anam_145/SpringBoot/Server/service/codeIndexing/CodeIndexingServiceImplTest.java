@@ -0,0 +1,214 @@
+package anam_145.SpringBoot.Server.service.codeIndexing;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.CommonErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.KotlinParsingException;
+import anam_145.SpringBoot.Server.domain.aiGuide.ComposableInfo;
+import anam_145.SpringBoot.Server.repository.ComposableInfoRepository;
+import anam_145.SpringBoot.Server.service.htmlParser.HTMLParser;
+import anam_145.SpringBoot.Server.service.kotlinASTParser.KotlinASTParser;
+import anam_145.SpringBoot.Server.service.kotlinASTParser.KotlinASTParserImpl;
+import anam_145.SpringBoot.Server.service.kotlinASTParser.KotlinEnvironmentPool;
+import anam_145.SpringBoot.Server.service.zipExtractorService.ZipExtractorService;
+import anam_145.SpringBoot.Server.web.dto.AiGuideDTO.KotlinFileContentDTO;
+import anam_145.SpringBoot.Server.web.dto.AnalyzeDTO.IndexingResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jetbrains.kotlin.psi.KtPsiFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 재등록 시 화면 해시 비교로 추가/변경된 화면만 파싱하고 사라진 화면을 지우는지,
+ * 파싱에 실패한 Kotlin 화면이 해시 없이 저장되어 다음 등록 때 다시 파싱되는지 검증한다.
+ *
+ * 파서와 저장소는 메모리 가짜 객체로 대신하므로 DB, Kotlin 컴파일러 환경 없이 실행된다.
+ */
+class CodeIndexingServiceImplTest {
+
+    private static final String APP_ID = "com.anam.bitcoin";
+    private static final String SOURCE = "@Composable\nfun TransferScreen() {\n    Button(onClick = { }) { Text(\"보내기\") }\n}";
+
+    private final ExecutorService parseExecutor = Executors.newFixedThreadPool(2);
+    private final ZipExtractorService zipExtractorService = mock(ZipExtractorService.class);
+    private final ComposableInfoRepository composableInfoRepository = mock(ComposableInfoRepository.class);
+    private final RecordingIndexWriter indexWriter = new RecordingIndexWriter();
+
+    @AfterEach
+    void tearDown() {
+        parseExecutor.shutdownNow();
+    }
+
+    @Test
+    void kotlinParserReportsFailureInsteadOfPartialResult() {
+        KotlinEnvironmentPool brokenPool = new KotlinEnvironmentPool(1, 500, new SimpleMeterRegistry()) {
+            @Override
+            public <T> T execute(Function<KtPsiFactory, T> work) {
+                throw new IllegalStateException("PSI 환경 오류");
+            }
+        };
+        KotlinASTParserImpl parser = new KotlinASTParserImpl(brokenPool, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> parser.parseKotlinFile(APP_ID, "TransferScreen.kt", SOURCE))
+                .isInstanceOf(KotlinParsingException.class);
+    }
+
+    @Test
+    void failedKotlinScreenIsParsedAgainOnNextRegistration() {
+        when(zipExtractorService.extractAllSourceFiles(any())).thenReturn(Map.of(
+                "kotlin", List.of(file("app/src/main/TransferScreen.kt", SOURCE)),
+                "html", List.of()));
+
+        AtomicInteger parseCalls = new AtomicInteger();
+        KotlinASTParser failingParser = (appId, fileName, sourceCode) -> {
+            parseCalls.incrementAndGet();
+            throw new KotlinParsingException(CommonErrorStatus.KOTLIN_PARSING_FAILED);
+        };
+
+        // 1차 등록: 파싱 실패 → 해시 없이 저장
+        service(failingParser).indexMiniAppCode(APP_ID, zip());
+
+        assertThat(parseCalls).hasValue(1);
+        ParsedScreen failedScreen = indexWriter.lastWritten.get(0);
+        assertThat(failedScreen.getScreenName()).isEqualTo("TransferScreen");
+        assertThat(failedScreen.getContentHash()).isNull();
+
+        // 2차 등록: 내용은 같지만 해시가 없으므로 변경으로 분류되어 다시 파싱
+        List<String> parsedFiles = new ArrayList<>();
+        KotlinASTParser workingParser = (appId, fileName, sourceCode) -> {
+            parsedFiles.add(fileName);
+            return List.of(ComposableInfo.builder().appId(appId).type("Button").text("보내기").build());
+        };
+
+        service(workingParser).indexMiniAppCode(APP_ID, zip());
+
+        assertThat(parsedFiles).containsExactly("app/src/main/TransferScreen.kt");
+        assertThat(indexWriter.lastRemoved).containsExactly("TransferScreen");
+        ParsedScreen reparsedScreen = indexWriter.lastWritten.get(0);
+        assertThat(reparsedScreen.getContentHash()).isNotNull();
+        assertThat(reparsedScreen.getComposables()).hasSize(1);
+    }
+
+    @Test
+    void reindexParsesOnlyAddedAndChangedScreensAndRemovesMissingOnes() {
+        when(zipExtractorService.extractAllSourceFiles(any())).thenReturn(
+                Map.of("kotlin", List.of(
+                                file("app/src/main/HomeScreen.kt", screen("HomeScreen", "보내기")),
+                                file("app/src/main/SendScreen.kt", screen("SendScreen", "전송")),
+                                file("app/src/main/ReceiveScreen.kt", screen("ReceiveScreen", "주소 복사"))),
+                        "html", List.of()),
+                // 재등록: HomeScreen 유지, SendScreen 변경, ReceiveScreen 삭제, SettingsScreen 추가
+                Map.of("kotlin", List.of(
+                                file("app/src/main/HomeScreen.kt", screen("HomeScreen", "보내기")),
+                                file("app/src/main/SendScreen.kt", screen("SendScreen", "지금 전송")),
+                                file("app/src/main/SettingsScreen.kt", screen("SettingsScreen", "언어"))),
+                        "html", List.of()));
+
+        List<String> parsedFiles = new CopyOnWriteArrayList<>();
+        KotlinASTParser recordingParser = (appId, fileName, sourceCode) -> {
+            parsedFiles.add(fileName);
+            return List.of(ComposableInfo.builder().appId(appId).type("Button").text(fileName).build());
+        };
+        CodeIndexingServiceImpl service = service(recordingParser);
+
+        IndexingResultDTO first = service.indexMiniAppCode(APP_ID, zip());
+
+        assertThat(first.getAddedFiles()).isEqualTo(3);
+        assertThat(first.getParsedElementCount()).isEqualTo(3);
+        parsedFiles.clear();
+
+        IndexingResultDTO second = service.indexMiniAppCode(APP_ID, zip());
+
+        // 해시가 같은 HomeScreen은 다시 파싱하지도, 지우지도 않는다
+        assertThat(parsedFiles).containsExactlyInAnyOrder(
+                "app/src/main/SendScreen.kt", "app/src/main/SettingsScreen.kt");
+        assertThat(indexWriter.lastRemoved).containsExactlyInAnyOrder("SendScreen", "ReceiveScreen");
+        assertThat(indexWriter.lastWritten).extracting(ParsedScreen::getScreenName)
+                .containsExactlyInAnyOrder("SendScreen", "SettingsScreen");
+        assertThat(indexWriter.hashes).containsOnlyKeys("HomeScreen", "SendScreen", "SettingsScreen");
+
+        assertThat(second.getAddedFiles()).isEqualTo(1);
+        assertThat(second.getChangedFiles()).isEqualTo(1);
+        assertThat(second.getUnchangedFiles()).isEqualTo(1);
+        assertThat(second.getRemovedFiles()).isEqualTo(1);
+        assertThat(second.getParsedElementCount()).isEqualTo(2);
+    }
+
+    private CodeIndexingServiceImpl service(KotlinASTParser kotlinASTParser) {
+        return new CodeIndexingServiceImpl(
+                zipExtractorService,
+                kotlinASTParser,
+                mock(HTMLParser.class),
+                indexWriter,
+                composableInfoRepository,
+                parseExecutor,
+                true);
+    }
+
+    private static KotlinFileContentDTO file(String fileName, String content) {
+        return KotlinFileContentDTO.builder()
+                .fileName(fileName)
+                .content(content)
+                .fileSize(content.length())
+                .build();
+    }
+
+    private static String screen(String name, String buttonText) {
+        return "@Composable\nfun " + name + "() {\n    Button(onClick = { }) { Text(\"" + buttonText + "\") }\n}";
+    }
+
+    private static MockMultipartFile zip() {
+        return new MockMultipartFile("file", "app.zip", "application/zip", new byte[]{1});
+    }
+
+    /**
+     * 화면별 해시를 메모리에 보관하고 마지막 저장 요청을 기록하는 CodeIndexWriter
+     */
+    private static final class RecordingIndexWriter extends CodeIndexWriter {
+
+        private final Map<String, String> hashes = new HashMap<>();
+        private List<String> lastRemoved = List.of();
+        private List<ParsedScreen> lastWritten = List.of();
+
+        RecordingIndexWriter() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public Map<String, String> findScreenHashes(String appId) {
+            return new HashMap<>(hashes);
+        }
+
+        @Override
+        public int applyIndex(String appId,
+                              boolean fullRebuild,
+                              Collection<String> screensToRemove,
+                              List<ParsedScreen> screensToWrite) {
+            lastRemoved = List.copyOf(screensToRemove);
+            lastWritten = List.copyOf(screensToWrite);
+            screensToRemove.forEach(hashes::remove);
+            int saved = 0;
+            for (ParsedScreen screen : screensToWrite) {
+                hashes.put(screen.getScreenName(), screen.getContentHash());
+                saved += screen.getComposables().size();
+            }
+            return saved;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package anam_145.SpringBoot.Server.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HashingNgramEmbedder가 같은 입력에 같은 정규화 벡터를 만들고, 어형 변화를 가깝게 놓는지 검증한다.
+ */
+class HashingNgramEmbedderTest {
+
+    private final HashingNgramEmbedder embedder = new HashingNgramEmbedder(256);
+
+    @Test
+    void sameTextGivesSameVectorAcrossInstances() {
+        HashingNgramEmbedder other = new HashingNgramEmbedder(256);
+
+        for (String text : List.of("비트코인 보내기", "navigateToSend", "Transfer 설정 화면")) {
+            assertThat(embedder.embed(text)).containsExactly(embedder.embed(text));
+            assertThat(other.embed(text)).containsExactly(embedder.embed(text));
+        }
+    }
+
+    @Test
+    void vectorsAreUnitLength() {
+        for (String text : List.of("송금", "지갑 주소 복사", "sendBitcoinButton", "ERC20 토큰 전송하기")) {
+            float[] vector = embedder.embed(text);
+
+            assertThat(vector).hasSize(256);
+            assertThat(dot(vector, vector)).isCloseTo(1.0, within(1e-5));
+        }
+    }
+
+    @Test
+    void textWithoutTokensGivesZeroVector() {
+        assertThat(embedder.embed(null)).containsOnly(0f);
+        assertThat(embedder.embed("?! the")).containsOnly(0f);
+    }
+
+    @Test
+    void wordFormsShareCharacterTrigrams() {
+        float[] transfer = embedder.embed("transfer");
+
+        double inflected = dot(transfer, embedder.embed("transfers"));
+        double unrelated = dot(transfer, embedder.embed("settings"));
+
+        assertThat(inflected).isGreaterThan(0.3).isGreaterThan(unrelated);
+    }
+
+    @Test
+    void dimensionHasLowerBound() {
+        assertThat(new HashingNgramEmbedder(4).dimension()).isEqualTo(16);
+        assertThat(new HashingNgramEmbedder(4).embed("송금")).hasSize(16);
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
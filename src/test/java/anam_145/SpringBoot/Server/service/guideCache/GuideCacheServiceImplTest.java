@@ -0,0 +1,232 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.catalog.MiniAppIndexedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GuideCacheServiceImpl의 TTL 만료, LRU 제거, 인덱스 버전별 키, DB 계층 조회,
+ * 재인덱싱 커밋 후(AFTER_COMMIT) 무효화, 만료 행 주기 삭제를 검증한다.
+ *
+ * DB 계층(GuideCacheStore)은 목(mock)으로 대신하고 시각은 테스트가 직접 움직인다.
+ */
+class GuideCacheServiceImplTest {
+
+    private static final String APP_ID = "com.anam.bitcoin";
+    private static final long NOW = 1_760_000_000_000L;
+    private static final long TTL_MILLIS = 60_000;
+
+    private static final List<CatalogElement> ELEMENTS = List.of(element(1L, "보내기"), element(2L, "받기"));
+    private static final AppCatalog CATALOG = AppCatalog.of(APP_ID, 1, ELEMENTS);
+    private static final List<GuideStepPlan> STEPS = List.of(new GuideStepPlan(1, 0, "보내기를 누르세요"));
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final GuideCacheStore store = mock(GuideCacheStore.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void memoryEntryExpiresAfterTtl() {
+        GuideCacheServiceImpl cache = cache(false, 100);
+        cache.put(CATALOG, "비트코인 보내는 법", STEPS, 1200);
+
+        clock.set(NOW + TTL_MILLIS - 1);
+        assertThat(cache.get(CATALOG, "비트코인 보내는 법")).contains(STEPS);
+
+        clock.set(NOW + TTL_MILLIS);
+        assertThat(cache.get(CATALOG, "비트코인 보내는 법")).isEmpty();
+        assertThat(counter("hit", "memory")).isEqualTo(1);
+        assertThat(counter("miss", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedFirst() {
+        GuideCacheServiceImpl cache = cache(false, 2);
+        cache.put(CATALOG, "첫 번째 질문", STEPS, 0);
+        cache.put(CATALOG, "두 번째 질문", STEPS, 0);
+
+        // 첫 번째 질문을 다시 읽어 가장 최근 사용으로 만든 뒤 세 번째 항목을 넣는다
+        assertThat(cache.get(CATALOG, "첫 번째 질문")).isPresent();
+        cache.put(CATALOG, "세 번째 질문", STEPS, 0);
+
+        assertThat(cache.get(CATALOG, "두 번째 질문")).isEmpty();
+        assertThat(cache.get(CATALOG, "첫 번째 질문")).isPresent();
+        assertThat(cache.get(CATALOG, "세 번째 질문")).isPresent();
+        assertThat(meterRegistry.get("ai.guide.cache.entries").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void questionsDifferingOnlyInNotationShareEntry() {
+        GuideCacheServiceImpl cache = cache(false, 100);
+        cache.put(CATALOG, "BTC  보내는 법?", STEPS, 0);
+
+        assertThat(cache.get(CATALOG, "btc 보내는 법")).contains(STEPS);
+    }
+
+    @Test
+    void reindexedCatalogMissesEntriesOfPreviousVersion() {
+        GuideCacheServiceImpl cache = cache(true, 100);
+        cache.put(CATALOG, "비트코인 보내는 법", STEPS, 0);
+
+        AppCatalog reindexed = AppCatalog.of(APP_ID, 2, ELEMENTS);
+
+        assertThat(cache.get(reindexed, "비트코인 보내는 법")).isEmpty();
+        // DB 계층도 새 인덱스 버전으로 조회한다
+        verify(store).find(eq(APP_ID), eq(2L), eq("비트코인 보내는 법"), any());
+    }
+
+    @Test
+    void memoryMissFallsThroughToDatabaseAndPromotesHit() {
+        GuideCacheServiceImpl cache = cache(true, 100);
+        when(store.find(APP_ID, 1L, "비트코인 보내는 법", cutoff(NOW)))
+                .thenReturn(Optional.of(new CachedGuide(STEPS, 1500, NOW - 1000)));
+
+        assertThat(cache.get(CATALOG, "비트코인 보내는 법?")).contains(STEPS);
+        assertThat(cache.get(CATALOG, "비트코인 보내는 법")).contains(STEPS);
+
+        // 두 번째 조회는 메모리로 승격된 항목에서 적중
+        verify(store, times(1)).find(anyString(), anyLong(), anyString(), any());
+        assertThat(counter("hit", "database")).isEqualTo(1);
+        assertThat(counter("hit", "memory")).isEqualTo(1);
+    }
+
+    @Test
+    void databaseGuideOutsideCatalogRangeIsIgnored() {
+        GuideCacheServiceImpl cache = cache(true, 100);
+        when(store.find(anyString(), anyLong(), anyString(), any()))
+                .thenReturn(Optional.of(new CachedGuide(List.of(new GuideStepPlan(1, 5, "없는 요소")), 0, NOW)));
+
+        assertThat(cache.get(CATALOG, "비트코인 보내는 법")).isEmpty();
+        assertThat(counter("miss", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void databaseFailureIsTreatedAsMiss() {
+        GuideCacheServiceImpl cache = cache(true, 100);
+        when(store.find(anyString(), anyLong(), anyString(), any())).thenThrow(new IllegalStateException("DB 오류"));
+
+        assertThat(cache.get(CATALOG, "비트코인 보내는 법")).isEmpty();
+    }
+
+    @Test
+    void indexedEventClearsOnlyThatAppAndDeletesOtherVersions() {
+        GuideCacheServiceImpl cache = cache(true, 100);
+        AppCatalog otherApp = AppCatalog.of("com.anam.ethereum", 1, ELEMENTS);
+        cache.put(CATALOG, "보내는 법", STEPS, 0);
+        cache.put(otherApp, "보내는 법", STEPS, 0);
+
+        cache.onMiniAppIndexed(new MiniAppIndexedEvent(APP_ID, 2));
+
+        assertThat(cache.get(CATALOG, "보내는 법")).isEmpty();
+        assertThat(cache.get(otherApp, "보내는 법")).contains(STEPS);
+        verify(store).deleteOtherVersions(APP_ID, 2);
+    }
+
+    @Test
+    void invalidationRunsOnlyAfterIndexingTransactionCommits() {
+        GuideCacheServiceImpl cache = cache(true, 100);
+        cache.put(CATALOG, "보내는 법", STEPS, 0);
+        TransactionTemplate transaction = new TransactionTemplate(new SynchronizationOnlyTransactionManager());
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(TransactionalEventListenerFactory.class);
+            context.registerBean(GuideCacheServiceImpl.class, () -> cache);
+            context.refresh();
+
+            // 롤백된 인덱싱은 캐시를 건드리지 않는다
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(new MiniAppIndexedEvent(APP_ID, 2));
+                status.setRollbackOnly();
+            });
+            assertThat(cache.get(CATALOG, "보내는 법")).contains(STEPS);
+            verify(store, never()).deleteOtherVersions(anyString(), anyLong());
+
+            // 커밋 전까지는 이전 가이드가 그대로 조회되고, 커밋 후에 정리된다
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(new MiniAppIndexedEvent(APP_ID, 2));
+                assertThat(cache.get(CATALOG, "보내는 법")).contains(STEPS);
+            });
+            assertThat(cache.get(CATALOG, "보내는 법")).isEmpty();
+            verify(store).deleteOtherVersions(APP_ID, 2);
+        }
+    }
+
+    @Test
+    void purgeDeletesRowsOlderThanTtl() {
+        cache(true, 100).purgeExpired();
+        verify(store).deleteCreatedBefore(cutoff(NOW));
+
+        cache(false, 100).purgeExpired();
+        verify(store, times(1)).deleteCreatedBefore(any());
+    }
+
+    private GuideCacheServiceImpl cache(boolean persistent, int maxEntries) {
+        return new GuideCacheServiceImpl(store, true, persistent, maxEntries, TTL_MILLIS / 60_000, meterRegistry,
+                clock::get);
+    }
+
+    private double counter(String result, String tier) {
+        return meterRegistry.get("ai.guide.cache.requests").tag("result", result).tag("tier", tier).counter().count();
+    }
+
+    private static LocalDateTime cutoff(long now) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(now - TTL_MILLIS), ZoneId.systemDefault());
+    }
+
+    private static CatalogElement element(long id, String text) {
+        return CatalogElement.builder()
+                .id(id)
+                .screenName("Main")
+                .type("Button")
+                .text(text)
+                .build();
+    }
+
+    /**
+     * 실제 리소스 없이 트랜잭션 동기화(커밋/롤백 콜백)만 수행하는 트랜잭션 관리자
+     */
+    private static final class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
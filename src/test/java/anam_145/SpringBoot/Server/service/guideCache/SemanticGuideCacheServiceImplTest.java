@@ -0,0 +1,168 @@
+package anam_145.SpringBoot.Server.service.guideCache;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.embedding.Embedder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * SemanticGuideCacheServiceImpl의 유사도 임계값(0.85), 앱별 격리, 반복 불일치 시 제거를 검증한다.
+ *
+ * 질문별 벡터를 직접 정하는 임베더로 유사도를 고정하고, 표본 검증은 항상 수행하여 호출 스레드에서 실행한다.
+ */
+class SemanticGuideCacheServiceImplTest {
+
+    private static final double MIN_SIMILARITY = 0.85;
+    private static final String STORED = "이더 송금 방법";
+    private static final String PARAPHRASE = "이더 송금하는 방법";
+
+    /**
+     * 0 보내기(SendScreen으로 이동), 1 주소 입력, 2 전송, 3 받기
+     */
+    private static final List<CatalogElement> ELEMENTS = List.of(
+            element(1L, "Home", "보내기", "navigateToSend()"),
+            element(2L, "SendScreen", "주소 입력", null),
+            element(3L, "SendScreen", "전송", "submit()"),
+            element(4L, "Home", "받기", null));
+    private static final AppCatalog ETHEREUM = AppCatalog.of("com.anam.ethereum", 1, ELEMENTS);
+    private static final AppCatalog BITCOIN = AppCatalog.of("com.anam.bitcoin", 1, ELEMENTS);
+
+    private static final List<GuideStepPlan> SEND_STEPS = List.of(
+            new GuideStepPlan(1, 0, "보내기를 누르세요"),
+            new GuideStepPlan(2, 1, "주소를 입력하세요"),
+            new GuideStepPlan(3, 2, "전송을 누르세요"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FixedEmbedder embedder = new FixedEmbedder();
+    private final SemanticGuideCacheServiceImpl cache = new SemanticGuideCacheServiceImpl(
+            embedder, Runnable::run, true, MIN_SIMILARITY, 200, 100, 1440, 1.0, 2, meterRegistry);
+
+    @Test
+    void hitJustAboveThresholdAndMissJustBelow() {
+        embedder.vector(STORED, 1.0);
+        embedder.vector(PARAPHRASE, 0.851);
+        embedder.vector("이더 받는 방법", 0.849);
+        cache.put(ETHEREUM, STORED, SEND_STEPS, 1500);
+
+        Optional<SemanticMatch> hit = cache.find(ETHEREUM, PARAPHRASE);
+        assertThat(hit).isPresent();
+        assertThat(hit.get().steps()).isEqualTo(SEND_STEPS);
+        assertThat(hit.get().matchedQuestion()).isEqualTo(STORED);
+        assertThat(hit.get().similarity()).isCloseTo(0.851, within(1e-6));
+
+        assertThat(cache.find(ETHEREUM, "이더 받는 방법")).isEmpty();
+    }
+
+    @Test
+    void entriesAreIsolatedPerApp() {
+        embedder.vector(STORED, 1.0);
+        cache.put(ETHEREUM, STORED, SEND_STEPS, 0);
+        int embeddingsAfterPut = embedder.calls;
+
+        assertThat(cache.find(BITCOIN, STORED)).isEmpty();
+        // 항목이 없는 앱은 질문 임베딩을 계산하지 않는다
+        assertThat(embedder.calls).isEqualTo(embeddingsAfterPut);
+
+        assertThat(cache.find(ETHEREUM, STORED)).isPresent();
+        assertThat(embedder.calls).isEqualTo(embeddingsAfterPut + 1);
+    }
+
+    @Test
+    void reindexedCatalogDoesNotReuseEntries() {
+        embedder.vector(STORED, 1.0);
+        cache.put(ETHEREUM, STORED, SEND_STEPS, 0);
+
+        assertThat(cache.find(AppCatalog.of("com.anam.ethereum", 2, ELEMENTS), STORED)).isEmpty();
+    }
+
+    @Test
+    void sameTargetsWithDifferentNavigationAndWordingIsNotMismatch() {
+        embedder.vector(STORED, 1.0);
+        embedder.vector(PARAPHRASE, 0.9);
+        cache.put(ETHEREUM, STORED, SEND_STEPS, 0);
+
+        // 이동 단계 없이, 순서와 문구만 다른 재생성 결과
+        List<GuideStepPlan> regenerated = List.of(
+                new GuideStepPlan(1, 2, "전송 버튼"),
+                new GuideStepPlan(2, 1, "주소 입력칸"));
+        for (int i = 0; i < 3; i++) {
+            audit(PARAPHRASE, regenerated);
+        }
+
+        assertThat(audits("match")).isEqualTo(3);
+        assertThat(cache.find(ETHEREUM, PARAPHRASE).get().matchedQuestion()).isEqualTo(STORED);
+    }
+
+    @Test
+    void entryIsReplacedOnlyAfterRepeatedMismatches() {
+        embedder.vector(STORED, 1.0);
+        embedder.vector(PARAPHRASE, 0.9);
+        cache.put(ETHEREUM, STORED, SEND_STEPS, 0);
+        List<GuideStepPlan> receiveSteps = List.of(new GuideStepPlan(1, 3, "받기를 누르세요"));
+
+        // 첫 불일치는 기록만 한다
+        audit(PARAPHRASE, receiveSteps);
+        assertThat(cache.find(ETHEREUM, PARAPHRASE).get().matchedQuestion()).isEqualTo(STORED);
+
+        // 두 번째 불일치에서 항목을 제거하고 검증한 질문을 재생성 결과로 보관한다
+        audit(PARAPHRASE, receiveSteps);
+        SemanticMatch replaced = cache.find(ETHEREUM, STORED).get();
+        assertThat(replaced.matchedQuestion()).isEqualTo(PARAPHRASE);
+        assertThat(replaced.steps()).isEqualTo(receiveSteps);
+        assertThat(audits("mismatch")).isEqualTo(2);
+        assertThat(meterRegistry.get("ai.guide.semantic-cache.entries").gauge().value()).isEqualTo(1);
+    }
+
+    private void audit(String question, List<GuideStepPlan> regenerated) {
+        SemanticMatch match = cache.find(ETHEREUM, question).orElseThrow();
+        cache.auditIfSampled(ETHEREUM, question, match, () -> regenerated);
+    }
+
+    private double audits(String result) {
+        return meterRegistry.get("ai.guide.semantic-cache.audits").tag("result", result).counter().count();
+    }
+
+    private static CatalogElement element(long id, String screenName, String text, String onClickCode) {
+        return CatalogElement.builder()
+                .id(id)
+                .screenName(screenName)
+                .type("Button")
+                .text(text)
+                .onClickCode(onClickCode)
+                .build();
+    }
+
+    /**
+     * 질문마다 기준 벡터 (1, 0)과의 코사인 유사도를 직접 정하는 2차원 임베더 (정하지 않은 질문은 영벡터)
+     */
+    private static final class FixedEmbedder implements Embedder {
+
+        private final Map<String, float[]> vectors = new HashMap<>();
+        private int calls;
+
+        void vector(String question, double similarityToBase) {
+            float x = (float) similarityToBase;
+            vectors.put(question, new float[]{x, (float) Math.sqrt(1 - x * x)});
+        }
+
+        @Override
+        public int dimension() {
+            return 2;
+        }
+
+        @Override
+        public float[] embed(String text) {
+            calls++;
+            return vectors.getOrDefault(text, new float[2]);
+        }
+    }
+}
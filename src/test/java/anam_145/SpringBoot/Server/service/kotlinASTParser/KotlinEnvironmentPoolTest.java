@@ -0,0 +1,98 @@
+package anam_145.SpringBoot.Server.service.kotlinASTParser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 풀 크기보다 많은 스레드가 환경을 빌리는 동안 환경이 폐기(recycle)되어도 대기 스레드가 깨어나는지 검증한다.
+ *
+ * 실제 KotlinCoreEnvironment를 만들므로 스레드와 작업 수를 작게 유지한다.
+ */
+class KotlinEnvironmentPoolTest {
+
+    private static final int POOL_SIZE = 2;
+    private static final int THREADS = 6;
+    private static final int TASKS_PER_THREAD = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private KotlinEnvironmentPool pool;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void waitingBorrowersProceedWhileEnvironmentsAreRecycled() throws Exception {
+        // 파일 하나마다 환경을 폐기하므로 대기 중인 스레드는 반납이 아닌 폐기로만 풀려날 수 있다
+        pool = new KotlinEnvironmentPool(POOL_SIZE, 1, meterRegistry);
+
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int parsed = 0;
+                for (int task = 0; task < TASKS_PER_THREAD; task++) {
+                    parsed += pool.execute(psiFactory -> {
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        try {
+                            return psiFactory.createFile("Screen.kt", "fun Screen() {}").getDeclarations().size();
+                        } finally {
+                            inUse.decrementAndGet();
+                        }
+                    });
+                }
+                return parsed;
+            }));
+        }
+        start.countDown();
+
+        for (Future<Integer> result : results) {
+            assertThat(result.get(60, TimeUnit.SECONDS)).isEqualTo(TASKS_PER_THREAD);
+        }
+        assertThat(maxInUse.get()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(counter("kotlin.parser.environment.recycled")).isEqualTo(THREADS * TASKS_PER_THREAD);
+        assertThat(meterRegistry.get("kotlin.parser.environment.live").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedWorkDisposesEnvironmentWithoutBlockingWaiters() throws Exception {
+        pool = new KotlinEnvironmentPool(1, 500, meterRegistry);
+
+        assertThatThrownBy(() -> pool.execute(psiFactory -> {
+            throw new IllegalStateException("PSI 오류");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // 유일한 환경이 폐기된 뒤에도 다음 대여는 새 환경을 만들어 진행한다
+        Future<String> next = executor.submit(() -> pool.execute(psiFactory ->
+                psiFactory.createFile("Screen.kt", "fun Screen() {}").getName()));
+
+        assertThat(next.get(60, TimeUnit.SECONDS)).isEqualTo("Screen.kt");
+        assertThat(counter("kotlin.parser.environment.created")).isEqualTo(2);
+        assertThat(meterRegistry.get("kotlin.parser.environment.live").gauge().value()).isEqualTo(1);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -0,0 +1,256 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HedgingLlmClient의 추가 요청 시점, 승자 선택, 진 요청 취소, 예산 제한을 검증한다.
+ *
+ * 호출 순서대로 응답을 정하는 가짜 LlmClient를 쓰므로 네트워크 없이 실행된다.
+ * 추가 요청 예약과 응답 시간 측정은 수동 스케줄러/시계로 대신하므로 실제 시간 경과에 의존하지 않는다.
+ */
+class HedgingLlmClientTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void fastResponseDoesNotHedge() {
+        ScriptedClient delegate = new ScriptedClient(n -> CompletableFuture.completedFuture("ok"));
+        HedgingLlmClient client = client(delegate, 1.0);
+
+        assertThat(client.complete("system", "user").join()).isEqualTo("ok");
+        scheduler.runAll(); // 예약된 추가 요청 시점이 지나도 이미 끝난 호출은 헤징하지 않는다
+
+        assertThat(delegate.calls).hasSize(1);
+        assertThat(hedges("complete", "fired")).isZero();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndLoserCancelled() {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        ScriptedClient delegate = new ScriptedClient(n -> n == 0 ? slow : CompletableFuture.completedFuture("hedge"));
+        HedgingLlmClient client = client(delegate, 1.0);
+
+        CompletableFuture<String> result = client.complete("system", "user");
+        assertThat(scheduler.delays).containsExactly(50L); // 표본이 없으므로 max-delay-ms
+        assertThat(result).isNotDone();
+
+        scheduler.runAll();
+
+        assertThat(result.join()).isEqualTo("hedge");
+        assertThat(delegate.calls).hasSize(2);
+        assertThat(slow).isCancelled();
+        assertThat(hedges("complete", "fired")).isEqualTo(1);
+        assertThat(hedges("complete", "won")).isEqualTo(1);
+    }
+
+    @Test
+    void primaryWinningAfterHedgeCancelsHedge() {
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+        ScriptedClient delegate = new ScriptedClient(n -> n == 0 ? primary : hedge);
+        HedgingLlmClient client = client(delegate, 1.0);
+
+        CompletableFuture<String> result = client.complete("system", "user");
+        scheduler.runAll();
+        primary.complete("primary");
+
+        assertThat(result.join()).isEqualTo("primary");
+        assertThat(hedge).isCancelled();
+        assertThat(hedges("complete", "fired")).isEqualTo(1);
+        assertThat(hedges("complete", "won")).isZero();
+    }
+
+    @Test
+    void budgetCapsExtraRequests() {
+        // 요청 4건에 예산 비율 0.5 → 추가 요청은 최대 2건
+        List<CompletableFuture<String>> pending = new CopyOnWriteArrayList<>();
+        ScriptedClient delegate = new ScriptedClient(n -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+        HedgingLlmClient client = client(delegate, 0.5);
+
+        List<CompletableFuture<String>> results = List.of(
+                client.complete("system", "1"), client.complete("system", "2"),
+                client.complete("system", "3"), client.complete("system", "4"));
+        scheduler.runAll();
+        pending.forEach(future -> future.complete("slow"));
+        results.forEach(CompletableFuture::join);
+
+        assertThat(hedges("complete", "fired")).isEqualTo(2);
+        assertThat(hedges("complete", "budget-exhausted")).isEqualTo(2);
+    }
+
+    @Test
+    void firstFailureWaitsForRunningHedge() {
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+        ScriptedClient delegate = new ScriptedClient(n -> n == 0 ? primary : hedge);
+        HedgingLlmClient client = client(delegate, 1.0);
+
+        CompletableFuture<String> result = client.complete("system", "user");
+        scheduler.runAll(); // 추가 요청 전송 후
+        primary.completeExceptionally(new IllegalStateException("primary failed"));
+        assertThat(result).isNotDone();
+
+        hedge.complete("hedge");
+        assertThat(result.join()).isEqualTo("hedge");
+    }
+
+    @Test
+    void streamDeliversOnlyWinnerDeltas() {
+        CompletableFuture<String> silent = new CompletableFuture<>();
+        ScriptedClient delegate = new ScriptedClient((n, onDelta) -> {
+            if (n == 0) {
+                return silent;
+            }
+            onDelta.accept("첫 ");
+            onDelta.accept("조각");
+            return CompletableFuture.completedFuture("첫 조각");
+        });
+        HedgingLlmClient client = client(delegate, 1.0);
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> result = client.stream("system", "user", deltas::add);
+        scheduler.runAll();
+
+        assertThat(result.join()).isEqualTo("첫 조각");
+        assertThat(deltas).containsExactly("첫 ", "조각");
+        assertThat(silent).isCancelled();
+        assertThat(hedges("stream", "won")).isEqualTo(1);
+    }
+
+    @Test
+    void hedgeWinRecordsPrimaryLatency() {
+        // 표본 1건부터 백분위수 사용, 지연 시간 범위 10~5000ms
+        HedgingLlmClient.HedgePolicy policy = new HedgingLlmClient.HedgePolicy(0.95, 10, 5_000, 1, 1.0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+        ScriptedClient delegate = new ScriptedClient(n -> n == 0 ? primary : hedge);
+        HedgingLlmClient client = new HedgingLlmClient(delegate, "test", policy, meterRegistry,
+                scheduler, nanos::get);
+
+        CompletableFuture<String> result = client.complete("system", "user");
+        advanceMillis(300);
+        scheduler.runAll();
+        advanceMillis(100);
+        hedge.complete("hedge");
+
+        assertThat(result.join()).isEqualTo("hedge");
+        assertThat(primary).isCancelled();
+        // 추가 요청의 응답 시간(100ms)이 아니라 첫 요청이 취소될 때까지 걸린 시간(400ms)을 기록
+        assertThat(meterRegistry.find("ai.llm.hedge.delay").tag("mode", "complete").gauge().value())
+                .isEqualTo(400.0);
+    }
+
+    @Test
+    void delayFollowsLatencyPercentile() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.95);
+        assertThat(tracker.percentileMillis(10)).isEqualTo(-1);
+        for (int i = 1; i <= 128; i++) {
+            tracker.record(i * 10L);
+        }
+        // 최근 100건(290~1280ms)의 p95
+        assertThat(tracker.percentileMillis(10)).isEqualTo(1230);
+    }
+
+    /**
+     * 표본이 없으므로 지연 시간은 max-delay-ms(50ms)
+     */
+    private HedgingLlmClient client(LlmClient delegate, double budgetRatio) {
+        return new HedgingLlmClient(delegate, "test",
+                new HedgingLlmClient.HedgePolicy(0.95, 10, 50, 1_000, budgetRatio), meterRegistry,
+                scheduler, nanos::get);
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(millis * 1_000_000);
+    }
+
+    private double hedges(String mode, String result) {
+        var counter = meterRegistry.find("ai.llm.hedges").tag("mode", mode).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * 예약된 추가 요청을 테스트가 직접 실행하는 스케줄러
+     */
+    private static final class ManualScheduler implements HedgingLlmClient.HedgeScheduler {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+        private final List<Long> delays = new ArrayList<>();
+
+        @Override
+        public synchronized void schedule(Runnable task, long delayMillis) {
+            tasks.add(task);
+            delays.add(delayMillis);
+        }
+
+        void runAll() {
+            List<Runnable> due;
+            synchronized (this) {
+                due = new ArrayList<>(tasks);
+                tasks.clear();
+            }
+            due.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * 호출 순번(0부터)에 따라 응답 future를 돌려주는 가짜 클라이언트
+     */
+    private static final class ScriptedClient implements LlmClient {
+
+        private final StreamScript script;
+        private final List<Integer> calls = new CopyOnWriteArrayList<>();
+
+        ScriptedClient(CompleteScript script) {
+            this((n, onDelta) -> script.respond(n));
+        }
+
+        ScriptedClient(StreamScript script) {
+            this.script = script;
+        }
+
+        @Override
+        public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+            return next(delta -> { });
+        }
+
+        @Override
+        public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                                Consumer<String> onDelta) {
+            return next(onDelta);
+        }
+
+        private synchronized CompletableFuture<String> next(Consumer<String> onDelta) {
+            int n = calls.size();
+            calls.add(n);
+            return script.respond(n, onDelta);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompleteScript {
+        CompletableFuture<String> respond(int callNumber);
+    }
+
+    @FunctionalInterface
+    private interface StreamScript {
+        CompletableFuture<String> respond(int callNumber, Consumer<String> onDelta);
+    }
+}
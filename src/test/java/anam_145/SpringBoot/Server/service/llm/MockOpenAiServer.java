@@ -0,0 +1,136 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * OpenAI Chat Completions 엔드포인트를 흉내 내는 로컬 목(mock) HTTP 서버 (LLM 클라이언트 테스트 공용)
+ *
+ * JDK 내장 HttpServer를 테스트마다 빈 포트로 띄우므로 외부 네트워크나 API 키가 필요 없다.
+ * 요청 본문은 서버가 먼저 읽어 lastRequest()로 제공하고, 핸들러에는 요청 순번(1부터)을 넘긴다.
+ *
+ * 사용: {@code @RegisterExtension final MockOpenAiServer server = new MockOpenAiServer();}
+ */
+final class MockOpenAiServer implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicReference<JsonNode> lastRequest = new AtomicReference<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile Handler handler = (exchange, n) -> respond(exchange, 500, "{\"error\":{\"message\":\"no handler\"}}");
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", exchange -> {
+            lastRequest.set(objectMapper.readTree(exchange.getRequestBody()));
+            handler.handle(exchange, requests.incrementAndGet());
+        });
+        server.start();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * 이후 요청에 응답할 핸들러를 지정한다.
+     */
+    void handle(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * @return "/chat/completions"를 붙이기 전의 기본 주소 (예: http://127.0.0.1:12345/v1)
+     */
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    /**
+     * @return 지금까지 받은 요청 수
+     */
+    int requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return 마지막으로 받은 요청 본문 (없으면 null)
+     */
+    JsonNode lastRequest() {
+        return lastRequest.get();
+    }
+
+    /**
+     * 비스트리밍 응답 본문 (choices[0].message.content)
+     */
+    static String completion(String content) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(objectMapper.createObjectNode()
+                .set("choices", objectMapper.createArrayNode()
+                        .add(objectMapper.createObjectNode()
+                                .set("message", objectMapper.createObjectNode()
+                                        .put("role", "assistant")
+                                        .put("content", content)))));
+    }
+
+    /**
+     * 스트리밍 조각 하나를 SSE 이벤트로 보낸다. (choices[0].delta.content)
+     */
+    static void sendDelta(OutputStream out, String delta) throws IOException {
+        String chunk = objectMapper.writeValueAsString(objectMapper.createObjectNode()
+                .set("choices", objectMapper.createArrayNode()
+                        .add(objectMapper.createObjectNode()
+                                .set("delta", objectMapper.createObjectNode().put("content", delta)))));
+        out.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        } catch (IOException ignored) {
+            // 클라이언트가 타임아웃으로 먼저 연결을 끊은 경우
+        }
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 요청 순번(1부터)에 따라 응답을 정하는 핸들러
+     */
+    @FunctionalInterface
+    interface Handler {
+        void handle(HttpExchange exchange, int requestNumber) throws IOException;
+    }
+}
@@ -0,0 +1,195 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.completion;
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.respond;
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.sendDelta;
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.sleep;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OpenAiLlmClient를 로컬 목(mock) OpenAI 서버(MockOpenAiServer)에 붙여 검증한다.
+ */
+class OpenAiLlmClientTest {
+
+    @RegisterExtension
+    final MockOpenAiServer server = new MockOpenAiServer();
+
+    @Test
+    void returnsFirstChoiceContentAndSendsChatCompletionRequest() {
+        AtomicReference<String> receivedAuthorization = new AtomicReference<>();
+        server.handle((exchange, n) -> {
+            receivedAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            respond(exchange, 200, completion("안녕하세요"));
+        });
+
+        // HTTP/2 우선 설정이어도 HTTP/1.1만 지원하는 서버와 통신할 수 있어야 한다
+        String content = client(4, 2_000, 5_000, true).complete("system", "user").join();
+
+        JsonNode receivedBody = server.lastRequest();
+        assertThat(content).isEqualTo("안녕하세요");
+        assertThat(receivedAuthorization.get()).isEqualTo("Bearer test-key");
+        assertThat(receivedBody.path("model").asText()).isEqualTo("gpt-test");
+        assertThat(receivedBody.path("messages").get(0).path("role").asText()).isEqualTo("system");
+        assertThat(receivedBody.path("messages").get(1).path("content").asText()).isEqualTo("user");
+        assertThat(receivedBody.path("max_tokens").asInt()).isEqualTo(100);
+    }
+
+    @Test
+    void mapsErrorStatusToApiError() {
+        server.handle((exchange, n) -> respond(exchange, 500, "{\"error\":{\"message\":\"boom\"}}"));
+
+        assertThatThrownBy(() -> client(4, 2_000, 5_000).complete("system", "user").join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_API_ERROR);
+                    assertThat(e.getStatusCode()).isEqualTo(500);
+                });
+    }
+
+    @Test
+    void mapsBlankContentToEmptyResponse() {
+        server.handle((exchange, n) -> respond(exchange, 200, completion(" ")));
+
+        assertThatThrownBy(() -> client(4, 2_000, 5_000).complete("system", "user").join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_RESPONSE_EMPTY));
+    }
+
+    @Test
+    void slowResponseTimesOut() {
+        server.handle((exchange, n) -> {
+            sleep(1_000);
+            respond(exchange, 200, completion("늦은 응답"));
+        });
+
+        assertThatThrownBy(() -> client(4, 200, 5_000).complete("system", "user").join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_RESPONSE_TIMEOUT));
+    }
+
+    @Test
+    void limitsInFlightRequestsWithoutFailingQueuedOnes() {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        server.handle((exchange, n) -> {
+            int now = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(now, Math::max);
+            sleep(150);
+            concurrent.decrementAndGet();
+            respond(exchange, 200, completion("ok"));
+        });
+
+        OpenAiLlmClient client = client(2, 2_000, 10_000);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(client.complete("system", "user-" + i));
+        }
+
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isEqualTo("ok"));
+        assertThat(maxConcurrent.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void queuedRequestFailsWithTimeoutWhenTotalDeadlinePasses() {
+        server.handle((exchange, n) -> {
+            sleep(600);
+            respond(exchange, 200, completion("ok"));
+        });
+
+        OpenAiLlmClient client = client(1, 2_000, 300);
+        CompletableFuture<String> first = client.complete("system", "first");
+        CompletableFuture<String> queued = client.complete("system", "queued");
+
+        assertThatThrownBy(queued::join)
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_RESPONSE_TIMEOUT));
+        assertThatThrownBy(first::join).cause().isInstanceOf(LlmException.class);
+    }
+
+    @Test
+    void streamDeliversDeltasInOrderAndReturnsFullText() {
+        server.handle((exchange, n) -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String delta : List.of("{\"steps\":", "[{\"stepNumber\":1", "}]}")) {
+                    sendDelta(out, delta);
+                    sleep(50);
+                }
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        List<String> deltas = new ArrayList<>();
+        String content = client(4, 2_000, 5_000).stream("system", "user", deltas::add).join();
+
+        assertThat(server.lastRequest().path("stream").asBoolean()).isTrue();
+        assertThat(deltas).containsExactly("{\"steps\":", "[{\"stepNumber\":1", "}]}");
+        assertThat(content).isEqualTo("{\"steps\":[{\"stepNumber\":1}]}");
+    }
+
+    @Test
+    void streamFailsWhenDeltaConsumerThrows() {
+        server.handle((exchange, n) -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 20; i++) {
+                    sendDelta(out, "조각" + i);
+                    sleep(50);
+                }
+            } catch (IOException ignored) {
+                // 클라이언트가 수신을 중단한 경우
+            }
+        });
+
+        CompletableFuture<String> result = client(4, 2_000, 5_000).stream("system", "user", delta -> {
+            throw new IllegalStateException("client gone");
+        });
+
+        assertThatThrownBy(result::join).isInstanceOf(CompletionException.class);
+    }
+
+    private OpenAiLlmClient client(int maxInFlight, long responseTimeoutMillis, long totalTimeoutMillis) {
+        return client(maxInFlight, responseTimeoutMillis, totalTimeoutMillis, false);
+    }
+
+    private OpenAiLlmClient client(int maxInFlight, long responseTimeoutMillis, long totalTimeoutMillis, boolean http2) {
+        return new OpenAiLlmClient(
+                "test-key",
+                "gpt-test",
+                100,
+                0.0,
+                server.baseUrl() + "/",
+                1_000,
+                responseTimeoutMillis,
+                totalTimeoutMillis,
+                maxInFlight,
+                http2,
+                0,
+                30,
+                new SimpleMeterRegistry()
+        );
+    }
+}
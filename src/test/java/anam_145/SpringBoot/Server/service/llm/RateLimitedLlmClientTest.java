@@ -0,0 +1,160 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RateLimitedLlmClient의 요청/토큰 한도, 우선순위 대기열, 대기열 초과 거절, 대기 시간 제한을 검증한다.
+ *
+ * 받은 사용자 프롬프트를 순서대로 기록하는 가짜 LlmClient를 쓰므로 네트워크 없이 실행된다.
+ */
+class RateLimitedLlmClientTest {
+
+    private static final TokenCounter TOKEN_COUNTER = new TokenCounter("gpt-4");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingClient delegate = new RecordingClient();
+
+    @Test
+    void burstIsAdmittedImmediatelyAndRestWaitsForRefill() {
+        // 분당 600건, 0.3초 분량 → 즉시 3건, 이후 100ms마다 1건
+        RateLimitedLlmClient client = client(600, 1_000_000, 0.3, 10, 5_000);
+
+        List<CompletableFuture<String>> burst = List.of(
+                client.complete("system", "1"), client.complete("system", "2"), client.complete("system", "3"));
+        CompletableFuture<String> fourth = client.complete("system", "4");
+
+        assertThat(burst).allMatch(CompletableFuture::isDone);
+        assertThat(fourth).isNotDone();
+        assertThat(fourth.join()).isEqualTo("4");
+        assertThat(delegate.prompts).containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void interactiveCallsOvertakeQueuedBackgroundWork() {
+        RateLimitedLlmClient client = client(600, 1_000_000, 0.1, 10, 5_000);
+
+        CompletableFuture<String> first = client.complete("system", "first");
+        CompletableFuture<String> background1 = client.complete("system", "background-1", LlmCallOptions.background());
+        CompletableFuture<String> background2 = client.complete("system", "background-2", LlmCallOptions.background());
+        CompletableFuture<String> interactive = client.complete("system", "interactive",
+                LlmCallOptions.interactive(Deadline.after(5_000)));
+
+        CompletableFuture.allOf(first, background1, background2, interactive).join();
+        assertThat(delegate.prompts).containsExactly("first", "interactive", "background-1", "background-2");
+    }
+
+    @Test
+    void fullQueueRejectsFastAndEvictsBackgroundForInteractive() {
+        RateLimitedLlmClient client = client(60, 1_000_000, 1, 1, 5_000);
+
+        client.complete("system", "first").join();
+        CompletableFuture<String> background = client.complete("system", "background", LlmCallOptions.background());
+
+        // 같은 우선순위는 밀어낼 수 없으므로 바로 거절한다
+        assertRejected(client.complete("system", "background-2", LlmCallOptions.background()),
+                GPTErrorStatus.GPT_RATE_LIMITED);
+        // 사용자 요청은 대기 중인 백그라운드 요청을 밀어낸다
+        CompletableFuture<String> interactive = client.complete("system", "interactive",
+                LlmCallOptions.interactive(Deadline.after(5_000)));
+        assertRejected(background, GPTErrorStatus.GPT_RATE_LIMITED);
+        assertThat(interactive).isNotDone();
+
+        assertThat(rejected("queue-full")).isEqualTo(1);
+        assertThat(rejected("evicted")).isEqualTo(1);
+    }
+
+    @Test
+    void tokensPerMinuteLimitsLargePrompts() {
+        // 요청 수는 여유 있지만 토큰 한도(약 1초 분량 600토큰)가 프롬프트 하나 분량뿐이다
+        RateLimitedLlmClient client = client(6_000, 36_000, 1, 10, 5_000);
+        String largePrompt = "token ".repeat(500);
+
+        CompletableFuture<String> first = client.complete("system", largePrompt);
+        CompletableFuture<String> second = client.complete("system", largePrompt);
+
+        assertThat(first).isDone();
+        assertThat(second).isNotDone();
+        second.join();
+        assertThat(delegate.prompts).hasSize(2);
+    }
+
+    @Test
+    void queueWaitIsBoundedByDeadlineAndMaxWait() {
+        RateLimitedLlmClient client = client(1, 1_000_000, 60, 10, 100);
+        client.complete("system", "first").join();
+
+        assertRejected(client.complete("system", "capped"), GPTErrorStatus.GPT_RATE_LIMITED);
+        assertRejected(client.complete("system", "deadline", LlmCallOptions.interactive(Deadline.after(50))),
+                GPTErrorStatus.GPT_DEADLINE_EXCEEDED);
+        assertThat(rejected("timeout")).isEqualTo(2);
+        assertThat(delegate.prompts).containsExactly("first");
+    }
+
+    @Test
+    void cancellingQueuedCallLeavesQueue() {
+        RateLimitedLlmClient client = client(600, 1_000_000, 0.1, 10, 5_000);
+
+        client.complete("system", "first");
+        CompletableFuture<String> cancelled = client.complete("system", "cancelled");
+        CompletableFuture<String> next = client.complete("system", "next");
+        cancelled.cancel(true);
+
+        assertThat(next.join()).isEqualTo("next");
+        assertThat(delegate.prompts).containsExactly("first", "next");
+    }
+
+    /**
+     * 응답 토큰 추정치는 0으로 두어 프롬프트 토큰만 한도에 계산한다.
+     */
+    private RateLimitedLlmClient client(long requestsPerMinute, long tokensPerMinute, double burstSeconds,
+                                        int queueCapacity, long maxQueueWaitMillis) {
+        return new RateLimitedLlmClient(delegate, "test",
+                new RateLimitedLlmClient.RateLimitPolicy(requestsPerMinute, tokensPerMinute, burstSeconds,
+                        queueCapacity, maxQueueWaitMillis, 0),
+                TOKEN_COUNTER, meterRegistry);
+    }
+
+    private double rejected(String reason) {
+        var counter = meterRegistry.find("ai.llm.ratelimit.rejected").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void assertRejected(CompletableFuture<String> future, GPTErrorStatus code) {
+        assertThatThrownBy(future::join)
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class, e -> assertThat(e.getCode()).isEqualTo(code));
+    }
+
+    /**
+     * 받은 사용자 프롬프트를 기록하고 그대로 돌려주는 가짜 클라이언트
+     */
+    private static final class RecordingClient implements LlmClient {
+
+        private final List<String> prompts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+            prompts.add(userPrompt);
+            return CompletableFuture.completedFuture(userPrompt.length() > 100 ? "large" : userPrompt);
+        }
+
+        @Override
+        public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                                Consumer<String> onDelta) {
+            onDelta.accept(userPrompt);
+            return complete(systemPrompt, userPrompt, options);
+        }
+    }
+}
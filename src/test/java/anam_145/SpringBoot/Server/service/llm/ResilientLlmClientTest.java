@@ -0,0 +1,186 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.completion;
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.respond;
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.sendDelta;
+import static anam_145.SpringBoot.Server.service.llm.MockOpenAiServer.sleep;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ResilientLlmClient(재시도, 회로 차단, 마감 시각)를 장애 주입 로컬 HTTP 서버에 붙여 검증한다.
+ *
+ * 실제 OpenAiLlmClient를 MockOpenAiServer에 연결하고, 요청 순번마다 오류 응답/지연/스트림 중단을 주입한다.
+ */
+class ResilientLlmClientTest {
+
+    @RegisterExtension
+    final MockOpenAiServer server = new MockOpenAiServer();
+
+    @Test
+    void retriesServerErrorsUntilSuccess() {
+        server.handle((exchange, n) -> {
+            if (n <= 2) {
+                respond(exchange, n == 1 ? 503 : 429, "{\"error\":{\"message\":\"busy\"}}");
+            } else {
+                respond(exchange, 200, completion("ok"));
+            }
+        });
+
+        String content = client(3, 5_000, breaker(20, 10, 30_000)).complete("system", "user").join();
+
+        assertThat(content).isEqualTo("ok");
+        assertThat(server.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        server.handle((exchange, n) -> respond(exchange, 500, "{\"error\":{\"message\":\"boom\"}}"));
+
+        assertThatThrownBy(() -> client(3, 5_000, breaker(20, 10, 30_000)).complete("system", "user").join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_API_ERROR);
+                    assertThat(e.getStatusCode()).isEqualTo(500);
+                });
+        assertThat(server.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        server.handle((exchange, n) -> respond(exchange, 400, "{\"error\":{\"message\":\"bad request\"}}"));
+
+        CircuitBreaker breaker = breaker(2, 2, 30_000);
+        ResilientLlmClient client = client(3, 5_000, breaker);
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.complete("system", "user").join())
+                    .cause()
+                    .isInstanceOfSatisfying(LlmException.class, e -> assertThat(e.getStatusCode()).isEqualTo(400));
+        }
+
+        // 잘못된 요청은 엔드포인트 장애가 아니므로 회로를 열지 않는다
+        assertThat(server.requestCount()).isEqualTo(3);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void circuitOpensOnFailuresAndClosesAfterSuccessfulProbe() throws InterruptedException {
+        server.handle((exchange, n) -> respond(exchange, 502, "{\"error\":{\"message\":\"bad gateway\"}}"));
+
+        CircuitBreaker breaker = breaker(4, 4, 300);
+        ResilientLlmClient client = client(1, 5_000, breaker);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.complete("system", "user").join()).cause().isInstanceOf(LlmException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // OPEN 동안에는 요청을 보내지 않고 바로 거절한다
+        assertThatThrownBy(() -> client.complete("system", "user").join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_CIRCUIT_OPEN));
+        assertThat(server.requestCount()).isEqualTo(4);
+
+        // 차단 시간이 지나면 시험 호출 하나로 복구를 확인한다
+        server.handle((exchange, n) -> respond(exchange, 200, completion("recovered")));
+        Thread.sleep(350);
+        assertThat(client.complete("system", "user").join()).isEqualTo("recovered");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void deadlineBoundsSlowAttemptsAndRetries() {
+        server.handle((exchange, n) -> {
+            sleep(1_000);
+            respond(exchange, 200, completion("too late"));
+        });
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> client(3, 5_000, breaker(20, 10, 30_000))
+                .complete("system", "user", LlmCallOptions.interactive(Deadline.after(300))).join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_DEADLINE_EXCEEDED));
+
+        // 응답 타임아웃(5초)이 아니라 마감 시각에 끝나고, 마감 이후로 재시도하지 않는다
+        assertThat((System.nanoTime() - startedAt) / 1_000_000).isLessThan(900);
+        assertThat(server.requestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredDeadlineSendsNothing() {
+        server.handle((exchange, n) -> respond(exchange, 200, completion("ok")));
+
+        assertThatThrownBy(() -> client(3, 5_000, breaker(20, 10, 30_000))
+                .complete("system", "user", LlmCallOptions.interactive(Deadline.after(0))).join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_DEADLINE_EXCEEDED));
+        assertThat(server.requestCount()).isZero();
+    }
+
+    @Test
+    void streamRetriesOnlyBeforeFirstDelta() {
+        server.handle((exchange, n) -> {
+            if (n == 1) {
+                respond(exchange, 503, "{\"error\":{\"message\":\"busy\"}}");
+                return;
+            }
+            // 첫 조각을 보낸 뒤 응답이 멈춘다
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                sendDelta(out, "첫 조각");
+                sleep(1_000);
+            } catch (IOException ignored) {
+                // 클라이언트가 타임아웃으로 먼저 연결을 끊은 경우
+            }
+        });
+
+        List<String> deltas = new ArrayList<>();
+        assertThatThrownBy(() -> client(3, 400, breaker(20, 10, 30_000))
+                .stream("system", "user", deltas::add).join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_RESPONSE_TIMEOUT));
+
+        // 503은 재시도했지만, 조각을 전달한 뒤의 타임아웃은 중복 전달을 막기 위해 재시도하지 않는다
+        assertThat(server.requestCount()).isEqualTo(2);
+        assertThat(deltas).containsExactly("첫 조각");
+    }
+
+    private ResilientLlmClient client(int maxAttempts, long totalTimeoutMillis, CircuitBreaker breaker) {
+        OpenAiLlmClient delegate = new OpenAiLlmClient(
+                "test-key",
+                "gpt-test",
+                100,
+                0.0,
+                server.baseUrl(),
+                1_000,
+                totalTimeoutMillis,
+                totalTimeoutMillis,
+                8,
+                false,
+                0,
+                30,
+                new SimpleMeterRegistry()
+        );
+        return new ResilientLlmClient(delegate, "openai/gpt-test",
+                new ResilientLlmClient.RetryPolicy(maxAttempts, 20, 50, 50),
+                breaker, new SimpleMeterRegistry());
+    }
+
+    private static CircuitBreaker breaker(int windowSize, int minimumCalls, long openDurationMillis) {
+        return new CircuitBreaker("openai/gpt-test", windowSize, minimumCalls, 0.5, openDurationMillis);
+    }
+}
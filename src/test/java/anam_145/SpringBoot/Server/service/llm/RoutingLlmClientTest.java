@@ -0,0 +1,191 @@
+package anam_145.SpringBoot.Server.service.llm;
+
+import anam_145.SpringBoot.Server.apiPayload.code.status.error.external.GPTErrorStatus;
+import anam_145.SpringBoot.Server.apiPayload.exception.LlmException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RoutingLlmClient의 용도별 제공자 선택, 장애 전환, 제공자별 메트릭과 StubLlmClient의 재생 응답을 검증한다.
+ *
+ * 정해진 응답/오류를 돌려주는 가짜 제공자와 스텁 제공자를 쓰므로 네트워크 없이 실행된다.
+ */
+class RoutingLlmClientTest {
+
+    private static final LlmCallOptions APP_ROUTING =
+            LlmCallOptions.interactive(Deadline.after(5_000)).forTask(LlmCallOptions.Task.APP_ROUTING);
+    private static final LlmCallOptions STEP_SEQUENCE =
+            LlmCallOptions.interactive(Deadline.after(5_000)).forTask(LlmCallOptions.Task.STEP_SEQUENCE);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void routesEachTaskToItsProvider() {
+        FakeProvider fast = new FakeProvider("fast");
+        FakeProvider strong = new FakeProvider("strong");
+        RoutingLlmClient client = client(List.of(provider(fast), provider(strong)), Map.of(
+                LlmCallOptions.Task.APP_ROUTING, List.of("fast", "strong"),
+                LlmCallOptions.Task.STEP_SEQUENCE, List.of("strong", "fast")));
+
+        assertThat(client.complete("system", "user", APP_ROUTING).join()).isEqualTo("fast");
+        assertThat(client.complete("system", "user", STEP_SEQUENCE).join()).isEqualTo("strong");
+        // 규칙이 없는 용도는 등록 순서
+        assertThat(client.complete("system", "user").join()).isEqualTo("fast");
+    }
+
+    @Test
+    void failsOverOnProviderFailure() {
+        FakeProvider fast = new FakeProvider("fast").failWith(new LlmException(GPTErrorStatus.GPT_API_ERROR, 503, null));
+        FakeProvider strong = new FakeProvider("strong");
+        RoutingLlmClient client = client(List.of(provider(fast), provider(strong)),
+                Map.of(LlmCallOptions.Task.APP_ROUTING, List.of("fast", "strong")));
+
+        assertThat(client.complete("system", "user", APP_ROUTING).join()).isEqualTo("strong");
+
+        assertThat(meterRegistry.find("ai.llm.provider.failovers").tag("from", "fast").tag("to", "strong")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("ai.llm.provider.requests").tag("provider", "fast").tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("ai.llm.provider.requests").tag("provider", "strong").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotFailOverOnRequestErrors() {
+        FakeProvider fast = new FakeProvider("fast").failWith(new LlmException(GPTErrorStatus.GPT_API_ERROR, 400, null));
+        FakeProvider strong = new FakeProvider("strong");
+        RoutingLlmClient client = client(List.of(provider(fast), provider(strong)),
+                Map.of(LlmCallOptions.Task.APP_ROUTING, List.of("fast", "strong")));
+
+        // 잘못된 요청은 다른 제공자에 보내도 결과가 같다
+        assertThatThrownBy(() -> client.complete("system", "user", APP_ROUTING).join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class, e -> assertThat(e.getStatusCode()).isEqualTo(400));
+        assertThat(strong.calls).isEmpty();
+    }
+
+    @Test
+    void unhealthyProviderIsTriedLast() {
+        FakeProvider fast = new FakeProvider("fast");
+        FakeProvider strong = new FakeProvider("strong");
+        AtomicBoolean fastHealthy = new AtomicBoolean(false);
+        RoutingLlmClient client = client(List.of(
+                        new RoutingLlmClient.Provider("fast", fast, fastHealthy::get), provider(strong)),
+                Map.of(LlmCallOptions.Task.APP_ROUTING, List.of("fast", "strong")));
+
+        assertThat(client.complete("system", "user", APP_ROUTING).join()).isEqualTo("strong");
+        assertThat(fast.calls).isEmpty();
+
+        fastHealthy.set(true);
+        assertThat(client.complete("system", "user", APP_ROUTING).join()).isEqualTo("fast");
+    }
+
+    @Test
+    void streamDoesNotFailOverAfterFirstDelta() {
+        FakeProvider fast = new FakeProvider("fast").streamThenFail("첫 조각",
+                new LlmException(GPTErrorStatus.GPT_RESPONSE_TIMEOUT));
+        FakeProvider strong = new FakeProvider("strong");
+        RoutingLlmClient client = client(List.of(provider(fast), provider(strong)),
+                Map.of(LlmCallOptions.Task.STEP_SEQUENCE, List.of("fast", "strong")));
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        assertThatThrownBy(() -> client.stream("system", "user", STEP_SEQUENCE, deltas::add).join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_RESPONSE_TIMEOUT));
+        assertThat(deltas).containsExactly("첫 조각");
+        assertThat(strong.calls).isEmpty();
+    }
+
+    @Test
+    void stubReplaysDeterministicResponses() {
+        StubLlmClient stub = new StubLlmClient(List.of(
+                new StubLlmClient.ReplayEntry(LlmCallOptions.Task.APP_ROUTING, "이더", "ethereum"),
+                new StubLlmClient.ReplayEntry(null, "비트코인", "bitcoin")), "default-app", 0, 4);
+
+        assertThat(stub.complete("system", "이더 보내줘", APP_ROUTING).join()).isEqualTo("ethereum");
+        assertThat(stub.complete("system", "비트코인 시세", APP_ROUTING).join()).isEqualTo("bitcoin");
+        assertThat(stub.complete("system", "송금", APP_ROUTING).join()).isEqualTo("default-app");
+
+        // 단계 시퀀스 기본 응답은 파싱 가능한 한 단계이며, 스트리밍은 나누어 전달한다
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        String sequence = stub.stream("system", "송금", STEP_SEQUENCE, deltas::add).join();
+        assertThat(sequence).isEqualTo(StubLlmClient.DEFAULT_STEP_SEQUENCE);
+        assertThat(String.join("", deltas)).isEqualTo(sequence);
+        assertThat(deltas).allMatch(delta -> delta.length() <= 4);
+    }
+
+    @Test
+    void stubHonoursDeadline() {
+        StubLlmClient stub = new StubLlmClient(List.of(), "default-app", 500, 16);
+
+        assertThatThrownBy(() -> stub.complete("system", "user",
+                LlmCallOptions.interactive(Deadline.after(50))).join())
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(GPTErrorStatus.GPT_DEADLINE_EXCEEDED));
+    }
+
+    private RoutingLlmClient client(List<RoutingLlmClient.Provider> providers,
+                                    Map<LlmCallOptions.Task, List<String>> rules) {
+        return new RoutingLlmClient(providers, rules, meterRegistry);
+    }
+
+    private static RoutingLlmClient.Provider provider(FakeProvider fake) {
+        return new RoutingLlmClient.Provider(fake.name, fake, () -> true);
+    }
+
+    /**
+     * 제공자 이름을 응답으로 돌려주거나 정해진 오류로 실패하는 가짜 제공자
+     */
+    private static final class FakeProvider implements LlmClient {
+
+        private final String name;
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private LlmException failure;
+        private String deltaBeforeFailure;
+
+        FakeProvider(String name) {
+            this.name = name;
+        }
+
+        FakeProvider failWith(LlmException failure) {
+            this.failure = failure;
+            return this;
+        }
+
+        FakeProvider streamThenFail(String delta, LlmException failure) {
+            this.deltaBeforeFailure = delta;
+            this.failure = failure;
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<String> complete(String systemPrompt, String userPrompt, LlmCallOptions options) {
+            calls.add(userPrompt);
+            return failure == null
+                    ? CompletableFuture.completedFuture(name)
+                    : CompletableFuture.failedFuture(failure);
+        }
+
+        @Override
+        public CompletableFuture<String> stream(String systemPrompt, String userPrompt, LlmCallOptions options,
+                                                Consumer<String> onDelta) {
+            if (deltaBeforeFailure != null) {
+                onDelta.accept(deltaBeforeFailure);
+            }
+            return complete(systemPrompt, userPrompt, options);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package anam_145.SpringBoot.Server.service.navigation;
+
+import anam_145.SpringBoot.Server.repository.projection.NavigationSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ScreenNavigationGraph의 진입 화면 선택과 최단 경로 계산(동점, 순환, 도달 불가 화면)을 검증한다.
+ */
+class ScreenNavigationGraphTest {
+
+    private static final List<String> ENTRY_CANDIDATES = List.of("index", "main", "home");
+
+    /**
+     * index → wallet(10), index → SettingsScreen(2), wallet → send(3), SettingsScreen → send(11),
+     * send → confirm(5), confirm → index(6, 순환), wallet → wallet(7, 자기 자신), wallet → 없는 화면(8)
+     */
+    private static ScreenNavigationGraph walletApp() {
+        return ScreenNavigationGraph.build(
+                List.of("index", "wallet", "send", "confirm", "SettingsScreen", "orphan"),
+                List.of(
+                        new NavigationSource(2L, "index", "onClick = { navigateToSettings() }"),
+                        new NavigationSource(3L, "wallet", "onClick = { navigateToSend() }"),
+                        new NavigationSource(5L, "send", "navigateTo('confirm')"),
+                        new NavigationSource(6L, "confirm", "navigateTo('index')"),
+                        new NavigationSource(7L, "wallet", "navigateTo('wallet')"),
+                        new NavigationSource(8L, "wallet", "navigateTo('nowhere')"),
+                        new NavigationSource(10L, "index", "navigateTo('wallet')"),
+                        new NavigationSource(11L, "SettingsScreen", "navigateTo(\"send\")")),
+                ENTRY_CANDIDATES);
+    }
+
+    @Test
+    void computesShortestPathsFromEntryScreen() {
+        ScreenNavigationGraph graph = walletApp();
+
+        assertThat(graph.getEntryScreen()).isEqualTo("index");
+        assertThat(graph.pathTo("index")).isEmpty();
+        assertThat(graph.pathTo("wallet")).containsExactly(10L);
+        assertThat(graph.pathTo("SettingsScreen")).containsExactly(2L);
+        assertThat(graph.pathTo("confirm")).containsExactly(2L, 11L, 5L);
+    }
+
+    @Test
+    void equalLengthPathsPreferSmallerElementIds() {
+        // send까지는 index → wallet → send(10, 3)와 index → SettingsScreen → send(2, 11) 두 경로가 같은 길이다.
+        // 첫 간선의 요소 ID가 작은 쪽(2)을 고른다
+        assertThat(walletApp().pathTo("send")).containsExactly(2L, 11L);
+    }
+
+    @Test
+    void cyclesAndSelfLoopsDoNotChangePaths() {
+        ScreenNavigationGraph graph = walletApp();
+
+        // confirm → index 순환은 이미 방문한 진입 화면이므로 경로를 바꾸지 않고, 자기 자신/없는 화면으로의 이동은 간선이 아니다
+        assertThat(graph.pathTo("index")).isEmpty();
+        assertThat(graph.getEdgeCount()).isEqualTo(6);
+    }
+
+    @Test
+    void unreachableScreenHasNoPath() {
+        ScreenNavigationGraph graph = walletApp();
+
+        assertThat(graph.pathTo("orphan")).isNull();
+        assertThat(graph.pathTo("unknown")).isNull();
+        assertThat(graph.getEntryPaths()).doesNotContainKey("orphan");
+    }
+
+    @Test
+    void withoutCandidateNamePicksScreenWithNoIncomingAndMostOutgoingEdges() {
+        ScreenNavigationGraph graph = ScreenNavigationGraph.build(
+                List.of("Lonely", "Start", "A", "B"),
+                List.of(
+                        new NavigationSource(1L, "A", "navigateTo('B')"),
+                        new NavigationSource(2L, "Start", "navigateTo('A')"),
+                        new NavigationSource(3L, "Start", "navigateTo('B')"),
+                        new NavigationSource(4L, "B", "navigateTo('A')")),
+                ENTRY_CANDIDATES);
+
+        assertThat(graph.getEntryScreen()).isEqualTo("Start");
+        assertThat(graph.pathTo("A")).containsExactly(2L);
+        assertThat(graph.pathTo("B")).containsExactly(3L);
+        assertThat(graph.pathTo("Lonely")).isNull();
+    }
+
+    @Test
+    void emptyAppHasNoEntryScreen() {
+        ScreenNavigationGraph graph = ScreenNavigationGraph.build(List.of(), List.of(), ENTRY_CANDIDATES);
+
+        assertThat(graph.getEntryScreen()).isNull();
+        assertThat(graph.getEntryPaths()).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Bm25Index의 점수 순서(희귀 단어, 문서 길이, 동점 처리)와 질문 단어 커버리지를 검증한다.
+ */
+class Bm25IndexTest {
+
+    @Test
+    void documentsMatchingMoreQueryTermsRankFirst() {
+        Bm25Index index = Bm25Index.build(List.of(
+                element("Send"),
+                element("Send Bitcoin"),
+                element("Receive")));
+
+        assertThat(indices(index.search("send bitcoin", 10))).containsExactly(1, 0);
+    }
+
+    @Test
+    void rareTermsOutweighCommonTerms() {
+        Bm25Index index = Bm25Index.build(List.of(
+                element("wallet send"),
+                element("wallet history"),
+                element("wallet backup"),
+                element("wallet settings")));
+
+        // wallet은 모든 문서에 있어 변별력이 낮으므로 backup이 있는 문서가 앞선다
+        List<ScoredElement> results = index.search("wallet backup", 10);
+
+        assertThat(results.get(0).index()).isEqualTo(2);
+        assertThat(indices(results)).containsExactly(2, 0, 1, 3);
+    }
+
+    @Test
+    void shorterDocumentWinsForSameTermFrequency() {
+        Bm25Index index = Bm25Index.build(List.of(
+                element("send bitcoin now quickly please"),
+                element("send")));
+
+        assertThat(indices(index.search("send", 10))).containsExactly(1, 0);
+    }
+
+    @Test
+    void tiesKeepCatalogOrderAndLimitCutsAfterSorting() {
+        Bm25Index index = Bm25Index.build(List.of(
+                element("Receive"),
+                element("Send"),
+                element("Settings"),
+                element("Send")));
+
+        List<ScoredElement> results = index.search("send", 10);
+        assertThat(indices(results)).containsExactly(1, 3);
+        assertThat(results.get(0).score()).isCloseTo(results.get(1).score(), within(1e-12));
+
+        assertThat(indices(index.search("send", 1))).containsExactly(1);
+    }
+
+    @Test
+    void unknownTermsAndEmptyIndexReturnNothing() {
+        assertThat(Bm25Index.build(List.of(element("Send"))).search("비트코인", 10)).isEmpty();
+        assertThat(Bm25Index.build(List.of()).search("send", 10)).isEmpty();
+    }
+
+    @Test
+    void termCoverageCountsWordsWithAnyIndexedToken() {
+        Bm25Index index = Bm25Index.build(List.of(
+                element("Send Bitcoin"),
+                element("지갑 주소")));
+
+        // send는 색인에 있고 이더리움은 없다
+        assertThat(index.termCoverage("send 이더리움")).isEqualTo(0.5);
+        // 지갑을 → 지갑, 갑을, 지갑을 중 지갑이 색인에 있다
+        assertThat(index.termCoverage("지갑을 열기")).isEqualTo(0.5);
+        assertThat(index.termCoverage("지갑 주소 복사")).isCloseTo(2.0 / 3, within(1e-12));
+        // 토큰이 없는 단어는 분모에서 제외한다
+        assertThat(index.termCoverage("the bitcoin ?")).isEqualTo(1.0);
+        assertThat(index.termCoverage("?? !!")).isZero();
+    }
+
+    private static List<Integer> indices(List<ScoredElement> results) {
+        return results.stream().map(ScoredElement::index).toList();
+    }
+
+    private static CatalogElement element(String text) {
+        return CatalogElement.builder()
+                .id(1L)
+                .screenName("Main")
+                .type("Button")
+                .text(text)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.AppCatalog;
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.embedding.Embedder;
+import anam_145.SpringBoot.Server.service.embedding.HashingNgramEmbedder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CandidateRetrievalServiceImpl의 후보 선택(네비게이션 요소 추가), 질문 단어 커버리지 검사,
+ * 재현율이 낮을 때 전체 목록으로 되돌아가는 동작, BM25와 벡터 검색 결과의 RRF 결합을 검증한다.
+ *
+ * RRF 검증은 결과를 예측할 수 있도록 개념 단어로 벡터를 정하는 ConceptEmbedder를 사용한다.
+ */
+class CandidateRetrievalServiceImplTest {
+
+    private static final int MIN_CATALOG_SIZE = 4;
+
+    /**
+     * 0 보내기(Home → SendScreen), 1 설정(Home → SettingsScreen), 2 잔액(Home),
+     * 3 주소 입력, 4 금액 입력, 5 전송(SendScreen), 6 언어 변경, 7 알림 설정(SettingsScreen)
+     */
+    private static final AppCatalog CATALOG = AppCatalog.of("com.anam.wallet", 1, List.of(
+            element(1L, "Home", "보내기", "navigateToSend()"),
+            element(2L, "Home", "설정", "navigateToSettings()"),
+            element(3L, "Home", "잔액", null),
+            element(4L, "SendScreen", "주소 입력", null),
+            element(5L, "SendScreen", "금액 입력", null),
+            element(6L, "SendScreen", "전송", "submit()"),
+            element(7L, "SettingsScreen", "언어 변경", null),
+            element(8L, "SettingsScreen", "알림 설정", null)));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CandidateRetrievalServiceImpl service = new CandidateRetrievalServiceImpl(
+            new HashingNgramEmbedder(256), true, 3, MIN_CATALOG_SIZE, 0.5, false, 0.25, meterRegistry);
+
+    @Test
+    void selectsMatchesAndNavigationToTheirScreen() {
+        CandidateSelection selection = service.selectCandidates(CATALOG, "주소 입력");
+
+        assertThat(selection.isFullList()).isFalse();
+        assertThat(selection.getReason()).isEqualTo("retrieved");
+        // 주소와 입력이 모두 있는 요소가 먼저, 이어서 SendScreen으로 이동하는 보내기 버튼
+        assertThat(selection.getRankedIndices()).containsExactly(3, 4, 0);
+        assertThat(selection.getElementIndices()).containsExactly(0, 3, 4);
+        assertThat(selection.getMatchedCount()).isEqualTo(2);
+        assertThat(selection.getNavigationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lowTermCoverageFallsBackToFullListEvenWithMatches() {
+        // 주소만 색인에 있고 나머지 세 단어는 없다 (커버리지 0.25 < 0.5)
+        CandidateSelection selection = service.selectCandidates(CATALOG, "주소 복사하고 공유하기 알려줘");
+
+        assertThat(selection.isFullList()).isTrue();
+        assertThat(selection.getReason()).isEqualTo("low-recall");
+        assertThat(selection.getElementIndices()).isEmpty();
+    }
+
+    @Test
+    void noLexicalMatchFallsBackToFullList() {
+        CandidateSelection selection = service.selectCandidates(CATALOG, "비트코인 시세");
+
+        assertThat(selection.isFullList()).isTrue();
+        assertThat(selection.getReason()).isEqualTo("low-recall");
+        assertThat(meterRegistry.counter("ai.retrieval.requests", "mode", "low-recall").count()).isEqualTo(1);
+    }
+
+    @Test
+    void smallCatalogIsNotNarrowed() {
+        AppCatalog small = AppCatalog.of("com.anam.wallet", 1, CATALOG.getElements().subList(0, MIN_CATALOG_SIZE));
+
+        CandidateSelection selection = service.selectCandidates(small, "주소 입력");
+
+        assertThat(selection.isFullList()).isTrue();
+        assertThat(selection.getReason()).isEqualTo("full");
+    }
+
+    @Test
+    void rrfPromotesElementFoundOnlyBySemanticSearch() {
+        CandidateRetrievalServiceImpl hybrid = new CandidateRetrievalServiceImpl(
+                new ConceptEmbedder(), true, 2, MIN_CATALOG_SIZE, 0.5, true, 0.25, meterRegistry);
+
+        // BM25: 주소 입력(0위), 금액 입력(1위) / 벡터: 전송(0위, "송금" 개념), 주소 입력(1위)
+        // RRF: 주소 입력 1/61 + 1/62, 전송 1/61, 금액 입력 1/62 → 상위 2개에 BM25에 없는 전송이 들어온다
+        CandidateSelection selection = hybrid.selectCandidates(CATALOG, "송금 주소 입력");
+
+        assertThat(selection.getReason()).isEqualTo("hybrid");
+        assertThat(selection.getRankedIndices()).containsExactly(3, 5, 0);
+        assertThat(selection.getMatchedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void semanticMatchesAreUsedWhenLexicalSearchFindsNothing() {
+        CandidateRetrievalServiceImpl hybrid = new CandidateRetrievalServiceImpl(
+                new ConceptEmbedder(), true, 3, MIN_CATALOG_SIZE, 0.5, true, 0.25, meterRegistry);
+
+        CandidateSelection selection = hybrid.selectCandidates(CATALOG, "송금");
+
+        assertThat(selection.getReason()).isEqualTo("semantic");
+        assertThat(selection.getRankedIndices()).containsExactly(5, 0);
+    }
+
+    @Test
+    void rankElementsPutsMatchesFirstThenCatalogOrder() {
+        assertThat(service.rankElements(CATALOG, "주소 입력")).containsExactly(3, 4, 0, 1, 2, 5, 6, 7);
+    }
+
+    /**
+     * "송금"/"전송"은 첫 번째 축, "주소"는 두 번째 축에 두는 2차원 임베더 (개념 단어가 없으면 영벡터)
+     */
+    private static final class ConceptEmbedder implements Embedder {
+
+        @Override
+        public int dimension() {
+            return 2;
+        }
+
+        @Override
+        public float[] embed(String text) {
+            float[] vector = new float[2];
+            if (text != null && (text.contains("송금") || text.contains("전송"))) {
+                vector[0] = 2;
+            }
+            if (text != null && text.contains("주소")) {
+                vector[1] = 1;
+            }
+            float norm = (float) Math.sqrt(vector[0] * vector[0] + vector[1] * vector[1]);
+            if (norm > 0) {
+                vector[0] /= norm;
+                vector[1] /= norm;
+            }
+            return vector;
+        }
+    }
+
+    private static CatalogElement element(long id, String screenName, String text, String onClickCode) {
+        return CatalogElement.builder()
+                .id(id)
+                .screenName(screenName)
+                .type("Button")
+                .text(text)
+                .onClickCode(onClickCode)
+                .build();
+    }
+}
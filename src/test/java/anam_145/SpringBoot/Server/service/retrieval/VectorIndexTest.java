@@ -0,0 +1,156 @@
+package anam_145.SpringBoot.Server.service.retrieval;
+
+import anam_145.SpringBoot.Server.service.catalog.CatalogElement;
+import anam_145.SpringBoot.Server.service.embedding.Embedder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VectorIndex의 상위 K개 검색 결과가 전수 비교(정렬 후 자르기)와 같은지 검증한다.
+ *
+ * 임베딩은 고정 시드의 난수 벡터로 대신하고, 색인이 요청한 순서대로 기록하여 비교 기준으로 쓴다.
+ */
+class VectorIndexTest {
+
+    private static final int DIMENSION = 32;
+
+    @Test
+    void topKMatchesBruteForceRanking() {
+        RandomEmbedder embedder = new RandomEmbedder(DIMENSION, 42);
+        VectorIndex index = VectorIndex.build(elements(200), embedder);
+        List<float[]> documents = List.copyOf(embedder.embedded);
+
+        for (int query = 0; query < 20; query++) {
+            float[] vector = embedder.embed("question " + query);
+            for (int limit : new int[]{1, 5, 30, 500}) {
+                for (double minSimilarity : new double[]{-1.0, 0.0, 0.2}) {
+                    assertThat(indices(index.search(vector, limit, minSimilarity)))
+                            .as("query=%d, limit=%d, minSimilarity=%s", query, limit, minSimilarity)
+                            .isEqualTo(bruteForce(documents, vector, limit, minSimilarity));
+                }
+            }
+        }
+    }
+
+    @Test
+    void equalSimilarityKeepsCatalogOrder() {
+        float[] same = {1, 0};
+        List<float[]> vectors = List.of(new float[]{0, 1}, same, same, same);
+        VectorIndex index = VectorIndex.build(elements(vectors.size()), new FixedEmbedder(vectors));
+
+        assertThat(indices(index.search(same, 2, 0.5))).containsExactly(1, 2);
+    }
+
+    @Test
+    void emptyIndexOrNonPositiveLimitReturnsNothing() {
+        RandomEmbedder embedder = new RandomEmbedder(DIMENSION, 7);
+        float[] query = embedder.embed("question");
+
+        assertThat(VectorIndex.build(List.of(), embedder).search(query, 10, -1.0)).isEmpty();
+        assertThat(VectorIndex.build(elements(3), embedder).search(query, 0, -1.0)).isEmpty();
+    }
+
+    /**
+     * 같은 방식(float 누적 내적)으로 모든 문서 점수를 구해 유사도 내림차순, 동점이면 카탈로그 순으로 자른다.
+     */
+    private static List<Integer> bruteForce(List<float[]> documents, float[] query, int limit, double minSimilarity) {
+        float[] scores = new float[documents.size()];
+        for (int doc = 0; doc < documents.size(); doc++) {
+            float dot = 0f;
+            for (int d = 0; d < query.length; d++) {
+                dot += documents.get(doc)[d] * query[d];
+            }
+            scores[doc] = dot;
+        }
+        return IntStream.range(0, documents.size())
+                .filter(doc -> scores[doc] >= minSimilarity)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(doc -> scores[doc]).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static List<Integer> indices(List<ScoredElement> results) {
+        return results.stream().map(ScoredElement::index).toList();
+    }
+
+    private static List<CatalogElement> elements(int count) {
+        List<CatalogElement> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(CatalogElement.builder()
+                    .id((long) i)
+                    .screenName("Main")
+                    .type("Button")
+                    .text("element " + i)
+                    .build());
+        }
+        return elements;
+    }
+
+    /**
+     * 호출마다 정규화된 난수 벡터를 돌려주고, 돌려준 벡터를 순서대로 기록하는 임베더
+     */
+    private static final class RandomEmbedder implements Embedder {
+
+        private final int dimension;
+        private final Random random;
+        private final List<float[]> embedded = new ArrayList<>();
+
+        RandomEmbedder(int dimension, long seed) {
+            this.dimension = dimension;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public int dimension() {
+            return dimension;
+        }
+
+        @Override
+        public float[] embed(String text) {
+            float[] vector = new float[dimension];
+            double sum = 0;
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = (float) random.nextGaussian();
+                sum += vector[i] * vector[i];
+            }
+            float inverse = (float) (1.0 / Math.sqrt(sum));
+            for (int i = 0; i < dimension; i++) {
+                vector[i] *= inverse;
+            }
+            embedded.add(vector);
+            return vector;
+        }
+    }
+
+    /**
+     * 주어진 벡터를 호출 순서대로 돌려주는 임베더
+     */
+    private static final class FixedEmbedder implements Embedder {
+
+        private final List<float[]> vectors;
+        private int next;
+
+        FixedEmbedder(List<float[]> vectors) {
+            this.vectors = vectors;
+        }
+
+        @Override
+        public int dimension() {
+            return vectors.get(0).length;
+        }
+
+        @Override
+        public float[] embed(String text) {
+            return vectors.get(next++);
+        }
+    }
+}
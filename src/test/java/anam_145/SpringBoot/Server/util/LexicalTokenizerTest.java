@@ -0,0 +1,46 @@
+package anam_145.SpringBoot.Server.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LexicalTokenizer의 한글 bigram, camelCase/snake_case 분리, 문자 종류 경계 처리를 검증한다.
+ */
+class LexicalTokenizerTest {
+
+    @Test
+    void splitsHangulWordsIntoBigramsAndKeepsLongWords() {
+        assertThat(LexicalTokenizer.tokenize("송금하기")).containsExactly("송금", "금하", "하기", "송금하기");
+        assertThat(LexicalTokenizer.tokenize("비트코인을 보내기"))
+                .containsExactly("비트", "트코", "코인", "인을", "비트코인을", "보내", "내기", "보내기");
+    }
+
+    @Test
+    void shortHangulWordsAreKeptAsIs() {
+        assertThat(LexicalTokenizer.tokenize("송금")).containsExactly("송금");
+        assertThat(LexicalTokenizer.tokenize("돈 ㅋ")).containsExactly("돈", "ㅋ");
+    }
+
+    @Test
+    void splitsCamelCaseAndSnakeCaseIntoLowercaseWords() {
+        assertThat(LexicalTokenizer.tokenize("navigateToSend")).containsExactly("navigate", "send");
+        assertThat(LexicalTokenizer.tokenize("parseHTMLResponse")).containsExactly("parse", "html", "response");
+        assertThat(LexicalTokenizer.tokenize("wallet_address_field")).containsExactly("wallet", "address", "field");
+    }
+
+    @Test
+    void splitsAtDigitAndScriptBoundaries() {
+        // 한 글자 토큰(숫자 2)은 버린다
+        assertThat(LexicalTokenizer.tokenize("wallet2Address")).containsExactly("wallet", "address");
+        assertThat(LexicalTokenizer.tokenize("BTC송금")).containsExactly("btc", "송금");
+        assertThat(LexicalTokenizer.tokenize("ERC20토큰")).containsExactly("erc", "20", "토큰");
+    }
+
+    @Test
+    void dropsStopwordsSingleLettersAndPunctuation() {
+        assertThat(LexicalTokenizer.tokenize("Go to the X!")).containsExactly("go");
+        assertThat(LexicalTokenizer.tokenize("?! ...")).isEmpty();
+        assertThat(LexicalTokenizer.tokenize(null)).isEmpty();
+    }
+}
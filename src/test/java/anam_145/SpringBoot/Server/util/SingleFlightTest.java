@@ -0,0 +1,134 @@
+package anam_145.SpringBoot.Server.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SingleFlight의 결과 공유, follower별 타임아웃, 예외 전달, 완료 후 키 제거를 검증한다.
+ *
+ * 작업은 테스트가 직접 완료시키는 future로 대신한다.
+ */
+class SingleFlightTest {
+
+    private static final String KEY = "com.anam.bitcoin|비트코인 보내는 법";
+    private static final long LONG_TIMEOUT_MILLIS = 10_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", meterRegistry);
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CompletableFuture<String> source = new CompletableFuture<>();
+    private final Supplier<CompletableFuture<String>> work = () -> {
+        calls.incrementAndGet();
+        return source;
+    };
+
+    @Test
+    void followersShareLeaderResultAndWorkRunsOnce() {
+        CompletableFuture<String> leader = execute(work, LONG_TIMEOUT_MILLIS);
+        CompletableFuture<String> follower = execute(work, LONG_TIMEOUT_MILLIS);
+
+        source.complete("가이드");
+
+        assertThat(leader.join()).isEqualTo("가이드");
+        assertThat(follower.join()).isEqualTo("가이드");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.singleflight.calls").tag("role", "follower").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void followerTimeoutDoesNotAffectLeaderOrOtherFollowers() {
+        CompletableFuture<String> leader = execute(work, LONG_TIMEOUT_MILLIS);
+        CompletableFuture<String> impatient = execute(work, 50);
+        CompletableFuture<String> patient = execute(work, LONG_TIMEOUT_MILLIS);
+
+        assertThatThrownBy(impatient::join)
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("follower timeout");
+        assertThat(leader).isNotDone();
+        assertThat(patient).isNotDone();
+        assertThat(source).isNotDone();
+
+        source.complete("가이드");
+
+        assertThat(leader.join()).isEqualTo("가이드");
+        assertThat(patient.join()).isEqualTo("가이드");
+        assertThat(meterRegistry.get("ai.singleflight.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotCancelSharedWork() {
+        CompletableFuture<String> leader = execute(work, LONG_TIMEOUT_MILLIS);
+        CompletableFuture<String> follower = execute(work, LONG_TIMEOUT_MILLIS);
+
+        leader.cancel(true);
+        source.complete("가이드");
+
+        assertThat(follower.join()).isEqualTo("가이드");
+    }
+
+    @Test
+    void failurePropagatesSameExceptionToEveryWaiter() {
+        CompletableFuture<String> leader = execute(work, LONG_TIMEOUT_MILLIS);
+        CompletableFuture<String> first = execute(work, LONG_TIMEOUT_MILLIS);
+        CompletableFuture<String> second = execute(work, LONG_TIMEOUT_MILLIS);
+
+        IllegalArgumentException failure = new IllegalArgumentException("LLM 오류");
+        source.completeExceptionally(failure);
+
+        for (CompletableFuture<String> waiter : List.of(leader, first, second)) {
+            assertThatThrownBy(waiter::join).isInstanceOf(CompletionException.class).cause().isSameAs(failure);
+        }
+        assertThat(meterRegistry.get("ai.singleflight.timeouts").counter().count()).isZero();
+    }
+
+    @Test
+    void workThatThrowsFailsLeaderAndReleasesKey() {
+        IllegalStateException failure = new IllegalStateException("작업 시작 실패");
+
+        CompletableFuture<String> leader = execute(() -> {
+            throw failure;
+        }, LONG_TIMEOUT_MILLIS);
+
+        assertThatThrownBy(leader::join).cause().isSameAs(failure);
+        assertThat(execute(() -> CompletableFuture.completedFuture("재시도"), LONG_TIMEOUT_MILLIS).join())
+                .isEqualTo("재시도");
+    }
+
+    @Test
+    void keyIsRemovedBeforeWaitersAreCompleted() {
+        CompletableFuture<String> leader = execute(work, LONG_TIMEOUT_MILLIS);
+
+        // 실패 결과를 받은 시점에 다시 요청하면 끝난 실행을 공유하지 않고 새로 실행해야 한다
+        AtomicReference<CompletableFuture<String>> retry = new AtomicReference<>();
+        CompletableFuture<String> fresh = new CompletableFuture<>();
+        leader.whenComplete((result, error) -> retry.set(execute(() -> {
+            calls.incrementAndGet();
+            return fresh;
+        }, LONG_TIMEOUT_MILLIS)));
+
+        source.completeExceptionally(new IllegalStateException("LLM 오류"));
+        fresh.complete("새 가이드");
+
+        assertThat(retry.get().join()).isEqualTo("새 가이드");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("ai.singleflight.calls").tag("role", "leader").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("ai.singleflight.in-flight").gauge().value()).isZero();
+    }
+
+    private CompletableFuture<String> execute(Supplier<CompletableFuture<String>> task, long followerTimeoutMillis) {
+        return flight.execute(KEY, task, followerTimeoutMillis, () -> new IllegalStateException("follower timeout"));
+    }
+}